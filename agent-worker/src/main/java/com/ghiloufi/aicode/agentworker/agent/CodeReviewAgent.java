@@ -10,6 +10,7 @@ import com.ghiloufi.aicode.core.domain.model.AgentAction;
 import com.ghiloufi.aicode.core.domain.model.AgentStatus;
 import com.ghiloufi.aicode.core.domain.model.AgentTask;
 import com.ghiloufi.aicode.core.domain.model.AggregatedFindings;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
 import com.ghiloufi.aicode.core.domain.model.PrioritizedFindings;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.TestResults;
@@ -256,9 +257,10 @@ public class CodeReviewAgent {
       }
 
       final var reviewResult =
-          prioritizedFindings != null
-              ? buildReviewResultFromPrioritized(prioritizedFindings, aggregatedFindings)
-              : buildReviewResult(aggregatedFindings);
+          (prioritizedFindings != null
+                  ? buildReviewResultFromPrioritized(prioritizedFindings, aggregatedFindings)
+                  : buildReviewResult(aggregatedFindings))
+              .withTokenUsage(llmUsage(currentTask));
 
       resultPublisher.publish(task, reviewResult);
 
@@ -297,6 +299,11 @@ public class CodeReviewAgent {
         .build();
   }
 
+  private LlmUsage llmUsage(AgentTask task) {
+    final var llmReviewResult = task.state().llmReviewResult();
+    return llmReviewResult != null ? llmReviewResult.getTokenUsage() : null;
+  }
+
   private String buildPrioritizedSummary(PrioritizedFindings prioritized, String baseSummary) {
     final var sb = new StringBuilder();
 
@@ -8,7 +8,8 @@ import com.ghiloufi.aicode.core.domain.model.AgentTask;
 import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
 import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
-import jakarta.annotation.PostConstruct;
+import com.ghiloufi.aicode.core.infrastructure.observability.StartupMetrics;
+import com.ghiloufi.aicode.core.service.warmup.WarmupState;
 import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
@@ -27,7 +29,7 @@ import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-public class AgentRequestConsumer {
+public class AgentRequestConsumer implements SmartLifecycle {
 
   private static final String PAYLOAD_FIELD = "payload";
   private static final String REQUEST_ID_FIELD = "requestId";
@@ -36,21 +38,43 @@ public class AgentRequestConsumer {
   private final CodeReviewAgent agent;
   private final AgentWorkerProperties properties;
   private final ObjectMapper objectMapper;
+  private final WarmupState warmupState;
+  private final StartupMetrics startupMetrics;
   private final ExecutorService executor;
+  private volatile boolean running;
 
   public AgentRequestConsumer(
       final StringRedisTemplate redisTemplate,
       final CodeReviewAgent agent,
       final AgentWorkerProperties properties,
-      final ObjectMapper objectMapper) {
+      final ObjectMapper objectMapper,
+      final WarmupState warmupState,
+      final StartupMetrics startupMetrics) {
     this.redisTemplate = redisTemplate;
     this.agent = agent;
     this.properties = properties;
     this.objectMapper = objectMapper;
+    this.warmupState = warmupState;
+    this.startupMetrics = startupMetrics;
     this.executor = Executors.newVirtualThreadPerTaskExecutor();
   }
 
-  @PostConstruct
+  @Override
+  public void start() {
+    init();
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
   public void init() {
     createConsumerGroupIfNotExists();
     log.info(
@@ -97,6 +121,10 @@ public class AgentRequestConsumer {
 
   @Scheduled(fixedDelay = 500)
   public void consumeMessages() {
+    if (!warmupState.isReady()) {
+      return;
+    }
+    startupMetrics.recordFirstStreamRead(properties.getConsumer().getStreamKey());
     try {
       final List<MapRecord<String, Object, Object>> messages =
           redisTemplate
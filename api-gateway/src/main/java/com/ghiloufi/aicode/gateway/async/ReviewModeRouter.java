@@ -15,7 +15,8 @@ public class ReviewModeRouter {
   @Getter
   public enum StreamKey {
     DIFF_REQUESTS("review:requests"),
-    AGENT_REQUESTS("review:agent-requests");
+    AGENT_REQUESTS("review:agent-requests"),
+    BULK_REQUESTS("review:bulk-requests");
 
     private final String key;
 
@@ -42,6 +43,13 @@ public class ReviewModeRouter {
   }
 
   private StreamKey resolveStreamKey(final ReviewMode mode) {
-    return mode == ReviewMode.AGENTIC ? StreamKey.AGENT_REQUESTS : StreamKey.DIFF_REQUESTS;
+    if (mode == null) {
+      return StreamKey.DIFF_REQUESTS;
+    }
+    return switch (mode) {
+      case AGENTIC -> StreamKey.AGENT_REQUESTS;
+      case BULK -> StreamKey.BULK_REQUESTS;
+      case DIFF -> StreamKey.DIFF_REQUESTS;
+    };
   }
 }
@@ -4,6 +4,7 @@ import static com.ghiloufi.aicode.gateway.util.LogSanitizer.sanitize;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.ReviewMode;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
@@ -50,21 +52,27 @@ public class AsyncReviewController {
   public Mono<ResponseEntity<ReviewSubmissionResponse>> submitAsyncReview(
       @PathVariable final String provider,
       @PathVariable final String repositoryId,
-      @PathVariable @Positive final int changeRequestId) {
+      @PathVariable @Positive final int changeRequestId,
+      @RequestParam(name = "mode", required = false) final String mode,
+      @RequestParam(name = "refresh", defaultValue = "false") final boolean refresh) {
 
     final SourceProvider sourceProvider = SourceProvider.fromString(provider);
     final String decodedRepositoryId = URLDecoder.decode(repositoryId, StandardCharsets.UTF_8);
+    final ReviewMode reviewMode = ReviewMode.fromString(mode);
     final String requestId = UUID.randomUUID().toString();
 
     log.info(
-        "Submitting async review: requestId={}, provider={}, repository={}, changeRequest={}",
+        "Submitting async review: requestId={}, provider={}, repository={}, changeRequest={}, mode={}, refresh={}",
         requestId,
         sourceProvider,
         decodedRepositoryId,
-        changeRequestId);
+        changeRequestId,
+        reviewMode,
+        refresh);
 
     final AsyncReviewRequest request =
-        AsyncReviewRequest.create(requestId, sourceProvider, decodedRepositoryId, changeRequestId);
+        AsyncReviewRequest.create(
+            requestId, sourceProvider, decodedRepositoryId, changeRequestId, reviewMode, refresh);
 
     return producer
         .send(request)
@@ -8,12 +8,14 @@ import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.model.RepositoryInfo;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport;
 import com.ghiloufi.aicode.core.domain.port.input.ReviewManagementUseCase;
 import com.ghiloufi.aicode.core.infrastructure.persistence.repository.ReviewIssueRepository;
 import jakarta.validation.constraints.Positive;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -241,4 +244,24 @@ public class CodeReviewController {
         .doOnError(error -> log.error("Failed to retrieve issue: {}", issueId, error))
         .timeout(Duration.ofSeconds(10));
   }
+
+  @GetMapping(value = "/costs", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<TokenCostReport> getTokenCostReport(
+      @RequestParam(defaultValue = "24") @Positive final int hours) {
+
+    final Instant since = Instant.now().minus(Duration.ofHours(hours));
+
+    log.info("Building token cost report for the last {} hours", hours);
+
+    return reviewManagementUseCase
+        .getTokenCostReport(since)
+        .doOnSuccess(
+            report ->
+                log.info(
+                    "Token cost report built: models={}, repositories={}",
+                    report.byModel().size(),
+                    report.byRepository().size()))
+        .doOnError(error -> log.error("Token cost report error: {}", error.getMessage()))
+        .timeout(Duration.ofSeconds(30));
+  }
 }
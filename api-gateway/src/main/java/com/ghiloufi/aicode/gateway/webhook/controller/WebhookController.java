@@ -1,5 +1,6 @@
 package com.ghiloufi.aicode.gateway.webhook.controller;
 
+import com.ghiloufi.aicode.gateway.webhook.dto.PushWebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookErrorResponse;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookResponse;
@@ -50,6 +51,21 @@ public class WebhookController {
             e -> Mono.just(ResponseEntity.ok().body(e.getResponse())));
   }
 
+  @PostMapping("/push")
+  public Mono<ResponseEntity<WebhookResponse>> handlePush(
+      @Valid @RequestBody final PushWebhookRequest request) {
+
+    log.debug(
+        "Received push webhook: provider={}, repo={}, ref={}",
+        request.provider(),
+        request.repositoryId(),
+        request.ref());
+
+    return webhookService
+        .processPush(request)
+        .map(response -> ResponseEntity.status(HttpStatus.ACCEPTED).body(response));
+  }
+
   @ExceptionHandler(WebhookValidationException.class)
   public ResponseEntity<WebhookErrorResponse> handleValidationError(
       final WebhookValidationException e) {
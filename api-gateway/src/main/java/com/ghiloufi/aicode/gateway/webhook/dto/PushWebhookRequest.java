@@ -0,0 +1,23 @@
+package com.ghiloufi.aicode.gateway.webhook.dto;
+
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+
+public record PushWebhookRequest(
+    @NotBlank(message = "Provider is required")
+        @Pattern(regexp = "^(github|gitlab)$", message = "Provider must be 'github' or 'gitlab'")
+        String provider,
+    @NotBlank(message = "Repository ID is required") String repositoryId,
+    @NotBlank(message = "Ref is required") String ref,
+    String before,
+    String after,
+    List<String> changedPaths) {
+
+  public ScmCacheInvalidation toInvalidation() {
+    return new ScmCacheInvalidation(
+        SourceProvider.fromString(provider), repositoryId, ref, after, changedPaths);
+  }
+}
@@ -6,6 +6,10 @@ public record WebhookResponse(String requestId, String status, String message) {
     return new WebhookResponse(requestId, "accepted", "Review request queued for processing");
   }
 
+  public static WebhookResponse cacheInvalidated(final String eventId) {
+    return new WebhookResponse(eventId, "accepted", "Cache invalidation published");
+  }
+
   public static WebhookResponse alreadyProcessed(final String requestId) {
     return new WebhookResponse(requestId, "already_processed", "Event was already processed");
   }
@@ -32,7 +32,7 @@ public class ApiKeyAuthenticationFilter implements WebFilter {
   public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
     final String path = exchange.getRequest().getPath().value();
 
-    if (!path.equals(WEBHOOK_PATH)) {
+    if (!path.equals(WEBHOOK_PATH) && !path.startsWith(WEBHOOK_PATH + "/")) {
       return chain.filter(exchange);
     }
 
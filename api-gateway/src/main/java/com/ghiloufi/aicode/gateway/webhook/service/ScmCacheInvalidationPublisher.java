@@ -0,0 +1,47 @@
+package com.ghiloufi.aicode.gateway.webhook.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.ScmInvalidationProperties;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScmCacheInvalidationPublisher {
+
+  private final ReactiveStringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final ScmInvalidationProperties properties;
+
+  public Mono<Long> publish(final ScmCacheInvalidation invalidation) {
+    return Mono.fromCallable(() -> serialize(invalidation))
+        .flatMap(payload -> redisTemplate.convertAndSend(properties.getChannel(), payload))
+        .doOnSuccess(
+            receivers ->
+                log.info(
+                    "Published SCM cache invalidation for {} ref={} to {} subscribers",
+                    invalidation.repositoryId(),
+                    invalidation.ref(),
+                    receivers))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to publish SCM cache invalidation for {}",
+                    invalidation.repositoryId(),
+                    error));
+  }
+
+  private String serialize(final ScmCacheInvalidation invalidation) {
+    try {
+      return objectMapper.writeValueAsString(invalidation);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize cache invalidation", e);
+    }
+  }
+}
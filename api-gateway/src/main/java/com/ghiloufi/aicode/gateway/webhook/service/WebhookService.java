@@ -3,9 +3,11 @@ package com.ghiloufi.aicode.gateway.webhook.service;
 import static com.ghiloufi.aicode.gateway.util.LogSanitizer.sanitize;
 
 import com.ghiloufi.aicode.core.domain.model.ReviewMode;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
 import com.ghiloufi.aicode.gateway.async.ReviewRequestProducer;
+import com.ghiloufi.aicode.gateway.webhook.dto.PushWebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookResponse;
 import com.ghiloufi.aicode.gateway.webhook.exception.AlreadyProcessedException;
@@ -22,6 +24,7 @@ public class WebhookService {
 
   private final ReviewRequestProducer reviewRequestProducer;
   private final IdempotencyService idempotencyService;
+  private final ScmCacheInvalidationPublisher invalidationPublisher;
 
   public Mono<WebhookResponse> processWebhook(
       final WebhookRequest request, final String idempotencyKey) {
@@ -48,6 +51,25 @@ public class WebhookService {
             });
   }
 
+  public Mono<WebhookResponse> processPush(final PushWebhookRequest request) {
+    final ScmCacheInvalidation invalidation = request.toInvalidation();
+
+    log.info(
+        "Processing {} event for {}/{} ref={}",
+        invalidation.isTag() ? "tag" : "push",
+        sanitize(request.provider()),
+        sanitize(request.repositoryId()),
+        sanitize(request.ref()));
+
+    final String eventId =
+        request.after() != null && !request.after().isBlank()
+            ? request.after()
+            : UUID.randomUUID().toString();
+    return invalidationPublisher
+        .publish(invalidation)
+        .thenReturn(WebhookResponse.cacheInvalidated(eventId));
+  }
+
   private String resolveIdempotencyKey(final WebhookRequest request, final String providedKey) {
     if (providedKey != null && !providedKey.isBlank()) {
       return providedKey;
@@ -92,6 +92,15 @@ final class ReviewModeRouterTest {
 
       assertThat(result).isEqualTo(ReviewModeRouter.StreamKey.AGENT_REQUESTS);
     }
+
+    @Test
+    @DisplayName("should_route_bulk_mode_to_bulk_stream")
+    final void should_route_bulk_mode_to_bulk_stream() {
+      final ReviewModeRouter.StreamKey result = router.route(ReviewMode.BULK);
+
+      assertThat(result).isEqualTo(ReviewModeRouter.StreamKey.BULK_REQUESTS);
+      assertThat(result.getKey()).isEqualTo("review:bulk-requests");
+    }
   }
 
   @Nested
@@ -112,9 +121,9 @@ final class ReviewModeRouterTest {
     }
 
     @Test
-    @DisplayName("should_have_two_stream_keys")
-    final void should_have_two_stream_keys() {
-      assertThat(ReviewModeRouter.StreamKey.values()).hasSize(2);
+    @DisplayName("should_have_three_stream_keys")
+    final void should_have_three_stream_keys() {
+      assertThat(ReviewModeRouter.StreamKey.values()).hasSize(3);
     }
   }
 }
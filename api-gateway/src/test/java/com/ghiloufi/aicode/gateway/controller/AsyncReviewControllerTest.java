@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.ReviewMode;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
 import com.ghiloufi.aicode.core.domain.model.async.ReviewStatus;
@@ -82,6 +83,23 @@ final class AsyncReviewControllerTest {
       assertThat(producer.getCapturedRequest()).isNotNull();
       assertThat(producer.getCapturedRequest().repositoryId()).isEqualTo("owner/repo");
       assertThat(producer.getCapturedRequest().changeRequestId()).isEqualTo(123);
+      assertThat(producer.getCapturedRequest().refresh()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_flag_request_for_refresh_when_requested")
+    final void should_flag_request_for_refresh_when_requested() {
+      producer.setSuccess(true);
+
+      webTestClient
+          .post()
+          .uri("/api/v1/async-reviews/github/owner%2Frepo/change-requests/123?refresh=true")
+          .accept(MediaType.APPLICATION_JSON)
+          .exchange()
+          .expectStatus()
+          .isAccepted();
+
+      assertThat(producer.getCapturedRequest().refresh()).isTrue();
     }
 
     @Test
@@ -108,6 +126,22 @@ final class AsyncReviewControllerTest {
       assertThat(producer.getCapturedRequest().changeRequestId()).isEqualTo(456);
     }
 
+    @Test
+    @DisplayName("should_submit_bulk_review_when_mode_is_bulk")
+    final void should_submit_bulk_review_when_mode_is_bulk() {
+      producer.setSuccess(true);
+
+      webTestClient
+          .post()
+          .uri("/api/v1/async-reviews/github/owner%2Frepo/change-requests/7?mode=bulk")
+          .accept(MediaType.APPLICATION_JSON)
+          .exchange()
+          .expectStatus()
+          .isAccepted();
+
+      assertThat(producer.getCapturedRequest().reviewMode()).isEqualTo(ReviewMode.BULK);
+    }
+
     @Test
     @DisplayName("should_return_error_response_when_producer_fails")
     final void should_return_error_response_when_producer_fails() {
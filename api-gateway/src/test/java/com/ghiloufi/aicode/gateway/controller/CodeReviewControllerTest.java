@@ -6,6 +6,7 @@ import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
 import com.ghiloufi.aicode.core.domain.model.CommitInfo;
 import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
 import com.ghiloufi.aicode.core.domain.model.GitLabRepositoryId;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
 import com.ghiloufi.aicode.core.domain.model.MergeRequestId;
 import com.ghiloufi.aicode.core.domain.model.MergeRequestSummary;
 import com.ghiloufi.aicode.core.domain.model.PrMetadata;
@@ -13,9 +14,11 @@ import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.model.RepositoryInfo;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport;
 import com.ghiloufi.aicode.core.domain.port.input.ReviewManagementUseCase;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
 import com.ghiloufi.aicode.core.infrastructure.persistence.repository.ReviewIssueRepository;
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -326,12 +329,58 @@ final class CodeReviewControllerTest {
         .isEqualTo("Review published successfully");
   }
 
+  @Test
+  @DisplayName("should_return_token_cost_report_for_requested_window")
+  final void should_return_token_cost_report_for_requested_window() {
+    final LlmUsage usage = new LlmUsage(120_000, 8_000, 40_000, 12);
+    reviewManagementUseCase.setCostReport(
+        new TokenCostReport(
+            Instant.parse("2025-01-01T00:00:00Z"),
+            "USD",
+            usage,
+            new BigDecimal("0.380000"),
+            List.of(
+                new TokenCostReport.ModelCost(
+                    "openai", "gpt-4o", 3, usage, new BigDecimal("0.380000"), true)),
+            List.of(
+                new TokenCostReport.RepositoryCost(
+                    "team/api", "openai", "gpt-4o", 3, usage, new BigDecimal("0.380000"), true))));
+
+    final Instant before = Instant.now();
+
+    webTestClient
+        .get()
+        .uri("/api/v1/reviews/costs?hours=48")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.currency")
+        .isEqualTo("USD")
+        .jsonPath("$.totalUsage.input_tokens")
+        .isEqualTo(120_000)
+        .jsonPath("$.totalUsage.cached_input_tokens")
+        .isEqualTo(40_000)
+        .jsonPath("$.byRepository[0].repositoryId")
+        .isEqualTo("team/api")
+        .jsonPath("$.byModel[0].priced")
+        .isEqualTo(true);
+
+    assertThat(reviewManagementUseCase.getCapturedSince())
+        .isBetween(
+            before.minus(Duration.ofHours(48)).minusSeconds(5),
+            Instant.now().minus(Duration.ofHours(48)));
+  }
+
   private static final class TestReviewManagementUseCase implements ReviewManagementUseCase {
     private List<MergeRequestSummary> mergeRequests = List.of();
     private List<RepositoryInfo> repositories = List.of();
     private RepositoryIdentifier capturedRepository;
     private ChangeRequestIdentifier capturedChangeRequest;
     private boolean shouldFailPublish = false;
+    private TokenCostReport costReport;
+    private Instant capturedSince;
 
     final void setMergeRequests(final List<MergeRequestSummary> mergeRequests) {
       this.mergeRequests = mergeRequests;
@@ -345,6 +394,14 @@ final class CodeReviewControllerTest {
       this.shouldFailPublish = shouldFailPublish;
     }
 
+    final void setCostReport(final TokenCostReport costReport) {
+      this.costReport = costReport;
+    }
+
+    final Instant getCapturedSince() {
+      return capturedSince;
+    }
+
     final RepositoryIdentifier getCapturedRepository() {
       return capturedRepository;
     }
@@ -385,6 +442,12 @@ final class CodeReviewControllerTest {
         final ReviewResult reviewResult) {
       return Mono.empty();
     }
+
+    @Override
+    public Mono<TokenCostReport> getTokenCostReport(final Instant since) {
+      this.capturedSince = since;
+      return Mono.justOrEmpty(costReport);
+    }
   }
 
   private static final class TestSCMPort implements SCMPort {
@@ -438,7 +501,7 @@ final class CodeReviewControllerTest {
     }
 
     @Override
-    public Mono<List<String>> listRepositoryFiles() {
+    public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
       return Mono.just(List.of());
     }
 
@@ -2,6 +2,7 @@ package com.ghiloufi.aicode.gateway.webhook.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.ghiloufi.aicode.gateway.webhook.dto.PushWebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookResponse;
 import com.ghiloufi.aicode.gateway.webhook.exception.AlreadyProcessedException;
@@ -282,6 +283,62 @@ final class WebhookControllerTest {
     }
   }
 
+  @Nested
+  @DisplayName("Push Events")
+  final class PushEventTests {
+
+    @Test
+    @DisplayName("should_return_202_accepted_for_push_event")
+    final void should_return_202_accepted_for_push_event() {
+      webTestClient
+          .post()
+          .uri("/webhooks/push")
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(
+              """
+              {
+                "provider": "gitlab",
+                "repositoryId": "group/app",
+                "ref": "refs/heads/main",
+                "after": "9fceb02d0ae598e95dc970b74767f19372d61af8",
+                "changedPaths": ["src/App.java"]
+              }
+              """)
+          .exchange()
+          .expectStatus()
+          .isAccepted()
+          .expectBody()
+          .jsonPath("$.requestId")
+          .isEqualTo("9fceb02d0ae598e95dc970b74767f19372d61af8")
+          .jsonPath("$.message")
+          .isEqualTo("Cache invalidation published");
+
+      assertThat(webhookService.getCapturedPush().changedPaths()).containsExactly("src/App.java");
+    }
+
+    @Test
+    @DisplayName("should_return_400_for_missing_ref")
+    final void should_return_400_for_missing_ref() {
+      webTestClient
+          .post()
+          .uri("/webhooks/push")
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(
+              """
+              {
+                "provider": "github",
+                "repositoryId": "owner/repo"
+              }
+              """)
+          .exchange()
+          .expectStatus()
+          .isBadRequest()
+          .expectBody()
+          .jsonPath("$.message")
+          .value(message -> assertThat((String) message).contains("Ref is required"));
+    }
+  }
+
   @Nested
   @DisplayName("Internal Errors")
   final class InternalErrorTests {
@@ -321,9 +378,20 @@ final class WebhookControllerTest {
     private boolean alreadyProcessed = false;
     private String alreadyProcessedKey;
     private Throwable error;
+    private PushWebhookRequest capturedPush;
 
     TestWebhookService() {
-      super(null, null);
+      super(null, null, null);
+    }
+
+    @Override
+    public Mono<WebhookResponse> processPush(final PushWebhookRequest request) {
+      this.capturedPush = request;
+      return Mono.just(WebhookResponse.cacheInvalidated(request.after()));
+    }
+
+    PushWebhookRequest getCapturedPush() {
+      return capturedPush;
     }
 
     @Override
@@ -113,6 +113,22 @@ final class ApiKeyAuthenticationFilterTest {
       assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    @Test
+    @DisplayName("should_require_api_key_for_push_events")
+    final void should_require_api_key_for_push_events() {
+      final WebhookProperties properties = createEnabledProperties(Set.of(VALID_API_KEY));
+      final ApiKeyAuthenticationFilter filter = new ApiKeyAuthenticationFilter(properties);
+
+      final MockServerHttpRequest request = MockServerHttpRequest.post("/webhooks/push").build();
+      final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+      final TestWebFilterChain chain = new TestWebFilterChain();
+
+      StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+      assertThat(chain.wasFilterCalled()).isFalse();
+      assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
     @Test
     @DisplayName("should_reject_blank_api_key")
     final void should_reject_blank_api_key() {
@@ -3,12 +3,15 @@ package com.ghiloufi.aicode.gateway.webhook.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.ghiloufi.aicode.core.domain.model.ReviewMode;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
 import com.ghiloufi.aicode.gateway.async.ReviewModeRouter;
 import com.ghiloufi.aicode.gateway.async.ReviewRequestProducer;
+import com.ghiloufi.aicode.gateway.webhook.dto.PushWebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.dto.WebhookRequest;
 import com.ghiloufi.aicode.gateway.webhook.exception.AlreadyProcessedException;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,13 +24,16 @@ final class WebhookServiceTest {
 
   private TestReviewRequestProducer reviewRequestProducer;
   private TestIdempotencyService idempotencyService;
+  private TestInvalidationPublisher invalidationPublisher;
   private WebhookService webhookService;
 
   @BeforeEach
   final void setUp() {
     reviewRequestProducer = new TestReviewRequestProducer();
     idempotencyService = new TestIdempotencyService();
-    webhookService = new WebhookService(reviewRequestProducer, idempotencyService);
+    invalidationPublisher = new TestInvalidationPublisher();
+    webhookService =
+        new WebhookService(reviewRequestProducer, idempotencyService, invalidationPublisher);
   }
 
   @Nested
@@ -213,6 +219,63 @@ final class WebhookServiceTest {
     }
   }
 
+  @Nested
+  @DisplayName("Push Events")
+  final class PushEventTests {
+
+    @Test
+    @DisplayName("should_publish_invalidation_for_branch_push")
+    final void should_publish_invalidation_for_branch_push() {
+      final PushWebhookRequest request =
+          new PushWebhookRequest(
+              "gitlab", "group/app", "refs/heads/main", "abc", "def", List.of("src/App.java"));
+
+      StepVerifier.create(webhookService.processPush(request))
+          .assertNext(response -> assertThat(response.requestId()).isEqualTo("def"))
+          .verifyComplete();
+
+      final ScmCacheInvalidation published = invalidationPublisher.getPublished();
+      assertThat(published.provider()).isEqualTo(SourceProvider.GITLAB);
+      assertThat(published.repositoryId()).isEqualTo("group/app");
+      assertThat(published.shortRef()).isEqualTo("main");
+      assertThat(published.isTag()).isFalse();
+      assertThat(published.paths()).containsExactly("src/App.java");
+    }
+
+    @Test
+    @DisplayName("should_publish_invalidation_for_tag_event")
+    final void should_publish_invalidation_for_tag_event() {
+      final PushWebhookRequest request =
+          new PushWebhookRequest("github", "owner/repo", "refs/tags/v1.2.0", null, null, null);
+
+      StepVerifier.create(webhookService.processPush(request))
+          .assertNext(response -> assertThat(response.requestId()).isNotBlank())
+          .verifyComplete();
+
+      assertThat(invalidationPublisher.getPublished().isTag()).isTrue();
+      assertThat(invalidationPublisher.getPublished().shortRef()).isEqualTo("v1.2.0");
+      assertThat(idempotencyService.getCheckedKey()).isNull();
+    }
+  }
+
+  private static final class TestInvalidationPublisher extends ScmCacheInvalidationPublisher {
+    private ScmCacheInvalidation published;
+
+    TestInvalidationPublisher() {
+      super(null, null, null);
+    }
+
+    @Override
+    public Mono<Long> publish(final ScmCacheInvalidation invalidation) {
+      this.published = invalidation;
+      return Mono.just(1L);
+    }
+
+    ScmCacheInvalidation getPublished() {
+      return published;
+    }
+  }
+
   private static final class TestReviewRequestProducer extends ReviewRequestProducer {
     private AsyncReviewRequest capturedRequest;
     private boolean success = true;
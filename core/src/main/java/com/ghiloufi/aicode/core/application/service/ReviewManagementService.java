@@ -2,19 +2,30 @@ package com.ghiloufi.aicode.core.application.service;
 
 import com.ghiloufi.aicode.core.config.SummaryCommentProperties;
 import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
 import com.ghiloufi.aicode.core.domain.model.MergeRequestSummary;
 import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.model.RepositoryInfo;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport.ModelCost;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport.RepositoryCost;
 import com.ghiloufi.aicode.core.domain.port.input.ReviewManagementUseCase;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.domain.service.LlmCostModel;
 import com.ghiloufi.aicode.core.domain.service.SummaryCommentFormatter;
 import com.ghiloufi.aicode.core.infrastructure.factory.SCMProviderFactory;
 import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
 import com.ghiloufi.aicode.core.infrastructure.persistence.PostgresReviewRepository;
+import com.ghiloufi.aicode.core.infrastructure.persistence.repository.TokenUsageAggregate;
 import com.ghiloufi.aicode.core.infrastructure.resilience.Resilience;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -32,6 +43,7 @@ public class ReviewManagementService implements ReviewManagementUseCase {
   private final SummaryCommentFormatter summaryCommentFormatter;
   private final Resilience resilience;
   private final ReviewMetrics reviewMetrics;
+  private final LlmCostModel costModel;
 
   @Override
   public Mono<Void> publishReview(
@@ -119,6 +131,115 @@ public class ReviewManagementService implements ReviewManagementUseCase {
     return publishReview(repository, changeRequest, reviewResult);
   }
 
+  @Override
+  public Mono<TokenCostReport> getTokenCostReport(final Instant since) {
+    return reviewRepository
+        .aggregateTokenUsage(since)
+        .map(rows -> buildCostReport(since, rows))
+        .doOnSuccess(
+            report ->
+                log.info(
+                    "Built token cost report since {}: {} repository/model rows, total {} {}",
+                    since,
+                    report.byRepository().size(),
+                    report.totalEstimatedCost(),
+                    report.currency()));
+  }
+
+  private TokenCostReport buildCostReport(
+      final Instant since, final List<TokenUsageAggregate> rows) {
+    final List<RepositoryCost> byRepository =
+        rows.stream()
+            .map(
+                row -> {
+                  final LlmUsage usage = toUsage(row);
+                  final var cost = costModel.estimate(row.llmProvider(), row.llmModel(), usage);
+                  return new RepositoryCost(
+                      row.repositoryId(),
+                      row.llmProvider(),
+                      row.llmModel(),
+                      row.reviews(),
+                      usage,
+                      cost.orElse(BigDecimal.ZERO),
+                      cost.isPresent());
+                })
+            .toList();
+
+    final Map<String, List<RepositoryCost>> grouped = new LinkedHashMap<>();
+    byRepository.forEach(
+        row ->
+            grouped
+                .computeIfAbsent(row.llmProvider() + ":" + row.llmModel(), key -> new ArrayList<>())
+                .add(row));
+
+    final List<ModelCost> byModel =
+        grouped.values().stream()
+            .map(
+                group -> {
+                  final RepositoryCost first = group.getFirst();
+                  final LlmUsage usage =
+                      group.stream()
+                          .map(RepositoryCost::usage)
+                          .reduce(LlmUsage.empty(), LlmUsage::plus);
+                  final var cost = costModel.estimate(first.llmProvider(), first.llmModel(), usage);
+                  return new ModelCost(
+                      first.llmProvider(),
+                      first.llmModel(),
+                      group.stream().mapToLong(RepositoryCost::reviews).sum(),
+                      usage,
+                      cost.orElse(BigDecimal.ZERO),
+                      cost.isPresent());
+                })
+            .toList();
+
+    final LlmUsage totalUsage =
+        byModel.stream().map(ModelCost::usage).reduce(LlmUsage.empty(), LlmUsage::plus);
+    final BigDecimal totalCost =
+        byModel.stream().map(ModelCost::estimatedCost).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return new TokenCostReport(
+        since, costModel.currency(), totalUsage, totalCost, byModel, byRepository);
+  }
+
+  private static LlmUsage toUsage(final TokenUsageAggregate row) {
+    return new LlmUsage(
+        row.inputTokens(), row.outputTokens(), row.cachedInputTokens(), row.llmCalls().intValue());
+  }
+
+  private void recordTokenUsage(final String repository, final ReviewResult reviewResult) {
+    if (!reviewResult.getModelUsage().isEmpty()) {
+      reviewResult
+          .getModelUsage()
+          .forEach(
+              usage ->
+                  recordTokenUsage(
+                      repository, usage.llmProvider(), usage.llmModel(), usage.usage()));
+      return;
+    }
+    recordTokenUsage(
+        repository,
+        reviewResult.getLlmProvider(),
+        reviewResult.getLlmModel(),
+        reviewResult.getTokenUsage());
+  }
+
+  private void recordTokenUsage(
+      final String repository,
+      final String llmProvider,
+      final String llmModel,
+      final LlmUsage usage) {
+    if (usage == null || usage.isEmpty()) {
+      return;
+    }
+    reviewMetrics.recordTokenUsage(repository, llmProvider, llmModel, usage);
+    costModel
+        .estimate(llmProvider, llmModel, usage)
+        .ifPresent(
+            cost ->
+                reviewMetrics.recordEstimatedCost(
+                    repository, llmProvider, llmModel, cost.doubleValue()));
+  }
+
   private Mono<Void> publishSummaryComment(
       final RepositoryIdentifier repository,
       final ChangeRequestIdentifier changeRequest,
@@ -160,7 +281,8 @@ public class ReviewManagementService implements ReviewManagementUseCase {
 
     return Mono.defer(() -> reviewRepository.save(reviewId, reviewResult))
         .transform(resilience.bestEffortMono("db-save-review"))
-        .doOnSuccess(v -> log.debug("Saved review to database: {}", reviewId));
+        .doOnSuccess(v -> log.debug("Saved review to database: {}", reviewId))
+        .then(Mono.fromRunnable(() -> recordTokenUsage(repository.getDisplayName(), reviewResult)));
   }
 
   private ReviewResult filterHighConfidenceIssues(final ReviewResult reviewResult) {
@@ -52,7 +52,8 @@ public record ContextRetrievalConfig(
       int maxFileSizeKb,
       int maxLineCount,
       int maxFilesToExpand,
-      Set<String> excludedExtensions) {
+      Set<String> excludedExtensions,
+      boolean compressionEnabled) {
 
     public DiffExpansionConfig {
       if (maxFileSizeKb <= 0) {
@@ -69,7 +70,7 @@ public record ContextRetrievalConfig(
 
     public static DiffExpansionConfig defaults() {
       return new DiffExpansionConfig(
-          true, 100, 500, 10, Set.of(".lock", ".svg", ".png", ".jpg", ".gif", ".ico"));
+          true, 100, 500, 10, Set.of(".lock", ".svg", ".png", ".jpg", ".gif", ".ico"), true);
     }
 
     public boolean shouldExpandFile(final String filePath, final int fileSizeBytes) {
@@ -8,6 +8,17 @@ import org.springframework.context.annotation.Configuration;
   SummaryCommentProperties.class,
   PromptProperties.class,
   OptimizedPromptProperties.class,
-  PromptVariantProperties.class
+  PromptVariantProperties.class,
+  LlmPricingProperties.class,
+  WarmupProperties.class,
+  ScmHttpCacheProperties.class,
+  FileBlobCacheProperties.class,
+  ScmInvalidationProperties.class,
+  MergeRequestSnapshotProperties.class,
+  ScmPublishProperties.class,
+  ScmClientProperties.class,
+  ScmRateLimitProperties.class,
+  ScmGraphQlProperties.class,
+  ScmTreeIndexProperties.class
 })
 public class FeaturesConfiguration {}
@@ -0,0 +1,79 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.blob-cache")
+public final class FileBlobCacheProperties {
+
+  private final boolean enabled;
+  private final DataSize localMaxSize;
+  private final int maxIndexedPaths;
+  private final Duration refTtl;
+  private final RedisTier redis;
+  private final DiskTier disk;
+
+  public FileBlobCacheProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("64MB") final DataSize localMaxSize,
+      @DefaultValue("50000") final int maxIndexedPaths,
+      @DefaultValue("30s") final Duration refTtl,
+      @DefaultValue final RedisTier redis,
+      @DefaultValue final DiskTier disk) {
+    this.enabled = enabled;
+    this.localMaxSize = localMaxSize;
+    this.maxIndexedPaths = maxIndexedPaths;
+    this.refTtl = refTtl;
+    this.redis = redis;
+    this.disk = disk;
+  }
+
+  @Getter
+  public static final class RedisTier {
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Duration pathTtl;
+
+    public RedisTier(
+        @DefaultValue("true") final boolean enabled,
+        @DefaultValue("scm:blob:") final String keyPrefix,
+        @DefaultValue("7d") final Duration ttl,
+        @DefaultValue("24h") final Duration pathTtl) {
+      if (ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("Blob cache Redis TTL must be positive");
+      }
+      if (pathTtl.isNegative() || pathTtl.isZero()) {
+        throw new IllegalArgumentException("Blob cache Redis path TTL must be positive");
+      }
+      this.enabled = enabled;
+      this.keyPrefix = keyPrefix;
+      this.ttl = ttl;
+      this.pathTtl = pathTtl;
+    }
+  }
+
+  @Getter
+  public static final class DiskTier {
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize minBlobSize;
+    private final DataSize maxSize;
+
+    public DiskTier(
+        @DefaultValue("false") final boolean enabled,
+        @DefaultValue("/tmp/ai-code-reviewer/blobs") final Path directory,
+        @DefaultValue("256KB") final DataSize minBlobSize,
+        @DefaultValue("1GB") final DataSize maxSize) {
+      this.enabled = enabled;
+      this.directory = directory;
+      this.minBlobSize = minBlobSize;
+      this.maxSize = maxSize;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.pricing")
+public final class LlmPricingProperties {
+
+  private static final String ANY_MODEL = "*";
+
+  private final String currency;
+  private final List<ModelPrice> models;
+
+  public LlmPricingProperties(
+      @DefaultValue("USD") final String currency, @DefaultValue final List<ModelPrice> models) {
+    this.currency = currency;
+    this.models = models != null ? List.copyOf(models) : List.of();
+  }
+
+  public Optional<ModelPrice> priceFor(final String provider, final String model) {
+    if (provider == null) {
+      return Optional.empty();
+    }
+    return models.stream()
+        .filter(price -> price.getProvider().equalsIgnoreCase(provider))
+        .filter(price -> price.getModel().equalsIgnoreCase(String.valueOf(model)))
+        .findFirst()
+        .or(
+            () ->
+                models.stream()
+                    .filter(price -> price.getProvider().equalsIgnoreCase(provider))
+                    .filter(price -> ANY_MODEL.equals(price.getModel()))
+                    .findFirst());
+  }
+
+  @Getter
+  public static final class ModelPrice {
+
+    private final String provider;
+    private final String model;
+    private final BigDecimal inputPerMillion;
+    private final BigDecimal outputPerMillion;
+    private final BigDecimal cachedInputPerMillion;
+
+    public ModelPrice(
+        final String provider,
+        @DefaultValue(ANY_MODEL) final String model,
+        @DefaultValue("0") final BigDecimal inputPerMillion,
+        @DefaultValue("0") final BigDecimal outputPerMillion,
+        final BigDecimal cachedInputPerMillion) {
+      if (provider == null || provider.isBlank()) {
+        throw new IllegalArgumentException("Pricing entry requires a provider");
+      }
+      this.provider = provider;
+      this.model = model;
+      this.inputPerMillion = inputPerMillion;
+      this.outputPerMillion = outputPerMillion;
+      this.cachedInputPerMillion =
+          cachedInputPerMillion != null ? cachedInputPerMillion : inputPerMillion;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.mr-snapshot")
+public final class MergeRequestSnapshotProperties {
+
+  private final boolean enabled;
+  private final Duration ttl;
+  private final int maxEntries;
+  private final boolean shared;
+  private final String keyPrefix;
+
+  public MergeRequestSnapshotProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("10m") final Duration ttl,
+      @DefaultValue("500") final int maxEntries,
+      @DefaultValue("true") final boolean shared,
+      @DefaultValue("scm:mr:") final String keyPrefix) {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("Snapshot TTL must not be negative");
+    }
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Snapshot max entries must be at least 1");
+    }
+    this.enabled = enabled;
+    this.ttl = ttl;
+    this.maxEntries = maxEntries;
+    this.shared = shared;
+    this.keyPrefix = keyPrefix;
+  }
+}
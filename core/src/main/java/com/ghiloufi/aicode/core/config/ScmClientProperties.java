@@ -0,0 +1,60 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.client")
+public final class ScmClientProperties {
+
+  private final Mode mode;
+  private final int maxConnections;
+  private final Duration pendingAcquireTimeout;
+  private final Duration maxIdleTime;
+  private final Duration connectTimeout;
+  private final Duration responseTimeout;
+  private final DataSize maxInMemorySize;
+  private final int pageSize;
+  private final int readAttempts;
+  private final Duration readRetryBackoff;
+
+  public ScmClientProperties(
+      @DefaultValue("sdk") final Mode mode,
+      @DefaultValue("200") final int maxConnections,
+      @DefaultValue("10s") final Duration pendingAcquireTimeout,
+      @DefaultValue("30s") final Duration maxIdleTime,
+      @DefaultValue("5s") final Duration connectTimeout,
+      @DefaultValue("30s") final Duration responseTimeout,
+      @DefaultValue("16MB") final DataSize maxInMemorySize,
+      @DefaultValue("100") final int pageSize,
+      @DefaultValue("3") final int readAttempts,
+      @DefaultValue("500ms") final Duration readRetryBackoff) {
+    if (maxConnections < 1) {
+      throw new IllegalArgumentException("SCM client max connections must be at least 1");
+    }
+    if (pageSize < 1 || pageSize > 100) {
+      throw new IllegalArgumentException("SCM client page size must be between 1 and 100");
+    }
+    if (readAttempts < 1) {
+      throw new IllegalArgumentException("SCM client read attempts must be at least 1");
+    }
+    this.mode = mode;
+    this.maxConnections = maxConnections;
+    this.pendingAcquireTimeout = pendingAcquireTimeout;
+    this.maxIdleTime = maxIdleTime;
+    this.connectTimeout = connectTimeout;
+    this.responseTimeout = responseTimeout;
+    this.maxInMemorySize = maxInMemorySize;
+    this.pageSize = pageSize;
+    this.readAttempts = readAttempts;
+    this.readRetryBackoff = readRetryBackoff;
+  }
+
+  public enum Mode {
+    SDK,
+    WEBCLIENT
+  }
+}
@@ -0,0 +1,26 @@
+package com.ghiloufi.aicode.core.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.graphql")
+public final class ScmGraphQlProperties {
+
+  private final boolean enabled;
+  private final String url;
+  private final int blobBatchSize;
+
+  public ScmGraphQlProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("https://api.github.com/graphql") final String url,
+      @DefaultValue("50") final int blobBatchSize) {
+    if (blobBatchSize < 1) {
+      throw new IllegalArgumentException("GraphQL blob batch size must be at least 1");
+    }
+    this.enabled = enabled;
+    this.url = url;
+    this.blobBatchSize = blobBatchSize;
+  }
+}
@@ -0,0 +1,37 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.http-cache")
+public final class ScmHttpCacheProperties {
+
+  private final boolean enabled;
+  private final int maxEntries;
+  private final DataSize maxEntrySize;
+  private final DataSize maxTotalSize;
+  private final Duration freshFor;
+
+  public ScmHttpCacheProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("2000") final int maxEntries,
+      @DefaultValue("2MB") final DataSize maxEntrySize,
+      @DefaultValue("64MB") final DataSize maxTotalSize,
+      @DefaultValue("0s") final Duration freshFor) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("SCM HTTP cache must allow at least one entry");
+    }
+    if (freshFor.isNegative()) {
+      throw new IllegalArgumentException("SCM HTTP cache freshness window cannot be negative");
+    }
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.maxEntrySize = maxEntrySize;
+    this.maxTotalSize = maxTotalSize;
+    this.freshFor = freshFor;
+  }
+}
@@ -0,0 +1,20 @@
+package com.ghiloufi.aicode.core.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.invalidation")
+public final class ScmInvalidationProperties {
+
+  private final boolean enabled;
+  private final String channel;
+
+  public ScmInvalidationProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("scm:cache:invalidations") final String channel) {
+    this.enabled = enabled;
+    this.channel = channel;
+  }
+}
@@ -0,0 +1,30 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.publish")
+public final class ScmPublishProperties {
+
+  private final int concurrency;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+
+  public ScmPublishProperties(
+      @DefaultValue("4") final int concurrency,
+      @DefaultValue("3") final int maxAttempts,
+      @DefaultValue("500ms") final Duration retryBackoff) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Publish concurrency must be at least 1");
+    }
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Publish max attempts must be at least 1");
+    }
+    this.concurrency = concurrency;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoff = retryBackoff;
+  }
+}
@@ -0,0 +1,39 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.rate-limit")
+public final class ScmRateLimitProperties {
+
+  private final boolean enabled;
+  private final double publishReserve;
+  private final double paceBelow;
+  private final Duration maxWait;
+  private final Duration defaultRetryAfter;
+
+  public ScmRateLimitProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("0.1") final double publishReserve,
+      @DefaultValue("0.5") final double paceBelow,
+      @DefaultValue("60s") final Duration maxWait,
+      @DefaultValue("60s") final Duration defaultRetryAfter) {
+    if (publishReserve < 0 || publishReserve >= 1) {
+      throw new IllegalArgumentException("SCM publish reserve must be in [0, 1)");
+    }
+    if (paceBelow < 0 || paceBelow > 1) {
+      throw new IllegalArgumentException("SCM pacing threshold must be in [0, 1]");
+    }
+    if (maxWait.isNegative() || defaultRetryAfter.isNegative()) {
+      throw new IllegalArgumentException("SCM rate limit waits cannot be negative");
+    }
+    this.enabled = enabled;
+    this.publishReserve = publishReserve;
+    this.paceBelow = paceBelow;
+    this.maxWait = maxWait;
+    this.defaultRetryAfter = defaultRetryAfter;
+  }
+}
@@ -0,0 +1,30 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "scm.tree-index")
+public final class ScmTreeIndexProperties {
+
+  private final boolean enabled;
+  private final long maxPaths;
+  private final Duration idleTtl;
+
+  public ScmTreeIndexProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("1000000") final long maxPaths,
+      @DefaultValue("1h") final Duration idleTtl) {
+    if (maxPaths < 1) {
+      throw new IllegalArgumentException("Tree index max paths must be at least 1");
+    }
+    if (idleTtl.isNegative() || idleTtl.isZero()) {
+      throw new IllegalArgumentException("Tree index idle TTL must be positive");
+    }
+    this.enabled = enabled;
+    this.maxPaths = maxPaths;
+    this.idleTtl = idleTtl;
+  }
+}
@@ -0,0 +1,30 @@
+package com.ghiloufi.aicode.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "warmup")
+public final class WarmupProperties {
+
+  private final boolean enabled;
+  private final int iterations;
+  private final Duration maxDuration;
+  private final String corpusLocation;
+
+  public WarmupProperties(
+      @DefaultValue("false") final boolean enabled,
+      @DefaultValue("200") final int iterations,
+      @DefaultValue("60s") final Duration maxDuration,
+      @DefaultValue("classpath*:warmup/*.diff") final String corpusLocation) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("Warm-up iterations must be at least 1");
+    }
+    this.enabled = enabled;
+    this.iterations = iterations;
+    this.maxDuration = maxDuration;
+    this.corpusLocation = corpusLocation;
+  }
+}
@@ -3,7 +3,7 @@ package com.ghiloufi.aicode.core.domain.model;
 import java.util.Objects;
 
 public record ExpandedFileContext(
-    String filePath, String content, int lineCount, boolean truncated) {
+    String filePath, String content, int lineCount, boolean truncated, boolean compressed) {
 
   public ExpandedFileContext {
     Objects.requireNonNull(filePath, "File path cannot be null");
@@ -26,16 +26,21 @@ public record ExpandedFileContext(
   }
 
   public static ExpandedFileContext empty(final String filePath) {
-    return new ExpandedFileContext(filePath, "", 0, false);
+    return new ExpandedFileContext(filePath, "", 0, false, false);
   }
 
   public static ExpandedFileContext truncated(
       final String filePath, final String content, final int originalLineCount) {
-    return new ExpandedFileContext(filePath, content, originalLineCount, true);
+    return new ExpandedFileContext(filePath, content, originalLineCount, true, false);
+  }
+
+  public static ExpandedFileContext compressed(
+      final String filePath, final String content, final int originalLineCount) {
+    return new ExpandedFileContext(filePath, content, originalLineCount, true, true);
   }
 
   public static ExpandedFileContext of(final String filePath, final String content) {
     final int lineCount = content != null ? content.split("\n").length : 0;
-    return new ExpandedFileContext(filePath, content, lineCount, false);
+    return new ExpandedFileContext(filePath, content, lineCount, false, false);
   }
 }
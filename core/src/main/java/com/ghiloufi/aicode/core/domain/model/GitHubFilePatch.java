@@ -0,0 +1,3 @@
+package com.ghiloufi.aicode.core.domain.model;
+
+public record GitHubFilePatch(String filename, String previousFilename, String patch) {}
@@ -0,0 +1,52 @@
+package com.ghiloufi.aicode.core.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record LlmUsage(
+    @JsonProperty("input_tokens") long inputTokens,
+    @JsonProperty("output_tokens") long outputTokens,
+    @JsonProperty("cached_input_tokens") long cachedInputTokens,
+    @JsonProperty("calls") int calls) {
+
+  private static final LlmUsage EMPTY = new LlmUsage(0, 0, 0, 0);
+
+  public LlmUsage {
+    if (inputTokens < 0 || outputTokens < 0 || cachedInputTokens < 0 || calls < 0) {
+      throw new IllegalArgumentException("Token usage cannot be negative");
+    }
+    if (cachedInputTokens > inputTokens) {
+      throw new IllegalArgumentException("Cached input tokens cannot exceed input tokens");
+    }
+  }
+
+  public static LlmUsage empty() {
+    return EMPTY;
+  }
+
+  public LlmUsage plus(final LlmUsage other) {
+    if (other == null) {
+      return this;
+    }
+    return new LlmUsage(
+        inputTokens + other.inputTokens,
+        outputTokens + other.outputTokens,
+        cachedInputTokens + other.cachedInputTokens,
+        calls + other.calls);
+  }
+
+  @JsonIgnore
+  public long uncachedInputTokens() {
+    return inputTokens - cachedInputTokens;
+  }
+
+  @JsonIgnore
+  public long totalTokens() {
+    return inputTokens + outputTokens;
+  }
+
+  @JsonIgnore
+  public boolean isEmpty() {
+    return calls == 0 && inputTokens == 0 && outputTokens == 0;
+  }
+}
@@ -0,0 +1,19 @@
+package com.ghiloufi.aicode.core.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+
+public record ModelUsage(
+    @JsonProperty("llm_provider") String llmProvider,
+    @JsonProperty("llm_model") String llmModel,
+    @JsonProperty("usage") LlmUsage usage) {
+
+  public ModelUsage {
+    Objects.requireNonNull(usage, "Usage cannot be null");
+  }
+
+  public static LlmUsage total(final List<ModelUsage> usages) {
+    return usages.stream().map(ModelUsage::usage).reduce(LlmUsage.empty(), LlmUsage::plus);
+  }
+}
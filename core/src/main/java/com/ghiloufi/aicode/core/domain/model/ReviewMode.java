@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum ReviewMode {
   DIFF("Diff-only analysis via SCM API"),
-  AGENTIC("Full repository checkout with static analysis and security scans");
+  AGENTIC("Full repository checkout with static analysis and security scans"),
+  BULK("Deferred diff review submitted through the provider batch API");
 
   private final String description;
 
@@ -32,6 +32,12 @@ public final class ReviewResult {
   @JsonProperty("files_analyzed")
   private final int filesAnalyzed;
 
+  @JsonProperty("token_usage")
+  private final LlmUsage tokenUsage;
+
+  @JsonProperty("model_usage")
+  private final List<ModelUsage> modelUsage;
+
   private ReviewResult(final Builder builder) {
     this.summary = builder.summary;
     this.issues = builder.issues != null ? List.copyOf(builder.issues) : List.of();
@@ -41,6 +47,8 @@ public final class ReviewResult {
     this.llmModel = builder.llmModel;
     this.rawLlmResponse = builder.rawLlmResponse;
     this.filesAnalyzed = builder.filesAnalyzed;
+    this.tokenUsage = builder.tokenUsage;
+    this.modelUsage = builder.modelUsage != null ? List.copyOf(builder.modelUsage) : List.of();
   }
 
   public ReviewResult withLlmMetadata(final String provider, final String model) {
@@ -52,6 +60,8 @@ public final class ReviewResult {
         .llmModel(model)
         .rawLlmResponse(this.rawLlmResponse)
         .filesAnalyzed(this.filesAnalyzed)
+        .tokenUsage(this.tokenUsage)
+        .modelUsage(this.modelUsage)
         .build();
   }
 
@@ -64,6 +74,8 @@ public final class ReviewResult {
         .llmModel(this.llmModel)
         .rawLlmResponse(rawResponse)
         .filesAnalyzed(this.filesAnalyzed)
+        .tokenUsage(this.tokenUsage)
+        .modelUsage(this.modelUsage)
         .build();
   }
 
@@ -76,6 +88,8 @@ public final class ReviewResult {
         .llmModel(this.llmModel)
         .rawLlmResponse(this.rawLlmResponse)
         .filesAnalyzed(this.filesAnalyzed)
+        .tokenUsage(this.tokenUsage)
+        .modelUsage(this.modelUsage)
         .build();
   }
 
@@ -88,6 +102,36 @@ public final class ReviewResult {
         .llmModel(this.llmModel)
         .rawLlmResponse(this.rawLlmResponse)
         .filesAnalyzed(count)
+        .tokenUsage(this.tokenUsage)
+        .modelUsage(this.modelUsage)
+        .build();
+  }
+
+  public ReviewResult withTokenUsage(final LlmUsage usage) {
+    return builder()
+        .summary(this.summary)
+        .issues(this.issues)
+        .nonBlockingNotes(this.nonBlockingNotes)
+        .llmProvider(this.llmProvider)
+        .llmModel(this.llmModel)
+        .rawLlmResponse(this.rawLlmResponse)
+        .filesAnalyzed(this.filesAnalyzed)
+        .tokenUsage(usage)
+        .modelUsage(this.modelUsage)
+        .build();
+  }
+
+  public ReviewResult withModelUsage(final List<ModelUsage> usages) {
+    return builder()
+        .summary(this.summary)
+        .issues(this.issues)
+        .nonBlockingNotes(this.nonBlockingNotes)
+        .llmProvider(this.llmProvider)
+        .llmModel(this.llmModel)
+        .rawLlmResponse(this.rawLlmResponse)
+        .filesAnalyzed(this.filesAnalyzed)
+        .tokenUsage(ModelUsage.total(usages))
+        .modelUsage(usages)
         .build();
   }
 
@@ -120,6 +164,14 @@ public final class ReviewResult {
     @JsonProperty("files_analyzed")
     private int filesAnalyzed;
 
+    @JsonProperty("token_usage")
+    @JsonAlias("tokenUsage")
+    private LlmUsage tokenUsage;
+
+    @JsonProperty("model_usage")
+    @JsonAlias("modelUsage")
+    private List<ModelUsage> modelUsage = new ArrayList<>();
+
     private Builder() {}
 
     public Builder summary(final String summary) {
@@ -157,6 +209,16 @@ public final class ReviewResult {
       return this;
     }
 
+    public Builder tokenUsage(final LlmUsage tokenUsage) {
+      this.tokenUsage = tokenUsage;
+      return this;
+    }
+
+    public Builder modelUsage(final List<ModelUsage> modelUsage) {
+      this.modelUsage = modelUsage != null ? new ArrayList<>(modelUsage) : new ArrayList<>();
+      return this;
+    }
+
     public ReviewResult build() {
       return new ReviewResult(this);
     }
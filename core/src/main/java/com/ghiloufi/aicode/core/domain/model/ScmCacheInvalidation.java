@@ -0,0 +1,41 @@
+package com.ghiloufi.aicode.core.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+import java.util.Objects;
+
+public record ScmCacheInvalidation(
+    SourceProvider provider, String repositoryId, String ref, String after, List<String> paths) {
+
+  private static final String TAG_PREFIX = "refs/tags/";
+  private static final String BRANCH_PREFIX = "refs/heads/";
+
+  public ScmCacheInvalidation {
+    Objects.requireNonNull(provider, "Provider cannot be null");
+    if (repositoryId == null || repositoryId.isBlank()) {
+      throw new IllegalArgumentException("Repository ID cannot be blank");
+    }
+    paths = paths == null ? List.of() : List.copyOf(paths);
+  }
+
+  @JsonIgnore
+  public RepositoryIdentifier repository() {
+    return RepositoryIdentifier.create(provider, repositoryId);
+  }
+
+  @JsonIgnore
+  public boolean isTag() {
+    return ref != null && ref.startsWith(TAG_PREFIX);
+  }
+
+  @JsonIgnore
+  public String shortRef() {
+    if (ref == null) {
+      return null;
+    }
+    if (ref.startsWith(TAG_PREFIX)) {
+      return ref.substring(TAG_PREFIX.length());
+    }
+    return ref.startsWith(BRANCH_PREFIX) ? ref.substring(BRANCH_PREFIX.length()) : ref;
+  }
+}
@@ -0,0 +1,36 @@
+package com.ghiloufi.aicode.core.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record TokenCostReport(
+    Instant since,
+    String currency,
+    LlmUsage totalUsage,
+    BigDecimal totalEstimatedCost,
+    List<ModelCost> byModel,
+    List<RepositoryCost> byRepository) {
+
+  public TokenCostReport {
+    byModel = byModel != null ? List.copyOf(byModel) : List.of();
+    byRepository = byRepository != null ? List.copyOf(byRepository) : List.of();
+  }
+
+  public record ModelCost(
+      String llmProvider,
+      String llmModel,
+      long reviews,
+      LlmUsage usage,
+      BigDecimal estimatedCost,
+      boolean priced) {}
+
+  public record RepositoryCost(
+      String repositoryId,
+      String llmProvider,
+      String llmModel,
+      long reviews,
+      LlmUsage usage,
+      BigDecimal estimatedCost,
+      boolean priced) {}
+}
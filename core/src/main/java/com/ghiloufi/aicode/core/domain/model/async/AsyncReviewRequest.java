@@ -10,7 +10,18 @@ public record AsyncReviewRequest(
     String repositoryId,
     int changeRequestId,
     ReviewMode reviewMode,
-    Instant createdAt) {
+    Instant createdAt,
+    boolean refresh) {
+
+  public AsyncReviewRequest(
+      final String requestId,
+      final SourceProvider provider,
+      final String repositoryId,
+      final int changeRequestId,
+      final ReviewMode reviewMode,
+      final Instant createdAt) {
+    this(requestId, provider, repositoryId, changeRequestId, reviewMode, createdAt, false);
+  }
 
   public static AsyncReviewRequest create(
       final String requestId,
@@ -26,8 +37,18 @@ public record AsyncReviewRequest(
       final String repositoryId,
       final int changeRequestId,
       final ReviewMode reviewMode) {
+    return create(requestId, provider, repositoryId, changeRequestId, reviewMode, false);
+  }
+
+  public static AsyncReviewRequest create(
+      final String requestId,
+      final SourceProvider provider,
+      final String repositoryId,
+      final int changeRequestId,
+      final ReviewMode reviewMode,
+      final boolean refresh) {
     return new AsyncReviewRequest(
-        requestId, provider, repositoryId, changeRequestId, reviewMode, Instant.now());
+        requestId, provider, repositoryId, changeRequestId, reviewMode, Instant.now(), refresh);
   }
 
   public boolean isAgenticMode() {
@@ -6,6 +6,8 @@ import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.model.RepositoryInfo;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.TokenCostReport;
+import java.time.Instant;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -22,4 +24,6 @@ public interface ReviewManagementUseCase {
   Flux<MergeRequestSummary> getOpenChangeRequests(RepositoryIdentifier repository);
 
   Flux<RepositoryInfo> getAllRepositories(SourceProvider provider);
+
+  Mono<TokenCostReport> getTokenCostReport(Instant since);
 }
@@ -10,7 +10,9 @@ import com.ghiloufi.aicode.core.domain.model.RepositoryInfo;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -36,7 +38,7 @@ public interface SCMPort {
 
   SourceProvider getProviderType();
 
-  Mono<List<String>> listRepositoryFiles();
+  Mono<List<String>> listRepositoryFiles(RepositoryIdentifier repo);
 
   Flux<CommitInfo> getCommitsFor(
       RepositoryIdentifier repo, String filePath, LocalDate since, int maxResults);
@@ -45,6 +47,24 @@ public interface SCMPort {
 
   Mono<String> getFileContent(RepositoryIdentifier repo, String filePath);
 
+  default Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo, final List<String> filePaths) {
+    return Flux.fromIterable(filePaths)
+        .flatMapSequential(
+            path ->
+                getFileContent(repo, path)
+                    .map(content -> Map.entry(path, content))
+                    .onErrorResume(error -> Mono.empty()))
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+  }
+
+  default Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final List<String> filePaths) {
+    return getFileContents(repo, filePaths);
+  }
+
   Mono<PrMetadata> getPullRequestMetadata(
       RepositoryIdentifier repo, ChangeRequestIdentifier changeRequest);
 }
@@ -0,0 +1,65 @@
+package com.ghiloufi.aicode.core.domain.service;
+
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FindingFingerprint {
+
+  public static final String FALLBACK_KEY = "fallback";
+  public static final String SUMMARY_KEY = "summary";
+
+  private static final String FINDING_PREFIX = "finding:";
+  private static final Pattern MARKER = Pattern.compile("<!-- ai-code-reviewer:([a-z0-9:]+) -->");
+  private static final int FINGERPRINT_BYTES = 8;
+
+  public String keyOf(final ReviewResult.Issue issue) {
+    return FINDING_PREFIX + hash("issue", issue.getFile(), issue.getTitle());
+  }
+
+  public String keyOf(final ReviewResult.Note note) {
+    return FINDING_PREFIX + hash("note", note.getFile(), note.getNote());
+  }
+
+  public boolean isFinding(final String key) {
+    return key.startsWith(FINDING_PREFIX);
+  }
+
+  public String mark(final String body, final String key) {
+    return body.stripTrailing() + "\n\n<!-- ai-code-reviewer:" + key + " -->";
+  }
+
+  public Optional<String> extract(final String body) {
+    if (body == null) {
+      return Optional.empty();
+    }
+    final Matcher matcher = MARKER.matcher(body);
+    return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+  }
+
+  private static String hash(final String kind, final String file, final String text) {
+    final String canonical = kind + "|" + (file == null ? "" : file) + "|" + normalize(text);
+    try {
+      final byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String normalize(final String text) {
+    if (text == null) {
+      return "";
+    }
+    return text.toLowerCase(Locale.ROOT).replaceAll("\\d+", "#").replaceAll("\\s+", " ").strip();
+  }
+}
@@ -1,5 +1,6 @@
 package com.ghiloufi.aicode.core.domain.service;
 
+import com.ghiloufi.aicode.core.domain.model.GitHubFilePatch;
 import java.util.List;
 import java.util.Optional;
 import org.kohsuke.github.GHPullRequestFileDetail;
@@ -9,9 +10,19 @@ import org.springframework.stereotype.Service;
 public final class GitHubDiffBuilder {
 
   public String buildRawDiff(final List<GHPullRequestFileDetail> files) {
+    return buildRawDiffFromPatches(
+        files.stream()
+            .map(
+                file ->
+                    new GitHubFilePatch(
+                        file.getFilename(), file.getPreviousFilename(), file.getPatch()))
+            .toList());
+  }
+
+  public String buildRawDiffFromPatches(final List<GitHubFilePatch> files) {
     final StringBuilder rawDiff = new StringBuilder();
 
-    for (final GHPullRequestFileDetail file : files) {
+    for (final GitHubFilePatch file : files) {
       appendDiffHeader(rawDiff, file);
       appendDiffContent(rawDiff, file);
     }
@@ -19,24 +30,24 @@ public final class GitHubDiffBuilder {
     return rawDiff.toString();
   }
 
-  private void appendDiffHeader(final StringBuilder builder, final GHPullRequestFileDetail file) {
+  private void appendDiffHeader(final StringBuilder builder, final GitHubFilePatch file) {
     builder
         .append("diff --git a/")
-        .append(file.getFilename())
+        .append(file.filename())
         .append(" b/")
-        .append(file.getFilename())
+        .append(file.filename())
         .append("\n");
     builder.append("--- a/").append(extractPreviousFilename(file)).append("\n");
-    builder.append("+++ b/").append(file.getFilename()).append("\n");
+    builder.append("+++ b/").append(file.filename()).append("\n");
   }
 
-  private void appendDiffContent(final StringBuilder builder, final GHPullRequestFileDetail file) {
-    if (file.getPatch() != null) {
-      builder.append(file.getPatch()).append("\n");
+  private void appendDiffContent(final StringBuilder builder, final GitHubFilePatch file) {
+    if (file.patch() != null) {
+      builder.append(file.patch()).append("\n");
     }
   }
 
-  private String extractPreviousFilename(final GHPullRequestFileDetail file) {
-    return Optional.ofNullable(file.getPreviousFilename()).orElse(file.getFilename());
+  private String extractPreviousFilename(final GitHubFilePatch file) {
+    return Optional.ofNullable(file.previousFilename()).orElse(file.filename());
   }
 }
@@ -0,0 +1,46 @@
+package com.ghiloufi.aicode.core.domain.service;
+
+import com.ghiloufi.aicode.core.config.LlmPricingProperties;
+import com.ghiloufi.aicode.core.config.LlmPricingProperties.ModelPrice;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+@Service
+public final class LlmCostModel {
+
+  private static final BigDecimal ONE_MILLION = BigDecimal.valueOf(1_000_000);
+  private static final int COST_SCALE = 6;
+
+  private final LlmPricingProperties pricing;
+
+  public LlmCostModel(final LlmPricingProperties pricing) {
+    this.pricing = pricing;
+  }
+
+  public Optional<BigDecimal> estimate(
+      final String provider, final String model, final LlmUsage usage) {
+    if (usage == null) {
+      return Optional.empty();
+    }
+    return pricing.priceFor(provider, model).map(price -> cost(price, usage));
+  }
+
+  public String currency() {
+    return pricing.getCurrency();
+  }
+
+  private static BigDecimal cost(final ModelPrice price, final LlmUsage usage) {
+    return price
+        .getInputPerMillion()
+        .multiply(BigDecimal.valueOf(usage.uncachedInputTokens()))
+        .add(
+            price
+                .getCachedInputPerMillion()
+                .multiply(BigDecimal.valueOf(usage.cachedInputTokens())))
+        .add(price.getOutputPerMillion().multiply(BigDecimal.valueOf(usage.outputTokens())))
+        .divide(ONE_MILLION, COST_SCALE, RoundingMode.HALF_UP);
+  }
+}
@@ -23,6 +23,24 @@ public final class ReviewResultFormatter {
     return builder.toString();
   }
 
+  public String formatInlineIssue(final ReviewResult.Issue issue) {
+    final StringBuilder builder = new StringBuilder();
+    builder
+        .append("**")
+        .append(issue.getSeverity())
+        .append(":** ")
+        .append(issue.getTitle())
+        .append("\n");
+    if (hasSuggestion(issue)) {
+      builder.append("\n**Suggestion:** ").append(issue.getSuggestion()).append("\n");
+    }
+    return builder.toString();
+  }
+
+  public String formatInlineNote(final ReviewResult.Note note) {
+    return "📝 " + note.getNote();
+  }
+
   private void appendSummary(final StringBuilder builder, final ReviewResult reviewResult) {
     if (hasSummary(reviewResult)) {
       builder.append(reviewResult.getSummary()).append("\n\n");
@@ -0,0 +1,17 @@
+package com.ghiloufi.aicode.core.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+  private final String limiterName;
+  private final int limit;
+
+  public ConcurrencyLimitExceededException(
+      final String limiterName, final int limit, final String message) {
+    super(message);
+    this.limiterName = limiterName;
+    this.limit = limit;
+  }
+}
@@ -2,21 +2,42 @@ package com.ghiloufi.aicode.core.infrastructure.adapter;
 
 import com.ghiloufi.aicode.core.domain.model.*;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
 import com.ghiloufi.aicode.core.domain.service.GitHubDiffBuilder;
 import com.ghiloufi.aicode.core.domain.service.ReviewResultFormatter;
 import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.CachingGitHubConnector;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.RateLimitedGitHubConnector;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
 import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHPullRequestFileDetail;
+import org.kohsuke.github.GHPullRequestReviewBuilder;
+import org.kohsuke.github.GHPullRequestReviewEvent;
 import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -31,6 +52,11 @@ import reactor.core.scheduler.Schedulers;
     name = "enabled",
     havingValue = "true",
     matchIfMissing = true)
+@ConditionalOnProperty(
+    prefix = "scm.client",
+    name = "mode",
+    havingValue = "sdk",
+    matchIfMissing = true)
 public class GitHubAdapter implements SCMPort {
 
   private final GitHub gitHub;
@@ -38,19 +64,49 @@ public class GitHubAdapter implements SCMPort {
   private final ReviewResultFormatter reviewResultFormatter;
   private final SCMIdentifierValidator identifierValidator;
   private final GitHubDiffBuilder diffBuilder;
+  private final DiffLineValidator diffLineValidator;
+  private final CommentPlacementRouter commentPlacementRouter;
+  private final ReviewMetrics reviewMetrics;
+  private final GitHubGraphQlClient graphQl;
+  private final RepositoryTreeIndexCache treeIndexes;
 
   public GitHubAdapter(
+      @Value("${scm.providers.github.api-url:https://api.github.com}") final String apiUrl,
       @Value("${github.token}") final String token,
       final UnifiedDiffParser diffParser,
       final ReviewResultFormatter reviewResultFormatter,
       final SCMIdentifierValidator identifierValidator,
-      final GitHubDiffBuilder diffBuilder)
+      final GitHubDiffBuilder diffBuilder,
+      final ConditionalRequestCache httpCache,
+      final ScmRateLimiter rateLimiter,
+      final DiffLineValidator diffLineValidator,
+      final CommentPlacementRouter commentPlacementRouter,
+      final ReviewMetrics reviewMetrics,
+      final GitHubGraphQlClient graphQl,
+      final RepositoryTreeIndexCache treeIndexes)
       throws IOException {
-    this.gitHub = new GitHubBuilder().withOAuthToken(token).build();
+    GitHubConnector connector = GitHubConnector.DEFAULT;
+    if (rateLimiter.isEnabled()) {
+      connector = new RateLimitedGitHubConnector(connector, rateLimiter);
+    }
+    if (httpCache.isEnabled()) {
+      connector = new CachingGitHubConnector(connector, httpCache);
+    }
+    this.gitHub =
+        new GitHubBuilder()
+            .withEndpoint(apiUrl)
+            .withOAuthToken(token)
+            .withConnector(connector)
+            .build();
     this.diffParser = diffParser;
     this.reviewResultFormatter = reviewResultFormatter;
     this.identifierValidator = identifierValidator;
     this.diffBuilder = diffBuilder;
+    this.diffLineValidator = diffLineValidator;
+    this.commentPlacementRouter = commentPlacementRouter;
+    this.reviewMetrics = reviewMetrics;
+    this.graphQl = graphQl;
+    this.treeIndexes = treeIndexes;
     log.info("GitHub adapter initialized");
   }
 
@@ -107,11 +163,24 @@ public class GitHubAdapter implements SCMPort {
                 final GHRepository ghRepository = gitHub.getRepository(ghRepo.getDisplayName());
                 final GHPullRequest pullRequest = ghRepository.getPullRequest(prId.number());
 
-                final String reviewBody = reviewResultFormatter.format(reviewResult);
-
-                pullRequest.comment(reviewBody);
-
-                log.info("Review published for {}/PR#{}", ghRepo.getDisplayName(), prId.number());
+                final long started = System.nanoTime();
+                final GitDiffDocument structuredDiff =
+                    diffParser.parse(diffBuilder.buildRawDiff(pullRequest.listFiles().toList()));
+                final CommentPlacementRouter.SplitResult splitResult =
+                    commentPlacementRouter.split(
+                        diffLineValidator.validate(structuredDiff, reviewResult));
+
+                final PublishResult result =
+                    publishAsSingleReview(pullRequest, reviewResult, splitResult);
+                reviewMetrics.recordPublish(
+                    "github", Duration.ofNanos(System.nanoTime() - started), result);
+
+                log.info(
+                    "Review published for {}/PR#{}: {} inline comments, {} in body",
+                    ghRepo.getDisplayName(),
+                    prId.number(),
+                    result.inlineCommentsCreated(),
+                    result.fallbackCommentsInBody());
               } catch (final IOException e) {
                 log.error(
                     "Failed to publish review for {}/PR#{}",
@@ -124,6 +193,67 @@ public class GitHubAdapter implements SCMPort {
         .subscribeOn(Schedulers.boundedElastic());
   }
 
+  private PublishResult publishAsSingleReview(
+      final GHPullRequest pullRequest,
+      final ReviewResult reviewResult,
+      final CommentPlacementRouter.SplitResult splitResult)
+      throws IOException {
+    final ReviewResult inline = splitResult.validForInline();
+    final ReviewResult fallback = splitResult.invalidForFallback();
+    final ReviewResult bodyResult =
+        ReviewResult.builder()
+            .summary(reviewResult.getSummary())
+            .issues(fallback.getIssues())
+            .nonBlockingNotes(fallback.getNonBlockingNotes())
+            .build();
+
+    final GHPullRequestReviewBuilder review =
+        pullRequest
+            .createReview()
+            .commitId(pullRequest.getHead().getSha())
+            .event(GHPullRequestReviewEvent.COMMENT)
+            .body(reviewResultFormatter.format(bodyResult));
+    for (final ReviewResult.Issue issue : inline.getIssues()) {
+      review.singleLineComment(
+          reviewResultFormatter.formatInlineIssue(issue), issue.getFile(), issue.getStartLine());
+    }
+    for (final ReviewResult.Note note : inline.getNonBlockingNotes()) {
+      review.singleLineComment(
+          reviewResultFormatter.formatInlineNote(note), note.getFile(), note.getLine());
+    }
+    final int inlineCount = inline.getIssues().size() + inline.getNonBlockingNotes().size();
+    final int bodyCount = fallback.getIssues().size() + fallback.getNonBlockingNotes().size();
+
+    try {
+      final long reviewId = review.create().getId();
+      return new PublishResult(inlineCount, bodyCount, List.of(Long.toString(reviewId)), List.of());
+    } catch (final HttpException e) {
+      if (e.getResponseCode() != 422 || inlineCount == 0) {
+        throw e;
+      }
+      log.warn(
+          "GitHub rejected {} inline comments on PR#{}, publishing as a single comment: {}",
+          inlineCount,
+          pullRequest.getNumber(),
+          e.getMessage());
+      pullRequest.comment(reviewResultFormatter.format(reviewResult));
+      final List<PublishError> errors =
+          inline.getIssues().stream()
+              .map(
+                  issue ->
+                      new PublishError(
+                          issue.getFile(), issue.getStartLine(), "Inline comment rejected"))
+              .collect(Collectors.toCollection(ArrayList::new));
+      inline
+          .getNonBlockingNotes()
+          .forEach(
+              note ->
+                  errors.add(
+                      new PublishError(note.getFile(), note.getLine(), "Inline note rejected")));
+      return new PublishResult(0, inlineCount + bodyCount, List.of(), errors);
+    }
+  }
+
   @Override
   public Mono<Void> publishSummaryComment(
       final RepositoryIdentifier repo,
@@ -218,8 +348,57 @@ public class GitHubAdapter implements SCMPort {
   }
 
   @Override
-  public Mono<List<String>> listRepositoryFiles() {
-    return Mono.just(List.of());
+  public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
+    return Mono.fromCallable(
+            () -> {
+              final GitHubRepositoryId ghRepo = identifierValidator.validateGitHubRepository(repo);
+              final GHRepository ghRepository = gitHub.getRepository(ghRepo.getDisplayName());
+              final String commitSha =
+                  ghRepository.getBranch(ghRepository.getDefaultBranch()).getSHA1();
+
+              return treeIndexes
+                  .get(
+                      FileBlobCache.repositoryKey(SourceProvider.GITHUB, ghRepo.getDisplayName()),
+                      commitSha,
+                      () -> {
+                        final List<String> paths = new ArrayList<>();
+                        collectBlobPaths(ghRepository, commitSha, "", paths);
+                        return paths;
+                      })
+                  .paths();
+            })
+        .subscribeOn(Schedulers.boundedElastic())
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to list repository files",
+                    SourceProvider.GITHUB,
+                    "listRepositoryFiles",
+                    error));
+  }
+
+  private void collectBlobPaths(
+      final GHRepository ghRepository,
+      final String treeSha,
+      final String prefix,
+      final List<String> paths)
+      throws IOException {
+    final GHTree recursive = ghRepository.getTreeRecursive(treeSha, 1);
+    if (!recursive.isTruncated()) {
+      recursive.getTree().stream()
+          .filter(entry -> "blob".equals(entry.getType()))
+          .forEach(entry -> paths.add(prefix + entry.getPath()));
+      return;
+    }
+    log.debug("Recursive tree {} truncated, walking its subtrees", treeSha);
+    for (final GHTreeEntry entry : ghRepository.getTree(treeSha).getTree()) {
+      if ("blob".equals(entry.getType())) {
+        paths.add(prefix + entry.getPath());
+      } else if ("tree".equals(entry.getType())) {
+        collectBlobPaths(ghRepository, entry.getSha(), prefix + entry.getPath() + "/", paths);
+      }
+    }
   }
 
   @Override
@@ -243,13 +422,75 @@ public class GitHubAdapter implements SCMPort {
 
   @Override
   public Mono<String> getFileContent(final RepositoryIdentifier repo, final String filePath) {
-    return Mono.error(
-        new UnsupportedOperationException("File content retrieval not yet implemented for GitHub"));
+    if (!graphQl.isEnabled()) {
+      return Mono.error(
+          new UnsupportedOperationException(
+              "File content retrieval requires the GitHub GraphQL client"));
+    }
+    return getFileContents(repo, List.of(filePath))
+        .flatMap(contents -> Mono.justOrEmpty(contents.get(filePath)))
+        .switchIfEmpty(
+            Mono.error(
+                new SCMException(
+                    "File not found: " + filePath, SourceProvider.GITHUB, repo.getDisplayName())));
+  }
+
+  @Override
+  public Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo, final List<String> filePaths) {
+    if (!graphQl.isEnabled()) {
+      return SCMPort.super.getFileContents(repo, filePaths);
+    }
+    return Mono.fromCallable(() -> identifierValidator.validateGitHubRepository(repo))
+        .flatMap(ghRepo -> graphQl.fileContents(ghRepo.owner(), ghRepo.repo(), "HEAD", filePaths))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to fetch {} files from {}",
+                    filePaths.size(),
+                    repo.getDisplayName(),
+                    error));
+  }
+
+  @Override
+  public Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final List<String> filePaths) {
+    if (!graphQl.isEnabled()) {
+      return SCMPort.super.getFileContents(repo, changeRequest, filePaths);
+    }
+    return Mono.defer(
+            () -> {
+              final GitHubRepositoryId ghRepo = identifierValidator.validateGitHubRepository(repo);
+              final PullRequestId prId =
+                  identifierValidator.validateGitHubChangeRequest(changeRequest);
+              return graphQl.headFileContents(
+                  ghRepo.owner(), ghRepo.repo(), prId.number(), filePaths);
+            })
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to fetch {} files from {} at the change request head",
+                    filePaths.size(),
+                    repo.getDisplayName(),
+                    error));
   }
 
   @Override
   public Mono<PrMetadata> getPullRequestMetadata(
       final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    if (graphQl.isEnabled()) {
+      return Mono.defer(
+              () -> {
+                final GitHubRepositoryId ghRepo =
+                    identifierValidator.validateGitHubRepository(repo);
+                final PullRequestId prId =
+                    identifierValidator.validateGitHubChangeRequest(changeRequest);
+                return graphQl.pullRequest(ghRepo.owner(), ghRepo.repo(), prId.number());
+              })
+          .map(GitHubGraphQlClient.PullRequest::toMetadata);
+    }
     return Mono.fromCallable(
             () -> {
               final GitHubRepositoryId ghRepo = identifierValidator.validateGitHubRepository(repo);
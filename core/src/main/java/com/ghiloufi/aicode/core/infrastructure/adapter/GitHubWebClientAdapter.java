@@ -0,0 +1,651 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.ghiloufi.aicode.core.domain.model.*;
+import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.GitHubDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.ReviewResultFormatter;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndex;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    prefix = "scm.providers.github",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@ConditionalOnProperty(prefix = "scm.client", name = "mode", havingValue = "webclient")
+public class GitHubWebClientAdapter implements SCMPort {
+
+  private static final String REPOSITORY = "/repos/{owner}/{repo}";
+  private static final String PULL_REQUEST = REPOSITORY + "/pulls/{number}";
+  private static final int METADATA_COMMITS = 10;
+
+  private final WebClient webClient;
+  private final Retry readRetry;
+  private final int pageSize;
+  private final UnifiedDiffParser diffParser;
+  private final ReviewResultFormatter reviewResultFormatter;
+  private final SCMIdentifierValidator identifierValidator;
+  private final GitHubDiffBuilder diffBuilder;
+  private final DiffLineValidator diffLineValidator;
+  private final CommentPlacementRouter commentPlacementRouter;
+  private final ReviewMetrics reviewMetrics;
+  private final GitHubGraphQlClient graphQl;
+  private final RepositoryTreeIndexCache treeIndexes;
+
+  public GitHubWebClientAdapter(
+      @Value("${scm.providers.github.api-url:https://api.github.com}") final String apiUrl,
+      @Value("${scm.providers.github.token:${github.token:}}") final String token,
+      final ScmWebClientFactory webClients,
+      final UnifiedDiffParser diffParser,
+      final ReviewResultFormatter reviewResultFormatter,
+      final SCMIdentifierValidator identifierValidator,
+      final GitHubDiffBuilder diffBuilder,
+      final DiffLineValidator diffLineValidator,
+      final CommentPlacementRouter commentPlacementRouter,
+      final ReviewMetrics reviewMetrics,
+      final GitHubGraphQlClient graphQl,
+      final RepositoryTreeIndexCache treeIndexes) {
+    this.webClient =
+        webClients.create(
+            "github",
+            apiUrl,
+            headers -> {
+              headers.setBearerAuth(token);
+              headers.set(HttpHeaders.ACCEPT, "application/vnd.github+json");
+              headers.set("X-GitHub-Api-Version", "2022-11-28");
+            },
+            Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build());
+    this.readRetry = webClients.readRetry();
+    this.pageSize = webClients.pageSize();
+    this.diffParser = diffParser;
+    this.reviewResultFormatter = reviewResultFormatter;
+    this.identifierValidator = identifierValidator;
+    this.diffBuilder = diffBuilder;
+    this.diffLineValidator = diffLineValidator;
+    this.commentPlacementRouter = commentPlacementRouter;
+    this.reviewMetrics = reviewMetrics;
+    this.graphQl = graphQl;
+    this.treeIndexes = treeIndexes;
+    log.info("GitHub WebClient adapter initialized for: {}", apiUrl);
+  }
+
+  @Override
+  public Mono<DiffAnalysisBundle> getDiff(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return target(repo, changeRequest)
+        .flatMap(
+            target -> {
+              log.debug("Fetching diff for {}/PR#{}", target.displayName(), target.number());
+              return Mono.zip(pullRequest(target), files(target), commits(target))
+                  .map(
+                      loaded -> {
+                        final String rawDiff = diffBuilder.buildRawDiffFromPatches(loaded.getT2());
+                        final GitDiffDocument structuredDiff = diffParser.parse(rawDiff);
+                        log.debug("Parsed {} file modifications", structuredDiff.files.size());
+                        return new DiffAnalysisBundle(
+                            repo,
+                            structuredDiff,
+                            rawDiff,
+                            extractPrMetadata(
+                                loaded.getT1(), loaded.getT3(), loaded.getT2().size()));
+                      });
+            })
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to fetch diff for {}/PR#{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<Void> publishReview(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final ReviewResult reviewResult) {
+    return target(repo, changeRequest)
+        .flatMap(
+            target ->
+                Mono.zip(pullRequest(target), files(target))
+                    .flatMap(
+                        loaded -> {
+                          final long started = System.nanoTime();
+                          final GitDiffDocument structuredDiff =
+                              diffParser.parse(diffBuilder.buildRawDiffFromPatches(loaded.getT2()));
+                          final CommentPlacementRouter.SplitResult splitResult =
+                              commentPlacementRouter.split(
+                                  diffLineValidator.validate(structuredDiff, reviewResult));
+                          return publishAsSingleReview(
+                                  target, loaded.getT1(), reviewResult, splitResult)
+                              .doOnNext(
+                                  result -> {
+                                    reviewMetrics.recordPublish(
+                                        "github",
+                                        Duration.ofNanos(System.nanoTime() - started),
+                                        result);
+                                    log.info(
+                                        "Review published for {}/PR#{}: {} inline comments, {} in body",
+                                        target.displayName(),
+                                        target.number(),
+                                        result.inlineCommentsCreated(),
+                                        result.fallbackCommentsInBody());
+                                  });
+                        }))
+        .then()
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to publish review for {}/PR#{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<Void> publishSummaryComment(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final String summaryComment) {
+    log.warn("Summary comment feature not yet implemented for GitHub");
+    return Mono.empty();
+  }
+
+  @Override
+  public Mono<Boolean> isChangeRequestOpen(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return target(repo, changeRequest)
+        .flatMap(this::pullRequest)
+        .map(pullRequest -> "open".equals(pullRequest.state()))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to check PR status for {}/PR#{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<RepositoryInfo> getRepository(final RepositoryIdentifier repo) {
+    return Mono.fromCallable(() -> identifierValidator.validateGitHubRepository(repo))
+        .flatMap(
+            ghRepo ->
+                webClient
+                    .get()
+                    .uri(REPOSITORY, ghRepo.owner(), ghRepo.repo())
+                    .retrieve()
+                    .bodyToMono(Repository.class)
+                    .retryWhen(readRetry))
+        .map(
+            repository ->
+                new RepositoryInfo(
+                    repository.fullName(),
+                    repository.name(),
+                    repository.owner() != null ? repository.owner().login() : null,
+                    Optional.ofNullable(repository.description()).orElse(""),
+                    Optional.ofNullable(repository.language()).orElse(""),
+                    repository.hasIssues(),
+                    true,
+                    repository.defaultBranch(),
+                    repository.id(),
+                    repository.isPrivate(),
+                    repository.htmlUrl()))
+        .doOnError(
+            error -> log.error("Failed to fetch repository: {}", repo.getDisplayName(), error));
+  }
+
+  @Override
+  public Flux<MergeRequestSummary> getOpenChangeRequests(final RepositoryIdentifier repo) {
+    return Flux.error(
+        new UnsupportedOperationException(
+            "Listing open pull requests is not yet implemented for GitHub"));
+  }
+
+  @Override
+  public Flux<RepositoryInfo> getAllRepositories() {
+    return Flux.error(
+        new UnsupportedOperationException(
+            "Listing all repositories is not yet implemented for GitHub"));
+  }
+
+  @Override
+  public SourceProvider getProviderType() {
+    return SourceProvider.GITHUB;
+  }
+
+  @Override
+  public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
+    return Mono.fromCallable(() -> identifierValidator.validateGitHubRepository(repo))
+        .flatMap(
+            ghRepo ->
+                webClient
+                    .get()
+                    .uri(REPOSITORY + "/commits/HEAD", ghRepo.owner(), ghRepo.repo())
+                    .retrieve()
+                    .bodyToMono(CommitRef.class)
+                    .retryWhen(readRetry)
+                    .flatMap(
+                        head ->
+                            treeIndexes.get(
+                                FileBlobCache.repositoryKey(
+                                    SourceProvider.GITHUB, ghRepo.getDisplayName()),
+                                head.sha(),
+                                blobPaths(ghRepo.owner(), ghRepo.repo(), head.sha(), "")
+                                    .collectList())))
+        .map(RepositoryTreeIndex::paths)
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to list repository files",
+                    SourceProvider.GITHUB,
+                    "listRepositoryFiles",
+                    error));
+  }
+
+  @Override
+  public Flux<CommitInfo> getCommitsFor(
+      final RepositoryIdentifier repo,
+      final String filePath,
+      final LocalDate since,
+      final int maxResults) {
+    return Flux.error(
+        new UnsupportedOperationException(
+            "Git history queries are not yet implemented for GitHub"));
+  }
+
+  @Override
+  public Flux<CommitInfo> getCommitsSince(
+      final RepositoryIdentifier repo, final LocalDate since, final int maxResults) {
+    return Flux.error(
+        new UnsupportedOperationException(
+            "Git history queries are not yet implemented for GitHub"));
+  }
+
+  @Override
+  public Mono<String> getFileContent(final RepositoryIdentifier repo, final String filePath) {
+    if (!graphQl.isEnabled()) {
+      return Mono.error(
+          new UnsupportedOperationException(
+              "File content retrieval requires the GitHub GraphQL client"));
+    }
+    return getFileContents(repo, List.of(filePath))
+        .flatMap(contents -> Mono.justOrEmpty(contents.get(filePath)))
+        .switchIfEmpty(
+            Mono.error(
+                new SCMException(
+                    "File not found: " + filePath, SourceProvider.GITHUB, repo.getDisplayName())));
+  }
+
+  @Override
+  public Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo, final List<String> filePaths) {
+    if (!graphQl.isEnabled()) {
+      return SCMPort.super.getFileContents(repo, filePaths);
+    }
+    return Mono.fromCallable(() -> identifierValidator.validateGitHubRepository(repo))
+        .flatMap(ghRepo -> graphQl.fileContents(ghRepo.owner(), ghRepo.repo(), "HEAD", filePaths));
+  }
+
+  @Override
+  public Mono<Map<String, String>> getFileContents(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final List<String> filePaths) {
+    if (!graphQl.isEnabled()) {
+      return SCMPort.super.getFileContents(repo, changeRequest, filePaths);
+    }
+    return target(repo, changeRequest)
+        .flatMap(
+            target ->
+                graphQl.headFileContents(
+                    target.owner(), target.repo(), target.number(), filePaths));
+  }
+
+  @Override
+  public Mono<PrMetadata> getPullRequestMetadata(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    if (graphQl.isEnabled()) {
+      return target(repo, changeRequest)
+          .flatMap(target -> graphQl.pullRequest(target.owner(), target.repo(), target.number()))
+          .map(GitHubGraphQlClient.PullRequest::toMetadata);
+    }
+    return target(repo, changeRequest)
+        .flatMap(target -> Mono.zip(pullRequest(target), commits(target)))
+        .map(
+            loaded ->
+                extractPrMetadata(loaded.getT1(), loaded.getT2(), loaded.getT1().changedFiles()));
+  }
+
+  private Mono<PublishResult> publishAsSingleReview(
+      final Target target,
+      final PullRequest pullRequest,
+      final ReviewResult reviewResult,
+      final CommentPlacementRouter.SplitResult splitResult) {
+    final ReviewResult inline = splitResult.validForInline();
+    final ReviewResult fallback = splitResult.invalidForFallback();
+    final ReviewResult bodyResult =
+        ReviewResult.builder()
+            .summary(reviewResult.getSummary())
+            .issues(fallback.getIssues())
+            .nonBlockingNotes(fallback.getNonBlockingNotes())
+            .build();
+
+    final List<Map<String, Object>> comments = new ArrayList<>();
+    for (final ReviewResult.Issue issue : inline.getIssues()) {
+      comments.add(
+          reviewComment(
+              issue.getFile(),
+              issue.getStartLine(),
+              reviewResultFormatter.formatInlineIssue(issue)));
+    }
+    for (final ReviewResult.Note note : inline.getNonBlockingNotes()) {
+      comments.add(
+          reviewComment(
+              note.getFile(), note.getLine(), reviewResultFormatter.formatInlineNote(note)));
+    }
+    final Map<String, Object> review = new LinkedHashMap<>();
+    review.put("commit_id", pullRequest.head().sha());
+    review.put("event", "COMMENT");
+    review.put("body", reviewResultFormatter.format(bodyResult));
+    review.put("comments", comments);
+
+    final int inlineCount = comments.size();
+    final int bodyCount = fallback.getIssues().size() + fallback.getNonBlockingNotes().size();
+
+    return webClient
+        .post()
+        .uri(PULL_REQUEST + "/reviews", target.owner(), target.repo(), target.number())
+        .bodyValue(review)
+        .retrieve()
+        .bodyToMono(Review.class)
+        .map(
+            created ->
+                new PublishResult(
+                    inlineCount, bodyCount, List.of(Long.toString(created.id())), List.of()))
+        .onErrorResume(
+            error ->
+                error instanceof final WebClientResponseException response
+                    && response.getStatusCode() == HttpStatus.UNPROCESSABLE_ENTITY
+                    && inlineCount > 0,
+            error -> {
+              log.warn(
+                  "GitHub rejected {} inline comments on PR#{}, publishing as a single comment: {}",
+                  inlineCount,
+                  target.number(),
+                  error.getMessage());
+              final List<PublishError> errors = new ArrayList<>();
+              inline
+                  .getIssues()
+                  .forEach(
+                      issue ->
+                          errors.add(
+                              new PublishError(
+                                  issue.getFile(),
+                                  issue.getStartLine(),
+                                  "Inline comment rejected")));
+              inline
+                  .getNonBlockingNotes()
+                  .forEach(
+                      note ->
+                          errors.add(
+                              new PublishError(
+                                  note.getFile(), note.getLine(), "Inline note rejected")));
+              return webClient
+                  .post()
+                  .uri(
+                      REPOSITORY + "/issues/{number}/comments",
+                      target.owner(),
+                      target.repo(),
+                      target.number())
+                  .bodyValue(Map.of("body", reviewResultFormatter.format(reviewResult)))
+                  .retrieve()
+                  .toBodilessEntity()
+                  .thenReturn(new PublishResult(0, inlineCount + bodyCount, List.of(), errors));
+            });
+  }
+
+  private static Map<String, Object> reviewComment(
+      final String path, final int line, final String body) {
+    return Map.of("path", path, "line", line, "body", body);
+  }
+
+  private Mono<PullRequest> pullRequest(final Target target) {
+    return webClient
+        .get()
+        .uri(PULL_REQUEST, target.owner(), target.repo(), target.number())
+        .retrieve()
+        .bodyToMono(PullRequest.class)
+        .retryWhen(readRetry);
+  }
+
+  private Mono<List<GitHubFilePatch>> files(final Target target) {
+    return list(
+            GitHubFilePatch.class,
+            PULL_REQUEST + "/files",
+            target.owner(),
+            target.repo(),
+            target.number())
+        .collectList();
+  }
+
+  private Mono<List<CommitInfo>> commits(final Target target) {
+    return list(
+            PullRequestCommit.class,
+            PULL_REQUEST + "/commits",
+            target.owner(),
+            target.repo(),
+            target.number())
+        .take(METADATA_COMMITS)
+        .map(
+            commit ->
+                new CommitInfo(
+                    commit.sha(),
+                    commit.commit().message(),
+                    commit.commit().author() != null ? commit.commit().author().name() : null,
+                    commit.commit().author() != null ? commit.commit().author().date() : null,
+                    List.of()))
+        .collectList()
+        .onErrorResume(
+            error -> {
+              log.warn("Failed to extract full PR metadata: {}", error.getMessage());
+              return Mono.just(List.of());
+            });
+  }
+
+  private PrMetadata extractPrMetadata(
+      final PullRequest pullRequest, final List<CommitInfo> commits, final int changedFiles) {
+    return new PrMetadata(
+        pullRequest.title(),
+        pullRequest.body(),
+        pullRequest.user() != null ? pullRequest.user().login() : null,
+        pullRequest.base() != null ? pullRequest.base().ref() : null,
+        pullRequest.head() != null ? pullRequest.head().ref() : null,
+        pullRequest.labels() != null
+            ? pullRequest.labels().stream().map(Label::name).toList()
+            : List.of(),
+        commits,
+        changedFiles);
+  }
+
+  private Flux<String> blobPaths(
+      final String owner, final String repo, final String treeSha, final String prefix) {
+    return tree(owner, repo, treeSha, true)
+        .flatMapMany(
+            recursive -> {
+              if (!recursive.truncated()) {
+                return Flux.fromIterable(recursive.tree())
+                    .filter(TreeEntry::isBlob)
+                    .map(entry -> prefix + entry.path());
+              }
+              log.debug("Recursive tree {} truncated, walking its subtrees", treeSha);
+              return tree(owner, repo, treeSha, false)
+                  .flatMapMany(
+                      root ->
+                          Flux.fromIterable(root.tree())
+                              .concatMap(
+                                  entry -> {
+                                    if (entry.isBlob()) {
+                                      return Flux.just(prefix + entry.path());
+                                    }
+                                    if ("tree".equals(entry.type())) {
+                                      return blobPaths(
+                                          owner, repo, entry.sha(), prefix + entry.path() + "/");
+                                    }
+                                    return Flux.empty();
+                                  }));
+            });
+  }
+
+  private Mono<Tree> tree(
+      final String owner, final String repo, final String treeSha, final boolean recursive) {
+    return webClient
+        .get()
+        .uri(
+            builder -> {
+              builder.path(REPOSITORY + "/git/trees/{sha}");
+              if (recursive) {
+                builder.queryParam("recursive", "1");
+              }
+              return builder.build(owner, repo, treeSha);
+            })
+        .retrieve()
+        .bodyToMono(Tree.class)
+        .retryWhen(readRetry);
+  }
+
+  private <T> Flux<T> list(final Class<T> type, final String path, final Object... uriVariables) {
+    return page(type, path, 1, uriVariables)
+        .expand(
+            page ->
+                page.hasNext() ? page(type, path, page.number() + 1, uriVariables) : Mono.empty())
+        .concatMapIterable(Page::items);
+  }
+
+  private <T> Mono<Page<T>> page(
+      final Class<T> type, final String path, final int page, final Object... uriVariables) {
+    return webClient
+        .get()
+        .uri(
+            builder ->
+                builder
+                    .path(path)
+                    .queryParam("per_page", pageSize)
+                    .queryParam("page", page)
+                    .build(uriVariables))
+        .retrieve()
+        .toEntityList(type)
+        .retryWhen(readRetry)
+        .map(
+            response ->
+                new Page<>(
+                    response.getBody() != null ? response.getBody() : List.of(),
+                    page,
+                    hasNextPage(response.getHeaders())));
+  }
+
+  private static boolean hasNextPage(final HttpHeaders headers) {
+    final String link = headers.getFirst(HttpHeaders.LINK);
+    return link != null && link.contains("rel=\"next\"");
+  }
+
+  private Mono<Target> target(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return Mono.fromCallable(
+        () -> {
+          final GitHubRepositoryId ghRepo = identifierValidator.validateGitHubRepository(repo);
+          final PullRequestId prId = identifierValidator.validateGitHubChangeRequest(changeRequest);
+          return new Target(ghRepo.owner(), ghRepo.repo(), prId.number());
+        });
+  }
+
+  private record Target(String owner, String repo, int number) {
+    String displayName() {
+      return owner + "/" + repo;
+    }
+  }
+
+  private record Page<T>(List<T> items, int number, boolean hasNext) {}
+
+  private record PullRequest(
+      String title,
+      String body,
+      String state,
+      User user,
+      Ref base,
+      Ref head,
+      List<Label> labels,
+      int changedFiles) {}
+
+  private record User(String login) {}
+
+  private record Ref(String ref, String sha) {}
+
+  private record Label(String name) {}
+
+  private record PullRequestCommit(String sha, CommitDetail commit) {}
+
+  private record CommitDetail(String message, CommitAuthor author) {}
+
+  private record CommitAuthor(String name, Instant date) {}
+
+  private record Review(long id) {}
+
+  private record CommitRef(String sha) {}
+
+  private record Tree(String sha, List<TreeEntry> tree, boolean truncated) {}
+
+  private record TreeEntry(String path, String type, String sha) {
+    boolean isBlob() {
+      return "blob".equals(type);
+    }
+  }
+
+  private record Repository(
+      long id,
+      String name,
+      String fullName,
+      User owner,
+      String description,
+      String language,
+      boolean hasIssues,
+      String defaultBranch,
+      @JsonProperty("private") boolean isPrivate,
+      String htmlUrl) {}
+}
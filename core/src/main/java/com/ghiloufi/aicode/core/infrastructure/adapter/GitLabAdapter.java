@@ -1,41 +1,65 @@
 package com.ghiloufi.aicode.core.infrastructure.adapter;
 
+import com.ghiloufi.aicode.core.config.ScmPublishProperties;
 import com.ghiloufi.aicode.core.domain.model.*;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
 import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
 import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
 import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
 import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
 import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
 import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
 import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.BotDiscussion;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.DiscussionUpdate;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.InlineComment;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.InlineOutcome;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.CachingGitLabConnectorProvider;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlob;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshot;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshotCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
 import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 import lombok.extern.slf4j.Slf4j;
-import org.gitlab4j.api.DiscussionsApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
-import org.gitlab4j.api.models.Diff;
-import org.gitlab4j.api.models.Discussion;
 import org.gitlab4j.api.models.MergeRequest;
+import org.gitlab4j.api.models.Note;
 import org.gitlab4j.api.models.Position;
 import org.gitlab4j.api.models.Project;
 import org.gitlab4j.api.models.RepositoryFile;
+import org.gitlab4j.api.models.TreeItem;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 @Slf4j
 @Component
 @ConditionalOnProperty(prefix = "scm.providers.gitlab", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(
+    prefix = "scm.client",
+    name = "mode",
+    havingValue = "sdk",
+    matchIfMissing = true)
 public class GitLabAdapter implements SCMPort {
 
   private final GitLabApi gitLabApi;
@@ -46,6 +70,12 @@ public class GitLabAdapter implements SCMPort {
   private final GitLabProjectMapper projectMapper;
   private final DiffLineValidator diffLineValidator;
   private final CommentPlacementRouter commentPlacementRouter;
+  private final FileBlobCache blobCache;
+  private final MergeRequestSnapshotCache snapshots;
+  private final RepositoryTreeIndexCache treeIndexes;
+  private final ScmPublishProperties publishProperties;
+  private final ReviewMetrics reviewMetrics;
+  private final FindingFingerprint fingerprints;
 
   public GitLabAdapter(
       @Value("${scm.providers.gitlab.api-url}") final String apiUrl,
@@ -56,8 +86,18 @@ public class GitLabAdapter implements SCMPort {
       final GitLabMergeRequestMapper mergeRequestMapper,
       final GitLabProjectMapper projectMapper,
       final DiffLineValidator diffLineValidator,
-      final CommentPlacementRouter commentPlacementRouter) {
-    this.gitLabApi = new GitLabApi(apiUrl, token);
+      final CommentPlacementRouter commentPlacementRouter,
+      final ConditionalRequestCache httpCache,
+      final ScmRateLimiter rateLimiter,
+      final FileBlobCache blobCache,
+      final MergeRequestSnapshotCache snapshots,
+      final RepositoryTreeIndexCache treeIndexes,
+      final ScmPublishProperties publishProperties,
+      final ReviewMetrics reviewMetrics,
+      final FindingFingerprint fingerprints) {
+    this.gitLabApi =
+        new GitLabApi(
+            apiUrl, token, CachingGitLabConnectorProvider.clientProperties(httpCache, rateLimiter));
     this.diffParser = diffParser;
     this.identifierValidator = identifierValidator;
     this.diffBuilder = diffBuilder;
@@ -65,6 +105,12 @@ public class GitLabAdapter implements SCMPort {
     this.projectMapper = projectMapper;
     this.diffLineValidator = diffLineValidator;
     this.commentPlacementRouter = commentPlacementRouter;
+    this.blobCache = blobCache;
+    this.snapshots = snapshots;
+    this.treeIndexes = treeIndexes;
+    this.publishProperties = publishProperties;
+    this.reviewMetrics = reviewMetrics;
+    this.fingerprints = fingerprints;
     log.info("GitLab adapter initialized for: {}", apiUrl);
   }
 
@@ -80,30 +126,20 @@ public class GitLabAdapter implements SCMPort {
 
               log.debug("Fetching diff for {}/MR!{}", gitLabRepo.projectId(), mrId.iid());
 
-              final Object projectIdOrPath = gitLabRepo.projectId();
-              final MergeRequest mergeRequestWithChanges =
-                  gitLabApi
-                      .getMergeRequestApi()
-                      .getMergeRequestChanges(projectIdOrPath, (long) mrId.iid());
-
-              final List<Diff> diffs = mergeRequestWithChanges.getChanges();
+              final MergeRequestSnapshot snapshot =
+                  snapshots.refresh(
+                      snapshotKey(gitLabRepo), mrId.iid(), () -> loadSnapshot(gitLabRepo, mrId));
 
               log.debug(
                   "Fetched {} diffs for {}/MR!{} - Title: {}",
-                  diffs.size(),
+                  snapshot.changes().size(),
                   gitLabRepo.projectId(),
                   mrId.iid(),
-                  mergeRequestWithChanges.getTitle());
-
-              final String rawDiff = diffBuilder.buildRawDiff(diffs);
-              final GitDiffDocument structuredDiff = diffParser.parse(rawDiff);
-
-              log.debug("Parsed {} file modifications", structuredDiff.files.size());
-
-              final PrMetadata prMetadata =
-                  extractPrMetadata(mergeRequestWithChanges, diffs.size());
+                  snapshot.mergeRequest().getTitle());
+              log.debug("Parsed {} file modifications", snapshot.structuredDiff().files.size());
 
-              return new DiffAnalysisBundle(repo, structuredDiff, rawDiff, prMetadata);
+              return new DiffAnalysisBundle(
+                  repo, snapshot.structuredDiff(), snapshot.rawDiff(), snapshot.prMetadata());
             })
         .subscribeOn(Schedulers.boundedElastic())
         .doOnError(
@@ -130,17 +166,12 @@ public class GitLabAdapter implements SCMPort {
               log.debug("Publishing review for {}/MR!{}", gitLabRepo.projectId(), mrId.iid());
 
               final Object projectIdOrPath = gitLabRepo.projectId();
-              final MergeRequest mergeRequest =
-                  gitLabApi
-                      .getMergeRequestApi()
-                      .getMergeRequestChanges(projectIdOrPath, (long) mrId.iid());
-
-              final List<Diff> diffs = mergeRequest.getChanges();
-              final String rawDiff = diffBuilder.buildRawDiff(diffs);
-              final GitDiffDocument structuredDiff = diffParser.parse(rawDiff);
+              final MergeRequestSnapshot snapshot =
+                  snapshots.get(
+                      snapshotKey(gitLabRepo), mrId.iid(), () -> loadSnapshot(gitLabRepo, mrId));
 
               final DiffLineValidator.ValidationResult validationResult =
-                  diffLineValidator.validate(structuredDiff, reviewResult);
+                  diffLineValidator.validate(snapshot.structuredDiff(), reviewResult);
 
               final CommentPlacementRouter.SplitResult splitResult =
                   commentPlacementRouter.split(validationResult);
@@ -150,8 +181,14 @@ public class GitLabAdapter implements SCMPort {
                   splitResult.validForInline().getIssues().size(),
                   splitResult.invalidForFallback().getIssues().size());
 
-              return publishWithInlineComments(
-                  projectIdOrPath, mrId.iid(), mergeRequest, splitResult);
+              final long started = System.nanoTime();
+              final PublishResult result =
+                  publishWithInlineComments(
+                      projectIdOrPath, mrId.iid(), snapshot.mergeRequest(), splitResult);
+              reviewMetrics.recordPublish(
+                  "gitlab", Duration.ofNanos(System.nanoTime() - started), result);
+              snapshots.evict(snapshotKey(gitLabRepo), mrId.iid());
+              return result;
             })
         .subscribeOn(Schedulers.boundedElastic())
         .then()
@@ -186,10 +223,19 @@ public class GitLabAdapter implements SCMPort {
                   "Publishing summary comment for {}/MR!{}", gitLabRepo.projectId(), mrId.iid());
 
               final Object projectIdOrPath = gitLabRepo.projectId();
-              gitLabApi
-                  .getNotesApi()
-                  .createMergeRequestNote(
-                      projectIdOrPath, (long) mrId.iid(), summaryComment, null, null);
+              final String body = fingerprints.mark(summaryComment, FindingFingerprint.SUMMARY_KEY);
+              final Optional<Note> existing =
+                  botNote(projectIdOrPath, mrId.iid(), FindingFingerprint.SUMMARY_KEY);
+              if (existing.isEmpty()) {
+                gitLabApi
+                    .getNotesApi()
+                    .createMergeRequestNote(projectIdOrPath, (long) mrId.iid(), body, null, null);
+              } else if (!body.equals(existing.get().getBody())) {
+                gitLabApi
+                    .getNotesApi()
+                    .updateMergeRequestNote(
+                        projectIdOrPath, (long) mrId.iid(), existing.get().getId(), body);
+              }
 
               log.debug(
                   "Summary comment published for {}/MR!{}", gitLabRepo.projectId(), mrId.iid());
@@ -352,75 +398,44 @@ public class GitLabAdapter implements SCMPort {
       final MergeRequest mergeRequest,
       final CommentPlacementRouter.SplitResult splitResult) {
 
-    final DiscussionsApi discussionsApi = gitLabApi.getDiscussionsApi();
-    final List<String> discussionIds = new ArrayList<>();
-    final List<PublishError> errors = new ArrayList<>();
-
-    int inlineCommentsCreated = 0;
-
-    for (final ReviewResult.Issue issue : splitResult.validForInline().getIssues()) {
-      try {
-        final String commentBody = formatInlineComment(issue);
-        final Position position =
-            createPosition(mergeRequest, issue.getFile(), issue.getStartLine());
-
-        final Discussion discussion =
-            discussionsApi.createMergeRequestDiscussion(
-                projectIdOrPath, mergeRequestIid, commentBody, null, null, position);
-
-        discussionIds.add(discussion.getId());
-        inlineCommentsCreated++;
-
-        log.debug(
-            "Created inline comment on {}:{} (discussion {})",
-            issue.getFile(),
-            issue.getStartLine(),
-            discussion.getId());
-
-      } catch (final GitLabApiException e) {
-        log.error(
-            "Failed to create inline comment for {}:{}", issue.getFile(), issue.getStartLine(), e);
-        errors.add(
-            new PublishError(
-                issue.getFile(),
-                issue.getStartLine(),
-                "Failed to create inline comment: " + e.getMessage()));
-      }
-    }
-
-    for (final ReviewResult.Note note : splitResult.validForInline().getNonBlockingNotes()) {
-      try {
-        final String commentBody = formatInlineNote(note);
-        final Position position = createPosition(mergeRequest, note.getFile(), note.getLine());
-
-        final Discussion discussion =
-            discussionsApi.createMergeRequestDiscussion(
-                projectIdOrPath, mergeRequestIid, commentBody, null, null, position);
-
-        discussionIds.add(discussion.getId());
-        inlineCommentsCreated++;
-
-        log.debug(
-            "Created inline note on {}:{} (discussion {})",
-            note.getFile(),
-            note.getLine(),
-            discussion.getId());
-
-      } catch (final GitLabApiException e) {
-        log.error("Failed to create inline note for {}:{}", note.getFile(), note.getLine(), e);
-        errors.add(
-            new PublishError(
-                note.getFile(), note.getLine(), "Failed to create inline note: " + e.getMessage()));
-      }
-    }
-
+    final Map<String, BotDiscussion> existing = botDiscussions(projectIdOrPath, mergeRequestIid);
+    final GitLabPublishPlan plan =
+        GitLabPublishPlan.of(fingerprints, splitResult.validForInline(), existing);
+
+    final List<InlineOutcome> created =
+        Flux.fromIterable(plan.toCreate())
+            .flatMapSequential(
+                comment ->
+                    createDiscussion(projectIdOrPath, mergeRequestIid, mergeRequest, comment),
+                publishProperties.getConcurrency())
+            .collectList()
+            .block();
+    final List<InlineOutcome> updated =
+        Flux.fromIterable(plan.updates())
+            .flatMapSequential(
+                update -> updateDiscussion(projectIdOrPath, mergeRequestIid, update),
+                publishProperties.getConcurrency())
+            .collectList()
+            .block();
+
+    final List<PublishError> fallbackErrors = new ArrayList<>();
     if (!splitResult.invalidForFallback().getIssues().isEmpty()
         || !splitResult.invalidForFallback().getNonBlockingNotes().isEmpty()) {
       try {
-        final String fallbackBody = formatFallbackComment(splitResult);
-        gitLabApi
-            .getNotesApi()
-            .createMergeRequestNote(projectIdOrPath, mergeRequestIid, fallbackBody, null, null);
+        final String fallbackBody =
+            fingerprints.mark(
+                GitLabCommentFormatter.fallback(splitResult), FindingFingerprint.FALLBACK_KEY);
+        final BotDiscussion current = existing.get(FindingFingerprint.FALLBACK_KEY);
+        if (current == null) {
+          gitLabApi
+              .getNotesApi()
+              .createMergeRequestNote(projectIdOrPath, mergeRequestIid, fallbackBody, null, null);
+        } else if (!fallbackBody.equals(current.body())) {
+          gitLabApi
+              .getNotesApi()
+              .updateMergeRequestNote(
+                  projectIdOrPath, mergeRequestIid, current.noteId(), fallbackBody);
+        }
 
         log.debug(
             "Published fallback comment with {} invalid issues",
@@ -428,21 +443,156 @@ public class GitLabAdapter implements SCMPort {
 
       } catch (final GitLabApiException e) {
         log.error("Failed to publish fallback comment", e);
-        errors.add(
+        fallbackErrors.add(
             new PublishError(null, 0, "Failed to publish fallback comment: " + e.getMessage()));
       }
     }
 
+    final PublishResult result =
+        plan.toResult(
+            created, updated, fallbackErrors, splitResult.invalidForFallback().getIssues().size());
     log.info(
-        "Published review: {} inline comments, {} fallback items",
-        inlineCommentsCreated,
-        splitResult.invalidForFallback().getIssues().size());
-
-    return new PublishResult(
-        inlineCommentsCreated,
-        splitResult.invalidForFallback().getIssues().size(),
-        discussionIds,
-        errors);
+        "Published review: {} inline comments, {} unchanged, {} resolved, {} fallback items, {} failures",
+        result.inlineCommentsCreated(),
+        result.inlineCommentsUnchanged(),
+        result.discussionsResolved(),
+        result.fallbackCommentsInBody(),
+        result.errors().size());
+    return result;
+  }
+
+  private Map<String, BotDiscussion> botDiscussions(
+      final Object projectIdOrPath, final long mergeRequestIid) {
+    try {
+      return GitLabPublishPlan.index(
+          fingerprints,
+          gitLabApi
+              .getDiscussionsApi()
+              .getMergeRequestDiscussions(projectIdOrPath, mergeRequestIid));
+    } catch (final GitLabApiException e) {
+      log.warn(
+          "Failed to list existing discussions on MR!{}, publishing every finding: {}",
+          mergeRequestIid,
+          e.getMessage());
+      return Map.of();
+    }
+  }
+
+  private Optional<Note> botNote(
+      final Object projectIdOrPath, final long mergeRequestIid, final String key) {
+    try {
+      return gitLabApi.getNotesApi().getMergeRequestNotes(projectIdOrPath, mergeRequestIid).stream()
+          .filter(note -> fingerprints.extract(note.getBody()).filter(key::equals).isPresent())
+          .findFirst();
+    } catch (final GitLabApiException e) {
+      log.warn("Failed to list notes on MR!{}: {}", mergeRequestIid, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private Mono<InlineOutcome> createDiscussion(
+      final Object projectIdOrPath,
+      final long mergeRequestIid,
+      final MergeRequest mergeRequest,
+      final InlineComment comment) {
+    return withRetry(
+            () ->
+                gitLabApi
+                    .getDiscussionsApi()
+                    .createMergeRequestDiscussion(
+                        projectIdOrPath,
+                        mergeRequestIid,
+                        comment.body(),
+                        null,
+                        null,
+                        createPosition(mergeRequest, comment.file(), comment.line())))
+        .map(
+            discussion -> {
+              log.debug(
+                  "Created inline {} on {}:{} (discussion {})",
+                  comment.kind(),
+                  comment.file(),
+                  comment.line(),
+                  discussion.getId());
+              return new InlineOutcome(discussion.getId(), null);
+            })
+        .onErrorResume(
+            error -> {
+              log.error(
+                  "Failed to create inline {} for {}:{}",
+                  comment.kind(),
+                  comment.file(),
+                  comment.line(),
+                  error);
+              return Mono.just(
+                  new InlineOutcome(
+                      null,
+                      new PublishError(
+                          comment.file(),
+                          comment.line(),
+                          "Failed to create inline "
+                              + comment.kind()
+                              + ": "
+                              + error.getMessage())));
+            });
+  }
+
+  private Mono<InlineOutcome> updateDiscussion(
+      final Object projectIdOrPath, final long mergeRequestIid, final DiscussionUpdate update) {
+    final String discussionId = update.discussion().discussionId();
+    return withRetry(
+            () ->
+                update.resolve()
+                    ? gitLabApi
+                        .getDiscussionsApi()
+                        .resolveMergeRequestDiscussion(
+                            projectIdOrPath, mergeRequestIid, discussionId, true)
+                    : gitLabApi
+                        .getDiscussionsApi()
+                        .modifyMergeRequestThreadNote(
+                            projectIdOrPath,
+                            mergeRequestIid,
+                            discussionId,
+                            update.discussion().noteId(),
+                            update.body(),
+                            null))
+        .map(
+            response -> {
+              log.debug(
+                  "{} discussion {}", update.resolve() ? "Resolved" : "Updated", discussionId);
+              return new InlineOutcome(discussionId, null);
+            })
+        .onErrorResume(
+            error -> {
+              log.error("Failed to update discussion {}", discussionId, error);
+              return Mono.just(
+                  new InlineOutcome(
+                      null,
+                      new PublishError(
+                          null,
+                          0,
+                          "Failed to update discussion "
+                              + discussionId
+                              + ": "
+                              + error.getMessage())));
+            });
+  }
+
+  private <T> Mono<T> withRetry(final Callable<T> call) {
+    return Mono.fromCallable(call)
+        .subscribeOn(Schedulers.boundedElastic())
+        .retryWhen(
+            Retry.backoff(
+                    publishProperties.getMaxAttempts() - 1, publishProperties.getRetryBackoff())
+                .filter(GitLabAdapter::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+  }
+
+  private static boolean isRetryable(final Throwable error) {
+    if (error instanceof final GitLabApiException apiError) {
+      return apiError.getHttpStatus() == 429 || apiError.getHttpStatus() >= 500;
+    }
+    return true;
   }
 
   private Position createPosition(
@@ -460,95 +610,41 @@ public class GitLabAdapter implements SCMPort {
     return position;
   }
 
-  private String formatInlineComment(final ReviewResult.Issue issue) {
-    final String label = "issue";
-
-    final String blockingStatus =
-        switch (issue.getSeverity()) {
-          case "critical" -> "(blocking)";
-          case "major" -> "(blocking)";
-          case "minor" -> "(non-blocking)";
-          case "info" -> "(non-blocking)";
-          default -> "(non-blocking)";
-        };
-
-    final String severityDecoration =
-        switch (issue.getSeverity()) {
-          case "critical" -> "critical";
-          case "major" -> "major";
-          case "minor" -> "minor";
-          case "info" -> "info";
-          default -> issue.getSeverity();
-        };
-
-    final StringBuilder comment = new StringBuilder();
-    comment.append(
-        String.format(
-            "%s %s, %s: %s\n\n", label, blockingStatus, severityDecoration, issue.getTitle()));
-
-    if (issue.getSuggestion() != null && !issue.getSuggestion().isBlank()) {
-      comment.append(String.format("**Recommendation:** %s\n\n", issue.getSuggestion()));
-    }
-
-    return comment.toString();
-  }
-
-  private String formatInlineNote(final ReviewResult.Note note) {
-    return "note (non-blocking): Code observation\n\n" + note.getNote();
-  }
-
-  private String formatFallbackComment(final CommentPlacementRouter.SplitResult splitResult) {
-    final StringBuilder body = new StringBuilder();
-    body.append("## Additional Review Findings\n\n");
-    body.append("The following issues were found in code areas outside the current diff:\n\n");
-
-    for (final ReviewResult.Issue issue : splitResult.invalidForFallback().getIssues()) {
-      final String blockingStatus =
-          switch (issue.getSeverity()) {
-            case "critical" -> "(blocking)";
-            case "major" -> "(blocking)";
-            case "minor" -> "(non-blocking)";
-            case "info" -> "(non-blocking)";
-            default -> "(non-blocking)";
-          };
-
-      final String severityLabel =
-          switch (issue.getSeverity()) {
-            case "critical" -> "CRITICAL";
-            case "major" -> "MAJOR";
-            case "minor" -> "MINOR";
-            case "info" -> "INFO";
-            default -> issue.getSeverity().toUpperCase();
-          };
-
-      body.append("---\n\n");
-      body.append(String.format("**Issue:** %s\n", issue.getTitle()));
-      body.append(String.format("**Severity:** %s %s\n", severityLabel, blockingStatus));
-      body.append(
-          String.format("**Location:** `%s:%d`\n\n", issue.getFile(), issue.getStartLine()));
-
-      if (issue.getSuggestion() != null && !issue.getSuggestion().isBlank()) {
-        body.append(String.format("**Recommendation:** %s\n\n", issue.getSuggestion()));
-      }
-    }
-
-    if (!splitResult.invalidForFallback().getNonBlockingNotes().isEmpty()) {
-      body.append("---\n\n");
-      body.append("## Additional Notes\n\n");
-      for (final ReviewResult.Note note : splitResult.invalidForFallback().getNonBlockingNotes()) {
-        body.append("---\n\n");
-        body.append("**Note:** Code observation\n");
-        body.append(String.format("**Location:** `%s:%d`\n\n", note.getFile(), note.getLine()));
-        body.append(String.format("%s\n\n", note.getNote()));
-      }
-    }
-
-    return body.toString();
-  }
-
   @Override
-  public Mono<List<String>> listRepositoryFiles() {
-    return Mono.just(List.of());
+  public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
+    return Mono.fromCallable(
+            () -> {
+              final GitLabRepositoryId gitLabRepo =
+                  identifierValidator.validateGitLabRepository(repo);
+              final Object projectIdOrPath = gitLabRepo.projectId();
+              final String repository =
+                  FileBlobCache.repositoryKey(SourceProvider.GITLAB, gitLabRepo.projectId());
+              final String commitSha =
+                  blobCache.resolveRef(
+                      repository, "HEAD", () -> resolveDefaultBranchHead(projectIdOrPath));
+
+              return treeIndexes
+                  .get(
+                      repository,
+                      commitSha,
+                      () ->
+                          gitLabApi
+                              .getRepositoryApi()
+                              .getTreeStream(projectIdOrPath, null, commitSha, true)
+                              .filter(item -> item.getType() == TreeItem.Type.BLOB)
+                              .map(TreeItem::getPath)
+                              .toList())
+                  .paths();
+            })
+        .subscribeOn(Schedulers.boundedElastic())
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to list repository files",
+                    SourceProvider.GITLAB,
+                    "listRepositoryFiles",
+                    error));
   }
 
   @Override
@@ -695,12 +791,24 @@ public class GitLabAdapter implements SCMPort {
               log.debug("Fetching file content: {} from {}", filePath, gitLabRepo.projectId());
 
               final Object projectIdOrPath = gitLabRepo.projectId();
-              final Project project = gitLabApi.getProjectApi().getProject(projectIdOrPath);
-              final String ref = project.getDefaultBranch();
-
-              final RepositoryFile file =
-                  gitLabApi.getRepositoryFileApi().getFile(projectIdOrPath, filePath, ref);
-              final String content = file.getDecodedContentAsString();
+              final String repository =
+                  FileBlobCache.repositoryKey(SourceProvider.GITLAB, gitLabRepo.projectId());
+              final String commitSha =
+                  blobCache.resolveRef(
+                      repository, "HEAD", () -> resolveDefaultBranchHead(projectIdOrPath));
+
+              final String content =
+                  blobCache.getContent(
+                      repository,
+                      commitSha,
+                      filePath,
+                      () -> {
+                        final RepositoryFile file =
+                            gitLabApi
+                                .getRepositoryFileApi()
+                                .getFile(projectIdOrPath, filePath, commitSha);
+                        return new FileBlob(file.getBlobId(), file.getDecodedContentAsString());
+                      });
 
               log.debug("Retrieved {} bytes from {}", content.length(), filePath);
               return content;
@@ -715,6 +823,15 @@ public class GitLabAdapter implements SCMPort {
                     error.getMessage()));
   }
 
+  private String resolveDefaultBranchHead(final Object projectIdOrPath) throws GitLabApiException {
+    final Project project = gitLabApi.getProjectApi().getProject(projectIdOrPath);
+    return gitLabApi
+        .getRepositoryApi()
+        .getBranch(projectIdOrPath, project.getDefaultBranch())
+        .getCommit()
+        .getId();
+  }
+
   @Override
   public Mono<PrMetadata> getPullRequestMetadata(
       final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
@@ -725,20 +842,29 @@ public class GitLabAdapter implements SCMPort {
               final MergeRequestId mrId =
                   identifierValidator.validateGitLabChangeRequest(changeRequest);
 
-              final Object projectIdOrPath = gitLabRepo.projectId();
-              final MergeRequest mergeRequest =
-                  gitLabApi
-                      .getMergeRequestApi()
-                      .getMergeRequestChanges(projectIdOrPath, (long) mrId.iid());
-
-              final int changedFiles =
-                  mergeRequest.getChanges() != null ? mergeRequest.getChanges().size() : 0;
-
-              return extractPrMetadata(mergeRequest, changedFiles);
+              return snapshots
+                  .get(snapshotKey(gitLabRepo), mrId.iid(), () -> loadSnapshot(gitLabRepo, mrId))
+                  .prMetadata();
             })
         .subscribeOn(Schedulers.boundedElastic());
   }
 
+  private MergeRequestSnapshot loadSnapshot(
+      final GitLabRepositoryId gitLabRepo, final MergeRequestId mrId) throws GitLabApiException {
+    final MergeRequest mergeRequest =
+        gitLabApi
+            .getMergeRequestApi()
+            .getMergeRequestChanges(gitLabRepo.projectId(), (long) mrId.iid());
+    final int changedFiles =
+        mergeRequest.getChanges() != null ? mergeRequest.getChanges().size() : 0;
+    return MergeRequestSnapshot.of(
+        mergeRequest, extractPrMetadata(mergeRequest, changedFiles), diffBuilder, diffParser);
+  }
+
+  private static String snapshotKey(final GitLabRepositoryId gitLabRepo) {
+    return FileBlobCache.repositoryKey(SourceProvider.GITLAB, gitLabRepo.projectId());
+  }
+
   private PrMetadata extractPrMetadata(final MergeRequest mergeRequest, final int changedFiles) {
     final String author =
         mergeRequest.getAuthor() != null ? mergeRequest.getAuthor().getUsername() : null;
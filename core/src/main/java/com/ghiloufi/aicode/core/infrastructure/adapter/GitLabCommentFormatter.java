@@ -0,0 +1,95 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+
+final class GitLabCommentFormatter {
+
+  private GitLabCommentFormatter() {}
+
+  static String inlineIssue(final ReviewResult.Issue issue) {
+    final String label = "issue";
+
+    final String blockingStatus =
+        switch (issue.getSeverity()) {
+          case "critical" -> "(blocking)";
+          case "major" -> "(blocking)";
+          case "minor" -> "(non-blocking)";
+          case "info" -> "(non-blocking)";
+          default -> "(non-blocking)";
+        };
+
+    final String severityDecoration =
+        switch (issue.getSeverity()) {
+          case "critical" -> "critical";
+          case "major" -> "major";
+          case "minor" -> "minor";
+          case "info" -> "info";
+          default -> issue.getSeverity();
+        };
+
+    final StringBuilder comment = new StringBuilder();
+    comment.append(
+        String.format(
+            "%s %s, %s: %s\n\n", label, blockingStatus, severityDecoration, issue.getTitle()));
+
+    if (issue.getSuggestion() != null && !issue.getSuggestion().isBlank()) {
+      comment.append(String.format("**Recommendation:** %s\n\n", issue.getSuggestion()));
+    }
+
+    return comment.toString();
+  }
+
+  static String inlineNote(final ReviewResult.Note note) {
+    return "note (non-blocking): Code observation\n\n" + note.getNote();
+  }
+
+  static String fallback(final CommentPlacementRouter.SplitResult splitResult) {
+    final StringBuilder body = new StringBuilder();
+    body.append("## Additional Review Findings\n\n");
+    body.append("The following issues were found in code areas outside the current diff:\n\n");
+
+    for (final ReviewResult.Issue issue : splitResult.invalidForFallback().getIssues()) {
+      final String blockingStatus =
+          switch (issue.getSeverity()) {
+            case "critical" -> "(blocking)";
+            case "major" -> "(blocking)";
+            case "minor" -> "(non-blocking)";
+            case "info" -> "(non-blocking)";
+            default -> "(non-blocking)";
+          };
+
+      final String severityLabel =
+          switch (issue.getSeverity()) {
+            case "critical" -> "CRITICAL";
+            case "major" -> "MAJOR";
+            case "minor" -> "MINOR";
+            case "info" -> "INFO";
+            default -> issue.getSeverity().toUpperCase();
+          };
+
+      body.append("---\n\n");
+      body.append(String.format("**Issue:** %s\n", issue.getTitle()));
+      body.append(String.format("**Severity:** %s %s\n", severityLabel, blockingStatus));
+      body.append(
+          String.format("**Location:** `%s:%d`\n\n", issue.getFile(), issue.getStartLine()));
+
+      if (issue.getSuggestion() != null && !issue.getSuggestion().isBlank()) {
+        body.append(String.format("**Recommendation:** %s\n\n", issue.getSuggestion()));
+      }
+    }
+
+    if (!splitResult.invalidForFallback().getNonBlockingNotes().isEmpty()) {
+      body.append("---\n\n");
+      body.append("## Additional Notes\n\n");
+      for (final ReviewResult.Note note : splitResult.invalidForFallback().getNonBlockingNotes()) {
+        body.append("---\n\n");
+        body.append("**Note:** Code observation\n");
+        body.append(String.format("**Location:** `%s:%d`\n\n", note.getFile(), note.getLine()));
+        body.append(String.format("%s\n\n", note.getNote()));
+      }
+    }
+
+    return body.toString();
+  }
+}
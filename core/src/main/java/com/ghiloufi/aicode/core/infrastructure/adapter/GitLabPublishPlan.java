@@ -0,0 +1,150 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.gitlab4j.api.models.Discussion;
+import org.gitlab4j.api.models.Note;
+
+record GitLabPublishPlan(
+    List<GitLabPublishPlan.InlineComment> toCreate,
+    List<GitLabPublishPlan.DiscussionUpdate> updates,
+    int unchanged) {
+
+  static Map<String, BotDiscussion> index(
+      final FindingFingerprint fingerprints, final List<Discussion> discussions) {
+    final Map<String, BotDiscussion> index = new HashMap<>();
+    for (final Discussion discussion : discussions) {
+      if (discussion.getNotes() == null || discussion.getNotes().isEmpty()) {
+        continue;
+      }
+      final Note note = discussion.getNotes().get(0);
+      fingerprints
+          .extract(note.getBody())
+          .ifPresent(
+              key ->
+                  index.putIfAbsent(
+                      key,
+                      new BotDiscussion(
+                          key,
+                          discussion.getId(),
+                          note.getId(),
+                          note.getBody(),
+                          Boolean.TRUE.equals(note.getResolvable()),
+                          Boolean.TRUE.equals(note.getResolved()))));
+    }
+    return index;
+  }
+
+  static GitLabPublishPlan of(
+      final FindingFingerprint fingerprints,
+      final ReviewResult inline,
+      final Map<String, BotDiscussion> existing) {
+    final Map<String, InlineComment> comments = new LinkedHashMap<>();
+    for (final ReviewResult.Issue issue : inline.getIssues()) {
+      final String key = occurrence(comments, fingerprints.keyOf(issue));
+      comments.put(
+          key,
+          new InlineComment(
+              key,
+              issue.getFile(),
+              issue.getStartLine(),
+              fingerprints.mark(GitLabCommentFormatter.inlineIssue(issue), key),
+              "comment"));
+    }
+    for (final ReviewResult.Note note : inline.getNonBlockingNotes()) {
+      final String key = occurrence(comments, fingerprints.keyOf(note));
+      comments.put(
+          key,
+          new InlineComment(
+              key,
+              note.getFile(),
+              note.getLine(),
+              fingerprints.mark(GitLabCommentFormatter.inlineNote(note), key),
+              "note"));
+    }
+
+    final List<InlineComment> toCreate = new ArrayList<>();
+    final List<DiscussionUpdate> updates = new ArrayList<>();
+    for (final InlineComment comment : comments.values()) {
+      final BotDiscussion current = existing.get(comment.key());
+      if (current == null) {
+        toCreate.add(comment);
+      } else if (!comment.body().equals(current.body())) {
+        updates.add(DiscussionUpdate.edit(current, comment.body()));
+      }
+    }
+    for (final BotDiscussion current : existing.values()) {
+      if (fingerprints.isFinding(current.key())
+          && current.resolvable()
+          && !current.resolved()
+          && !comments.containsKey(current.key())) {
+        updates.add(DiscussionUpdate.resolve(current));
+      }
+    }
+    final int edited = (int) updates.stream().filter(update -> !update.resolve()).count();
+    return new GitLabPublishPlan(toCreate, updates, comments.size() - toCreate.size() - edited);
+  }
+
+  PublishResult toResult(
+      final List<InlineOutcome> created,
+      final List<InlineOutcome> updated,
+      final List<PublishError> fallbackErrors,
+      final int fallbackComments) {
+    final List<String> discussionIds = new ArrayList<>();
+    final List<PublishError> errors = new ArrayList<>();
+    for (final InlineOutcome outcome : created) {
+      if (outcome.discussionId() != null) {
+        discussionIds.add(outcome.discussionId());
+      } else {
+        errors.add(outcome.error());
+      }
+    }
+    int resolved = 0;
+    for (int i = 0; i < updated.size(); i++) {
+      if (updated.get(i).error() != null) {
+        errors.add(updated.get(i).error());
+      } else if (updates.get(i).resolve()) {
+        resolved++;
+      }
+    }
+    errors.addAll(fallbackErrors);
+    return new PublishResult(
+        discussionIds.size(), fallbackComments, discussionIds, errors, unchanged, resolved);
+  }
+
+  private static String occurrence(final Map<String, InlineComment> comments, final String key) {
+    String candidate = key;
+    for (int occurrence = 2; comments.containsKey(candidate); occurrence++) {
+      candidate = key + ":" + occurrence;
+    }
+    return candidate;
+  }
+
+  record InlineComment(String key, String file, int line, String body, String kind) {}
+
+  record BotDiscussion(
+      String key,
+      String discussionId,
+      Long noteId,
+      String body,
+      boolean resolvable,
+      boolean resolved) {}
+
+  record DiscussionUpdate(BotDiscussion discussion, boolean resolve, String body) {
+
+    static DiscussionUpdate resolve(final BotDiscussion discussion) {
+      return new DiscussionUpdate(discussion, true, null);
+    }
+
+    static DiscussionUpdate edit(final BotDiscussion discussion, final String body) {
+      return new DiscussionUpdate(discussion, false, body);
+    }
+  }
+
+  record InlineOutcome(String discussionId, PublishError error) {}
+}
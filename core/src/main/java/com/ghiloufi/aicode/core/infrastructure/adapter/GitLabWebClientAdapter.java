@@ -0,0 +1,801 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import com.ghiloufi.aicode.core.config.ScmPublishProperties;
+import com.ghiloufi.aicode.core.domain.model.*;
+import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
+import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.BotDiscussion;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.DiscussionUpdate;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.InlineComment;
+import com.ghiloufi.aicode.core.infrastructure.adapter.GitLabPublishPlan.InlineOutcome;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshot;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndex;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.gitlab4j.api.models.Branch;
+import org.gitlab4j.api.models.Commit;
+import org.gitlab4j.api.models.Diff;
+import org.gitlab4j.api.models.Discussion;
+import org.gitlab4j.api.models.MergeRequest;
+import org.gitlab4j.api.models.Note;
+import org.gitlab4j.api.models.Project;
+import org.gitlab4j.api.models.TreeItem;
+import org.gitlab4j.api.utils.JacksonJson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "scm.providers.gitlab", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "scm.client", name = "mode", havingValue = "webclient")
+public class GitLabWebClientAdapter implements SCMPort {
+
+  private static final String PROJECT = "/projects/{id}";
+  private static final String MERGE_REQUEST = PROJECT + "/merge_requests/{iid}";
+  private static final int METADATA_COMMITS = 10;
+
+  private final WebClient webClient;
+  private final Retry readRetry;
+  private final int pageSize;
+  private final UnifiedDiffParser diffParser;
+  private final SCMIdentifierValidator identifierValidator;
+  private final GitLabDiffBuilder diffBuilder;
+  private final GitLabMergeRequestMapper mergeRequestMapper;
+  private final GitLabProjectMapper projectMapper;
+  private final DiffLineValidator diffLineValidator;
+  private final CommentPlacementRouter commentPlacementRouter;
+  private final ScmPublishProperties publishProperties;
+  private final ReviewMetrics reviewMetrics;
+  private final FindingFingerprint fingerprints;
+  private final RepositoryTreeIndexCache treeIndexes;
+
+  public GitLabWebClientAdapter(
+      @Value("${scm.providers.gitlab.api-url}") final String apiUrl,
+      @Value("${scm.providers.gitlab.token}") final String token,
+      final ScmWebClientFactory webClients,
+      final UnifiedDiffParser diffParser,
+      final SCMIdentifierValidator identifierValidator,
+      final GitLabDiffBuilder diffBuilder,
+      final GitLabMergeRequestMapper mergeRequestMapper,
+      final GitLabProjectMapper projectMapper,
+      final DiffLineValidator diffLineValidator,
+      final CommentPlacementRouter commentPlacementRouter,
+      final ScmPublishProperties publishProperties,
+      final ReviewMetrics reviewMetrics,
+      final FindingFingerprint fingerprints,
+      final RepositoryTreeIndexCache treeIndexes) {
+    this.webClient =
+        webClients.create(
+            "gitlab",
+            apiUrl,
+            headers -> headers.set("PRIVATE-TOKEN", token),
+            new JacksonJson().getObjectMapper());
+    this.readRetry = webClients.readRetry();
+    this.pageSize = webClients.pageSize();
+    this.diffParser = diffParser;
+    this.identifierValidator = identifierValidator;
+    this.diffBuilder = diffBuilder;
+    this.mergeRequestMapper = mergeRequestMapper;
+    this.projectMapper = projectMapper;
+    this.diffLineValidator = diffLineValidator;
+    this.commentPlacementRouter = commentPlacementRouter;
+    this.publishProperties = publishProperties;
+    this.reviewMetrics = reviewMetrics;
+    this.fingerprints = fingerprints;
+    this.treeIndexes = treeIndexes;
+    log.info("GitLab WebClient adapter initialized for: {}", apiUrl);
+  }
+
+  @Override
+  public Mono<DiffAnalysisBundle> getDiff(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return target(repo, changeRequest)
+        .flatMap(this::loadSnapshot)
+        .map(
+            snapshot -> {
+              log.debug(
+                  "Fetched {} diffs for {}/MR!{} - Title: {}",
+                  snapshot.changes().size(),
+                  repo.getDisplayName(),
+                  changeRequest.getNumber(),
+                  snapshot.mergeRequest().getTitle());
+              return new DiffAnalysisBundle(
+                  repo, snapshot.structuredDiff(), snapshot.rawDiff(), snapshot.prMetadata());
+            })
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to fetch diff for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<Void> publishReview(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final ReviewResult reviewResult) {
+    return target(repo, changeRequest)
+        .flatMap(
+            target ->
+                loadSnapshot(target)
+                    .flatMap(
+                        snapshot -> {
+                          final CommentPlacementRouter.SplitResult splitResult =
+                              commentPlacementRouter.split(
+                                  diffLineValidator.validate(
+                                      snapshot.structuredDiff(), reviewResult));
+
+                          log.debug(
+                              "Validation: {} valid issues, {} invalid issues",
+                              splitResult.validForInline().getIssues().size(),
+                              splitResult.invalidForFallback().getIssues().size());
+
+                          final long started = System.nanoTime();
+                          return publish(target, snapshot.mergeRequest(), splitResult)
+                              .doOnNext(
+                                  result ->
+                                      reviewMetrics.recordPublish(
+                                          "gitlab",
+                                          Duration.ofNanos(System.nanoTime() - started),
+                                          result));
+                        }))
+        .then()
+        .doOnSuccess(
+            unused ->
+                log.info(
+                    "Review published for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber()))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to publish review for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<Void> publishSummaryComment(
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier changeRequest,
+      final String summaryComment) {
+    return target(repo, changeRequest)
+        .flatMap(
+            target -> {
+              final String body = fingerprints.mark(summaryComment, FindingFingerprint.SUMMARY_KEY);
+              return botNote(target, FindingFingerprint.SUMMARY_KEY)
+                  .flatMap(existing -> upsertNote(target, existing.orElse(null), body));
+            })
+        .doOnSuccess(
+            unused ->
+                log.info(
+                    "Summary comment published for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber()))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to publish summary comment for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<Boolean> isChangeRequestOpen(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return target(repo, changeRequest)
+        .flatMap(
+            target ->
+                webClient
+                    .get()
+                    .uri(MERGE_REQUEST, target.projectId(), target.iid())
+                    .retrieve()
+                    .bodyToMono(MergeRequest.class)
+                    .retryWhen(readRetry))
+        .map(mergeRequest -> "opened".equals(mergeRequest.getState()))
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to check MR status for {}/MR!{}",
+                    repo.getDisplayName(),
+                    changeRequest.getNumber(),
+                    error));
+  }
+
+  @Override
+  public Mono<RepositoryInfo> getRepository(final RepositoryIdentifier repo) {
+    return projectId(repo)
+        .flatMap(this::project)
+        .map(projectMapper::toRepositoryInfo)
+        .doOnError(
+            error -> log.error("Failed to fetch repository: {}", repo.getDisplayName(), error));
+  }
+
+  @Override
+  public Flux<MergeRequestSummary> getOpenChangeRequests(final RepositoryIdentifier repo) {
+    return projectId(repo)
+        .flatMapMany(
+            projectId ->
+                list(
+                    MergeRequest.class,
+                    PROJECT + "/merge_requests",
+                    Map.of("state", "opened"),
+                    projectId))
+        .map(mergeRequestMapper::toMergeRequestSummary)
+        .doOnError(
+            error ->
+                log.error(
+                    "Failed to fetch open change requests for: {}", repo.getDisplayName(), error));
+  }
+
+  @Override
+  public Flux<RepositoryInfo> getAllRepositories() {
+    return list(Project.class, "/projects", Map.of())
+        .map(projectMapper::toRepositoryInfo)
+        .doOnComplete(() -> log.info("Completed fetching repositories"))
+        .doOnError(error -> log.error("Failed to fetch repositories", error));
+  }
+
+  @Override
+  public SourceProvider getProviderType() {
+    return SourceProvider.GITLAB;
+  }
+
+  @Override
+  public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
+    return projectId(repo)
+        .flatMap(
+            projectId ->
+                defaultBranchHead(projectId)
+                    .flatMap(
+                        commitSha ->
+                            treeIndexes.get(
+                                FileBlobCache.repositoryKey(SourceProvider.GITLAB, projectId),
+                                commitSha,
+                                list(
+                                        TreeItem.class,
+                                        PROJECT + "/repository/tree",
+                                        Map.of("recursive", "true", "ref", commitSha),
+                                        projectId)
+                                    .filter(item -> item.getType() == TreeItem.Type.BLOB)
+                                    .map(TreeItem::getPath)
+                                    .collectList())))
+        .map(RepositoryTreeIndex::paths)
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to list repository files",
+                    SourceProvider.GITLAB,
+                    "listRepositoryFiles",
+                    error));
+  }
+
+  @Override
+  public Flux<CommitInfo> getCommitsFor(
+      final RepositoryIdentifier repo,
+      final String filePath,
+      final LocalDate since,
+      final int maxResults) {
+    return projectId(repo)
+        .flatMapMany(
+            projectId ->
+                list(
+                    Commit.class,
+                    PROJECT + "/repository/commits",
+                    Map.of("since", startOf(since), "path", filePath),
+                    projectId))
+        .take(maxResults)
+        .map(this::toCommitInfo)
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to fetch commit history for file: " + filePath,
+                    SourceProvider.GITLAB,
+                    "getCommitsFor",
+                    error));
+  }
+
+  @Override
+  public Flux<CommitInfo> getCommitsSince(
+      final RepositoryIdentifier repo, final LocalDate since, final int maxResults) {
+    return projectId(repo)
+        .flatMapMany(
+            projectId ->
+                list(
+                        Commit.class,
+                        PROJECT + "/repository/commits",
+                        Map.of("since", startOf(since)),
+                        projectId)
+                    .take(maxResults)
+                    .flatMap(commit -> withChangedFiles(projectId, commit)))
+        .onErrorMap(
+            error -> !(error instanceof IllegalArgumentException),
+            error ->
+                new SCMException(
+                    "Failed to fetch commit history",
+                    SourceProvider.GITLAB,
+                    "getCommitsSince",
+                    error));
+  }
+
+  @Override
+  public Mono<String> getFileContent(final RepositoryIdentifier repo, final String filePath) {
+    return projectId(repo)
+        .flatMap(
+            projectId ->
+                project(projectId)
+                    .flatMap(
+                        project ->
+                            webClient
+                                .get()
+                                .uri(
+                                    builder ->
+                                        builder
+                                            .path(PROJECT + "/repository/files/{path}/raw")
+                                            .queryParam("ref", "{ref}")
+                                            .build(projectId, filePath, project.getDefaultBranch()))
+                                .retrieve()
+                                .bodyToMono(String.class)
+                                .retryWhen(readRetry)))
+        .doOnError(
+            error ->
+                log.debug(
+                    "Failed to fetch file {} from {}: {}",
+                    filePath,
+                    repo.getDisplayName(),
+                    error.getMessage()));
+  }
+
+  @Override
+  public Mono<PrMetadata> getPullRequestMetadata(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return target(repo, changeRequest)
+        .flatMap(this::loadSnapshot)
+        .map(MergeRequestSnapshot::prMetadata);
+  }
+
+  private Mono<PublishResult> publish(
+      final Target target,
+      final MergeRequest mergeRequest,
+      final CommentPlacementRouter.SplitResult splitResult) {
+    return botDiscussions(target)
+        .flatMap(
+            existing -> {
+              final GitLabPublishPlan plan =
+                  GitLabPublishPlan.of(fingerprints, splitResult.validForInline(), existing);
+              final Mono<List<InlineOutcome>> created =
+                  Flux.fromIterable(plan.toCreate())
+                      .flatMapSequential(
+                          comment -> createDiscussion(target, mergeRequest, comment),
+                          publishProperties.getConcurrency())
+                      .collectList();
+              final Mono<List<InlineOutcome>> updated =
+                  Flux.fromIterable(plan.updates())
+                      .flatMapSequential(
+                          update -> updateDiscussion(target, update),
+                          publishProperties.getConcurrency())
+                      .collectList();
+              return created.flatMap(
+                  createdOutcomes ->
+                      updated.flatMap(
+                          updatedOutcomes ->
+                              publishFallback(target, splitResult, existing)
+                                  .map(
+                                      fallbackErrors ->
+                                          plan.toResult(
+                                              createdOutcomes,
+                                              updatedOutcomes,
+                                              fallbackErrors,
+                                              splitResult
+                                                  .invalidForFallback()
+                                                  .getIssues()
+                                                  .size()))));
+            })
+        .doOnNext(
+            result ->
+                log.info(
+                    "Published review: {} inline comments, {} unchanged, {} resolved, {} fallback items, {} failures",
+                    result.inlineCommentsCreated(),
+                    result.inlineCommentsUnchanged(),
+                    result.discussionsResolved(),
+                    result.fallbackCommentsInBody(),
+                    result.errors().size()));
+  }
+
+  private Mono<Map<String, BotDiscussion>> botDiscussions(final Target target) {
+    return list(
+            Discussion.class,
+            MERGE_REQUEST + "/discussions",
+            Map.of(),
+            target.projectId(),
+            target.iid())
+        .collectList()
+        .map(discussions -> GitLabPublishPlan.index(fingerprints, discussions))
+        .onErrorResume(
+            error -> {
+              log.warn(
+                  "Failed to list existing discussions on MR!{}, publishing every finding: {}",
+                  target.iid(),
+                  error.getMessage());
+              return Mono.just(Map.of());
+            });
+  }
+
+  private Mono<InlineOutcome> createDiscussion(
+      final Target target, final MergeRequest mergeRequest, final InlineComment comment) {
+    final Map<String, Object> position =
+        Map.of(
+            "position_type", "text",
+            "base_sha", mergeRequest.getDiffRefs().getBaseSha(),
+            "head_sha", mergeRequest.getDiffRefs().getHeadSha(),
+            "start_sha", mergeRequest.getDiffRefs().getStartSha(),
+            "new_path", comment.file(),
+            "old_path", comment.file(),
+            "new_line", comment.line());
+    return withRetry(
+            webClient
+                .post()
+                .uri(MERGE_REQUEST + "/discussions", target.projectId(), target.iid())
+                .bodyValue(Map.of("body", comment.body(), "position", position))
+                .retrieve()
+                .bodyToMono(Discussion.class))
+        .map(
+            discussion -> {
+              log.debug(
+                  "Created inline {} on {}:{} (discussion {})",
+                  comment.kind(),
+                  comment.file(),
+                  comment.line(),
+                  discussion.getId());
+              return new InlineOutcome(discussion.getId(), null);
+            })
+        .onErrorResume(
+            error -> {
+              log.error(
+                  "Failed to create inline {} for {}:{}",
+                  comment.kind(),
+                  comment.file(),
+                  comment.line(),
+                  error);
+              return Mono.just(
+                  new InlineOutcome(
+                      null,
+                      new PublishError(
+                          comment.file(),
+                          comment.line(),
+                          "Failed to create inline "
+                              + comment.kind()
+                              + ": "
+                              + error.getMessage())));
+            });
+  }
+
+  private Mono<InlineOutcome> updateDiscussion(final Target target, final DiscussionUpdate update) {
+    final String discussionId = update.discussion().discussionId();
+    final Mono<?> request =
+        update.resolve()
+            ? webClient
+                .put()
+                .uri(
+                    builder ->
+                        builder
+                            .path(MERGE_REQUEST + "/discussions/{discussionId}")
+                            .queryParam("resolved", true)
+                            .build(target.projectId(), target.iid(), discussionId))
+                .retrieve()
+                .toBodilessEntity()
+            : webClient
+                .put()
+                .uri(
+                    MERGE_REQUEST + "/discussions/{discussionId}/notes/{noteId}",
+                    target.projectId(),
+                    target.iid(),
+                    discussionId,
+                    update.discussion().noteId())
+                .bodyValue(Map.of("body", update.body()))
+                .retrieve()
+                .toBodilessEntity();
+    return withRetry(request)
+        .map(
+            response -> {
+              log.debug(
+                  "{} discussion {}", update.resolve() ? "Resolved" : "Updated", discussionId);
+              return new InlineOutcome(discussionId, null);
+            })
+        .onErrorResume(
+            error -> {
+              log.error("Failed to update discussion {}", discussionId, error);
+              return Mono.just(
+                  new InlineOutcome(
+                      null,
+                      new PublishError(
+                          null,
+                          0,
+                          "Failed to update discussion "
+                              + discussionId
+                              + ": "
+                              + error.getMessage())));
+            });
+  }
+
+  private Mono<List<PublishError>> publishFallback(
+      final Target target,
+      final CommentPlacementRouter.SplitResult splitResult,
+      final Map<String, BotDiscussion> existing) {
+    if (splitResult.invalidForFallback().getIssues().isEmpty()
+        && splitResult.invalidForFallback().getNonBlockingNotes().isEmpty()) {
+      return Mono.just(List.of());
+    }
+    final String body =
+        fingerprints.mark(
+            GitLabCommentFormatter.fallback(splitResult), FindingFingerprint.FALLBACK_KEY);
+    final BotDiscussion current = existing.get(FindingFingerprint.FALLBACK_KEY);
+    final Mono<Void> request =
+        current == null
+            ? createNote(target, body)
+            : body.equals(current.body())
+                ? Mono.empty()
+                : updateNote(target, current.noteId(), body);
+    return request
+        .then(Mono.just(List.<PublishError>of()))
+        .onErrorResume(
+            error -> {
+              log.error("Failed to publish fallback comment", error);
+              return Mono.just(
+                  List.of(
+                      new PublishError(
+                          null, 0, "Failed to publish fallback comment: " + error.getMessage())));
+            });
+  }
+
+  private Mono<Optional<Note>> botNote(final Target target, final String key) {
+    return list(Note.class, MERGE_REQUEST + "/notes", Map.of(), target.projectId(), target.iid())
+        .filter(note -> fingerprints.extract(note.getBody()).filter(key::equals).isPresent())
+        .next()
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .onErrorResume(
+            error -> {
+              log.warn("Failed to list notes on MR!{}: {}", target.iid(), error.getMessage());
+              return Mono.just(Optional.empty());
+            });
+  }
+
+  private Mono<Void> upsertNote(final Target target, final Note existing, final String body) {
+    if (existing == null) {
+      return createNote(target, body);
+    }
+    if (body.equals(existing.getBody())) {
+      return Mono.empty();
+    }
+    return updateNote(target, existing.getId(), body);
+  }
+
+  private Mono<Void> createNote(final Target target, final String body) {
+    return webClient
+        .post()
+        .uri(MERGE_REQUEST + "/notes", target.projectId(), target.iid())
+        .bodyValue(Map.of("body", body))
+        .retrieve()
+        .toBodilessEntity()
+        .then();
+  }
+
+  private Mono<Void> updateNote(final Target target, final Long noteId, final String body) {
+    return webClient
+        .put()
+        .uri(MERGE_REQUEST + "/notes/{noteId}", target.projectId(), target.iid(), noteId)
+        .bodyValue(Map.of("body", body))
+        .retrieve()
+        .toBodilessEntity()
+        .then();
+  }
+
+  private <T> Mono<T> withRetry(final Mono<T> request) {
+    return request.retryWhen(
+        Retry.backoff(publishProperties.getMaxAttempts() - 1, publishProperties.getRetryBackoff())
+            .filter(ScmWebClientFactory::isRetryable)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+  }
+
+  private Mono<MergeRequestSnapshot> loadSnapshot(final Target target) {
+    log.debug("Fetching diff for {}/MR!{}", target.projectId(), target.iid());
+    final Mono<MergeRequest> mergeRequest =
+        webClient
+            .get()
+            .uri(MERGE_REQUEST + "/changes", target.projectId(), target.iid())
+            .retrieve()
+            .bodyToMono(MergeRequest.class)
+            .retryWhen(readRetry);
+    final Mono<List<CommitInfo>> commits =
+        list(Commit.class, MERGE_REQUEST + "/commits", Map.of(), target.projectId(), target.iid())
+            .take(METADATA_COMMITS)
+            .map(this::toCommitInfo)
+            .collectList()
+            .onErrorResume(
+                error -> {
+                  log.warn(
+                      "Failed to fetch commits for MR!{}: {}", target.iid(), error.getMessage());
+                  return Mono.just(List.of());
+                });
+    return Mono.zip(mergeRequest, commits)
+        .map(
+            loaded ->
+                MergeRequestSnapshot.of(
+                    loaded.getT1(),
+                    extractPrMetadata(loaded.getT1(), loaded.getT2()),
+                    diffBuilder,
+                    diffParser));
+  }
+
+  private PrMetadata extractPrMetadata(
+      final MergeRequest mergeRequest, final List<CommitInfo> commits) {
+    return new PrMetadata(
+        mergeRequest.getTitle(),
+        mergeRequest.getDescription(),
+        mergeRequest.getAuthor() != null ? mergeRequest.getAuthor().getUsername() : null,
+        mergeRequest.getTargetBranch(),
+        mergeRequest.getSourceBranch(),
+        mergeRequest.getLabels() != null ? List.copyOf(mergeRequest.getLabels()) : List.of(),
+        commits,
+        mergeRequest.getChanges() != null ? mergeRequest.getChanges().size() : 0);
+  }
+
+  private Mono<Project> project(final String projectId) {
+    return webClient
+        .get()
+        .uri(PROJECT, projectId)
+        .retrieve()
+        .bodyToMono(Project.class)
+        .retryWhen(readRetry);
+  }
+
+  private Mono<String> defaultBranchHead(final String projectId) {
+    return project(projectId)
+        .flatMap(
+            project ->
+                webClient
+                    .get()
+                    .uri(
+                        PROJECT + "/repository/branches/{branch}",
+                        projectId,
+                        project.getDefaultBranch())
+                    .retrieve()
+                    .bodyToMono(Branch.class)
+                    .retryWhen(readRetry))
+        .map(branch -> branch.getCommit().getId());
+  }
+
+  private Mono<CommitInfo> withChangedFiles(final String projectId, final Commit commit) {
+    return list(
+            Diff.class,
+            PROJECT + "/repository/commits/{sha}/diff",
+            Map.of(),
+            projectId,
+            commit.getId())
+        .map(Diff::getNewPath)
+        .filter(path -> path != null && !path.isEmpty())
+        .collectList()
+        .map(
+            changedFiles ->
+                new CommitInfo(
+                    commit.getId(),
+                    commit.getMessage() != null ? commit.getMessage() : "",
+                    commit.getAuthorName() != null ? commit.getAuthorName() : "Unknown",
+                    commit.getCommittedDate() != null
+                        ? commit.getCommittedDate().toInstant()
+                        : Instant.now(),
+                    changedFiles))
+        .onErrorResume(
+            error -> {
+              log.warn("Failed to fetch diff for commit {}, using partial data", commit.getId());
+              return Mono.just(toCommitInfo(commit));
+            });
+  }
+
+  private CommitInfo toCommitInfo(final Commit commit) {
+    return new CommitInfo(
+        commit.getId(),
+        commit.getMessage() != null ? commit.getMessage() : "",
+        commit.getAuthorName() != null ? commit.getAuthorName() : "Unknown",
+        commit.getCommittedDate() != null ? commit.getCommittedDate().toInstant() : Instant.now(),
+        List.of());
+  }
+
+  private <T> Flux<T> list(
+      final Class<T> type,
+      final String path,
+      final Map<String, String> query,
+      final Object... uriVariables) {
+    return page(type, path, query, 1, uriVariables)
+        .expand(
+            page ->
+                page.next() == null
+                    ? Mono.empty()
+                    : page(type, path, query, page.next(), uriVariables))
+        .concatMapIterable(Page::items);
+  }
+
+  private <T> Mono<Page<T>> page(
+      final Class<T> type,
+      final String path,
+      final Map<String, String> query,
+      final int page,
+      final Object... uriVariables) {
+    return webClient
+        .get()
+        .uri(
+            builder -> {
+              builder.path(path);
+              query.forEach(builder::queryParam);
+              return builder
+                  .queryParam("per_page", pageSize)
+                  .queryParam("page", page)
+                  .build(uriVariables);
+            })
+        .retrieve()
+        .toEntityList(type)
+        .retryWhen(readRetry)
+        .map(
+            response ->
+                new Page<>(
+                    response.getBody() != null ? response.getBody() : List.of(),
+                    nextPage(response.getHeaders())));
+  }
+
+  private static Integer nextPage(final HttpHeaders headers) {
+    final String next = headers.getFirst("X-Next-Page");
+    return next == null || next.isBlank() ? null : Integer.valueOf(next);
+  }
+
+  private static String startOf(final LocalDate since) {
+    return since.atStartOfDay(ZoneId.systemDefault()).toInstant().toString();
+  }
+
+  private Mono<Target> target(
+      final RepositoryIdentifier repo, final ChangeRequestIdentifier changeRequest) {
+    return Mono.fromCallable(
+        () ->
+            new Target(
+                identifierValidator.validateGitLabRepository(repo).projectId(),
+                identifierValidator.validateGitLabChangeRequest(changeRequest).iid()));
+  }
+
+  private Mono<String> projectId(final RepositoryIdentifier repo) {
+    return Mono.fromCallable(() -> identifierValidator.validateGitLabRepository(repo).projectId());
+  }
+
+  private record Target(String projectId, long iid) {}
+
+  private record Page<T>(List<T> items, Integer next) {}
+}
@@ -6,4 +6,15 @@ public record PublishResult(
     int inlineCommentsCreated,
     int fallbackCommentsInBody,
     List<String> discussionIds,
-    List<PublishError> errors) {}
+    List<PublishError> errors,
+    int inlineCommentsUnchanged,
+    int discussionsResolved) {
+
+  public PublishResult(
+      final int inlineCommentsCreated,
+      final int fallbackCommentsInBody,
+      final List<String> discussionIds,
+      final List<PublishError> errors) {
+    this(inlineCommentsCreated, fallbackCommentsInBody, discussionIds, errors, 0, 0);
+  }
+}
@@ -1,5 +1,7 @@
 package com.ghiloufi.aicode.core.infrastructure.observability;
 
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.infrastructure.adapter.PublishResult;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -86,10 +88,56 @@ public class ReviewMetrics {
         .increment();
   }
 
+  public void recordTokenUsage(
+      final String repository,
+      final String llmProvider,
+      final String llmModel,
+      final LlmUsage usage) {
+    final String provider = llmProvider != null ? llmProvider : "unknown";
+    final String model = llmModel != null ? llmModel : "unknown";
+    tokenCounter(repository, provider, model, "input").increment(usage.uncachedInputTokens());
+    tokenCounter(repository, provider, model, "cached").increment(usage.cachedInputTokens());
+    tokenCounter(repository, provider, model, "output").increment(usage.outputTokens());
+    meterRegistry
+        .counter("llm.calls", "repository", repository, "provider", provider, "model", model)
+        .increment(usage.calls());
+  }
+
+  public void recordEstimatedCost(
+      final String repository, final String llmProvider, final String llmModel, final double cost) {
+    meterRegistry
+        .counter(
+            "llm.cost.estimated",
+            "repository",
+            repository,
+            "provider",
+            llmProvider != null ? llmProvider : "unknown",
+            "model",
+            llmModel != null ? llmModel : "unknown")
+        .increment(cost);
+  }
+
   public void recordLowConfidenceFiltered(final int filteredCount) {
     lowConfidenceFiltered.increment(filteredCount);
   }
 
+  public void recordPublish(
+      final String provider, final Duration latency, final PublishResult result) {
+    final int failed = result.errors().size();
+    meterRegistry
+        .timer(
+            "scm.publish.duration",
+            "provider",
+            provider,
+            "outcome",
+            failed == 0 ? "complete" : "partial")
+        .record(latency);
+    publishCounter(provider, "published").increment(result.inlineCommentsCreated());
+    publishCounter(provider, "failed").increment(failed);
+    publishCounter(provider, "unchanged").increment(result.inlineCommentsUnchanged());
+    publishCounter(provider, "resolved").increment(result.discussionsResolved());
+  }
+
   public Timer.Sample startReviewTimer() {
     return Timer.start(meterRegistry);
   }
@@ -101,4 +149,22 @@ public class ReviewMetrics {
   public int getActiveReviewCount() {
     return activeReviews.get();
   }
+
+  private Counter publishCounter(final String provider, final String status) {
+    return meterRegistry.counter("scm.publish.comments", "provider", provider, "status", status);
+  }
+
+  private Counter tokenCounter(
+      final String repository, final String provider, final String model, final String type) {
+    return meterRegistry.counter(
+        "review.llm.tokens",
+        "repository",
+        repository,
+        "provider",
+        provider,
+        "model",
+        model,
+        "type",
+        type);
+  }
 }
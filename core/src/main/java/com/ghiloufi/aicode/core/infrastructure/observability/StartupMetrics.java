@@ -0,0 +1,57 @@
+package com.ghiloufi.aicode.core.infrastructure.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StartupMetrics {
+
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Instant processStart;
+  private final AtomicBoolean firstStreamRead = new AtomicBoolean(false);
+
+  @Autowired
+  public StartupMetrics(final MeterRegistry meterRegistry) {
+    this(meterRegistry, Clock.systemUTC(), processStart());
+  }
+
+  StartupMetrics(final MeterRegistry meterRegistry, final Clock clock, final Instant processStart) {
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.processStart = processStart;
+  }
+
+  public void recordFirstStreamRead(final String stream) {
+    if (!firstStreamRead.compareAndSet(false, true)) {
+      return;
+    }
+    final Duration elapsed = Duration.between(processStart, clock.instant());
+    TimeGauge.builder(
+            "application.first.stream.read.time",
+            elapsed,
+            TimeUnit.MILLISECONDS,
+            duration -> duration.toMillis())
+        .tag("stream", stream)
+        .register(meterRegistry);
+    log.info(
+        "First stream read on '{}' issued {} ms after process start", stream, elapsed.toMillis());
+  }
+
+  private static Instant processStart() {
+    return ProcessHandle.current()
+        .info()
+        .startInstant()
+        .orElseGet(() -> Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()));
+  }
+}
@@ -1,18 +1,26 @@
 package com.ghiloufi.aicode.core.infrastructure.persistence;
 
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ModelUsage;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.ReviewState;
 import com.ghiloufi.aicode.core.domain.model.ReviewState.StateTransition;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewEntity;
 import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewIssueEntity;
+import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewModelUsageEntity;
 import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewNoteEntity;
 import com.ghiloufi.aicode.core.infrastructure.persistence.repository.ReviewJpaRepository;
+import com.ghiloufi.aicode.core.infrastructure.persistence.repository.TokenUsageAggregate;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -25,6 +33,12 @@ import reactor.core.publisher.Mono;
 public class PostgresReviewRepository {
 
   private static final Duration DEFAULT_RETENTION = Duration.ofHours(24);
+  private static final Comparator<String> NULLS_FIRST =
+      Comparator.nullsFirst(Comparator.naturalOrder());
+  private static final Comparator<TokenUsageAggregate> AGGREGATE_ORDER =
+      Comparator.comparing(TokenUsageAggregate::repositoryId, NULLS_FIRST)
+          .thenComparing(TokenUsageAggregate::llmProvider, NULLS_FIRST)
+          .thenComparing(TokenUsageAggregate::llmModel, NULLS_FIRST);
 
   private final ReviewJpaRepository jpaRepository;
   private final Duration retentionDuration;
@@ -171,6 +185,37 @@ public class PostgresReviewRepository {
                 .orElse(null));
   }
 
+  @Transactional(readOnly = true)
+  public Mono<List<TokenUsageAggregate>> aggregateTokenUsage(final Instant since) {
+    return Mono.fromSupplier(
+        () ->
+            mergeTokenUsage(
+                jpaRepository.aggregateModelTokenUsage(since),
+                jpaRepository.aggregateTokenUsage(since)));
+  }
+
+  private static List<TokenUsageAggregate> mergeTokenUsage(
+      final List<TokenUsageAggregate> byModel, final List<TokenUsageAggregate> legacy) {
+    final Map<String, TokenUsageAggregate> merged = new LinkedHashMap<>();
+    Stream.concat(byModel.stream(), legacy.stream())
+        .forEach(
+            row ->
+                merged.merge(
+                    row.repositoryId() + "|" + row.llmProvider() + "|" + row.llmModel(),
+                    row,
+                    (left, right) ->
+                        new TokenUsageAggregate(
+                            left.repositoryId(),
+                            left.llmProvider(),
+                            left.llmModel(),
+                            left.reviews() + right.reviews(),
+                            left.inputTokens() + right.inputTokens(),
+                            left.outputTokens() + right.outputTokens(),
+                            left.cachedInputTokens() + right.cachedInputTokens(),
+                            left.llmCalls() + right.llmCalls())));
+    return merged.values().stream().sorted(AGGREGATE_ORDER).toList();
+  }
+
   @Scheduled(fixedRate = 3600000)
   @Transactional
   public void cleanupOldReviews() {
@@ -199,6 +244,27 @@ public class PostgresReviewRepository {
             .rawLlmResponse(result.getRawLlmResponse())
             .build();
 
+    final LlmUsage usage = result.getTokenUsage();
+    if (usage != null) {
+      entity.setInputTokens(usage.inputTokens());
+      entity.setOutputTokens(usage.outputTokens());
+      entity.setCachedInputTokens(usage.cachedInputTokens());
+      entity.setLlmCalls(usage.calls());
+    }
+    result
+        .getModelUsage()
+        .forEach(
+            modelUsage ->
+                entity.addModelUsage(
+                    ReviewModelUsageEntity.builder()
+                        .llmProvider(modelUsage.llmProvider())
+                        .llmModel(modelUsage.llmModel())
+                        .inputTokens(modelUsage.usage().inputTokens())
+                        .outputTokens(modelUsage.usage().outputTokens())
+                        .cachedInputTokens(modelUsage.usage().cachedInputTokens())
+                        .llmCalls(modelUsage.usage().calls())
+                        .build()));
+
     if (result.getIssues() != null) {
       result
           .getIssues()
@@ -270,9 +336,44 @@ public class PostgresReviewRepository {
         .rawLlmResponse(entity.getRawLlmResponse())
         .issues(issues)
         .nonBlockingNotes(notes)
+        .tokenUsage(toUsage(entity))
+        .modelUsage(toModelUsage(entity))
         .build();
   }
 
+  private List<ModelUsage> toModelUsage(final ReviewEntity entity) {
+    if (entity.getModelUsage() == null) {
+      return List.of();
+    }
+    return entity.getModelUsage().stream()
+        .map(
+            usage ->
+                new ModelUsage(
+                    usage.getLlmProvider(),
+                    usage.getLlmModel(),
+                    new LlmUsage(
+                        usage.getInputTokens(),
+                        usage.getOutputTokens(),
+                        usage.getCachedInputTokens(),
+                        usage.getLlmCalls())))
+        .toList();
+  }
+
+  private LlmUsage toUsage(final ReviewEntity entity) {
+    if (entity.getLlmCalls() == null) {
+      return null;
+    }
+    return new LlmUsage(
+        valueOrZero(entity.getInputTokens()),
+        valueOrZero(entity.getOutputTokens()),
+        valueOrZero(entity.getCachedInputTokens()),
+        entity.getLlmCalls());
+  }
+
+  private static long valueOrZero(final Long value) {
+    return value != null ? value : 0L;
+  }
+
   private UUID parseReviewId(final String reviewId) {
     try {
       return UUID.fromString(reviewId);
@@ -63,6 +63,18 @@ public class ReviewEntity {
   @Column(name = "raw_llm_response", columnDefinition = "TEXT")
   private String rawLlmResponse;
 
+  @Column(name = "input_tokens")
+  private Long inputTokens;
+
+  @Column(name = "output_tokens")
+  private Long outputTokens;
+
+  @Column(name = "cached_input_tokens")
+  private Long cachedInputTokens;
+
+  @Column(name = "llm_calls")
+  private Integer llmCalls;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private Instant createdAt;
 
@@ -85,6 +97,11 @@ public class ReviewEntity {
   @Builder.Default
   private List<ReviewNoteEntity> notes = new ArrayList<>();
 
+  @OneToMany(mappedBy = "review", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
+  @Builder.Default
+  private List<ReviewModelUsageEntity> modelUsage = new ArrayList<>();
+
   @PrePersist
   protected void onCreate() {
     final Instant now = Instant.now();
@@ -106,4 +123,9 @@ public class ReviewEntity {
     notes.add(note);
     note.setReview(this);
   }
+
+  public void addModelUsage(final ReviewModelUsageEntity usage) {
+    modelUsage.add(usage);
+    usage.setReview(this);
+  }
 }
@@ -0,0 +1,53 @@
+package com.ghiloufi.aicode.core.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "review_model_usage")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewModelUsageEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "review_id", nullable = false)
+  private ReviewEntity review;
+
+  @Column(name = "llm_provider")
+  private String llmProvider;
+
+  @Column(name = "llm_model")
+  private String llmModel;
+
+  @Column(name = "input_tokens", nullable = false)
+  private long inputTokens;
+
+  @Column(name = "output_tokens", nullable = false)
+  private long outputTokens;
+
+  @Column(name = "cached_input_tokens", nullable = false)
+  private long cachedInputTokens;
+
+  @Column(name = "llm_calls", nullable = false)
+  private int llmCalls;
+}
@@ -18,4 +18,26 @@ public interface ReviewJpaRepository extends JpaRepository<ReviewEntity, UUID> {
 
   @Query("SELECT r FROM ReviewEntity r WHERE r.createdAt < :cutoffDate ORDER BY r.createdAt DESC")
   List<ReviewEntity> findOldReviews(@Param("cutoffDate") Instant cutoffDate);
+
+  @Query(
+      "SELECT new com.ghiloufi.aicode.core.infrastructure.persistence.repository.TokenUsageAggregate("
+          + "r.repositoryId, r.llmProvider, r.llmModel, COUNT(r), "
+          + "COALESCE(SUM(r.inputTokens), 0L), COALESCE(SUM(r.outputTokens), 0L), "
+          + "COALESCE(SUM(r.cachedInputTokens), 0L), COALESCE(SUM(r.llmCalls), 0L)) "
+          + "FROM ReviewEntity r "
+          + "WHERE r.createdAt >= :since AND r.llmCalls IS NOT NULL AND r.modelUsage IS EMPTY "
+          + "GROUP BY r.repositoryId, r.llmProvider, r.llmModel "
+          + "ORDER BY r.repositoryId, r.llmProvider, r.llmModel")
+  List<TokenUsageAggregate> aggregateTokenUsage(@Param("since") Instant since);
+
+  @Query(
+      "SELECT new com.ghiloufi.aicode.core.infrastructure.persistence.repository.TokenUsageAggregate("
+          + "r.repositoryId, u.llmProvider, u.llmModel, COUNT(DISTINCT r), "
+          + "COALESCE(SUM(u.inputTokens), 0L), COALESCE(SUM(u.outputTokens), 0L), "
+          + "COALESCE(SUM(u.cachedInputTokens), 0L), COALESCE(SUM(u.llmCalls), 0L)) "
+          + "FROM ReviewModelUsageEntity u JOIN u.review r "
+          + "WHERE r.createdAt >= :since "
+          + "GROUP BY r.repositoryId, u.llmProvider, u.llmModel "
+          + "ORDER BY r.repositoryId, u.llmProvider, u.llmModel")
+  List<TokenUsageAggregate> aggregateModelTokenUsage(@Param("since") Instant since);
 }
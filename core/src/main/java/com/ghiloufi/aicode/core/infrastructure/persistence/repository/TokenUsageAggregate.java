@@ -0,0 +1,11 @@
+package com.ghiloufi.aicode.core.infrastructure.persistence.repository;
+
+public record TokenUsageAggregate(
+    String repositoryId,
+    String llmProvider,
+    String llmModel,
+    Long reviews,
+    Long inputTokens,
+    Long outputTokens,
+    Long cachedInputTokens,
+    Long llmCalls) {}
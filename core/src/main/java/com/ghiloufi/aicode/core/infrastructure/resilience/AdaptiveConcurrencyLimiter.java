@@ -0,0 +1,172 @@
+package com.ghiloufi.aicode.core.infrastructure.resilience;
+
+import com.ghiloufi.aicode.core.exception.ConcurrencyLimitExceededException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private final String name;
+  private final AdaptiveConcurrencyProperties properties;
+  private final Predicate<Throwable> overloadDetector;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitAvailable = lock.newCondition();
+
+  private double limit;
+  private int inflight;
+  private int queued;
+  private double baselineLatencyNanos;
+
+  public AdaptiveConcurrencyLimiter(
+      final String name,
+      final AdaptiveConcurrencyProperties properties,
+      final Predicate<Throwable> overloadDetector) {
+    this.name = name;
+    this.properties = properties;
+    this.overloadDetector = overloadDetector;
+    this.limit =
+        Math.clamp(
+            properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+  }
+
+  public <T> T execute(final Supplier<T> call) {
+    acquire();
+    final long startNanos = System.nanoTime();
+    Throwable failure = null;
+    try {
+      return call.get();
+    } catch (final Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      if (failure == null) {
+        onSuccess(System.nanoTime() - startNanos);
+      } else {
+        onFailure(failure);
+      }
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInflight() {
+    lock.lock();
+    try {
+      return inflight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueueDepth() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void acquire() {
+    final Duration timeout = properties.getAcquireTimeout();
+    lock.lock();
+    try {
+      long remainingNanos = timeout.toNanos();
+      queued++;
+      try {
+        while (inflight >= (int) limit) {
+          if (remainingNanos <= 0) {
+            throw new ConcurrencyLimitExceededException(
+                name,
+                (int) limit,
+                String.format(
+                    "No permit available for '%s' within %dms (limit=%d, inflight=%d)",
+                    name, timeout.toMillis(), (int) limit, inflight));
+          }
+          remainingNanos = permitAvailable.awaitNanos(remainingNanos);
+        }
+      } finally {
+        queued--;
+      }
+      inflight++;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for permit on " + name, e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onSuccess(final long latencyNanos) {
+    lock.lock();
+    try {
+      final boolean inflated =
+          baselineLatencyNanos > 0
+              && latencyNanos > baselineLatencyNanos * properties.getLatencyTolerance();
+      updateBaseline(latencyNanos);
+      if (inflated) {
+        decrease("latency inflation");
+      } else if (inflight >= (int) limit) {
+        limit = Math.min(properties.getMaxLimit(), limit + properties.getAdditiveIncrease());
+      }
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onFailure(final Throwable error) {
+    lock.lock();
+    try {
+      if (overloadDetector.test(error)) {
+        decrease(error.getClass().getSimpleName());
+      }
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void updateBaseline(final long latencyNanos) {
+    if (baselineLatencyNanos == 0) {
+      baselineLatencyNanos = latencyNanos;
+      return;
+    }
+    final double alpha = properties.getLatencySmoothing();
+    baselineLatencyNanos = (1 - alpha) * baselineLatencyNanos + alpha * latencyNanos;
+  }
+
+  private void decrease(final String reason) {
+    final double previous = limit;
+    limit = Math.max(properties.getMinLimit(), Math.floor(limit * properties.getBackoffRatio()));
+    if ((int) previous != (int) limit) {
+      log.info(
+          "Concurrency limit for '{}' reduced {} -> {} ({})",
+          name,
+          (int) previous,
+          (int) limit,
+          reason);
+    }
+  }
+
+  private void release() {
+    inflight--;
+    permitAvailable.signalAll();
+  }
+}
@@ -0,0 +1,62 @@
+package com.ghiloufi.aicode.core.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyLimiterRegistry {
+
+  private final AdaptiveConcurrencyProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+  public AdaptiveConcurrencyLimiter limiter(
+      final String name, final Predicate<Throwable> overloadDetector) {
+    return limiters.computeIfAbsent(name, key -> register(key, overloadDetector));
+  }
+
+  public <T> T execute(
+      final String name, final Predicate<Throwable> overloadDetector, final Supplier<T> call) {
+    if (!properties.isEnabled()) {
+      return call.get();
+    }
+    return limiter(name, overloadDetector).execute(call);
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  private AdaptiveConcurrencyLimiter register(
+      final String name, final Predicate<Throwable> overloadDetector) {
+    final AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(name, properties, overloadDetector);
+
+    Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .tag("limiter", name)
+        .register(meterRegistry);
+    Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+        .tag("limiter", name)
+        .register(meterRegistry);
+    Gauge.builder("concurrency.queue.depth", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+        .tag("limiter", name)
+        .register(meterRegistry);
+
+    log.info(
+        "Adaptive concurrency limiter '{}' registered (initial={}, min={}, max={})",
+        name,
+        properties.getInitialLimit(),
+        properties.getMinLimit(),
+        properties.getMaxLimit());
+    return limiter;
+  }
+}
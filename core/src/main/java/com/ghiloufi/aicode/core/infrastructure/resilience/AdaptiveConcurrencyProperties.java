@@ -0,0 +1,42 @@
+package com.ghiloufi.aicode.core.infrastructure.resilience;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "concurrency.adaptive")
+public final class AdaptiveConcurrencyProperties {
+
+  private final boolean enabled;
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double additiveIncrease;
+  private final double backoffRatio;
+  private final double latencyTolerance;
+  private final double latencySmoothing;
+  private final Duration acquireTimeout;
+
+  public AdaptiveConcurrencyProperties(
+      @DefaultValue("true") final boolean enabled,
+      @DefaultValue("4") final int initialLimit,
+      @DefaultValue("1") final int minLimit,
+      @DefaultValue("32") final int maxLimit,
+      @DefaultValue("1.0") final double additiveIncrease,
+      @DefaultValue("0.5") final double backoffRatio,
+      @DefaultValue("2.0") final double latencyTolerance,
+      @DefaultValue("0.05") final double latencySmoothing,
+      @DefaultValue("120s") final Duration acquireTimeout) {
+    this.enabled = enabled;
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.additiveIncrease = additiveIncrease;
+    this.backoffRatio = backoffRatio;
+    this.latencyTolerance = latencyTolerance;
+    this.latencySmoothing = latencySmoothing;
+    this.acquireTimeout = acquireTimeout;
+  }
+}
@@ -4,5 +4,5 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(TimeoutProperties.class)
+@EnableConfigurationProperties({TimeoutProperties.class, AdaptiveConcurrencyProperties.class})
 public class ResilienceConfiguration {}
@@ -0,0 +1,17 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+public enum CacheOutcome {
+  HIT("hit"),
+  REVALIDATED("revalidated"),
+  MISS("miss");
+
+  private final String tag;
+
+  CacheOutcome(final String tag) {
+    this.tag = tag;
+  }
+
+  public String tag() {
+    return tag;
+  }
+}
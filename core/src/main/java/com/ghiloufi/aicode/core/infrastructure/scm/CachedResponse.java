@@ -0,0 +1,94 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public record CachedResponse(
+    String etag,
+    String lastModified,
+    Map<String, List<String>> headers,
+    byte[] body,
+    Instant validatedAt) {
+
+  public static final String ETAG = "ETag";
+  public static final String LAST_MODIFIED = "Last-Modified";
+  public static final String IF_NONE_MATCH = "If-None-Match";
+  public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+  private static final Set<String> TRANSPORT_HEADERS =
+      Set.of("connection", "keep-alive", "transfer-encoding");
+  private static final Set<String> ENTITY_HEADERS =
+      Set.of("content-length", "content-type", "content-encoding", "transfer-encoding");
+
+  public CachedResponse {
+    headers = normalize(headers);
+  }
+
+  public static boolean hasValidators(final Map<String, List<String>> headers) {
+    final Map<String, List<String>> normalized = normalize(headers);
+    return firstValue(normalized, ETAG) != null || firstValue(normalized, LAST_MODIFIED) != null;
+  }
+
+  public static CachedResponse of(
+      final Map<String, List<String>> headers, final byte[] body, final Instant validatedAt) {
+    final Map<String, List<String>> normalized = normalize(headers);
+    return new CachedResponse(
+        firstValue(normalized, ETAG),
+        firstValue(normalized, LAST_MODIFIED),
+        normalized,
+        body,
+        validatedAt);
+  }
+
+  public Map<String, String> conditionalHeaders() {
+    final Map<String, String> conditional = new LinkedHashMap<>();
+    if (etag != null) {
+      conditional.put(IF_NONE_MATCH, etag);
+    }
+    if (lastModified != null) {
+      conditional.put(IF_MODIFIED_SINCE, lastModified);
+    }
+    return conditional;
+  }
+
+  public CachedResponse revalidate(
+      final Map<String, List<String>> notModifiedHeaders, final Instant validatedAt) {
+    final Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    merged.putAll(headers);
+    normalize(notModifiedHeaders)
+        .forEach(
+            (name, values) -> {
+              if (!ENTITY_HEADERS.contains(name.toLowerCase())) {
+                merged.put(name, values);
+              }
+            });
+    return CachedResponse.of(merged, body, validatedAt);
+  }
+
+  public int size() {
+    return body.length;
+  }
+
+  private static Map<String, List<String>> normalize(final Map<String, List<String>> headers) {
+    final Map<String, List<String>> normalized = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    if (headers != null) {
+      headers.forEach(
+          (name, values) -> {
+            if (name != null && values != null && !TRANSPORT_HEADERS.contains(name.toLowerCase())) {
+              normalized.put(name, List.copyOf(values));
+            }
+          });
+    }
+    return Collections.unmodifiableMap(normalized);
+  }
+
+  private static String firstValue(final Map<String, List<String>> headers, final String name) {
+    final List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+}
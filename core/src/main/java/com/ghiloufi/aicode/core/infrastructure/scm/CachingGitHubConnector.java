@@ -0,0 +1,154 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache.CacheKey;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+public final class CachingGitHubConnector implements GitHubConnector {
+
+  private static final String PROVIDER = "github";
+
+  private final GitHubConnector delegate;
+  private final ConditionalRequestCache cache;
+
+  public CachingGitHubConnector(
+      final GitHubConnector delegate, final ConditionalRequestCache cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Override
+  public GitHubConnectorResponse send(final GitHubConnectorRequest request) throws IOException {
+    if (!"GET".equals(request.method()) || request.hasBody()) {
+      return delegate.send(request);
+    }
+    final CacheKey key =
+        CacheKey.of(
+            request.url().toString(), request.header("Accept"), request.header("Authorization"));
+    final String path = request.url().getPath();
+    final Optional<CachedResponse> cached = cache.lookup(key);
+
+    if (cached.isPresent() && cache.isFresh(cached.get())) {
+      cache.record(PROVIDER, path, CacheOutcome.HIT);
+      return new BufferedResponse(request, cached.get().headers(), cached.get().body());
+    }
+
+    final GitHubConnectorResponse response =
+        delegate.send(
+            cached
+                .map(entry -> (GitHubConnectorRequest) new ConditionalRequest(request, entry))
+                .orElse(request));
+
+    if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cached.isPresent()) {
+      response.close();
+      final CachedResponse refreshed = cache.revalidated(key, cached.get(), response.allHeaders());
+      cache.record(PROVIDER, path, CacheOutcome.REVALIDATED);
+      return new BufferedResponse(request, refreshed.headers(), refreshed.body());
+    }
+
+    cache.record(PROVIDER, path, CacheOutcome.MISS);
+    if (response.statusCode() != HttpURLConnection.HTTP_OK
+        || !CachedResponse.hasValidators(response.allHeaders())) {
+      return response;
+    }
+
+    final byte[] body;
+    try (response;
+        InputStream stream = response.bodyStream()) {
+      body = stream == null ? new byte[0] : stream.readAllBytes();
+    }
+    final Map<String, List<String>> headers = decodedHeaders(response.allHeaders());
+    cache.store(key, headers, body);
+    return new BufferedResponse(request, headers, body);
+  }
+
+  private static Map<String, List<String>> decodedHeaders(final Map<String, List<String>> headers) {
+    final Map<String, List<String>> decoded = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    headers.forEach(
+        (name, values) -> {
+          if (name != null) {
+            decoded.put(name, values);
+          }
+        });
+    decoded.remove("Content-Encoding");
+    decoded.remove("Content-Length");
+    return decoded;
+  }
+
+  private static final class ConditionalRequest implements GitHubConnectorRequest {
+
+    private final GitHubConnectorRequest request;
+    private final Map<String, List<String>> headers;
+
+    private ConditionalRequest(final GitHubConnectorRequest request, final CachedResponse cached) {
+      this.request = request;
+      this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      this.headers.putAll(request.allHeaders());
+      cached.conditionalHeaders().forEach((name, value) -> headers.put(name, List.of(value)));
+    }
+
+    @Override
+    public String method() {
+      return request.method();
+    }
+
+    @Override
+    public Map<String, List<String>> allHeaders() {
+      return headers;
+    }
+
+    @Override
+    public String header(final String name) {
+      final List<String> values = headers.get(name);
+      return values == null || values.isEmpty() ? null : String.join(",", values);
+    }
+
+    @Override
+    public String contentType() {
+      return request.contentType();
+    }
+
+    @Override
+    public InputStream body() {
+      return request.body();
+    }
+
+    @Override
+    public URL url() {
+      return request.url();
+    }
+
+    @Override
+    public boolean hasBody() {
+      return request.hasBody();
+    }
+  }
+
+  private static final class BufferedResponse extends GitHubConnectorResponse.ByteArrayResponse {
+
+    private final byte[] body;
+
+    private BufferedResponse(
+        final GitHubConnectorRequest request,
+        final Map<String, List<String>> headers,
+        final byte[] body) {
+      super(request, HttpURLConnection.HTTP_OK, headers);
+      this.body = body;
+    }
+
+    @Override
+    protected InputStream rawBodyStream() {
+      return new ByteArrayInputStream(body);
+    }
+  }
+}
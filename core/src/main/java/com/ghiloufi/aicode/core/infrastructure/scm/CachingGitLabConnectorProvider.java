@@ -0,0 +1,157 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache.CacheKey;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.RateLimitedGitLabConnector;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+public final class CachingGitLabConnectorProvider implements ConnectorProvider {
+
+  public static final String CACHE_PROPERTY = ConditionalRequestCache.class.getName();
+  public static final String RATE_LIMITER_PROPERTY = ScmRateLimiter.class.getName();
+
+  private static final String PROVIDER = "gitlab";
+  private static final String PRIVATE_TOKEN = "PRIVATE-TOKEN";
+
+  private final ConnectorProvider delegate = new HttpUrlConnectorProvider();
+
+  public static Map<String, Object> clientProperties(final ConditionalRequestCache cache) {
+    return clientProperties(cache, null);
+  }
+
+  public static Map<String, Object> clientProperties(
+      final ConditionalRequestCache cache, final ScmRateLimiter rateLimiter) {
+    final Map<String, Object> properties = new HashMap<>();
+    properties.put(
+        ClientProperties.CONNECTOR_PROVIDER, CachingGitLabConnectorProvider.class.getName());
+    if (cache != null && cache.isEnabled()) {
+      properties.put(CACHE_PROPERTY, cache);
+    }
+    if (rateLimiter != null && rateLimiter.isEnabled()) {
+      properties.put(RATE_LIMITER_PROPERTY, rateLimiter);
+    }
+    return properties;
+  }
+
+  @Override
+  public Connector getConnector(final Client client, final Configuration configuration) {
+    Connector connector = delegate.getConnector(client, configuration);
+    if (configuration.getProperty(RATE_LIMITER_PROPERTY) instanceof ScmRateLimiter rateLimiter) {
+      connector = new RateLimitedGitLabConnector(connector, rateLimiter);
+    }
+    if (configuration.getProperty(CACHE_PROPERTY) instanceof ConditionalRequestCache cache) {
+      return new CachingConnector(connector, cache);
+    }
+    return connector;
+  }
+
+  private static final class CachingConnector implements Connector {
+
+    private final Connector delegate;
+    private final ConditionalRequestCache cache;
+
+    private CachingConnector(final Connector delegate, final ConditionalRequestCache cache) {
+      this.delegate = delegate;
+      this.cache = cache;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+      if (!HttpMethod.GET.equals(request.getMethod())) {
+        return delegate.apply(request);
+      }
+      final CacheKey key =
+          CacheKey.of(
+              request.getUri().toString(),
+              request.getHeaderString(HttpHeaders.ACCEPT),
+              credential(request));
+      final String path = request.getUri().getRawPath();
+      final Optional<CachedResponse> cached = cache.lookup(key);
+
+      if (cached.isPresent() && cache.isFresh(cached.get())) {
+        cache.record(PROVIDER, path, CacheOutcome.HIT);
+        return replay(request, cached.get());
+      }
+
+      cached.ifPresent(
+          entry -> entry.conditionalHeaders().forEach(request.getHeaders()::putSingle));
+      final ClientResponse response = delegate.apply(request);
+
+      if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()
+          && cached.isPresent()) {
+        response.close();
+        final CachedResponse refreshed =
+            cache.revalidated(key, cached.get(), response.getHeaders());
+        cache.record(PROVIDER, path, CacheOutcome.REVALIDATED);
+        return replay(request, refreshed);
+      }
+
+      cache.record(PROVIDER, path, CacheOutcome.MISS);
+      if (response.getStatus() != Response.Status.OK.getStatusCode()
+          || !CachedResponse.hasValidators(response.getHeaders())) {
+        return response;
+      }
+
+      final byte[] body;
+      try (InputStream stream = response.getEntityStream()) {
+        body = stream == null ? new byte[0] : stream.readAllBytes();
+      } catch (final IOException e) {
+        throw new ProcessingException("Failed to buffer GitLab response", e);
+      }
+      cache.store(key, response.getHeaders(), body);
+      response.setEntityStream(new ByteArrayInputStream(body));
+      return response;
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+      return delegate.apply(request, callback);
+    }
+
+    @Override
+    public String getName() {
+      return delegate.getName();
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+
+    private static String credential(final ClientRequest request) {
+      final String privateToken = request.getHeaderString(PRIVATE_TOKEN);
+      return privateToken != null
+          ? privateToken
+          : request.getHeaderString(HttpHeaders.AUTHORIZATION);
+    }
+
+    private static ClientResponse replay(final ClientRequest request, final CachedResponse cached) {
+      final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+      cached
+          .headers()
+          .forEach((name, values) -> response.getHeaders().put(name, new ArrayList<>(values)));
+      response.setEntityStream(new ByteArrayInputStream(cached.body()));
+      return response;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import com.ghiloufi.aicode.core.config.ScmHttpCacheProperties;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ConditionalRequestCache implements ScmCacheInvalidationHandler {
+
+  private static final String REQUESTS_METRIC = "scm.http.cache.requests";
+
+  private final ScmHttpCacheProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final LinkedHashMap<CacheKey, CachedResponse> entries =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  @Autowired
+  public ConditionalRequestCache(
+      final ScmHttpCacheProperties properties, final MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Clock.systemUTC());
+  }
+
+  ConditionalRequestCache(
+      final ScmHttpCacheProperties properties,
+      final MeterRegistry meterRegistry,
+      final Clock clock) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public synchronized Optional<CachedResponse> lookup(final CacheKey key) {
+    return Optional.ofNullable(entries.get(key));
+  }
+
+  public boolean isFresh(final CachedResponse response) {
+    final Duration freshFor = properties.getFreshFor();
+    return !freshFor.isZero() && response.validatedAt().plus(freshFor).isAfter(clock.instant());
+  }
+
+  public CachedResponse store(
+      final CacheKey key, final Map<String, List<String>> headers, final byte[] body) {
+    final CachedResponse response = CachedResponse.of(headers, body, clock.instant());
+    put(key, response);
+    return response;
+  }
+
+  public CachedResponse revalidated(
+      final CacheKey key,
+      final CachedResponse cached,
+      final Map<String, List<String>> notModifiedHeaders) {
+    final CachedResponse response = cached.revalidate(notModifiedHeaders, clock.instant());
+    put(key, response);
+    return response;
+  }
+
+  public synchronized void invalidate(final CacheKey key) {
+    final CachedResponse removed = entries.remove(key);
+    if (removed != null) {
+      totalBytes -= removed.size();
+    }
+  }
+
+  @Override
+  public synchronized void invalidate(final ScmCacheInvalidation invalidation) {
+    final String repositoryPath = invalidation.repository().toApiPath();
+    final Iterator<Map.Entry<CacheKey, CachedResponse>> iterator = entries.entrySet().iterator();
+    int evicted = 0;
+    while (iterator.hasNext()) {
+      final Map.Entry<CacheKey, CachedResponse> entry = iterator.next();
+      if (belongsTo(entry.getKey().url(), repositoryPath)) {
+        totalBytes -= entry.getValue().size();
+        iterator.remove();
+        evicted++;
+      }
+    }
+    log.debug("Evicted {} SCM responses for {}", evicted, invalidation.repositoryId());
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public void record(final String provider, final String path, final CacheOutcome outcome) {
+    Counter.builder(REQUESTS_METRIC)
+        .description("SCM API requests by conditional cache outcome")
+        .tag("provider", provider)
+        .tag("endpoint", ScmEndpoints.template(path))
+        .tag("outcome", outcome.tag())
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private static boolean belongsTo(final String url, final String repositoryPath) {
+    final String path = URI.create(url).getRawPath();
+    final int index = path == null ? -1 : path.indexOf(repositoryPath);
+    if (index < 0) {
+      return false;
+    }
+    final int end = index + repositoryPath.length();
+    return end == path.length() || path.charAt(end) == '/';
+  }
+
+  private synchronized void put(final CacheKey key, final CachedResponse response) {
+    if (response.size() > properties.getMaxEntrySize().toBytes()) {
+      log.debug("Skipping SCM response cache for {}: {} bytes", key.url(), response.size());
+      invalidate(key);
+      return;
+    }
+    final CachedResponse previous = entries.put(key, response);
+    totalBytes += response.size() - (previous == null ? 0 : previous.size());
+    evictOverflow();
+  }
+
+  private void evictOverflow() {
+    final long maxTotalBytes = properties.getMaxTotalSize().toBytes();
+    final Iterator<CachedResponse> eldest = entries.values().iterator();
+    while (eldest.hasNext()
+        && (entries.size() > properties.getMaxEntries() || totalBytes > maxTotalBytes)) {
+      totalBytes -= eldest.next().size();
+      eldest.remove();
+    }
+  }
+
+  public record CacheKey(String url, String accept, String credential) {
+
+    public static CacheKey of(final String url, final String accept, final String credential) {
+      return new CacheKey(url, accept == null ? "" : accept, fingerprint(credential));
+    }
+
+    private static String fingerprint(final String credential) {
+      if (credential == null || credential.isEmpty()) {
+        return "";
+      }
+      try {
+        final byte[] digest =
+            MessageDigest.getInstance("SHA-256")
+                .digest(credential.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, 16);
+      } catch (final NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+    }
+  }
+}
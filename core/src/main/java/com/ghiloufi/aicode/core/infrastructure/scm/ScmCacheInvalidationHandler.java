@@ -0,0 +1,8 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+
+public interface ScmCacheInvalidationHandler {
+
+  void invalidate(ScmCacheInvalidation invalidation);
+}
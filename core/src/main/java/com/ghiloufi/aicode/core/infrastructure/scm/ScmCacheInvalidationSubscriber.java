@@ -0,0 +1,107 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.ScmInvalidationProperties;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ScmCacheInvalidationSubscriber implements SmartLifecycle {
+
+  private final ScmInvalidationProperties properties;
+  private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+  private final List<ScmCacheInvalidationHandler> handlers;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private RedisMessageListenerContainer container;
+
+  public ScmCacheInvalidationSubscriber(
+      final ScmInvalidationProperties properties,
+      final ObjectProvider<RedisConnectionFactory> connectionFactory,
+      final List<ScmCacheInvalidationHandler> handlers,
+      final ObjectMapper objectMapper,
+      final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.connectionFactory = connectionFactory;
+    this.handlers = handlers;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void apply(final ScmCacheInvalidation invalidation) {
+    log.debug(
+        "Invalidating SCM caches for {} ref={} ({} paths)",
+        invalidation.repositoryId(),
+        invalidation.ref(),
+        invalidation.paths().size());
+    for (final ScmCacheInvalidationHandler handler : handlers) {
+      try {
+        handler.invalidate(invalidation);
+      } catch (final RuntimeException e) {
+        log.warn(
+            "SCM cache invalidation failed in {}: {}",
+            handler.getClass().getSimpleName(),
+            e.getMessage());
+      }
+    }
+    meterRegistry
+        .counter(
+            "scm.cache.invalidations", "provider", invalidation.provider().name().toLowerCase())
+        .increment();
+  }
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled() || handlers.isEmpty()) {
+      return;
+    }
+    final RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+    if (factory == null) {
+      log.info("No Redis connection available, SCM cache invalidations are local only");
+      return;
+    }
+    container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(factory);
+    container.addMessageListener(
+        (message, pattern) -> onMessage(message), new ChannelTopic(properties.getChannel()));
+    container.afterPropertiesSet();
+    container.start();
+    log.info("Subscribed to SCM cache invalidations on '{}'", properties.getChannel());
+  }
+
+  @Override
+  public void stop() {
+    if (container != null) {
+      container.stop();
+      try {
+        container.destroy();
+      } catch (final Exception e) {
+        log.debug("Failed to close invalidation listener: {}", e.getMessage());
+      }
+      container = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return container != null && container.isRunning();
+  }
+
+  private void onMessage(final Message message) {
+    try {
+      apply(objectMapper.readValue(message.getBody(), ScmCacheInvalidation.class));
+    } catch (final Exception e) {
+      log.warn("Ignoring malformed SCM cache invalidation: {}", e.getMessage());
+    }
+  }
+}
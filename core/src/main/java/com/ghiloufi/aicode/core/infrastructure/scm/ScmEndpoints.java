@@ -0,0 +1,65 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public final class ScmEndpoints {
+
+  private static final Pattern NUMERIC = Pattern.compile("\\d+");
+  private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-fA-F]{7,64}");
+  private static final Map<String, List<String>> NAMED_SEGMENTS =
+      Map.of(
+          "repos", List.of("{owner}", "{repo}"),
+          "projects", List.of("{project}"),
+          "files", List.of("{path}"),
+          "branches", List.of("{branch}"),
+          "users", List.of("{user}"));
+
+  private ScmEndpoints() {}
+
+  public static String template(final String path) {
+    if (path == null || path.isBlank()) {
+      return "/";
+    }
+    final String[] segments = path.split("/");
+    final List<String> templated = new ArrayList<>();
+    int index = 0;
+    while (index < segments.length) {
+      final String segment = segments[index++];
+      if (segment.isEmpty()) {
+        continue;
+      }
+      if ("contents".equals(segment)) {
+        templated.add(segment);
+        if (index < segments.length) {
+          templated.add("{path}");
+        }
+        break;
+      }
+      templated.add(placeholder(segment));
+      final List<String> names = NAMED_SEGMENTS.get(segment);
+      if (names != null) {
+        for (final String name : names) {
+          if (index >= segments.length) {
+            break;
+          }
+          index++;
+          templated.add(name);
+        }
+      }
+    }
+    return "/" + String.join("/", templated);
+  }
+
+  private static String placeholder(final String segment) {
+    if (NUMERIC.matcher(segment).matches()) {
+      return "{id}";
+    }
+    if (COMMIT_SHA.matcher(segment).matches() && segment.chars().anyMatch(Character::isDigit)) {
+      return "{sha}";
+    }
+    return segment;
+  }
+}
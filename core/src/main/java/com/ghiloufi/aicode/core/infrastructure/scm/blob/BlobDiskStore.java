@@ -0,0 +1,150 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.blob;
+
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class BlobDiskStore {
+
+  private static final Pattern BLOB_SHA = Pattern.compile("[0-9a-fA-F]{7,64}");
+
+  private final boolean enabled;
+  private final Path directory;
+  private final long minBlobSize;
+  private final long maxSize;
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+  public BlobDiskStore(final FileBlobCacheProperties properties) {
+    final FileBlobCacheProperties.DiskTier disk = properties.getDisk();
+    this.directory = disk.getDirectory();
+    this.minBlobSize = disk.getMinBlobSize().toBytes();
+    this.maxSize = disk.getMaxSize().toBytes();
+    this.enabled = properties.isEnabled() && disk.isEnabled() && initialize();
+  }
+
+  public boolean accepts(final long size) {
+    return enabled && size >= minBlobSize && size <= maxSize;
+  }
+
+  public Optional<String> get(final String blobSha) {
+    if (!enabled || !BLOB_SHA.matcher(blobSha).matches()) {
+      return Optional.empty();
+    }
+    final Path file = file(blobSha);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      final String content = Files.readString(file, StandardCharsets.UTF_8);
+      Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+      return Optional.of(content);
+    } catch (final IOException e) {
+      log.debug("Failed to read cached blob {}: {}", blobSha, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public void put(final String blobSha, final String content) {
+    final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    if (!accepts(bytes.length) || !BLOB_SHA.matcher(blobSha).matches()) {
+      return;
+    }
+    final Path file = file(blobSha);
+    if (Files.exists(file) || !writing.add(blobSha)) {
+      return;
+    }
+    try {
+      if (Files.exists(file)) {
+        return;
+      }
+      Files.createDirectories(file.getParent());
+      final Path temp = Files.createTempFile(directory, blobSha, ".tmp");
+      Files.write(temp, bytes);
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      if (usedBytes.addAndGet(bytes.length) > maxSize) {
+        evict();
+      }
+    } catch (final IOException e) {
+      log.debug("Failed to write cached blob {}: {}", blobSha, e.getMessage());
+    } finally {
+      writing.remove(blobSha);
+    }
+  }
+
+  long usedBytes() {
+    return usedBytes.get();
+  }
+
+  private boolean initialize() {
+    try {
+      Files.createDirectories(directory);
+      usedBytes.set(blobFiles().stream().mapToLong(BlobDiskStore::sizeOf).sum());
+      log.info("Blob disk tier at {} holds {} bytes", directory, usedBytes.get());
+      return true;
+    } catch (final IOException e) {
+      log.warn("Blob disk tier disabled, cannot use {}: {}", directory, e.getMessage());
+      return false;
+    }
+  }
+
+  private synchronized void evict() throws IOException {
+    final List<Path> oldestFirst =
+        blobFiles().stream().sorted(Comparator.comparing(BlobDiskStore::lastUsed)).toList();
+    for (final Path file : oldestFirst) {
+      if (usedBytes.get() <= maxSize) {
+        return;
+      }
+      final long size = sizeOf(file);
+      if (Files.deleteIfExists(file)) {
+        usedBytes.addAndGet(-size);
+      }
+    }
+  }
+
+  private List<Path> blobFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files
+          .filter(Files::isRegularFile)
+          .filter(f -> !f.toString().endsWith(".tmp"))
+          .toList();
+    }
+  }
+
+  private Path file(final String blobSha) {
+    return directory.resolve(blobSha.substring(0, 2)).resolve(blobSha);
+  }
+
+  private static long sizeOf(final Path file) {
+    try {
+      return Files.size(file);
+    } catch (final IOException e) {
+      return 0L;
+    }
+  }
+
+  private static FileTime lastUsed(final Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (final IOException e) {
+      return FileTime.fromMillis(0L);
+    }
+  }
+}
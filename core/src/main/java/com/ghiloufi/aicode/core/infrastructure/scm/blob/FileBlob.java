@@ -0,0 +1,3 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.blob;
+
+public record FileBlob(String blobSha, String content) {}
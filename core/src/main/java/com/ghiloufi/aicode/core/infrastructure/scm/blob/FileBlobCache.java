@@ -0,0 +1,144 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.blob;
+
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.infrastructure.scm.ScmCacheInvalidationHandler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileBlobCache implements ScmCacheInvalidationHandler {
+
+  private static final String REQUESTS_METRIC = "scm.blob.cache.requests";
+
+  private final FileBlobCacheProperties properties;
+  private final RedisBlobStore redisStore;
+  private final BlobDiskStore diskStore;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, String> refs;
+  private final Cache<String, String> paths;
+  private final Cache<String, String> blobs;
+
+  public FileBlobCache(
+      final FileBlobCacheProperties properties,
+      final RedisBlobStore redisStore,
+      final BlobDiskStore diskStore,
+      final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.redisStore = redisStore;
+    this.diskStore = diskStore;
+    this.meterRegistry = meterRegistry;
+    this.refs = Caffeine.newBuilder().expireAfterWrite(properties.getRefTtl()).build();
+    this.paths = Caffeine.newBuilder().maximumSize(properties.getMaxIndexedPaths()).build();
+    this.blobs =
+        Caffeine.newBuilder()
+            .maximumWeight(properties.getLocalMaxSize().toBytes())
+            .<String, String>weigher((sha, content) -> content.length() * 2)
+            .build();
+  }
+
+  public String resolveRef(
+      final String repository, final String ref, final Callable<String> resolver) throws Exception {
+    if (!properties.isEnabled() || properties.getRefTtl().isZero()) {
+      return resolver.call();
+    }
+    final String key = repository + "@" + ref;
+    final String cached = refs.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final String commitSha = resolver.call();
+    refs.put(key, commitSha);
+    return commitSha;
+  }
+
+  public String getContent(
+      final String repository,
+      final String commitSha,
+      final String path,
+      final Callable<FileBlob> loader)
+      throws Exception {
+    if (!properties.isEnabled()) {
+      return loader.call().content();
+    }
+    final Optional<String> cached = lookup(repository, commitSha, path);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    final FileBlob blob = loader.call();
+    record("origin");
+    store(repository, commitSha, path, blob);
+    return blob.content();
+  }
+
+  @Override
+  public void invalidate(final ScmCacheInvalidation invalidation) {
+    if (invalidation.isTag()) {
+      return;
+    }
+    final String prefix = repositoryKey(invalidation.provider(), invalidation.repositoryId()) + "@";
+    refs.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  public static String repositoryKey(final SourceProvider provider, final String repositoryId) {
+    return provider.name().toLowerCase() + ":" + repositoryId;
+  }
+
+  private Optional<String> lookup(
+      final String repository, final String commitSha, final String path) {
+    final String pathKey = repository + "@" + commitSha + ":" + path;
+    String blobSha = paths.getIfPresent(pathKey);
+    if (blobSha == null) {
+      blobSha = redisStore.getBlobSha(repository, commitSha, path).orElse(null);
+      if (blobSha == null) {
+        return Optional.empty();
+      }
+      paths.put(pathKey, blobSha);
+    }
+
+    final String local = blobs.getIfPresent(blobSha);
+    if (local != null) {
+      record("local");
+      return Optional.of(local);
+    }
+    final Optional<String> onDisk = diskStore.get(blobSha);
+    if (onDisk.isPresent()) {
+      record("disk");
+      return onDisk;
+    }
+    final Optional<String> remote = redisStore.getBlob(blobSha);
+    if (remote.isPresent()) {
+      record("redis");
+      keepLocally(blobSha, remote.get());
+    }
+    return remote;
+  }
+
+  private void store(
+      final String repository, final String commitSha, final String path, final FileBlob blob) {
+    if (blob.blobSha() == null || blob.blobSha().isBlank() || blob.content() == null) {
+      return;
+    }
+    paths.put(repository + "@" + commitSha + ":" + path, blob.blobSha());
+    keepLocally(blob.blobSha(), blob.content());
+    redisStore.putBlob(blob.blobSha(), blob.content());
+    redisStore.putBlobSha(repository, commitSha, path, blob.blobSha());
+  }
+
+  private void keepLocally(final String blobSha, final String content) {
+    if (diskStore.accepts(content.length())) {
+      diskStore.put(blobSha, content);
+    } else {
+      blobs.put(blobSha, content);
+    }
+  }
+
+  private void record(final String tier) {
+    meterRegistry.counter(REQUESTS_METRIC, "tier", tier).increment();
+  }
+}
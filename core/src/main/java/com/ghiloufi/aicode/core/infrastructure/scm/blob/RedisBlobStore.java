@@ -0,0 +1,127 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.blob;
+
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class RedisBlobStore {
+
+  private final RedisTemplate<String, byte[]> redisTemplate;
+  private final String keyPrefix;
+  private final Duration ttl;
+  private final Duration pathTtl;
+
+  public RedisBlobStore(
+      final ObjectProvider<RedisConnectionFactory> connectionFactory,
+      final FileBlobCacheProperties properties) {
+    this.keyPrefix = properties.getRedis().getKeyPrefix();
+    this.ttl = properties.getRedis().getTtl();
+    this.pathTtl = properties.getRedis().getPathTtl();
+    final RedisConnectionFactory factory =
+        properties.isEnabled() && properties.getRedis().isEnabled()
+            ? connectionFactory.getIfAvailable()
+            : null;
+    this.redisTemplate = factory == null ? null : template(factory);
+  }
+
+  public boolean isAvailable() {
+    return redisTemplate != null;
+  }
+
+  public Optional<String> getBlob(final String blobSha) {
+    try {
+      return read(blobKey(blobSha)).map(RedisBlobStore::decompress);
+    } catch (final UncheckedIOException e) {
+      log.debug("Discarding unreadable cached blob {}: {}", blobSha, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public void putBlob(final String blobSha, final String content) {
+    write(blobKey(blobSha), compress(content), ttl);
+  }
+
+  public Optional<String> getBlobSha(
+      final String repository, final String commitSha, final String path) {
+    return read(pathKey(repository, commitSha, path))
+        .map(value -> new String(value, StandardCharsets.UTF_8));
+  }
+
+  public void putBlobSha(
+      final String repository, final String commitSha, final String path, final String blobSha) {
+    write(pathKey(repository, commitSha, path), blobSha.getBytes(StandardCharsets.UTF_8), pathTtl);
+  }
+
+  private Optional<byte[]> read(final String key) {
+    if (redisTemplate == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    } catch (final RuntimeException e) {
+      log.debug("Blob cache read failed for {}: {}", key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void write(final String key, final byte[] value, final Duration expiry) {
+    if (redisTemplate == null) {
+      return;
+    }
+    try {
+      redisTemplate.opsForValue().set(key, value, expiry);
+    } catch (final RuntimeException e) {
+      log.debug("Blob cache write failed for {}: {}", key, e.getMessage());
+    }
+  }
+
+  private String blobKey(final String blobSha) {
+    return keyPrefix + "sha:" + blobSha;
+  }
+
+  private String pathKey(final String repository, final String commitSha, final String path) {
+    return keyPrefix + "path:" + repository + ":" + commitSha + ":" + path;
+  }
+
+  private static RedisTemplate<String, byte[]> template(final RedisConnectionFactory factory) {
+    final RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+    template.setConnectionFactory(factory);
+    template.setKeySerializer(RedisSerializer.string());
+    template.setValueSerializer(RedisSerializer.byteArray());
+    template.afterPropertiesSet();
+    return template;
+  }
+
+  static byte[] compress(final String content) {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+      gzip.write(content.getBytes(StandardCharsets.UTF_8));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  static String decompress(final byte[] compressed) {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
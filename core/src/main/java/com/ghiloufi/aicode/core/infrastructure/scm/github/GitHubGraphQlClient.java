@@ -0,0 +1,261 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ghiloufi.aicode.core.config.ScmGraphQlProperties;
+import com.ghiloufi.aicode.core.domain.model.CommitInfo;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    prefix = "scm.providers.github",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class GitHubGraphQlClient {
+
+  private static final String RATE_LIMIT_KEY = "github-graphql";
+
+  private static final String PULL_REQUEST_QUERY =
+      """
+      query($owner: String!, $name: String!, $number: Int!) {
+        repository(owner: $owner, name: $name) {
+          pullRequest(number: $number) {
+            title
+            body
+            state
+            author { login }
+            baseRefName
+            headRefName
+            baseRefOid
+            headRefOid
+            changedFiles
+            labels(first: 100) { nodes { name } }
+            commits(last: 10) { nodes { commit { oid message author { name date } } } }
+          }
+        }
+      }
+      """;
+
+  private final ScmGraphQlProperties properties;
+  private final WebClient webClient;
+
+  public GitHubGraphQlClient(
+      final ScmGraphQlProperties properties,
+      @Value("${scm.providers.github.token:${github.token:}}") final String token,
+      final ScmWebClientFactory webClients) {
+    this.properties = properties;
+    this.webClient =
+        webClients.createForReads(
+            RATE_LIMIT_KEY,
+            properties.getUrl(),
+            headers -> headers.setBearerAuth(token),
+            Jackson2ObjectMapperBuilder.json().build());
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public Mono<PullRequest> pullRequest(final String owner, final String name, final int number) {
+    final Map<String, Object> variables = new HashMap<>();
+    variables.put("owner", owner);
+    variables.put("name", name);
+    variables.put("number", number);
+    return execute(PULL_REQUEST_QUERY, variables)
+        .map(data -> toPullRequest(pullRequestNode(data, owner, name, number)));
+  }
+
+  public Mono<Map<String, String>> headFileContents(
+      final String owner, final String name, final int number, final List<String> paths) {
+    if (paths.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    return pullRequest(owner, name, number)
+        .flatMap(pullRequest -> fileContents(owner, name, pullRequest.headOid(), paths));
+  }
+
+  public Mono<Map<BlobRef, String>> blobs(
+      final String owner, final String name, final List<BlobRef> refs) {
+    if (refs.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    final List<List<BlobRef>> batches = new ArrayList<>();
+    for (int start = 0; start < refs.size(); start += properties.getBlobBatchSize()) {
+      batches.add(
+          refs.subList(start, Math.min(refs.size(), start + properties.getBlobBatchSize())));
+    }
+    return Flux.fromIterable(batches)
+        .concatMap(batch -> blobBatch(owner, name, batch))
+        .collect(LinkedHashMap<BlobRef, String>::new, (contents, batch) -> contents.putAll(batch))
+        .map(contents -> (Map<BlobRef, String>) contents);
+  }
+
+  public Mono<Map<String, String>> fileContents(
+      final String owner, final String name, final String revision, final List<String> paths) {
+    final List<BlobRef> refs = paths.stream().map(path -> new BlobRef(revision, path)).toList();
+    return blobs(owner, name, refs)
+        .map(
+            contents -> {
+              final Map<String, String> byPath = new LinkedHashMap<>();
+              contents.forEach((ref, content) -> byPath.put(ref.path(), content));
+              return byPath;
+            });
+  }
+
+  private Mono<Map<BlobRef, String>> blobBatch(
+      final String owner, final String name, final List<BlobRef> batch) {
+    final StringBuilder declarations = new StringBuilder("$owner: String!, $name: String!");
+    final StringBuilder selections = new StringBuilder();
+    final Map<String, Object> variables = new HashMap<>();
+    variables.put("owner", owner);
+    variables.put("name", name);
+    for (int i = 0; i < batch.size(); i++) {
+      declarations.append(", $e").append(i).append(": String!");
+      selections
+          .append("b")
+          .append(i)
+          .append(": object(expression: $e")
+          .append(i)
+          .append(") { ... on Blob { text isBinary } }\n");
+      variables.put("e" + i, batch.get(i).expression());
+    }
+    final String query =
+        "query("
+            + declarations
+            + ") {\n  repository(owner: $owner, name: $name) {\n"
+            + selections
+            + "  }\n}";
+    log.debug("Fetching {} blobs from {}/{} in one GraphQL query", batch.size(), owner, name);
+    return execute(query, variables)
+        .map(
+            data -> {
+              final JsonNode repository = data.path("repository");
+              final Map<BlobRef, String> contents = new LinkedHashMap<>();
+              for (int i = 0; i < batch.size(); i++) {
+                final JsonNode blob = repository.path("b" + i);
+                if (blob.hasNonNull("text") && !blob.path("isBinary").asBoolean(false)) {
+                  contents.put(batch.get(i), blob.get("text").asText());
+                }
+              }
+              return contents;
+            });
+  }
+
+  private Mono<JsonNode> execute(final String query, final Map<String, Object> variables) {
+    return webClient
+        .post()
+        .uri(builder -> builder.build())
+        .bodyValue(Map.of("query", query, "variables", variables))
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .flatMap(
+            response -> {
+              final JsonNode data = response.path("data");
+              final JsonNode errors = response.path("errors");
+              if (errors.isArray() && !errors.isEmpty()) {
+                if (data.isMissingNode() || data.isNull()) {
+                  return Mono.error(
+                      new SCMException(
+                          "GraphQL query failed: " + errors.get(0).path("message").asText(),
+                          SourceProvider.GITHUB,
+                          "graphql"));
+                }
+                log.debug("GraphQL query returned partial errors: {}", errors);
+              }
+              return Mono.just(data);
+            });
+  }
+
+  private static JsonNode pullRequestNode(
+      final JsonNode data, final String owner, final String name, final int number) {
+    final JsonNode node = data.path("repository").path("pullRequest");
+    if (node.isMissingNode() || node.isNull()) {
+      throw new SCMException(
+          "Pull request not found", SourceProvider.GITHUB, owner + "/" + name + "#" + number);
+    }
+    return node;
+  }
+
+  private static PullRequest toPullRequest(final JsonNode node) {
+    final List<String> labels = new ArrayList<>();
+    node.path("labels").path("nodes").forEach(label -> labels.add(label.path("name").asText()));
+    final List<CommitInfo> commits = new ArrayList<>();
+    node.path("commits")
+        .path("nodes")
+        .forEach(
+            entry -> {
+              final JsonNode commit = entry.path("commit");
+              final JsonNode author = commit.path("author");
+              commits.add(
+                  new CommitInfo(
+                      commit.path("oid").asText(),
+                      commit.path("message").asText(),
+                      text(author, "name"),
+                      author.hasNonNull("date") ? Instant.parse(author.get("date").asText()) : null,
+                      List.of()));
+            });
+    return new PullRequest(
+        text(node, "title"),
+        text(node, "body"),
+        text(node, "state"),
+        text(node.path("author"), "login"),
+        text(node, "baseRefName"),
+        text(node, "headRefName"),
+        text(node, "baseRefOid"),
+        text(node, "headRefOid"),
+        labels,
+        commits,
+        node.path("changedFiles").asInt());
+  }
+
+  private static String text(final JsonNode node, final String field) {
+    return node.hasNonNull(field) ? node.get(field).asText() : null;
+  }
+
+  public record BlobRef(String revision, String path) {
+
+    String expression() {
+      return revision + ":" + path;
+    }
+  }
+
+  public record PullRequest(
+      String title,
+      String body,
+      String state,
+      String author,
+      String baseRef,
+      String headRef,
+      String baseOid,
+      String headOid,
+      List<String> labels,
+      List<CommitInfo> commits,
+      int changedFiles) {
+
+    public boolean isOpen() {
+      return "OPEN".equals(state);
+    }
+
+    public PrMetadata toMetadata() {
+      return new PrMetadata(title, body, author, baseRef, headRef, labels, commits, changedFiles);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.ratelimit;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+public final class RateLimitedGitHubConnector implements GitHubConnector {
+
+  private static final String PROVIDER = "github";
+
+  private final GitHubConnector delegate;
+  private final ScmRateLimiter rateLimiter;
+
+  public RateLimitedGitHubConnector(
+      final GitHubConnector delegate, final ScmRateLimiter rateLimiter) {
+    this.delegate = delegate;
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public GitHubConnectorResponse send(final GitHubConnectorRequest request) throws IOException {
+    try {
+      rateLimiter.await(PROVIDER, ScmRequestPriority.of(request.method()));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for GitHub rate limit");
+    }
+    final GitHubConnectorResponse response = delegate.send(request);
+    rateLimiter.update(PROVIDER, response.statusCode(), response::header);
+    return response;
+  }
+}
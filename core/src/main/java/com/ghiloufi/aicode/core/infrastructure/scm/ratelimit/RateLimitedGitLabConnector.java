@@ -0,0 +1,49 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.ratelimit;
+
+import jakarta.ws.rs.ProcessingException;
+import java.util.concurrent.Future;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+public final class RateLimitedGitLabConnector implements Connector {
+
+  private static final String PROVIDER = "gitlab";
+
+  private final Connector delegate;
+  private final ScmRateLimiter rateLimiter;
+
+  public RateLimitedGitLabConnector(final Connector delegate, final ScmRateLimiter rateLimiter) {
+    this.delegate = delegate;
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public ClientResponse apply(final ClientRequest request) {
+    try {
+      rateLimiter.await(PROVIDER, ScmRequestPriority.of(request.getMethod()));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessingException("Interrupted while waiting for GitLab rate limit", e);
+    }
+    final ClientResponse response = delegate.apply(request);
+    rateLimiter.update(PROVIDER, response.getStatus(), response::getHeaderString);
+    return response;
+  }
+
+  @Override
+  public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+    return delegate.apply(request, callback);
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
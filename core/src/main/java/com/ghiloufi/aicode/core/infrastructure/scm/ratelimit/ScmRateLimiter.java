@@ -0,0 +1,228 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.ratelimit;
+
+import com.ghiloufi.aicode.core.config.ScmRateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class ScmRateLimiter {
+
+  private static final String REMAINING_METRIC = "scm.ratelimit.remaining";
+  private static final String WAIT_METRIC = "scm.ratelimit.wait";
+  private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+  private final ScmRateLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ScmRateLimiter(
+      final ScmRateLimitProperties properties, final MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Clock.systemUTC());
+  }
+
+  ScmRateLimiter(
+      final ScmRateLimitProperties properties,
+      final MeterRegistry meterRegistry,
+      final Clock clock) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public Duration reserve(final String provider, final ScmRequestPriority priority) {
+    if (!properties.isEnabled()) {
+      return Duration.ZERO;
+    }
+    final Quota quota = quota(provider);
+    synchronized (quota) {
+      final Instant now = clock.instant();
+      Instant start = later(now, quota.blockedUntil);
+      if (quota.remaining >= 0 && quota.resetAt != null && quota.resetAt.isAfter(now)) {
+        if (quota.remaining == 0) {
+          start = later(start, quota.resetAt);
+        } else if (priority == ScmRequestPriority.PREFETCH && shouldPace(quota)) {
+          final long available = quota.remaining - reserved(quota);
+          if (available <= 0) {
+            start = later(start, quota.resetAt);
+          } else {
+            start = later(start, quota.nextPrefetchAt);
+            quota.nextPrefetchAt =
+                start.plus(Duration.between(now, quota.resetAt).dividedBy(available));
+          }
+        }
+        if (quota.remaining > 0) {
+          quota.remaining--;
+        }
+      }
+      final Duration delay = Duration.between(now, start);
+      return delay.compareTo(properties.getMaxWait()) > 0 ? properties.getMaxWait() : delay;
+    }
+  }
+
+  public void await(final String provider, final ScmRequestPriority priority)
+      throws InterruptedException {
+    final Duration delay = reserve(provider, priority);
+    if (delay.isZero()) {
+      return;
+    }
+    recordWait(provider, priority, delay);
+    Thread.sleep(delay.toMillis());
+  }
+
+  public Mono<Void> delay(final String provider, final ScmRequestPriority priority) {
+    return Mono.defer(
+        () -> {
+          final Duration delay = reserve(provider, priority);
+          if (delay.isZero()) {
+            return Mono.empty();
+          }
+          recordWait(provider, priority, delay);
+          return Mono.delay(delay).then();
+        });
+  }
+
+  public void update(
+      final String provider, final int status, final Function<String, String> headers) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    final Long remaining = parseLong(header(headers, "RateLimit-Remaining"));
+    final Long limit = parseLong(header(headers, "RateLimit-Limit"));
+    final Long reset = parseLong(header(headers, "RateLimit-Reset"));
+    final Duration retryAfter = retryAfter(headers.apply("Retry-After"));
+    final Quota quota = quota(provider);
+    synchronized (quota) {
+      final Instant now = clock.instant();
+      if (remaining != null) {
+        quota.remaining = remaining;
+      }
+      if (limit != null) {
+        quota.limit = limit;
+      }
+      if (reset != null) {
+        quota.resetAt =
+            reset >= EPOCH_SECONDS_THRESHOLD
+                ? Instant.ofEpochSecond(reset)
+                : now.plusSeconds(reset);
+      }
+      final boolean throttled = status == 429 || (status == 403 && quota.remaining == 0);
+      if (retryAfter != null) {
+        quota.blockedUntil = later(quota.blockedUntil, now.plus(retryAfter));
+      } else if (throttled) {
+        quota.blockedUntil =
+            later(
+                quota.blockedUntil,
+                quota.resetAt != null && quota.resetAt.isAfter(now)
+                    ? quota.resetAt
+                    : now.plus(properties.getDefaultRetryAfter()));
+      }
+      if (throttled) {
+        log.warn("{} rate limit reached, holding requests until {}", provider, quota.blockedUntil);
+      }
+    }
+  }
+
+  public double remaining(final String provider) {
+    final Quota quota = quotas.get(provider);
+    return quota == null || quota.remaining < 0 ? Double.NaN : quota.remaining;
+  }
+
+  private Quota quota(final String provider) {
+    return quotas.computeIfAbsent(
+        provider,
+        name -> {
+          final Quota quota = new Quota();
+          Gauge.builder(REMAINING_METRIC, this, limiter -> limiter.remaining(name))
+              .description("Remaining SCM API requests in the current rate limit window")
+              .tag("provider", name)
+              .register(meterRegistry);
+          return quota;
+        });
+  }
+
+  private boolean shouldPace(final Quota quota) {
+    return quota.limit <= 0 || quota.remaining < quota.limit * properties.getPaceBelow();
+  }
+
+  private long reserved(final Quota quota) {
+    final long base = quota.limit > 0 ? quota.limit : quota.remaining;
+    return (long) Math.ceil(base * properties.getPublishReserve());
+  }
+
+  private void recordWait(
+      final String provider, final ScmRequestPriority priority, final Duration delay) {
+    Timer.builder(WAIT_METRIC)
+        .description("Time SCM requests were held back by the rate limiter")
+        .tag("provider", provider)
+        .tag("priority", priority.tag())
+        .register(meterRegistry)
+        .record(delay);
+  }
+
+  private static String header(final Function<String, String> headers, final String name) {
+    final String value = headers.apply(name);
+    return value != null ? value : headers.apply("X-" + name);
+  }
+
+  private Duration retryAfter(final String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    final Long seconds = parseLong(value);
+    if (seconds != null) {
+      return Duration.ofSeconds(Math.max(0, seconds));
+    }
+    try {
+      final Instant until =
+          ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+      final Duration delay = Duration.between(clock.instant(), until);
+      return delay.isNegative() ? Duration.ZERO : delay;
+    } catch (final DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static Long parseLong(final String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (final NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static Instant later(final Instant first, final Instant second) {
+    return second != null && second.isAfter(first) ? second : first;
+  }
+
+  private static final class Quota {
+    private long limit = -1;
+    private long remaining = -1;
+    private Instant resetAt;
+    private Instant blockedUntil = Instant.EPOCH;
+    private Instant nextPrefetchAt = Instant.EPOCH;
+  }
+}
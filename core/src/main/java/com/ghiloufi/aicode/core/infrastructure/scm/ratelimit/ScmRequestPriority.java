@@ -0,0 +1,14 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.ratelimit;
+
+public enum ScmRequestPriority {
+  PUBLISH,
+  PREFETCH;
+
+  public static ScmRequestPriority of(final String method) {
+    return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) ? PREFETCH : PUBLISH;
+  }
+
+  public String tag() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,44 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.snapshot;
+
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import java.util.List;
+import java.util.Objects;
+import org.gitlab4j.api.models.Diff;
+import org.gitlab4j.api.models.DiffRef;
+import org.gitlab4j.api.models.MergeRequest;
+
+public record MergeRequestSnapshot(
+    MergeRequest mergeRequest,
+    PrMetadata prMetadata,
+    String rawDiff,
+    GitDiffDocument structuredDiff) {
+
+  public MergeRequestSnapshot {
+    Objects.requireNonNull(mergeRequest, "Merge request cannot be null");
+    Objects.requireNonNull(prMetadata, "PR metadata cannot be null");
+    Objects.requireNonNull(rawDiff, "Raw diff cannot be null");
+    Objects.requireNonNull(structuredDiff, "Structured diff cannot be null");
+  }
+
+  public static MergeRequestSnapshot of(
+      final MergeRequest mergeRequest,
+      final PrMetadata prMetadata,
+      final GitLabDiffBuilder diffBuilder,
+      final UnifiedDiffParser diffParser) {
+    final List<Diff> changes =
+        mergeRequest.getChanges() != null ? mergeRequest.getChanges() : List.of();
+    final String rawDiff = diffBuilder.buildRawDiff(changes);
+    return new MergeRequestSnapshot(mergeRequest, prMetadata, rawDiff, diffParser.parse(rawDiff));
+  }
+
+  public List<Diff> changes() {
+    return mergeRequest.getChanges() != null ? mergeRequest.getChanges() : List.of();
+  }
+
+  public DiffRef diffRefs() {
+    return mergeRequest.getDiffRefs();
+  }
+}
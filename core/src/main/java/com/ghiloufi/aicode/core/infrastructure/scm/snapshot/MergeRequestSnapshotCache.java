@@ -0,0 +1,201 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.MergeRequestSnapshotProperties;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.infrastructure.scm.ScmCacheInvalidationHandler;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.gitlab4j.api.models.MergeRequest;
+import org.gitlab4j.api.utils.JacksonJson;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MergeRequestSnapshotCache implements ScmCacheInvalidationHandler {
+
+  private static final String REQUESTS_METRIC = "scm.mr.snapshot.requests";
+
+  private final MergeRequestSnapshotProperties properties;
+  private final GitLabDiffBuilder diffBuilder;
+  private final UnifiedDiffParser diffParser;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final StringRedisTemplate redisTemplate;
+  private final JacksonJson gitLabJson = new JacksonJson();
+  private final Cache<String, MergeRequestSnapshot> snapshots;
+
+  @Autowired
+  public MergeRequestSnapshotCache(
+      final MergeRequestSnapshotProperties properties,
+      final GitLabDiffBuilder diffBuilder,
+      final UnifiedDiffParser diffParser,
+      final ObjectMapper objectMapper,
+      final ObjectProvider<RedisConnectionFactory> connectionFactory,
+      final MeterRegistry meterRegistry) {
+    this(
+        properties,
+        diffBuilder,
+        diffParser,
+        objectMapper,
+        properties.isEnabled() && properties.isShared() ? connectionFactory.getIfAvailable() : null,
+        meterRegistry,
+        Clock.systemUTC());
+  }
+
+  MergeRequestSnapshotCache(
+      final MergeRequestSnapshotProperties properties,
+      final GitLabDiffBuilder diffBuilder,
+      final UnifiedDiffParser diffParser,
+      final ObjectMapper objectMapper,
+      final RedisConnectionFactory connectionFactory,
+      final MeterRegistry meterRegistry,
+      final Clock clock) {
+    this.properties = properties;
+    this.diffBuilder = diffBuilder;
+    this.diffParser = diffParser;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.redisTemplate =
+        connectionFactory == null ? null : new StringRedisTemplate(connectionFactory);
+    this.snapshots =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxEntries())
+            .build();
+  }
+
+  public MergeRequestSnapshot get(
+      final String repository, final long iid, final Callable<MergeRequestSnapshot> loader)
+      throws Exception {
+    if (!properties.isEnabled() || properties.getTtl().isZero()) {
+      return loader.call();
+    }
+    final String key = repository + "!" + iid;
+    final MergeRequestSnapshot local = snapshots.getIfPresent(key);
+    if (local != null) {
+      record("local");
+      return local;
+    }
+    final Optional<MergeRequestSnapshot> shared = readShared(repository, iid);
+    if (shared.isPresent()) {
+      record("redis");
+      snapshots.put(key, shared.get());
+      return shared.get();
+    }
+    return refresh(repository, iid, loader);
+  }
+
+  public MergeRequestSnapshot refresh(
+      final String repository, final long iid, final Callable<MergeRequestSnapshot> loader)
+      throws Exception {
+    final MergeRequestSnapshot loaded = loader.call();
+    if (!properties.isEnabled() || properties.getTtl().isZero()) {
+      return loaded;
+    }
+    record("origin");
+    snapshots.put(repository + "!" + iid, loaded);
+    writeShared(repository, iid, loaded);
+    return loaded;
+  }
+
+  public void evict(final String repository, final long iid) {
+    snapshots.invalidate(repository + "!" + iid);
+    if (redisTemplate != null) {
+      try {
+        redisTemplate.opsForHash().delete(sharedKey(repository), Long.toString(iid));
+      } catch (final RuntimeException e) {
+        log.debug("Failed to evict shared MR snapshot {}!{}: {}", repository, iid, e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void invalidate(final ScmCacheInvalidation invalidation) {
+    if (invalidation.isTag()) {
+      return;
+    }
+    final String repository =
+        FileBlobCache.repositoryKey(invalidation.provider(), invalidation.repositoryId());
+    snapshots.asMap().keySet().removeIf(key -> key.startsWith(repository + "!"));
+    if (redisTemplate != null) {
+      try {
+        redisTemplate.delete(sharedKey(repository));
+      } catch (final RuntimeException e) {
+        log.debug("Failed to drop shared MR snapshots for {}: {}", repository, e.getMessage());
+      }
+    }
+  }
+
+  private Optional<MergeRequestSnapshot> readShared(final String repository, final long iid) {
+    if (redisTemplate == null) {
+      return Optional.empty();
+    }
+    try {
+      final Object value =
+          redisTemplate.opsForHash().get(sharedKey(repository), Long.toString(iid));
+      if (value == null) {
+        return Optional.empty();
+      }
+      final SharedSnapshot shared = objectMapper.readValue(value.toString(), SharedSnapshot.class);
+      if (shared.storedAt().plus(properties.getTtl()).isBefore(clock.instant())) {
+        return Optional.empty();
+      }
+      final MergeRequest mergeRequest =
+          gitLabJson.unmarshal(MergeRequest.class, shared.mergeRequest());
+      return Optional.of(
+          MergeRequestSnapshot.of(mergeRequest, shared.prMetadata(), diffBuilder, diffParser));
+    } catch (final Exception e) {
+      log.debug("Ignoring shared MR snapshot {}!{}: {}", repository, iid, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void writeShared(
+      final String repository, final long iid, final MergeRequestSnapshot snapshot) {
+    if (redisTemplate == null) {
+      return;
+    }
+    try {
+      final String key = sharedKey(repository);
+      final SharedSnapshot shared =
+          new SharedSnapshot(
+              JacksonJson.toJsonString(snapshot.mergeRequest()),
+              snapshot.prMetadata(),
+              clock.instant());
+      redisTemplate
+          .opsForHash()
+          .put(key, Long.toString(iid), objectMapper.writeValueAsString(shared));
+      redisTemplate.expire(key, properties.getTtl());
+    } catch (final JsonProcessingException | RuntimeException e) {
+      log.debug("Failed to share MR snapshot {}!{}: {}", repository, iid, e.getMessage());
+    }
+  }
+
+  private String sharedKey(final String repository) {
+    return properties.getKeyPrefix() + repository;
+  }
+
+  private void record(final String tier) {
+    meterRegistry.counter(REQUESTS_METRIC, "tier", tier).increment();
+  }
+
+  record SharedSnapshot(String mergeRequest, PrMetadata prMetadata, Instant storedAt) {}
+}
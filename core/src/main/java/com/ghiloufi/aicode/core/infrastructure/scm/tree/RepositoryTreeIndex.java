@@ -0,0 +1,111 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.tree;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+public final class RepositoryTreeIndex {
+
+  private static final RepositoryTreeIndex EMPTY = new RepositoryTreeIndex("", new int[] {0});
+
+  private final String data;
+  private final int[] offsets;
+
+  private RepositoryTreeIndex(final String data, final int[] offsets) {
+    this.data = data;
+    this.offsets = offsets;
+  }
+
+  public static RepositoryTreeIndex empty() {
+    return EMPTY;
+  }
+
+  public static RepositoryTreeIndex of(final Collection<String> paths) {
+    final String[] sorted =
+        paths.stream()
+            .filter(path -> path != null && !path.isBlank())
+            .sorted()
+            .distinct()
+            .toArray(String[]::new);
+    if (sorted.length == 0) {
+      return EMPTY;
+    }
+    final StringBuilder data = new StringBuilder();
+    final int[] offsets = new int[sorted.length + 1];
+    for (int i = 0; i < sorted.length; i++) {
+      offsets[i] = data.length();
+      data.append(sorted[i]);
+    }
+    offsets[sorted.length] = data.length();
+    return new RepositoryTreeIndex(data.toString(), offsets);
+  }
+
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public String path(final int index) {
+    return data.substring(offsets[index], offsets[index + 1]);
+  }
+
+  public boolean contains(final String path) {
+    final int position = lowerBound(path);
+    return position < size() && path(position).equals(path);
+  }
+
+  public List<String> paths() {
+    return new Range(0, size());
+  }
+
+  public List<String> under(final String directory) {
+    if (directory == null || directory.isEmpty()) {
+      return paths();
+    }
+    final String prefix = directory.endsWith("/") ? directory : directory + "/";
+    final String end = prefix.substring(0, prefix.length() - 1) + (char) ('/' + 1);
+    return new Range(lowerBound(prefix), lowerBound(end));
+  }
+
+  private int lowerBound(final String path) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (path(middle).compareTo(path) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private final class Range extends AbstractList<String> implements RandomAccess {
+
+    private final int from;
+    private final int to;
+
+    private Range(final int from, final int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public String get(final int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return path(from + index);
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
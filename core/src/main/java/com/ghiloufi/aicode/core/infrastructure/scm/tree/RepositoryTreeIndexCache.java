@@ -0,0 +1,86 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.tree;
+
+import com.ghiloufi.aicode.core.config.ScmTreeIndexProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class RepositoryTreeIndexCache {
+
+  private static final String REQUESTS_METRIC = "scm.tree.index.requests";
+
+  private final ScmTreeIndexProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, RepositoryTreeIndex> indexes;
+
+  public RepositoryTreeIndexCache(
+      final ScmTreeIndexProperties properties, final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.indexes =
+        Caffeine.newBuilder()
+            .expireAfterAccess(properties.getIdleTtl())
+            .maximumWeight(properties.getMaxPaths())
+            .<String, RepositoryTreeIndex>weigher((key, index) -> Math.max(1, index.size()))
+            .build();
+  }
+
+  public RepositoryTreeIndex get(
+      final String repository,
+      final String commitSha,
+      final Callable<? extends Collection<String>> loader)
+      throws Exception {
+    if (!properties.isEnabled()) {
+      return RepositoryTreeIndex.of(loader.call());
+    }
+    final String key = repository + "@" + commitSha;
+    final RepositoryTreeIndex cached = indexes.getIfPresent(key);
+    if (cached != null) {
+      record("local");
+      return cached;
+    }
+    final RepositoryTreeIndex loaded = RepositoryTreeIndex.of(loader.call());
+    record("origin");
+    log.debug("Indexed {} paths for {} at {}", loaded.size(), repository, commitSha);
+    indexes.put(key, loaded);
+    return loaded;
+  }
+
+  public Mono<RepositoryTreeIndex> get(
+      final String repository,
+      final String commitSha,
+      final Mono<? extends Collection<String>> origin) {
+    if (!properties.isEnabled()) {
+      return origin.map(RepositoryTreeIndex::of);
+    }
+    final String key = repository + "@" + commitSha;
+    return Mono.defer(
+        () -> {
+          final RepositoryTreeIndex cached = indexes.getIfPresent(key);
+          if (cached != null) {
+            record("local");
+            return Mono.just(cached);
+          }
+          return origin
+              .map(RepositoryTreeIndex::of)
+              .doOnNext(
+                  loaded -> {
+                    record("origin");
+                    log.debug(
+                        "Indexed {} paths for {} at {}", loaded.size(), repository, commitSha);
+                    indexes.put(key, loaded);
+                  });
+        });
+  }
+
+  private void record(final String tier) {
+    meterRegistry.counter(REQUESTS_METRIC, "tier", tier).increment();
+  }
+}
@@ -0,0 +1,135 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.webclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.ScmClientProperties;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRequestPriority;
+import io.netty.channel.ChannelOption;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+@Slf4j
+@Component
+public class ScmWebClientFactory implements DisposableBean {
+
+  private final ScmClientProperties properties;
+  private final ScmRateLimiter rateLimiter;
+  private final ConnectionProvider connectionProvider;
+  private final HttpClient httpClient;
+
+  public ScmWebClientFactory(
+      final ScmClientProperties properties, final ScmRateLimiter rateLimiter) {
+    this.properties = properties;
+    this.rateLimiter = rateLimiter;
+    this.connectionProvider =
+        ConnectionProvider.builder("scm")
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .build();
+    this.httpClient =
+        HttpClient.create(connectionProvider)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getResponseTimeout())
+            .compress(true);
+    log.info(
+        "SCM WebClient pool initialized: max connections={}, response timeout={}",
+        properties.getMaxConnections(),
+        properties.getResponseTimeout());
+  }
+
+  public WebClient create(
+      final String provider,
+      final String baseUrl,
+      final Consumer<HttpHeaders> defaultHeaders,
+      final ObjectMapper objectMapper) {
+    return create(provider, baseUrl, defaultHeaders, objectMapper, ScmRequestPriority::of);
+  }
+
+  public WebClient createForReads(
+      final String provider,
+      final String baseUrl,
+      final Consumer<HttpHeaders> defaultHeaders,
+      final ObjectMapper objectMapper) {
+    return create(
+        provider, baseUrl, defaultHeaders, objectMapper, method -> ScmRequestPriority.PREFETCH);
+  }
+
+  private WebClient create(
+      final String provider,
+      final String baseUrl,
+      final Consumer<HttpHeaders> defaultHeaders,
+      final ObjectMapper objectMapper,
+      final Function<String, ScmRequestPriority> priority) {
+    final WebClient.Builder builder =
+        WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .defaultHeaders(defaultHeaders);
+    if (rateLimiter.isEnabled()) {
+      builder.filter(rateLimited(provider, priority));
+    }
+    return builder
+        .codecs(
+            codecs -> {
+              codecs
+                  .defaultCodecs()
+                  .maxInMemorySize((int) properties.getMaxInMemorySize().toBytes());
+              codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+              codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+            })
+        .build();
+  }
+
+  public int pageSize() {
+    return properties.getPageSize();
+  }
+
+  public Retry readRetry() {
+    return Retry.backoff(properties.getReadAttempts() - 1, properties.getReadRetryBackoff())
+        .filter(ScmWebClientFactory::isRetryable)
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  }
+
+  public static boolean isRetryable(final Throwable error) {
+    if (error instanceof final WebClientResponseException response) {
+      return response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError();
+    }
+    return error instanceof WebClientRequestException;
+  }
+
+  @Override
+  public void destroy() {
+    connectionProvider.dispose();
+  }
+
+  private ExchangeFilterFunction rateLimited(
+      final String provider, final Function<String, ScmRequestPriority> priority) {
+    return (request, next) ->
+        rateLimiter
+            .delay(provider, priority.apply(request.method().name()))
+            .then(next.exchange(request))
+            .doOnNext(
+                response ->
+                    rateLimiter.update(
+                        provider,
+                        response.statusCode().value(),
+                        response.headers().asHttpHeaders()::getFirst));
+  }
+}
@@ -5,14 +5,14 @@ import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
 import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
 import com.ghiloufi.aicode.core.domain.model.ExpandedFileContext;
 import com.ghiloufi.aicode.core.domain.model.GitFileModification;
-import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.service.expansion.SourceCompressor.CompressedSource;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
@@ -22,6 +22,7 @@ public final class DiffExpansionService {
 
   private final SCMPort scmPort;
   private final ContextRetrievalConfig config;
+  private final SourceCompressor compressor = new SourceCompressor();
 
   public Mono<DiffExpansionResult> expandDiff(final DiffAnalysisBundle bundle) {
     if (!config.isDiffExpansionEnabled()) {
@@ -43,10 +44,9 @@ public final class DiffExpansionService {
     }
 
     final var expansionConfig = config.diffExpansion();
-    final List<String> filesToExpand =
+    final List<GitFileModification> filesToExpand =
         modifiedFiles.stream()
-            .map(GitFileModification::getEffectivePath)
-            .filter(this::shouldIncludeFile)
+            .filter(file -> shouldIncludeFile(file.getEffectivePath()))
             .limit(expansionConfig.maxFilesToExpand())
             .toList();
 
@@ -57,12 +57,19 @@ public final class DiffExpansionService {
         totalCandidates,
         newFilesSkipped);
 
-    final int concurrency = Math.min(filesToExpand.size(), expansionConfig.maxFilesToExpand());
-    return Flux.fromIterable(filesToExpand)
-        .flatMap(path -> fetchFileContent(bundle.repositoryIdentifier(), path), concurrency)
-        .collectList()
+    final List<String> paths =
+        filesToExpand.stream().map(GitFileModification::getEffectivePath).toList();
+    return scmPort
+        .getFileContents(bundle.repositoryIdentifier(), paths)
+        .onErrorResume(
+            error -> {
+              log.warn("Failed to fetch {} files: {}", paths.size(), error.getMessage());
+              return Mono.just(Map.of());
+            })
         .map(
-            expanded -> {
+            contents -> {
+              final List<ExpandedFileContext> expanded =
+                  filesToExpand.stream().map(file -> expandedContext(file, contents)).toList();
               final int totalRequested = totalCandidates + newFilesSkipped;
               final int skipped = totalRequested - expanded.size();
               final String skipReason =
@@ -110,22 +117,36 @@ public final class DiffExpansionService {
     return true;
   }
 
-  private Mono<ExpandedFileContext> fetchFileContent(
-      final RepositoryIdentifier repo, final String filePath) {
-    return scmPort
-        .getFileContent(repo, filePath)
-        .map(content -> createExpandedContext(filePath, content))
-        .onErrorResume(
-            error -> {
-              log.warn("Failed to fetch file {}: {}", filePath, error.getMessage());
-              return Mono.just(ExpandedFileContext.empty(filePath));
-            });
+  private ExpandedFileContext expandedContext(
+      final GitFileModification file, final Map<String, String> contents) {
+    final String filePath = file.getEffectivePath();
+    final String content = contents.get(filePath);
+    if (content == null) {
+      log.warn("Failed to fetch file {}", filePath);
+      return ExpandedFileContext.empty(filePath);
+    }
+    return createExpandedContext(file, content);
   }
 
-  private ExpandedFileContext createExpandedContext(final String filePath, final String content) {
+  private ExpandedFileContext createExpandedContext(
+      final GitFileModification file, final String content) {
+    final String filePath = file.getEffectivePath();
     final var expansionConfig = config.diffExpansion();
     final long lineCount = content.lines().count();
 
+    if (lineCount > expansionConfig.maxLineCount() && expansionConfig.compressionEnabled()) {
+      final CompressedSource compressed =
+          compressor.compress(
+              filePath, content, file.diffHunkBlocks, expansionConfig.maxLineCount());
+      log.debug(
+          "Compressed {} from {} to {} lines{}",
+          filePath,
+          compressed.originalLineCount(),
+          compressed.compressedLineCount(),
+          compressed.truncated() ? " (truncated)" : "");
+      return ExpandedFileContext.compressed(filePath, compressed.content(), (int) lineCount);
+    }
+
     if (lineCount > expansionConfig.maxLineCount()) {
       final String truncatedContent =
           content.lines().limit(expansionConfig.maxLineCount()).collect(Collectors.joining("\n"));
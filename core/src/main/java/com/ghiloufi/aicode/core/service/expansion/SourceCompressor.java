@@ -0,0 +1,433 @@
+package com.ghiloufi.aicode.core.service.expansion;
+
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class SourceCompressor {
+
+  private static final int CHANGE_MARGIN = 3;
+  private static final int MIN_ELIDED_LINES = 3;
+
+  private static final Set<String> C_LIKE_EXTENSIONS =
+      Set.of(
+          "java", "kt", "kts", "scala", "groovy", "js", "jsx", "mjs", "ts", "tsx", "go", "c", "h",
+          "cc", "cpp", "hpp", "cs", "swift", "rs", "php", "dart");
+  private static final Set<String> HASH_EXTENSIONS = Set.of("py", "rb", "sh");
+
+  private static final Set<String> CONTROL_KEYWORDS =
+      Set.of(
+          "if",
+          "else",
+          "for",
+          "foreach",
+          "while",
+          "do",
+          "switch",
+          "case",
+          "catch",
+          "try",
+          "finally",
+          "synchronized",
+          "return",
+          "when",
+          "match",
+          "loop",
+          "using",
+          "lock",
+          "unsafe");
+
+  private static final Pattern TYPE_DECLARATION =
+      Pattern.compile("\\b(class|interface|enum|record|struct|trait|object|impl|namespace)\\b");
+  private static final Pattern STRING_LITERAL =
+      Pattern.compile("\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'");
+  private static final Pattern PYTHON_FUNCTION =
+      Pattern.compile("^\\s*(async\\s+)?def\\s+\\w+.*:\\s*(#.*)?$");
+
+  public CompressedSource compress(
+      final String filePath,
+      final String content,
+      final List<DiffHunkBlock> hunks,
+      final int lineBudget) {
+    final List<Line> original = number(content);
+    final Syntax syntax = Syntax.of(filePath);
+    final ChangedLines changed = ChangedLines.of(hunks);
+
+    List<Line> lines = stripComments(original, syntax, changed);
+    lines = elideImports(lines, syntax, changed);
+    lines = collapseBlankRuns(lines);
+    if (lines.size() > lineBudget) {
+      lines =
+          switch (syntax) {
+            case C_LIKE -> outlineBraceBodies(lines, changed);
+            case HASH -> outlineIndentedBodies(lines, changed);
+            case PLAIN -> lines;
+          };
+    }
+
+    final boolean truncated = lines.size() > lineBudget;
+    if (truncated) {
+      final int start = densestWindowStart(lines, changed, lineBudget);
+      lines = lines.subList(start, start + lineBudget);
+    }
+    final int width = String.valueOf(original.size()).length();
+    final String compressed =
+        lines.stream().map(line -> line.numbered(width)).collect(Collectors.joining("\n"));
+    return new CompressedSource(compressed, original.size(), lines.size(), truncated);
+  }
+
+  private static int densestWindowStart(
+      final List<Line> lines, final ChangedLines changed, final int window) {
+    final int[] touched = new int[lines.size()];
+    for (int index = 0; index < lines.size(); index++) {
+      final int number = lines.get(index).number();
+      touched[index] = number > 0 && changed.contains(number) ? 1 : 0;
+    }
+    int count = 0;
+    for (int index = 0; index < window; index++) {
+      count += touched[index];
+    }
+    int best = count;
+    int bestStart = 0;
+    for (int start = 1; start + window <= lines.size(); start++) {
+      count += touched[start + window - 1] - touched[start - 1];
+      if (count > best) {
+        best = count;
+        bestStart = start;
+      }
+    }
+    return bestStart;
+  }
+
+  private static List<Line> number(final String content) {
+    final List<Line> lines = new ArrayList<>();
+    int number = 1;
+    for (final String text : content.lines().toList()) {
+      lines.add(new Line(number++, text));
+    }
+    return lines;
+  }
+
+  private static List<Line> stripComments(
+      final List<Line> lines, final Syntax syntax, final ChangedLines changed) {
+    if (syntax == Syntax.PLAIN) {
+      return lines;
+    }
+    final List<Line> kept = new ArrayList<>(lines.size());
+    boolean inBlock = false;
+    for (final Line line : lines) {
+      final String trimmed = line.text().strip();
+      final boolean comment;
+      if (syntax == Syntax.C_LIKE) {
+        if (inBlock) {
+          comment = true;
+          inBlock = !trimmed.contains("*/");
+        } else if (trimmed.startsWith("/*")) {
+          comment = true;
+          inBlock = !trimmed.substring(2).contains("*/");
+        } else {
+          comment = trimmed.startsWith("//");
+        }
+      } else {
+        comment = trimmed.startsWith("#") && !(line.number() == 1 && trimmed.startsWith("#!"));
+      }
+      if (!comment || changed.touches(line.number(), line.number())) {
+        kept.add(line);
+      }
+    }
+    return kept;
+  }
+
+  private static List<Line> elideImports(
+      final List<Line> lines, final Syntax syntax, final ChangedLines changed) {
+    if (syntax == Syntax.PLAIN) {
+      return lines;
+    }
+    final List<Line> kept = new ArrayList<>(lines.size());
+    int index = 0;
+    while (index < lines.size()) {
+      final int end = importRunEnd(lines, index, syntax);
+      if (end < 0) {
+        kept.add(lines.get(index++));
+        continue;
+      }
+      final List<Line> run = lines.subList(index, end + 1);
+      final int first = run.getFirst().number();
+      final int last = run.getLast().number();
+      final long imports = run.stream().filter(line -> !line.text().isBlank()).count();
+      if (imports >= MIN_ELIDED_LINES && !changed.touches(first, last)) {
+        kept.add(
+            Line.marker(
+                syntax.marker(
+                    "lines " + first + "-" + last + ": " + imports + " imports omitted")));
+      } else {
+        kept.addAll(run);
+      }
+      index = end + 1;
+    }
+    return kept;
+  }
+
+  private static int importRunEnd(final List<Line> lines, final int start, final Syntax syntax) {
+    int index = start;
+    int end = -1;
+    while (index < lines.size()) {
+      final String trimmed = lines.get(index).text().strip();
+      if (trimmed.isEmpty() && end >= 0) {
+        index++;
+        continue;
+      }
+      if (syntax == Syntax.C_LIKE && trimmed.equals("import (")) {
+        int close = index + 1;
+        while (close < lines.size() && !lines.get(close).text().strip().equals(")")) {
+          close++;
+        }
+        end = Math.min(close, lines.size() - 1);
+        index = end + 1;
+        continue;
+      }
+      if (!isImport(trimmed, syntax)) {
+        break;
+      }
+      end = index++;
+    }
+    return end;
+  }
+
+  private static boolean isImport(final String trimmed, final Syntax syntax) {
+    if (syntax == Syntax.HASH) {
+      return trimmed.startsWith("import ")
+          || (trimmed.startsWith("from ") && trimmed.contains(" import "))
+          || trimmed.startsWith("require ");
+    }
+    return trimmed.startsWith("#include")
+        || (trimmed.startsWith("import ") && !trimmed.endsWith("{"))
+        || ((trimmed.startsWith("using ") || trimmed.startsWith("use ")) && trimmed.endsWith(";"));
+  }
+
+  private static List<Line> collapseBlankRuns(final List<Line> lines) {
+    final List<Line> kept = new ArrayList<>(lines.size());
+    boolean previousBlank = true;
+    for (final Line line : lines) {
+      final boolean blank = line.text().isBlank();
+      if (!(blank && previousBlank)) {
+        kept.add(line);
+      }
+      previousBlank = blank;
+    }
+    if (!kept.isEmpty() && kept.getLast().text().isBlank()) {
+      kept.removeLast();
+    }
+    return kept;
+  }
+
+  private static List<Line> outlineBraceBodies(final List<Line> lines, final ChangedLines changed) {
+    final List<Line> kept = new ArrayList<>(lines.size());
+    int index = 0;
+    while (index < lines.size()) {
+      final Line line = lines.get(index);
+      if (!isFunctionHeader(lines, index)) {
+        kept.add(line);
+        index++;
+        continue;
+      }
+      final int end = closingBrace(lines, index);
+      if (end < 0) {
+        kept.add(line);
+        index++;
+        continue;
+      }
+      final List<Line> body = lines.subList(index + 1, end);
+      if (body.size() >= MIN_ELIDED_LINES
+          && !changed.touches(line.number(), lastNumber(lines, end))) {
+        kept.add(line);
+        kept.add(Line.marker(indentOf(body) + Syntax.C_LIKE.marker(omitted(body))));
+        kept.add(lines.get(end));
+      } else {
+        kept.addAll(lines.subList(index, end + 1));
+      }
+      index = end + 1;
+    }
+    return kept;
+  }
+
+  private static boolean isFunctionHeader(final List<Line> lines, final int index) {
+    final String trimmed = lines.get(index).text().strip();
+    if (!trimmed.endsWith("{")) {
+      return false;
+    }
+    String header = trimmed;
+    if (trimmed.equals("{") && index > 0) {
+      header = lines.get(index - 1).text().strip() + " {";
+    }
+    if (!header.contains("(") && !header.contains(")")) {
+      return false;
+    }
+    final String signature = header.replaceFirst("^[}\\s]+", "");
+    final int paren = signature.indexOf('(');
+    if (TYPE_DECLARATION.matcher(paren >= 0 ? signature.substring(0, paren) : signature).find()) {
+      return false;
+    }
+    final String firstToken = signature.split("[\\s(]", 2)[0];
+    return !CONTROL_KEYWORDS.contains(firstToken);
+  }
+
+  private static int closingBrace(final List<Line> lines, final int start) {
+    int depth = 0;
+    for (int index = start; index < lines.size(); index++) {
+      final String code = STRING_LITERAL.matcher(lines.get(index).text()).replaceAll("");
+      for (int i = 0; i < code.length(); i++) {
+        final char c = code.charAt(i);
+        if (c == '{') {
+          depth++;
+        } else if (c == '}') {
+          depth--;
+          if (depth == 0) {
+            return index == start ? -1 : index;
+          }
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static List<Line> outlineIndentedBodies(
+      final List<Line> lines, final ChangedLines changed) {
+    final List<Line> kept = new ArrayList<>(lines.size());
+    int index = 0;
+    while (index < lines.size()) {
+      final Line line = lines.get(index);
+      if (!PYTHON_FUNCTION.matcher(line.text()).matches()) {
+        kept.add(line);
+        index++;
+        continue;
+      }
+      final int indent = indentWidth(line.text());
+      int end = index;
+      for (int next = index + 1; next < lines.size(); next++) {
+        final String text = lines.get(next).text();
+        if (text.isBlank()) {
+          continue;
+        }
+        if (indentWidth(text) <= indent) {
+          break;
+        }
+        end = next;
+      }
+      final List<Line> body = lines.subList(index + 1, end + 1);
+      if (body.size() >= MIN_ELIDED_LINES
+          && !changed.touches(line.number(), lastNumber(lines, end))) {
+        kept.add(line);
+        kept.add(Line.marker(indentOf(body) + "...  " + Syntax.HASH.marker(omitted(body))));
+      } else {
+        kept.addAll(lines.subList(index, end + 1));
+      }
+      index = end + 1;
+    }
+    return kept;
+  }
+
+  private static int lastNumber(final List<Line> lines, final int end) {
+    for (int index = end; index >= 0; index--) {
+      if (lines.get(index).number() > 0) {
+        return lines.get(index).number();
+      }
+    }
+    return 0;
+  }
+
+  private static String omitted(final List<Line> body) {
+    final List<Line> numbered = body.stream().filter(line -> line.number() > 0).toList();
+    if (numbered.isEmpty()) {
+      return "body omitted";
+    }
+    return "lines " + numbered.getFirst().number() + "-" + numbered.getLast().number() + " omitted";
+  }
+
+  private static String indentOf(final List<Line> body) {
+    return body.stream()
+        .map(Line::text)
+        .filter(text -> !text.isBlank())
+        .findFirst()
+        .map(text -> text.substring(0, indentWidth(text)))
+        .orElse("");
+  }
+
+  private static int indentWidth(final String text) {
+    int width = 0;
+    while (width < text.length() && Character.isWhitespace(text.charAt(width))) {
+      width++;
+    }
+    return width;
+  }
+
+  public record CompressedSource(
+      String content, int originalLineCount, int compressedLineCount, boolean truncated) {}
+
+  private record Line(int number, String text) {
+    private static Line marker(final String text) {
+      return new Line(0, text);
+    }
+
+    private String numbered(final int width) {
+      final String gutter = number > 0 ? String.valueOf(number) : "";
+      return " ".repeat(width - gutter.length()) + gutter + "| " + text;
+    }
+  }
+
+  private record ChangedLines(List<int[]> ranges) {
+
+    private static ChangedLines of(final List<DiffHunkBlock> hunks) {
+      final List<int[]> ranges = new ArrayList<>();
+      if (hunks != null) {
+        for (final DiffHunkBlock hunk : hunks) {
+          if (hunk.newStart > 0) {
+            ranges.add(new int[] {hunk.newStart, hunk.newStart + Math.max(hunk.newCount - 1, 0)});
+          }
+        }
+      }
+      return new ChangedLines(ranges);
+    }
+
+    private boolean touches(final int first, final int last) {
+      return ranges.stream()
+          .anyMatch(range -> range[0] - CHANGE_MARGIN <= last && first <= range[1] + CHANGE_MARGIN);
+    }
+
+    private boolean contains(final int number) {
+      return ranges.stream().anyMatch(range -> range[0] <= number && number <= range[1]);
+    }
+  }
+
+  private enum Syntax {
+    C_LIKE("//"),
+    HASH("#"),
+    PLAIN("");
+
+    private final String commentPrefix;
+
+    Syntax(final String commentPrefix) {
+      this.commentPrefix = commentPrefix;
+    }
+
+    private String marker(final String text) {
+      return commentPrefix + " ... " + text;
+    }
+
+    private static Syntax of(final String filePath) {
+      final int lastDot = filePath.lastIndexOf('.');
+      if (lastDot < 0) {
+        return PLAIN;
+      }
+      final String extension = filePath.substring(lastDot + 1).toLowerCase(Locale.ROOT);
+      if (C_LIKE_EXTENSIONS.contains(extension)) {
+        return C_LIKE;
+      }
+      return HASH_EXTENSIONS.contains(extension) ? HASH : PLAIN;
+    }
+  }
+}
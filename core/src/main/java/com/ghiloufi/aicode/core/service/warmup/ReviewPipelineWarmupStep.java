@@ -0,0 +1,40 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.service.DiffFormatter;
+import com.ghiloufi.aicode.core.service.validation.ReviewResultValidator;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ReviewPipelineWarmupStep implements WarmupStep {
+
+  private final DiffFormatter diffFormatter;
+  private final ReviewResultValidator validator;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public String name() {
+    return "review-pipeline";
+  }
+
+  @Override
+  public void exercise(final WarmupSample sample, final GitDiffDocument diff) {
+    diffFormatter.formatDiff(diff);
+    if (!sample.hasResponse()) {
+      return;
+    }
+    validator.validate(sample.response());
+    try {
+      final ReviewResult result = objectMapper.readValue(sample.response(), ReviewResult.class);
+      objectMapper.writeValueAsString(result);
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import com.ghiloufi.aicode.core.config.WarmupProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupCorpus {
+
+  private static final String DIFF_SUFFIX = ".diff";
+  private static final String RESPONSE_SUFFIX = ".json";
+
+  private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+  private final WarmupProperties properties;
+
+  public List<WarmupSample> load() {
+    final List<WarmupSample> samples = new ArrayList<>();
+    for (final Resource diff : diffResources()) {
+      final String fileName = diff.getFilename();
+      if (fileName == null) {
+        continue;
+      }
+      final String name = fileName.substring(0, fileName.length() - DIFF_SUFFIX.length());
+      samples.add(new WarmupSample(name, read(diff), readResponse(diff, name)));
+    }
+    log.debug("Loaded {} warm-up samples from {}", samples.size(), properties.getCorpusLocation());
+    return samples;
+  }
+
+  private List<Resource> diffResources() {
+    try {
+      return Arrays.stream(resolver.getResources(properties.getCorpusLocation()))
+          .filter(Resource::isReadable)
+          .filter(resource -> resource.getFilename() != null)
+          .filter(resource -> resource.getFilename().endsWith(DIFF_SUFFIX))
+          .sorted(Comparator.comparing(Resource::getFilename))
+          .toList();
+    } catch (final IOException e) {
+      log.warn(
+          "Cannot resolve warm-up corpus at {}: {}",
+          properties.getCorpusLocation(),
+          e.getMessage());
+      return List.of();
+    }
+  }
+
+  private String readResponse(final Resource diff, final String name) {
+    try {
+      final Resource response = diff.createRelative(name + RESPONSE_SUFFIX);
+      return response.isReadable() ? read(response) : null;
+    } catch (final IOException e) {
+      return null;
+    }
+  }
+
+  private String read(final Resource resource) {
+    try {
+      return resource.getContentAsString(StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Cannot read warm-up sample " + resource.getFilename(), e);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import com.ghiloufi.aicode.core.config.WarmupProperties;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+  private final WarmupProperties properties;
+  private final WarmupCorpus corpus;
+  private final WarmupState state;
+  private final UnifiedDiffParser diffParser;
+  private final List<WarmupStep> steps;
+  private final Clock clock;
+
+  @Autowired
+  public WarmupRunner(
+      final WarmupProperties properties,
+      final WarmupCorpus corpus,
+      final WarmupState state,
+      final UnifiedDiffParser diffParser,
+      final List<WarmupStep> steps) {
+    this(properties, corpus, state, diffParser, steps, Clock.systemUTC());
+  }
+
+  WarmupRunner(
+      final WarmupProperties properties,
+      final WarmupCorpus corpus,
+      final WarmupState state,
+      final UnifiedDiffParser diffParser,
+      final List<WarmupStep> steps,
+      final Clock clock) {
+    this.properties = properties;
+    this.corpus = corpus;
+    this.state = state;
+    this.diffParser = diffParser;
+    this.steps = steps;
+    this.clock = clock;
+  }
+
+  @Override
+  public void run(final ApplicationArguments args) {
+    if (state.isReady()) {
+      return;
+    }
+    try {
+      warmUp();
+    } finally {
+      state.markReady();
+    }
+  }
+
+  private void warmUp() {
+    final List<WarmupSample> samples = corpus.load();
+    if (samples.isEmpty()) {
+      log.warn("Warm-up enabled but no samples found at {}", properties.getCorpusLocation());
+      return;
+    }
+
+    final Instant start = clock.instant();
+    final Instant deadline = start.plus(properties.getMaxDuration());
+    final List<WarmupStep> active = new ArrayList<>(steps);
+    int iterations = 0;
+
+    while (iterations < properties.getIterations() && clock.instant().isBefore(deadline)) {
+      for (final WarmupSample sample : samples) {
+        final GitDiffDocument diff = diffParser.parse(sample.diff());
+        active.removeIf(step -> !exercise(step, sample, diff));
+      }
+      iterations++;
+    }
+
+    log.info(
+        "Warm-up completed: {} iterations over {} samples in {} ms, steps={}",
+        iterations,
+        samples.size(),
+        Duration.between(start, clock.instant()).toMillis(),
+        active.stream().map(WarmupStep::name).toList());
+  }
+
+  private boolean exercise(
+      final WarmupStep step, final WarmupSample sample, final GitDiffDocument diff) {
+    try {
+      step.exercise(sample, diff);
+      return true;
+    } catch (final RuntimeException e) {
+      log.warn(
+          "Warm-up step '{}' failed on sample '{}', skipping it: {}",
+          step.name(),
+          sample.name(),
+          e.getMessage());
+      return false;
+    }
+  }
+}
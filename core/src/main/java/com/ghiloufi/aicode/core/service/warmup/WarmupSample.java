@@ -0,0 +1,8 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+public record WarmupSample(String name, String diff, String response) {
+
+  public boolean hasResponse() {
+    return response != null && !response.isBlank();
+  }
+}
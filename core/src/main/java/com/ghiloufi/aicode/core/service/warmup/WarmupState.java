@@ -0,0 +1,22 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import com.ghiloufi.aicode.core.config.WarmupProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WarmupState {
+
+  private volatile boolean ready;
+
+  public WarmupState(final WarmupProperties properties) {
+    this.ready = !properties.isEnabled();
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  void markReady() {
+    ready = true;
+  }
+}
@@ -0,0 +1,10 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+
+public interface WarmupStep {
+
+  String name();
+
+  void exercise(WarmupSample sample, GitDiffDocument diff);
+}
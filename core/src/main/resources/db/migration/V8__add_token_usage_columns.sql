@@ -0,0 +1,15 @@
+-- V8__add_token_usage_columns.sql
+-- Persist LLM token accounting per review for cost reporting by repository, provider and model
+
+ALTER TABLE reviews
+  ADD COLUMN input_tokens BIGINT,
+  ADD COLUMN output_tokens BIGINT,
+  ADD COLUMN cached_input_tokens BIGINT,
+  ADD COLUMN llm_calls INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_reviews_llm_usage ON reviews(llm_provider, llm_model, created_at);
+
+COMMENT ON COLUMN reviews.input_tokens IS 'Total prompt tokens billed across every LLM call of the review, including cached tokens';
+COMMENT ON COLUMN reviews.output_tokens IS 'Total completion tokens generated across every LLM call of the review';
+COMMENT ON COLUMN reviews.cached_input_tokens IS 'Portion of input_tokens served from the provider prompt cache';
+COMMENT ON COLUMN reviews.llm_calls IS 'Number of LLM calls that reached a provider for the review';
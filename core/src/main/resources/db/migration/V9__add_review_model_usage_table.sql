@@ -0,0 +1,20 @@
+-- V9__add_review_model_usage_table.sql
+-- Break review token usage down by the provider and model that actually served each call
+
+CREATE TABLE review_model_usage (
+    id UUID PRIMARY KEY,
+    review_id UUID NOT NULL REFERENCES reviews(id) ON DELETE CASCADE,
+    llm_provider VARCHAR(100),
+    llm_model VARCHAR(255),
+    input_tokens BIGINT NOT NULL,
+    output_tokens BIGINT NOT NULL,
+    cached_input_tokens BIGINT NOT NULL,
+    llm_calls INTEGER NOT NULL
+);
+
+CREATE INDEX idx_review_model_usage_review_id ON review_model_usage(review_id);
+CREATE INDEX idx_review_model_usage_model ON review_model_usage(llm_provider, llm_model);
+
+COMMENT ON TABLE review_model_usage IS 'Per provider/model token usage of a review; routing failover, hedging and triage can spread one review across several models';
+COMMENT ON COLUMN review_model_usage.input_tokens IS 'Prompt tokens billed by this model for the review, including cached tokens';
+COMMENT ON COLUMN review_model_usage.cached_input_tokens IS 'Portion of input_tokens served from the provider prompt cache';
@@ -215,7 +215,8 @@ final class ContextRetrievalConfigTest {
 
     @Test
     void should_create_valid_diff_expansion_config() {
-      final var config = new DiffExpansionConfig(true, 200, 1000, 15, Set.of(".json", ".xml"));
+      final var config =
+          new DiffExpansionConfig(true, 200, 1000, 15, Set.of(".json", ".xml"), true);
 
       assertThat(config.enabled()).isTrue();
       assertThat(config.maxFileSizeKb()).isEqualTo(200);
@@ -238,28 +239,28 @@ final class ContextRetrievalConfigTest {
 
     @Test
     void should_handle_null_excluded_extensions() {
-      final var config = new DiffExpansionConfig(true, 100, 500, 10, null);
+      final var config = new DiffExpansionConfig(true, 100, 500, 10, null, true);
 
       assertThat(config.excludedExtensions()).isEmpty();
     }
 
     @Test
     void should_throw_when_max_file_size_is_zero() {
-      assertThatThrownBy(() -> new DiffExpansionConfig(true, 0, 500, 10, Set.of()))
+      assertThatThrownBy(() -> new DiffExpansionConfig(true, 0, 500, 10, Set.of(), true))
           .isInstanceOf(IllegalArgumentException.class)
           .hasMessageContaining("Max file size must be positive");
     }
 
     @Test
     void should_throw_when_max_line_count_is_zero() {
-      assertThatThrownBy(() -> new DiffExpansionConfig(true, 100, 0, 10, Set.of()))
+      assertThatThrownBy(() -> new DiffExpansionConfig(true, 100, 0, 10, Set.of(), true))
           .isInstanceOf(IllegalArgumentException.class)
           .hasMessageContaining("Max line count must be positive");
     }
 
     @Test
     void should_throw_when_max_files_to_expand_is_zero() {
-      assertThatThrownBy(() -> new DiffExpansionConfig(true, 100, 500, 0, Set.of()))
+      assertThatThrownBy(() -> new DiffExpansionConfig(true, 100, 500, 0, Set.of(), true))
           .isInstanceOf(IllegalArgumentException.class)
           .hasMessageContaining("Max files to expand must be positive");
     }
@@ -292,7 +293,7 @@ final class ContextRetrievalConfigTest {
 
     @Test
     void should_not_expand_when_disabled() {
-      final var config = new DiffExpansionConfig(false, 100, 500, 10, Set.of());
+      final var config = new DiffExpansionConfig(false, 100, 500, 10, Set.of(), true);
 
       assertThat(config.shouldExpandFile("src/Main.java", 10 * 1024)).isFalse();
     }
@@ -11,8 +11,8 @@ final class DiffExpansionResultTest {
 
   @Test
   void should_create_valid_result() {
-    final var file1 = new ExpandedFileContext("src/A.java", "content1", 5, false);
-    final var file2 = new ExpandedFileContext("src/B.java", "content2", 10, true);
+    final var file1 = new ExpandedFileContext("src/A.java", "content1", 5, false, false);
+    final var file2 = new ExpandedFileContext("src/B.java", "content2", 10, true, false);
     final var result = new DiffExpansionResult(List.of(file1, file2), 5, 2, 3, "max files");
 
     assertThat(result.expandedFiles()).hasSize(2);
@@ -70,8 +70,8 @@ final class DiffExpansionResultTest {
 
   @Test
   void should_calculate_total_content_length() {
-    final var file1 = new ExpandedFileContext("a.java", "12345", 1, false);
-    final var file2 = new ExpandedFileContext("b.java", "1234567890", 1, false);
+    final var file1 = new ExpandedFileContext("a.java", "12345", 1, false, false);
+    final var file2 = new ExpandedFileContext("b.java", "1234567890", 1, false, false);
     final var result = new DiffExpansionResult(List.of(file1, file2), 2, 2, 0, null);
 
     assertThat(result.totalContentLength()).isEqualTo(15);
@@ -79,8 +79,8 @@ final class DiffExpansionResultTest {
 
   @Test
   void should_calculate_total_line_count() {
-    final var file1 = new ExpandedFileContext("a.java", "content", 10, false);
-    final var file2 = new ExpandedFileContext("b.java", "content", 20, false);
+    final var file1 = new ExpandedFileContext("a.java", "content", 10, false, false);
+    final var file2 = new ExpandedFileContext("b.java", "content", 20, false, false);
     final var result = new DiffExpansionResult(List.of(file1, file2), 2, 2, 0, null);
 
     assertThat(result.totalLineCount()).isEqualTo(30);
@@ -88,9 +88,9 @@ final class DiffExpansionResultTest {
 
   @Test
   void should_count_truncated_files() {
-    final var file1 = new ExpandedFileContext("a.java", "content", 10, false);
-    final var file2 = new ExpandedFileContext("b.java", "content", 20, true);
-    final var file3 = new ExpandedFileContext("c.java", "content", 30, true);
+    final var file1 = new ExpandedFileContext("a.java", "content", 10, false, false);
+    final var file2 = new ExpandedFileContext("b.java", "content", 20, true, false);
+    final var file3 = new ExpandedFileContext("c.java", "content", 30, true, false);
     final var result = new DiffExpansionResult(List.of(file1, file2, file3), 3, 3, 0, null);
 
     assertThat(result.truncatedFileCount()).isEqualTo(2);
@@ -98,7 +98,7 @@ final class DiffExpansionResultTest {
 
   @Test
   void should_make_defensive_copy_of_expanded_files() {
-    final var file = new ExpandedFileContext("a.java", "content", 1, false);
+    final var file = new ExpandedFileContext("a.java", "content", 1, false, false);
     final var mutableList = new ArrayList<>(List.of(file));
     final var result = new DiffExpansionResult(mutableList, 1, 1, 0, null);
 
@@ -9,7 +9,8 @@ final class ExpandedFileContextTest {
 
   @Test
   void should_create_valid_expanded_file_context() {
-    final var context = new ExpandedFileContext("src/Main.java", "public class Main {}", 1, false);
+    final var context =
+        new ExpandedFileContext("src/Main.java", "public class Main {}", 1, false, false);
 
     assertThat(context.filePath()).isEqualTo("src/Main.java");
     assertThat(context.content()).isEqualTo("public class Main {}");
@@ -19,21 +20,21 @@ final class ExpandedFileContextTest {
 
   @Test
   void should_throw_when_file_path_is_null() {
-    assertThatThrownBy(() -> new ExpandedFileContext(null, "content", 1, false))
+    assertThatThrownBy(() -> new ExpandedFileContext(null, "content", 1, false, false))
         .isInstanceOf(NullPointerException.class)
         .hasMessageContaining("File path cannot be null");
   }
 
   @Test
   void should_throw_when_file_path_is_blank() {
-    assertThatThrownBy(() -> new ExpandedFileContext("  ", "content", 1, false))
+    assertThatThrownBy(() -> new ExpandedFileContext("  ", "content", 1, false, false))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("File path cannot be blank");
   }
 
   @Test
   void should_throw_when_line_count_is_negative() {
-    assertThatThrownBy(() -> new ExpandedFileContext("path", "content", -1, false))
+    assertThatThrownBy(() -> new ExpandedFileContext("path", "content", -1, false, false))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Line count cannot be negative");
   }
@@ -72,14 +73,14 @@ final class ExpandedFileContextTest {
 
   @Test
   void should_return_content_length() {
-    final var context = new ExpandedFileContext("path", "12345", 1, false);
+    final var context = new ExpandedFileContext("path", "12345", 1, false, false);
 
     assertThat(context.contentLength()).isEqualTo(5);
   }
 
   @Test
   void should_return_zero_content_length_when_null() {
-    final var context = new ExpandedFileContext("path", null, 0, false);
+    final var context = new ExpandedFileContext("path", null, 0, false, false);
 
     assertThat(context.contentLength()).isEqualTo(0);
     assertThat(context.hasContent()).isFalse();
@@ -7,8 +7,9 @@ import org.junit.jupiter.api.Test;
 final class ReviewModeTest {
 
   @Test
-  void should_have_diff_and_agentic_modes() {
-    assertThat(ReviewMode.values()).containsExactly(ReviewMode.DIFF, ReviewMode.AGENTIC);
+  void should_have_diff_agentic_and_bulk_modes() {
+    assertThat(ReviewMode.values())
+        .containsExactly(ReviewMode.DIFF, ReviewMode.AGENTIC, ReviewMode.BULK);
   }
 
   @Test
@@ -46,6 +47,12 @@ final class ReviewModeTest {
     assertThat(ReviewMode.fromString("Agentic")).isEqualTo(ReviewMode.AGENTIC);
   }
 
+  @Test
+  void should_parse_bulk_mode_without_container() {
+    assertThat(ReviewMode.fromString("bulk")).isEqualTo(ReviewMode.BULK);
+    assertThat(ReviewMode.BULK.requiresContainerExecution()).isFalse();
+  }
+
   @Test
   void should_default_to_diff_for_null_input() {
     assertThat(ReviewMode.fromString(null)).isEqualTo(ReviewMode.DIFF);
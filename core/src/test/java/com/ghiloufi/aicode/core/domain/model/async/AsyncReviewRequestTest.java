@@ -2,6 +2,7 @@ package com.ghiloufi.aicode.core.domain.model.async;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ghiloufi.aicode.core.domain.model.ReviewMode;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import java.time.Instant;
@@ -144,6 +145,34 @@ final class AsyncReviewRequestTest {
       assertThat(request.changeRequestId()).isEqualTo(123);
       assertThat(request.reviewMode()).isEqualTo(ReviewMode.AGENTIC);
       assertThat(request.createdAt()).isEqualTo(timestamp);
+      assertThat(request.refresh()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_default_refresh_to_false_for_payloads_without_it")
+    final void should_default_refresh_to_false_for_payloads_without_it() throws Exception {
+      final AsyncReviewRequest request =
+          new ObjectMapper()
+              .findAndRegisterModules()
+              .readValue(
+                  """
+                  {"requestId":"req-1","provider":"GITHUB","repositoryId":"owner/repo",
+                   "changeRequestId":5,"reviewMode":"DIFF","createdAt":"2024-06-15T10:30:00Z"}
+                  """,
+                  AsyncReviewRequest.class);
+
+      assertThat(request.refresh()).isFalse();
+      assertThat(request.changeRequestId()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should_create_refresh_request")
+    final void should_create_refresh_request() {
+      final AsyncReviewRequest request =
+          AsyncReviewRequest.create(
+              "req-refresh", SourceProvider.GITHUB, "owner/repo", 5, ReviewMode.DIFF, true);
+
+      assertThat(request.refresh()).isTrue();
     }
   }
 
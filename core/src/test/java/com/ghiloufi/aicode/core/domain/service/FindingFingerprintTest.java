@@ -0,0 +1,51 @@
+package com.ghiloufi.aicode.core.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Finding Fingerprint Tests")
+final class FindingFingerprintTest {
+
+  private final FindingFingerprint fingerprints = new FindingFingerprint();
+
+  private static ReviewResult.Issue issue(final String file, final int line, final String title) {
+    return ReviewResult.Issue.issueBuilder()
+        .file(file)
+        .startLine(line)
+        .severity("major")
+        .title(title)
+        .build();
+  }
+
+  @Test
+  @DisplayName("should_keep_key_stable_when_finding_moves_or_is_reworded_in_whitespace")
+  void should_keep_key_stable_when_finding_moves_or_is_reworded_in_whitespace() {
+    final String original = fingerprints.keyOf(issue("src/App.java", 10, "Unused variable x"));
+    final String moved = fingerprints.keyOf(issue("src/App.java", 42, "  unused   variable x  "));
+
+    assertThat(moved).isEqualTo(original);
+    assertThat(fingerprints.isFinding(original)).isTrue();
+  }
+
+  @Test
+  @DisplayName("should_distinguish_findings_in_other_files")
+  void should_distinguish_findings_in_other_files() {
+    assertThat(fingerprints.keyOf(issue("src/App.java", 10, "Unused variable")))
+        .isNotEqualTo(fingerprints.keyOf(issue("src/Other.java", 10, "Unused variable")));
+  }
+
+  @Test
+  @DisplayName("should_round_trip_key_through_hidden_marker")
+  void should_round_trip_key_through_hidden_marker() {
+    final String key = fingerprints.keyOf(issue("src/App.java", 1, "SQL injection"));
+
+    final String body = fingerprints.mark("**major:** SQL injection\n", key);
+
+    assertThat(fingerprints.extract(body)).contains(key);
+    assertThat(fingerprints.extract("plain human comment")).isEmpty();
+    assertThat(fingerprints.isFinding(FindingFingerprint.SUMMARY_KEY)).isFalse();
+  }
+}
@@ -0,0 +1,76 @@
+package com.ghiloufi.aicode.core.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.LlmPricingProperties;
+import com.ghiloufi.aicode.core.config.LlmPricingProperties.ModelPrice;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class LlmCostModelTest {
+
+  private final LlmCostModel costModel =
+      new LlmCostModel(
+          new LlmPricingProperties(
+              "USD",
+              List.of(
+                  new ModelPrice(
+                      "openai",
+                      "gpt-4o",
+                      new BigDecimal("2.50"),
+                      new BigDecimal("10.00"),
+                      new BigDecimal("1.25")),
+                  new ModelPrice(
+                      "anthropic", "*", new BigDecimal("3.00"), new BigDecimal("15.00"), null))));
+
+  @Test
+  @DisplayName("should_price_cached_input_tokens_at_cached_rate")
+  void should_price_cached_input_tokens_at_cached_rate() {
+    final LlmUsage usage = new LlmUsage(1_000_000, 100_000, 400_000, 3);
+
+    final BigDecimal cost = costModel.estimate("openai", "gpt-4o", usage).orElseThrow();
+
+    assertThat(cost).isEqualByComparingTo("3.000000");
+  }
+
+  @Test
+  @DisplayName("should_fall_back_to_provider_wildcard_price")
+  void should_fall_back_to_provider_wildcard_price() {
+    final LlmUsage usage = new LlmUsage(200_000, 10_000, 0, 1);
+
+    final BigDecimal cost =
+        costModel.estimate("Anthropic", "claude-sonnet-4-20250514", usage).orElseThrow();
+
+    assertThat(cost).isEqualByComparingTo("0.750000");
+  }
+
+  @Test
+  @DisplayName("should_not_price_unknown_models")
+  void should_not_price_unknown_models() {
+    assertThat(costModel.estimate("openai", "gpt-3.5-turbo", new LlmUsage(10, 10, 0, 1))).isEmpty();
+    assertThat(costModel.estimate("ollama", "llama3", new LlmUsage(10, 10, 0, 1))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should_round_trip_token_usage_through_review_result_json")
+  void should_round_trip_token_usage_through_review_result_json() throws Exception {
+    final ObjectMapper mapper = new ObjectMapper();
+    final ReviewResult result =
+        ReviewResult.builder()
+            .summary("ok")
+            .tokenUsage(new LlmUsage(1200, 300, 800, 2))
+            .build()
+            .withIssues(List.of());
+
+    final String json = mapper.writeValueAsString(result);
+    final ReviewResult restored = mapper.readValue(json, ReviewResult.class);
+
+    assertThat(json).contains("\"token_usage\"").contains("\"cached_input_tokens\":800");
+    assertThat(restored.getTokenUsage()).isEqualTo(new LlmUsage(1200, 300, 800, 2));
+  }
+}
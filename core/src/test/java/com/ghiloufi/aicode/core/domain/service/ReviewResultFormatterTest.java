@@ -235,4 +235,38 @@ final class ReviewResultFormatterTest {
       return ReviewResult.Note.noteBuilder().note(noteText).build();
     }
   }
+
+  @Nested
+  @DisplayName("when formatting inline comments")
+  final class InlineComments {
+
+    @Test
+    @DisplayName("should_format_issue_without_file_and_line_headers")
+    final void should_format_issue_without_file_and_line_headers() {
+      final ReviewResult.Issue issue =
+          ReviewResult.Issue.issueBuilder()
+              .severity("major")
+              .title("Unchecked null")
+              .file("src/App.java")
+              .startLine(12)
+              .suggestion("Guard the lookup")
+              .build();
+
+      final String formatted = formatter.formatInlineIssue(issue);
+
+      assertThat(formatted)
+          .startsWith("**major:** Unchecked null")
+          .contains("**Suggestion:** Guard the lookup")
+          .doesNotContain("**File:**", "**Line:**");
+    }
+
+    @Test
+    @DisplayName("should_format_note_as_a_single_line")
+    final void should_format_note_as_a_single_line() {
+      final ReviewResult.Note note =
+          ReviewResult.Note.noteBuilder().note("Consider a record").build();
+
+      assertThat(formatter.formatInlineNote(note)).isEqualTo("📝 Consider a record");
+    }
+  }
 }
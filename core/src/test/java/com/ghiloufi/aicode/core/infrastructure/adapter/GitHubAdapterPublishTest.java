@@ -0,0 +1,194 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.GitHubDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.ReviewResultFormatter;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GitHub Adapter Publish Tests")
+final class GitHubAdapterPublishTest {
+
+  private static final String REPOSITORY = "/repos/acme/shop";
+  private static final String PULL_REQUEST = REPOSITORY + "/pulls/12";
+  private static final String ISSUE_COMMENTS = REPOSITORY + "/issues/12/comments";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private WireMockServer server;
+  private GitHubAdapter adapter;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new WireMockServer(options().dynamicPort());
+    server.start();
+    final ReviewMetrics reviewMetrics = new ReviewMetrics(meterRegistry);
+    reviewMetrics.init();
+
+    adapter =
+        new GitHubAdapter(
+            server.baseUrl(),
+            "gh-token",
+            new UnifiedDiffParser(),
+            new ReviewResultFormatter(),
+            new SCMIdentifierValidator(),
+            new GitHubDiffBuilder(),
+            mock(ConditionalRequestCache.class),
+            mock(ScmRateLimiter.class),
+            new DiffLineValidator(),
+            new CommentPlacementRouter(),
+            reviewMetrics,
+            mock(GitHubGraphQlClient.class),
+            mock(RepositoryTreeIndexCache.class));
+
+    server.stubFor(
+        get(urlPathEqualTo(REPOSITORY))
+            .willReturn(
+                okJson(
+                    """
+                    {"id":1,"name":"shop","full_name":"acme/shop",
+                     "owner":{"login":"acme","id":2},
+                     "url":"%s/repos/acme/shop"}
+                    """
+                        .formatted(server.baseUrl()))));
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST))
+            .willReturn(
+                okJson(
+                    """
+                    {"id":3,"number":12,"title":"Add cart","state":"open",
+                     "url":"%1$s/repos/acme/shop/pulls/12",
+                     "issue_url":"%1$s/repos/acme/shop/issues/12",
+                     "user":{"login":"bob"},
+                     "base":{"ref":"main","sha":"b1"},
+                     "head":{"ref":"cart","sha":"h1"}}
+                    """
+                        .formatted(server.baseUrl()))));
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST + "/files"))
+            .willReturn(
+                okJson(
+                    """
+                    [{"sha":"f1","filename":"src/Cart.java","status":"modified",
+                      "patch":"@@ -1,1 +1,3 @@\\n class Cart {\\n+  int items;\\n+  int total;"}]
+                    """)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  private static ReviewResult review() {
+    return ReviewResult.builder()
+        .summary("Looks fine")
+        .issues(
+            List.of(
+                ReviewResult.Issue.issueBuilder()
+                    .file("src/Cart.java")
+                    .startLine(2)
+                    .severity("major")
+                    .title("Use long for totals")
+                    .build(),
+                ReviewResult.Issue.issueBuilder()
+                    .file("src/Checkout.java")
+                    .startLine(40)
+                    .severity("minor")
+                    .title("Checkout ignores currency")
+                    .build()))
+        .build();
+  }
+
+  private void publish() {
+    adapter
+        .publishReview(
+            RepositoryIdentifier.create(SourceProvider.GITHUB, "acme/shop"),
+            ChangeRequestIdentifier.create(SourceProvider.GITHUB, 12),
+            review())
+        .block(Duration.ofSeconds(10));
+  }
+
+  private double publishCounter(final String status) {
+    return meterRegistry
+        .counter("scm.publish.comments", "provider", "github", "status", status)
+        .count();
+  }
+
+  @Test
+  @DisplayName("should_publish_inline_and_fallback_findings_in_one_review")
+  void should_publish_inline_and_fallback_findings_in_one_review() {
+    server.stubFor(
+        post(urlPathEqualTo(PULL_REQUEST + "/reviews"))
+            .willReturn(okJson("{\"id\":99,\"state\":\"COMMENTED\"}")));
+
+    publish();
+
+    server.verify(
+        1,
+        postRequestedFor(urlPathEqualTo(PULL_REQUEST + "/reviews"))
+            .withRequestBody(matchingJsonPath("$.commit_id", equalTo("h1")))
+            .withRequestBody(matchingJsonPath("$.event", equalTo("COMMENT")))
+            .withRequestBody(matchingJsonPath("$.comments[0].path", equalTo("src/Cart.java")))
+            .withRequestBody(matchingJsonPath("$.comments[0].line", equalTo("2")))
+            .withRequestBody(
+                matchingJsonPath("$.comments[0].body", containing("Use long for totals")))
+            .withRequestBody(matchingJsonPath("$.body", containing("Checkout ignores currency"))));
+    server.verify(0, postRequestedFor(urlPathEqualTo(ISSUE_COMMENTS)));
+    assertThat(publishCounter("published")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("should_fall_back_to_one_issue_comment_when_review_is_rejected")
+  void should_fall_back_to_one_issue_comment_when_review_is_rejected() {
+    server.stubFor(
+        post(urlPathEqualTo(PULL_REQUEST + "/reviews"))
+            .willReturn(
+                aResponse()
+                    .withStatus(422)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"message\":\"Unprocessable Entity\"}")));
+    server.stubFor(
+        post(urlPathEqualTo(ISSUE_COMMENTS))
+            .willReturn(okJson("{\"id\":7,\"body\":\"review\"}").withStatus(201)));
+
+    publish();
+
+    server.verify(
+        1,
+        postRequestedFor(urlPathEqualTo(ISSUE_COMMENTS))
+            .withRequestBody(matchingJsonPath("$.body", containing("Use long for totals")))
+            .withRequestBody(matchingJsonPath("$.body", containing("Checkout ignores currency"))));
+    assertThat(publishCounter("published")).isZero();
+    assertThat(publishCounter("failed")).isEqualTo(1.0);
+  }
+}
@@ -0,0 +1,321 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.config.ScmClientProperties;
+import com.ghiloufi.aicode.core.config.ScmGraphQlProperties;
+import com.ghiloufi.aicode.core.config.ScmRateLimitProperties;
+import com.ghiloufi.aicode.core.config.ScmTreeIndexProperties;
+import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
+import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.GitHubDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.ReviewResultFormatter;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+@DisplayName("GitHub WebClient Adapter Tests")
+final class GitHubWebClientAdapterTest {
+
+  private static final String PULL_REQUEST = "/repos/acme/shop/pulls/12";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RepositoryIdentifier repo =
+      RepositoryIdentifier.create(SourceProvider.GITHUB, "acme/shop");
+  private final ChangeRequestIdentifier pullRequest =
+      ChangeRequestIdentifier.create(SourceProvider.GITHUB, 12);
+  private WireMockServer server;
+  private ScmWebClientFactory webClients;
+  private GitHubWebClientAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    server = new WireMockServer(options().dynamicPort());
+    server.start();
+    final ScmRateLimiter rateLimiter =
+        new ScmRateLimiter(
+            new ScmRateLimitProperties(
+                true, 0.1, 0.5, Duration.ofSeconds(5), Duration.ofMillis(10)),
+            meterRegistry);
+    webClients =
+        new ScmWebClientFactory(
+            new ScmClientProperties(
+                ScmClientProperties.Mode.WEBCLIENT,
+                4,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(5),
+                DataSize.ofMegabytes(1),
+                1,
+                3,
+                Duration.ofMillis(10)),
+            rateLimiter);
+    final ReviewMetrics reviewMetrics = new ReviewMetrics(meterRegistry);
+    reviewMetrics.init();
+
+    adapter =
+        new GitHubWebClientAdapter(
+            server.baseUrl(),
+            "gh-token",
+            webClients,
+            new UnifiedDiffParser(),
+            new ReviewResultFormatter(),
+            new SCMIdentifierValidator(),
+            new GitHubDiffBuilder(),
+            new DiffLineValidator(),
+            new CommentPlacementRouter(),
+            reviewMetrics,
+            new GitHubGraphQlClient(
+                new ScmGraphQlProperties(true, server.baseUrl() + "/graphql", 50),
+                "gh-token",
+                webClients),
+            new RepositoryTreeIndexCache(
+                new ScmTreeIndexProperties(true, 1000, Duration.ofMinutes(5)), meterRegistry));
+
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST))
+            .willReturn(
+                okJson(
+                    """
+                    {"number":12,"title":"Add cart","body":"Cart feature","state":"open",
+                     "user":{"login":"bob"},"base":{"ref":"main","sha":"b1"},
+                     "head":{"ref":"cart","sha":"h1"},"labels":[{"name":"feature"}],
+                     "changed_files":2}
+                    """)));
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST + "/files"))
+            .withQueryParam("page", equalTo("1"))
+            .willReturn(
+                okJson(
+                        """
+                        [{"filename":"src/Cart.java",
+                          "patch":"@@ -1,1 +1,3 @@\\n class Cart {\\n+  int items;\\n+  int total;"}]
+                        """)
+                    .withHeader(
+                        "Link",
+                        "<" + server.baseUrl() + PULL_REQUEST + "/files?page=2>; rel=\"next\"")));
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST + "/files"))
+            .withQueryParam("page", equalTo("2"))
+            .willReturn(
+                okJson(
+                    """
+                    [{"filename":"src/Shop.java","previous_filename":"src/Store.java",
+                      "patch":"@@ -1,1 +1,1 @@\\n-class Store {}\\n+class Shop {}"}]
+                    """)));
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST + "/commits"))
+            .willReturn(
+                okJson(
+                    """
+                    [{"sha":"s1","commit":{"message":"Add cart",
+                      "author":{"name":"Bob","date":"2024-05-01T10:00:00Z"}}}]
+                    """)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+    webClients.destroy();
+  }
+
+  private static ReviewResult review() {
+    return ReviewResult.builder()
+        .summary("Looks fine")
+        .issues(
+            List.of(
+                ReviewResult.Issue.issueBuilder()
+                    .file("src/Cart.java")
+                    .startLine(2)
+                    .severity("major")
+                    .title("Use long for totals")
+                    .build()))
+        .build();
+  }
+
+  @Test
+  @DisplayName("should_fetch_paged_files_and_metadata_with_bearer_token")
+  void should_fetch_paged_files_and_metadata_with_bearer_token() {
+    final DiffAnalysisBundle bundle = adapter.getDiff(repo, pullRequest).block();
+
+    assertThat(bundle.structuredDiff().files).hasSize(2);
+    assertThat(bundle.rawDiffText()).contains("--- a/src/Store.java", "+++ b/src/Shop.java");
+    assertThat(bundle.prMetadata().author()).isEqualTo("bob");
+    assertThat(bundle.prMetadata().labels()).containsExactly("feature");
+    assertThat(bundle.prMetadata().commits())
+        .singleElement()
+        .satisfies(commit -> assertThat(commit.author()).isEqualTo("Bob"));
+    server.verify(
+        getRequestedFor(urlPathEqualTo(PULL_REQUEST))
+            .withHeader("Authorization", equalTo("Bearer gh-token")));
+  }
+
+  @Test
+  @DisplayName("should_retry_transient_read_failures_while_paging")
+  void should_retry_transient_read_failures_while_paging() {
+    server.stubFor(
+        get(urlPathEqualTo(PULL_REQUEST + "/files"))
+            .withQueryParam("page", equalTo("2"))
+            .inScenario("flaky")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(502))
+            .willSetStateTo("recovered"));
+
+    final DiffAnalysisBundle bundle = adapter.getDiff(repo, pullRequest).block();
+
+    assertThat(bundle.structuredDiff().files).hasSize(2);
+    server.verify(
+        2,
+        getRequestedFor(urlPathEqualTo(PULL_REQUEST + "/files"))
+            .withQueryParam("page", equalTo("2")));
+  }
+
+  @Test
+  @DisplayName("should_read_expanded_files_at_the_pull_request_head")
+  void should_read_expanded_files_at_the_pull_request_head() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.query", containing("headRefOid")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"pullRequest":{
+                      "title":"Add cart","state":"OPEN","baseRefOid":"b1","headRefOid":"h1",
+                      "changedFiles":1,"labels":{"nodes":[]},"commits":{"nodes":[]}}}}}
+                    """)));
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.variables.e0", equalTo("h1:src/Cart.java")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"b0":{"text":"class Cart { int items; }","isBinary":false}}}}
+                    """)));
+
+    StepVerifier.create(adapter.getFileContents(repo, pullRequest, List.of("src/Cart.java")))
+        .assertNext(
+            contents ->
+                assertThat(contents).containsEntry("src/Cart.java", "class Cart { int items; }"))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should_publish_inline_findings_in_one_review_call")
+  void should_publish_inline_findings_in_one_review_call() {
+    server.stubFor(
+        post(urlPathEqualTo(PULL_REQUEST + "/reviews")).willReturn(okJson("{\"id\":99}")));
+
+    StepVerifier.create(adapter.publishReview(repo, pullRequest, review())).verifyComplete();
+
+    server.verify(
+        1,
+        postRequestedFor(urlPathEqualTo(PULL_REQUEST + "/reviews"))
+            .withRequestBody(
+                equalToJson("{\"commit_id\":\"h1\",\"event\":\"COMMENT\"}", true, true))
+            .withRequestBody(matchingJsonPath("$.comments[0].path", equalTo("src/Cart.java")))
+            .withRequestBody(matchingJsonPath("$.comments[0].line", equalTo("2"))));
+    assertThat(
+            meterRegistry
+                .counter("scm.publish.comments", "provider", "github", "status", "published")
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("should_fall_back_to_issue_comment_when_review_is_rejected")
+  void should_fall_back_to_issue_comment_when_review_is_rejected() {
+    server.stubFor(
+        post(urlPathEqualTo(PULL_REQUEST + "/reviews")).willReturn(aResponse().withStatus(422)));
+    server.stubFor(
+        post(urlPathEqualTo("/repos/acme/shop/issues/12/comments"))
+            .willReturn(aResponse().withStatus(201)));
+
+    StepVerifier.create(adapter.publishReview(repo, pullRequest, review())).verifyComplete();
+
+    server.verify(
+        1,
+        postRequestedFor(urlPathEqualTo("/repos/acme/shop/issues/12/comments"))
+            .withRequestBody(matchingJsonPath("$.body")));
+    assertThat(
+            meterRegistry
+                .counter("scm.publish.comments", "provider", "github", "status", "failed")
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("should_walk_subtrees_when_recursive_tree_is_truncated")
+  void should_walk_subtrees_when_recursive_tree_is_truncated() {
+    final String trees = "/repos/acme/shop/git/trees/";
+    server.stubFor(
+        get(urlPathEqualTo("/repos/acme/shop/commits/HEAD"))
+            .willReturn(okJson("{\"sha\":\"c1\"}")));
+    server.stubFor(
+        get(urlPathEqualTo(trees + "c1"))
+            .withQueryParam("recursive", equalTo("1"))
+            .willReturn(okJson("{\"sha\":\"c1\",\"tree\":[],\"truncated\":true}")));
+    server.stubFor(
+        get(urlPathEqualTo(trees + "c1"))
+            .withQueryParam("recursive", absent())
+            .willReturn(
+                okJson(
+                    """
+                    {"sha":"c1","truncated":false,"tree":[
+                      {"path":"README.md","type":"blob","sha":"r1"},
+                      {"path":"src","type":"tree","sha":"t2"},
+                      {"path":"vendor","type":"commit","sha":"m1"}]}
+                    """)));
+    server.stubFor(
+        get(urlPathEqualTo(trees + "t2"))
+            .withQueryParam("recursive", equalTo("1"))
+            .willReturn(
+                okJson(
+                    """
+                    {"sha":"t2","truncated":false,"tree":[
+                      {"path":"main","type":"tree","sha":"t3"},
+                      {"path":"main/Shop.java","type":"blob","sha":"b2"},
+                      {"path":"Cart.java","type":"blob","sha":"b3"}]}
+                    """)));
+
+    assertThat(adapter.listRepositoryFiles(repo).block())
+        .containsExactly("README.md", "src/Cart.java", "src/main/Shop.java");
+    assertThat(adapter.listRepositoryFiles(repo).block()).hasSize(3);
+
+    server.verify(1, getRequestedFor(urlPathEqualTo(trees + "t2")));
+    server.verify(2, getRequestedFor(urlPathEqualTo(trees + "c1")));
+  }
+}
@@ -0,0 +1,305 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ghiloufi.aicode.core.config.ScmPublishProperties;
+import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
+import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshot;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshotCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.gitlab4j.api.models.Diff;
+import org.gitlab4j.api.models.DiffRef;
+import org.gitlab4j.api.models.MergeRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GitLab Adapter Publish Tests")
+final class GitLabAdapterPublishTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final GitLabDiffBuilder diffBuilder = new GitLabDiffBuilder();
+  private final UnifiedDiffParser diffParser = new UnifiedDiffParser();
+  private final FindingFingerprint fingerprints = new FindingFingerprint();
+  private final AtomicInteger discussionRequests = new AtomicInteger();
+  private final List<String> discussionUpdates = new CopyOnWriteArrayList<>();
+  private String existingDiscussions = "[]";
+  private MockWebServer server;
+  private GitLabAdapter adapter;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new MockWebServer();
+    server.setDispatcher(new DiscussionDispatcher());
+    server.start();
+
+    final MergeRequestSnapshotCache snapshots = mock(MergeRequestSnapshotCache.class);
+    when(snapshots.get(anyString(), anyLong(), any())).thenReturn(snapshot());
+    final ReviewMetrics reviewMetrics = new ReviewMetrics(meterRegistry);
+    reviewMetrics.init();
+
+    adapter =
+        new GitLabAdapter(
+            server.url("").toString().replaceAll("/$", ""),
+            "test-token",
+            diffParser,
+            new SCMIdentifierValidator(),
+            diffBuilder,
+            mock(GitLabMergeRequestMapper.class),
+            mock(GitLabProjectMapper.class),
+            new DiffLineValidator(),
+            new CommentPlacementRouter(),
+            mock(ConditionalRequestCache.class),
+            mock(ScmRateLimiter.class),
+            mock(FileBlobCache.class),
+            snapshots,
+            mock(RepositoryTreeIndexCache.class),
+            new ScmPublishProperties(3, 3, Duration.ofMillis(1)),
+            reviewMetrics,
+            fingerprints);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    server.shutdown();
+  }
+
+  private MergeRequestSnapshot snapshot() {
+    final Diff diff = new Diff();
+    diff.setOldPath("src/App.java");
+    diff.setNewPath("src/App.java");
+    diff.setDiff("@@ -1,1 +1,4 @@\n class App {\n+  int a;\n+  int b;\n+  int c;\n");
+    final DiffRef diffRefs = new DiffRef();
+    diffRefs.setBaseSha("base");
+    diffRefs.setHeadSha("head");
+    diffRefs.setStartSha("start");
+    final MergeRequest mergeRequest = new MergeRequest();
+    mergeRequest.setChanges(List.of(diff));
+    mergeRequest.setDiffRefs(diffRefs);
+    return MergeRequestSnapshot.of(mergeRequest, PrMetadata.empty(), diffBuilder, diffParser);
+  }
+
+  private static ReviewResult.Issue issue(final int line) {
+    return issue(line, "Issue on line " + line);
+  }
+
+  private static ReviewResult.Issue issue(final int line, final String title) {
+    return ReviewResult.Issue.issueBuilder()
+        .file("src/App.java")
+        .startLine(line)
+        .severity("major")
+        .title(title)
+        .build();
+  }
+
+  private static String discussion(
+      final String id, final long noteId, final String body, final boolean resolved) {
+    return """
+        {"id":"%s","individual_note":false,"notes":[{"id":%d,"body":"%s","resolvable":true,"resolved":%s}]}"""
+        .formatted(id, noteId, body.replace("\n", "\\n"), resolved);
+  }
+
+  private String posted(final ReviewResult.Issue issue) {
+    return fingerprints.mark(GitLabCommentFormatter.inlineIssue(issue), fingerprints.keyOf(issue));
+  }
+
+  private void publish(final ReviewResult review) {
+    adapter
+        .publishReview(
+            RepositoryIdentifier.create(SourceProvider.GITLAB, "group/app"),
+            ChangeRequestIdentifier.create(SourceProvider.GITLAB, 7),
+            review)
+        .block(Duration.ofSeconds(10));
+  }
+
+  private double publishCounter(final String status) {
+    return meterRegistry
+        .counter("scm.publish.comments", "provider", "gitlab", "status", status)
+        .count();
+  }
+
+  @Test
+  @DisplayName("should_retry_transient_failures_and_report_partial_publish")
+  void should_retry_transient_failures_and_report_partial_publish() {
+    final ReviewResult review =
+        ReviewResult.builder().issues(List.of(issue(2), issue(3), issue(4))).build();
+
+    adapter
+        .publishReview(
+            RepositoryIdentifier.create(SourceProvider.GITLAB, "group/app"),
+            ChangeRequestIdentifier.create(SourceProvider.GITLAB, 7),
+            review)
+        .block(Duration.ofSeconds(10));
+
+    assertThat(discussionRequests).hasValue(4);
+    assertThat(
+            meterRegistry
+                .counter("scm.publish.comments", "provider", "gitlab", "status", "published")
+                .count())
+        .isEqualTo(2.0);
+    assertThat(
+            meterRegistry
+                .counter("scm.publish.comments", "provider", "gitlab", "status", "failed")
+                .count())
+        .isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .timer("scm.publish.duration", "provider", "gitlab", "outcome", "partial")
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should_publish_only_new_findings_and_resolve_stale_discussions")
+  void should_publish_only_new_findings_and_resolve_stale_discussions() {
+    final ReviewResult.Issue known = issue(2, "Missing null check");
+    final String knownKey = fingerprints.keyOf(known);
+    existingDiscussions =
+        "["
+            + discussion("known", 11, posted(known), false)
+            + ","
+            + discussion("stale", 12, fingerprints.mark("gone", "finding:0123456789abcdef"), false)
+            + ","
+            + discussion("human", 13, "Looks good to me", false)
+            + "]";
+    final ReviewResult review =
+        ReviewResult.builder()
+            .issues(List.of(issue(3, "Unchecked cast"), issue(4, "Missing null check")))
+            .build();
+
+    adapter
+        .publishReview(
+            RepositoryIdentifier.create(SourceProvider.GITLAB, "group/app"),
+            ChangeRequestIdentifier.create(SourceProvider.GITLAB, 7),
+            review)
+        .block(Duration.ofSeconds(10));
+
+    assertThat(discussionRequests).hasValue(1);
+    assertThat(discussionUpdates)
+        .singleElement()
+        .satisfies(
+            update -> {
+              assertThat(update).contains("/discussions/stale").contains("resolved=true");
+            });
+    assertThat(publishCounter("published")).isEqualTo(1.0);
+    assertThat(publishCounter("unchanged")).isEqualTo(1.0);
+    assertThat(publishCounter("resolved")).isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .timer("scm.publish.duration", "provider", "gitlab", "outcome", "complete")
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should_leave_resolved_discussions_of_unchanged_findings_alone")
+  void should_leave_resolved_discussions_of_unchanged_findings_alone() {
+    final ReviewResult.Issue known = issue(2, "Missing null check");
+    existingDiscussions = "[" + discussion("known", 11, posted(known), true) + "]";
+
+    publish(ReviewResult.builder().issues(List.of(known)).build());
+
+    assertThat(discussionRequests).hasValue(0);
+    assertThat(discussionUpdates).isEmpty();
+    assertThat(publishCounter("unchanged")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("should_update_note_body_when_finding_severity_changes")
+  void should_update_note_body_when_finding_severity_changes() {
+    final ReviewResult.Issue before = issue(2, "Missing null check");
+    final ReviewResult.Issue after =
+        ReviewResult.Issue.issueBuilder()
+            .file("src/App.java")
+            .startLine(2)
+            .severity("critical")
+            .title("Missing null check")
+            .suggestion("Guard the argument")
+            .build();
+    existingDiscussions = "[" + discussion("known", 11, posted(before), true) + "]";
+
+    publish(ReviewResult.builder().issues(List.of(after)).build());
+
+    assertThat(discussionRequests).hasValue(0);
+    assertThat(discussionUpdates)
+        .singleElement()
+        .satisfies(
+            update ->
+                assertThat(update)
+                    .contains("/discussions/known/notes/11")
+                    .contains("critical")
+                    .contains("Guard the argument")
+                    .doesNotContain("resolved="));
+    assertThat(publishCounter("resolved")).isZero();
+  }
+
+  private final class DiscussionDispatcher extends Dispatcher {
+
+    private final AtomicInteger lineTwoAttempts = new AtomicInteger();
+
+    @Override
+    public MockResponse dispatch(final RecordedRequest request) {
+      if (!request.getPath().contains("/discussions")) {
+        return new MockResponse().setResponseCode(404);
+      }
+      final String body = URLDecoder.decode(request.getBody().readUtf8(), StandardCharsets.UTF_8);
+      if ("GET".equals(request.getMethod())) {
+        return json(200, existingDiscussions);
+      }
+      if ("PUT".equals(request.getMethod())) {
+        discussionUpdates.add(request.getPath() + " " + body);
+        return request.getPath().contains("/notes/")
+            ? json(200, "{\"id\":11}")
+            : json(200, "{\"id\":\"updated\"}");
+      }
+      discussionRequests.incrementAndGet();
+      if (body.contains("position[new_line]=2") && lineTwoAttempts.getAndIncrement() == 0) {
+        return new MockResponse().setResponseCode(502);
+      }
+      if (body.contains("position[new_line]=4")) {
+        return json(400, "{\"message\":\"line_code can't be blank\"}");
+      }
+      return json(201, "{\"id\":\"discussion-" + discussionRequests.get() + "\"}");
+    }
+
+    private MockResponse json(final int status, final String body) {
+      return new MockResponse()
+          .setResponseCode(status)
+          .setHeader("Content-Type", "application/json")
+          .setBody(body);
+    }
+  }
+}
@@ -2,16 +2,24 @@ package com.ghiloufi.aicode.core.infrastructure.adapter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.ghiloufi.aicode.core.config.ScmPublishProperties;
 import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
 import com.ghiloufi.aicode.core.domain.model.GitLabRepositoryId;
 import com.ghiloufi.aicode.core.domain.model.MergeRequestId;
 import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
 import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
 import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
 import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
 import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
 import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
 import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.blob.FileBlobCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.snapshot.MergeRequestSnapshotCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
 import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +42,15 @@ final class GitLabAdapterSummaryCommentTest {
             Mockito.mock(GitLabMergeRequestMapper.class),
             Mockito.mock(GitLabProjectMapper.class),
             Mockito.mock(DiffLineValidator.class),
-            Mockito.mock(CommentPlacementRouter.class));
+            Mockito.mock(CommentPlacementRouter.class),
+            Mockito.mock(ConditionalRequestCache.class),
+            Mockito.mock(ScmRateLimiter.class),
+            Mockito.mock(FileBlobCache.class),
+            Mockito.mock(MergeRequestSnapshotCache.class),
+            Mockito.mock(RepositoryTreeIndexCache.class),
+            Mockito.mock(ScmPublishProperties.class),
+            Mockito.mock(ReviewMetrics.class),
+            new FindingFingerprint());
   }
 
   @Test
@@ -3,47 +3,15 @@ package com.ghiloufi.aicode.core.infrastructure.adapter;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
-import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
-import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
-import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
-import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
-import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
-import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
-import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
-import java.lang.reflect.Method;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
 @DisplayName("GitLab Inline Comment Formatting Tests")
 final class GitLabInlineCommentFormattingTest {
 
-  private Method formatInlineCommentMethod;
-  private GitLabAdapter gitLabAdapter;
-
-  @BeforeEach
-  void setUp() throws Exception {
-    formatInlineCommentMethod =
-        GitLabAdapter.class.getDeclaredMethod("formatInlineComment", ReviewResult.Issue.class);
-    formatInlineCommentMethod.setAccessible(true);
-
-    gitLabAdapter =
-        new GitLabAdapter(
-            "https://gitlab.com",
-            "test-token",
-            Mockito.mock(UnifiedDiffParser.class),
-            Mockito.mock(SCMIdentifierValidator.class),
-            Mockito.mock(GitLabDiffBuilder.class),
-            Mockito.mock(GitLabMergeRequestMapper.class),
-            Mockito.mock(GitLabProjectMapper.class),
-            Mockito.mock(DiffLineValidator.class),
-            Mockito.mock(CommentPlacementRouter.class));
-  }
-
   @Test
   @DisplayName("should_format_high_confidence_issue_without_confidence_display")
-  void should_format_high_confidence_issue_without_confidence_display() throws Exception {
+  void should_format_high_confidence_issue_without_confidence_display() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Test.java")
@@ -54,7 +22,7 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(0.85)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).doesNotContain("**Confidence:");
     assertThat(result).contains("**Recommendation:**");
@@ -63,7 +31,7 @@ final class GitLabInlineCommentFormattingTest {
 
   @Test
   @DisplayName("should_not_include_confidence_for_low_confidence_issues")
-  void should_not_include_confidence_for_low_confidence_issues() throws Exception {
+  void should_not_include_confidence_for_low_confidence_issues() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Test.java")
@@ -74,7 +42,7 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(0.55)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).doesNotContain("**Confidence:");
     assertThat(result).contains("**Recommendation:**");
@@ -82,7 +50,7 @@ final class GitLabInlineCommentFormattingTest {
 
   @Test
   @DisplayName("should_format_complete_comment_with_all_sections")
-  void should_format_complete_comment_with_all_sections() throws Exception {
+  void should_format_complete_comment_with_all_sections() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Auth.java")
@@ -93,7 +61,7 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(0.92)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).contains("issue (blocking), critical: Missing authentication check");
     assertThat(result).contains("**Recommendation:** Add authentication validation");
@@ -102,7 +70,7 @@ final class GitLabInlineCommentFormattingTest {
 
   @Test
   @DisplayName("should_not_display_confidence_in_inline_comments")
-  void should_not_display_confidence_in_inline_comments() throws Exception {
+  void should_not_display_confidence_in_inline_comments() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Test.java")
@@ -113,7 +81,7 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(0.73)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).doesNotContain("**Confidence:");
     assertThat(result).contains("issue (blocking), major: Test issue");
@@ -122,7 +90,7 @@ final class GitLabInlineCommentFormattingTest {
 
   @Test
   @DisplayName("should_format_issue_at_threshold_without_confidence")
-  void should_format_issue_at_threshold_without_confidence() throws Exception {
+  void should_format_issue_at_threshold_without_confidence() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Test.java")
@@ -133,7 +101,7 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(0.70)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).doesNotContain("**Confidence:");
     assertThat(result).contains("issue (blocking), major: Test issue");
@@ -141,7 +109,7 @@ final class GitLabInlineCommentFormattingTest {
 
   @Test
   @DisplayName("should_not_include_confidence_when_score_is_null")
-  void should_not_include_confidence_when_score_is_null() throws Exception {
+  void should_not_include_confidence_when_score_is_null() {
     final ReviewResult.Issue issue =
         ReviewResult.Issue.issueBuilder()
             .file("Test.java")
@@ -152,13 +120,13 @@ final class GitLabInlineCommentFormattingTest {
             .confidenceScore(null)
             .build();
 
-    final String result = invokeFormatInlineComment(issue);
+    final String result = format(issue);
 
     assertThat(result).doesNotContain("**Confidence:");
     assertThat(result).contains("**Recommendation:**");
   }
 
-  private String invokeFormatInlineComment(final ReviewResult.Issue issue) throws Exception {
-    return (String) formatInlineCommentMethod.invoke(gitLabAdapter, issue);
+  private String format(final ReviewResult.Issue issue) {
+    return GitLabCommentFormatter.inlineIssue(issue);
   }
 }
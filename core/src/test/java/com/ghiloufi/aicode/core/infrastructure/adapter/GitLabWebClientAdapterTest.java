@@ -0,0 +1,325 @@
+package com.ghiloufi.aicode.core.infrastructure.adapter;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.ScmClientProperties;
+import com.ghiloufi.aicode.core.config.ScmPublishProperties;
+import com.ghiloufi.aicode.core.config.ScmRateLimitProperties;
+import com.ghiloufi.aicode.core.config.ScmTreeIndexProperties;
+import com.ghiloufi.aicode.core.domain.model.ChangeRequestIdentifier;
+import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.MergeRequestSummary;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.service.CommentPlacementRouter;
+import com.ghiloufi.aicode.core.domain.service.DiffLineValidator;
+import com.ghiloufi.aicode.core.domain.service.FindingFingerprint;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.domain.service.GitLabMergeRequestMapper;
+import com.ghiloufi.aicode.core.domain.service.GitLabProjectMapper;
+import com.ghiloufi.aicode.core.domain.service.SCMIdentifierValidator;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.observability.ReviewMetrics;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.tree.RepositoryTreeIndexCache;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+@DisplayName("GitLab WebClient Adapter Tests")
+final class GitLabWebClientAdapterTest {
+
+  private static final String MERGE_REQUEST = "/api/v4/projects/group%2Fapp/merge_requests/7";
+  private static final String CHANGES =
+      """
+      {"iid":7,"project_id":1,"title":"Add counters","description":"Adds fields",
+       "state":"opened","source_branch":"feature","target_branch":"main",
+       "author":{"username":"alice"},"labels":["backend"],
+       "diff_refs":{"base_sha":"base","head_sha":"head","start_sha":"start"},
+       "changes":[{"old_path":"src/App.java","new_path":"src/App.java",
+                   "diff":"@@ -1,1 +1,3 @@\\n class App {\\n+  int a;\\n+  int b;\\n"}]}
+      """;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final FindingFingerprint fingerprints = new FindingFingerprint();
+  private final RepositoryIdentifier repo =
+      RepositoryIdentifier.create(SourceProvider.GITLAB, "group/app");
+  private final ChangeRequestIdentifier mergeRequest =
+      ChangeRequestIdentifier.create(SourceProvider.GITLAB, 7);
+  private WireMockServer server;
+  private ScmWebClientFactory webClients;
+  private GitLabWebClientAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    server = new WireMockServer(options().dynamicPort());
+    server.start();
+    webClients =
+        new ScmWebClientFactory(
+            new ScmClientProperties(
+                ScmClientProperties.Mode.WEBCLIENT,
+                4,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(5),
+                DataSize.ofMegabytes(1),
+                2,
+                3,
+                Duration.ofMillis(10)),
+            new ScmRateLimiter(
+                new ScmRateLimitProperties(
+                    true, 0.1, 0.5, Duration.ofSeconds(5), Duration.ofMillis(10)),
+                meterRegistry));
+    final ReviewMetrics reviewMetrics = new ReviewMetrics(meterRegistry);
+    reviewMetrics.init();
+
+    adapter =
+        new GitLabWebClientAdapter(
+            server.baseUrl() + "/api/v4",
+            "test-token",
+            webClients,
+            new UnifiedDiffParser(),
+            new SCMIdentifierValidator(),
+            new GitLabDiffBuilder(),
+            new GitLabMergeRequestMapper(),
+            new GitLabProjectMapper(),
+            new DiffLineValidator(),
+            new CommentPlacementRouter(),
+            new ScmPublishProperties(2, 3, Duration.ofMillis(1)),
+            reviewMetrics,
+            fingerprints,
+            new RepositoryTreeIndexCache(
+                new ScmTreeIndexProperties(true, 1000, Duration.ofMinutes(5)), meterRegistry));
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+    webClients.destroy();
+  }
+
+  private void stubMergeRequest() {
+    server.stubFor(get(urlPathEqualTo(MERGE_REQUEST + "/changes")).willReturn(okJson(CHANGES)));
+    server.stubFor(
+        get(urlPathEqualTo(MERGE_REQUEST + "/commits"))
+            .willReturn(
+                okJson(
+                    """
+                    [{"id":"c1","message":"Add counters","author_name":"Alice",
+                      "committed_date":"2024-05-01T10:00:00Z"}]
+                    """)));
+  }
+
+  private static ReviewResult.Issue issue(final int line, final String title) {
+    return ReviewResult.Issue.issueBuilder()
+        .file("src/App.java")
+        .startLine(line)
+        .severity("major")
+        .title(title)
+        .build();
+  }
+
+  @Nested
+  @DisplayName("Reads")
+  final class Reads {
+
+    @Test
+    @DisplayName("should_fetch_diff_and_metadata_with_private_token")
+    void should_fetch_diff_and_metadata_with_private_token() {
+      stubMergeRequest();
+
+      final DiffAnalysisBundle bundle = adapter.getDiff(repo, mergeRequest).block();
+
+      assertThat(bundle.structuredDiff().files).hasSize(1);
+      assertThat(bundle.rawDiffText()).contains("+  int a;");
+      assertThat(bundle.prMetadata().title()).isEqualTo("Add counters");
+      assertThat(bundle.prMetadata().author()).isEqualTo("alice");
+      assertThat(bundle.prMetadata().commits()).hasSize(1);
+      assertThat(bundle.prMetadata().changedFilesCount()).isEqualTo(1);
+      server.verify(
+          getRequestedFor(urlPathEqualTo(MERGE_REQUEST + "/changes"))
+              .withHeader("PRIVATE-TOKEN", equalTo("test-token")));
+    }
+
+    @Test
+    @DisplayName("should_follow_next_page_header_when_listing")
+    void should_follow_next_page_header_when_listing() {
+      final String path = "/api/v4/projects/group%2Fapp/merge_requests";
+      server.stubFor(
+          get(urlPathEqualTo(path))
+              .withQueryParam("page", equalTo("1"))
+              .willReturn(
+                  okJson("[{\"iid\":1,\"title\":\"One\"},{\"iid\":2,\"title\":\"Two\"}]")
+                      .withHeader("X-Next-Page", "2")));
+      server.stubFor(
+          get(urlPathEqualTo(path))
+              .withQueryParam("page", equalTo("2"))
+              .willReturn(
+                  okJson("[{\"iid\":3,\"title\":\"Three\"}]").withHeader("X-Next-Page", "")));
+
+      StepVerifier.create(adapter.getOpenChangeRequests(repo).map(MergeRequestSummary::iid))
+          .expectNext(1, 2, 3)
+          .verifyComplete();
+      server.verify(
+          getRequestedFor(urlPathEqualTo(path))
+              .withQueryParam("state", equalTo("opened"))
+              .withQueryParam("per_page", equalTo("2")));
+    }
+
+    @Test
+    @DisplayName("should_index_recursive_tree_once_per_head_commit")
+    void should_index_recursive_tree_once_per_head_commit() {
+      final String project = "/api/v4/projects/group%2Fapp";
+      server.stubFor(
+          get(urlPathEqualTo(project))
+              .willReturn(okJson("{\"id\":1,\"default_branch\":\"main\"}")));
+      server.stubFor(
+          get(urlPathEqualTo(project + "/repository/branches/main"))
+              .willReturn(okJson("{\"name\":\"main\",\"commit\":{\"id\":\"sha1\"}}")));
+      server.stubFor(
+          get(urlPathEqualTo(project + "/repository/tree"))
+              .withQueryParam("page", equalTo("1"))
+              .willReturn(
+                  okJson(
+                          """
+                          [{"path":"src","type":"tree"},
+                           {"path":"src/Shop.java","type":"blob"}]
+                          """)
+                      .withHeader("X-Next-Page", "2")));
+      server.stubFor(
+          get(urlPathEqualTo(project + "/repository/tree"))
+              .withQueryParam("page", equalTo("2"))
+              .willReturn(
+                  okJson("[{\"path\":\"README.md\",\"type\":\"blob\"}]")
+                      .withHeader("X-Next-Page", "")));
+
+      assertThat(adapter.listRepositoryFiles(repo).block())
+          .containsExactly("README.md", "src/Shop.java");
+      assertThat(adapter.listRepositoryFiles(repo).block())
+          .containsExactly("README.md", "src/Shop.java");
+
+      server.verify(
+          2,
+          getRequestedFor(urlPathEqualTo(project + "/repository/tree"))
+              .withQueryParam("recursive", equalTo("true"))
+              .withQueryParam("ref", equalTo("sha1")));
+      server.verify(2, getRequestedFor(urlPathEqualTo(project + "/repository/branches/main")));
+    }
+
+    @Test
+    @DisplayName("should_retry_transient_read_failures")
+    void should_retry_transient_read_failures() {
+      stubMergeRequest();
+      server.stubFor(
+          get(urlPathEqualTo(MERGE_REQUEST + "/changes"))
+              .inScenario("flaky")
+              .whenScenarioStateIs(Scenario.STARTED)
+              .willReturn(aResponse().withStatus(503))
+              .willSetStateTo("recovered"));
+
+      final DiffAnalysisBundle bundle = adapter.getDiff(repo, mergeRequest).block();
+
+      assertThat(bundle.structuredDiff().files).hasSize(1);
+      server.verify(2, getRequestedFor(urlPathEqualTo(MERGE_REQUEST + "/changes")));
+    }
+
+    @Test
+    @DisplayName("should_wrap_history_failures_in_scm_exception")
+    void should_wrap_history_failures_in_scm_exception() {
+      server.stubFor(
+          get(urlPathEqualTo("/api/v4/projects/group%2Fapp/repository/commits"))
+              .willReturn(aResponse().withStatus(500)));
+
+      StepVerifier.create(adapter.getCommitsFor(repo, "src/App.java", LocalDate.of(2024, 1, 1), 10))
+          .expectError(SCMException.class)
+          .verify();
+    }
+  }
+
+  @Nested
+  @DisplayName("Publishing")
+  final class Publishing {
+
+    @Test
+    @DisplayName("should_retry_throttled_discussion_and_skip_known_findings")
+    void should_retry_throttled_discussion_and_skip_known_findings() throws Exception {
+      stubMergeRequest();
+      final ReviewResult.Issue known = issue(2, "Missing null check");
+      final String existing =
+          new ObjectMapper()
+              .writeValueAsString(
+                  List.of(
+                      Map.of(
+                          "id",
+                          "known",
+                          "notes",
+                          List.of(
+                              Map.of(
+                                  "id",
+                                  11,
+                                  "body",
+                                  fingerprints.mark(
+                                      GitLabCommentFormatter.inlineIssue(known),
+                                      fingerprints.keyOf(known)),
+                                  "resolvable",
+                                  true,
+                                  "resolved",
+                                  false)))));
+      server.stubFor(
+          get(urlPathEqualTo(MERGE_REQUEST + "/discussions")).willReturn(okJson(existing)));
+      server.stubFor(
+          post(urlPathEqualTo(MERGE_REQUEST + "/discussions"))
+              .inScenario("throttled")
+              .whenScenarioStateIs(Scenario.STARTED)
+              .willReturn(aResponse().withStatus(429))
+              .willSetStateTo("retried"));
+      server.stubFor(
+          post(urlPathEqualTo(MERGE_REQUEST + "/discussions"))
+              .inScenario("throttled")
+              .whenScenarioStateIs("retried")
+              .willReturn(okJson("{\"id\":\"created\"}")));
+
+      final ReviewResult review =
+          ReviewResult.builder().issues(List.of(known, issue(3, "Unchecked cast"))).build();
+
+      StepVerifier.create(adapter.publishReview(repo, mergeRequest, review)).verifyComplete();
+
+      server.verify(2, postRequestedFor(urlPathEqualTo(MERGE_REQUEST + "/discussions")));
+      assertThat(
+              meterRegistry
+                  .counter("scm.publish.comments", "provider", "gitlab", "status", "published")
+                  .count())
+          .isEqualTo(1.0);
+      assertThat(
+              meterRegistry
+                  .counter("scm.publish.comments", "provider", "gitlab", "status", "unchanged")
+                  .count())
+          .isEqualTo(1.0);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.ghiloufi.aicode.core.infrastructure.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Startup Metrics Tests")
+final class StartupMetricsTest {
+
+  private static final Instant PROCESS_START = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Test
+  @DisplayName("should_record_time_to_first_stream_read_once")
+  void should_record_time_to_first_stream_read_once() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final StartupMetrics metrics =
+        new StartupMetrics(
+            registry, Clock.fixed(PROCESS_START.plusMillis(4_250), ZoneOffset.UTC), PROCESS_START);
+
+    metrics.recordFirstStreamRead("review:requests");
+    metrics.recordFirstStreamRead("review:requests");
+
+    final TimeGauge gauge =
+        registry
+            .get("application.first.stream.read.time")
+            .tag("stream", "review:requests")
+            .timeGauge();
+    assertThat(gauge.value(TimeUnit.MILLISECONDS)).isEqualTo(4_250.0);
+    assertThat(registry.getMeters()).hasSize(1);
+  }
+}
@@ -0,0 +1,94 @@
+package com.ghiloufi.aicode.core.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ModelUsage;
+import com.ghiloufi.aicode.core.domain.model.ReviewResult;
+import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewEntity;
+import com.ghiloufi.aicode.core.infrastructure.persistence.entity.ReviewModelUsageEntity;
+import com.ghiloufi.aicode.core.infrastructure.persistence.repository.ReviewJpaRepository;
+import com.ghiloufi.aicode.core.infrastructure.persistence.repository.TokenUsageAggregate;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@DisplayName("PostgresReviewRepository Tests")
+final class PostgresReviewRepositoryTest {
+
+  private final ReviewJpaRepository jpaRepository = mock(ReviewJpaRepository.class);
+  private final PostgresReviewRepository repository = new PostgresReviewRepository(jpaRepository);
+
+  private static ReviewResult mixedModelReview() {
+    return ReviewResult.builder()
+        .summary("Looks fine")
+        .llmProvider("openai")
+        .llmModel("gpt-4o")
+        .build()
+        .withModelUsage(
+            List.of(
+                new ModelUsage("openai", "gpt-4o", new LlmUsage(1_000, 200, 400, 1)),
+                new ModelUsage("openai", "gpt-4o-mini", new LlmUsage(300, 50, 0, 2))));
+  }
+
+  @Nested
+  @DisplayName("Model Usage")
+  final class ModelUsageTests {
+
+    @Test
+    @DisplayName("should_persist_one_usage_row_per_model")
+    void should_persist_one_usage_row_per_model() {
+      when(jpaRepository.findByRepositoryIdAndChangeRequestIdAndProvider(any(), any(), any()))
+          .thenReturn(Optional.empty());
+
+      repository.save("acme/shop_12_github", mixedModelReview()).block();
+
+      final ArgumentCaptor<ReviewEntity> saved = ArgumentCaptor.forClass(ReviewEntity.class);
+      verify(jpaRepository).save(saved.capture());
+      assertThat(saved.getValue().getInputTokens()).isEqualTo(1_300);
+      assertThat(saved.getValue().getLlmCalls()).isEqualTo(3);
+      assertThat(saved.getValue().getModelUsage())
+          .extracting(
+              ReviewModelUsageEntity::getLlmModel,
+              ReviewModelUsageEntity::getInputTokens,
+              ReviewModelUsageEntity::getLlmCalls)
+          .containsExactly(tuple("gpt-4o", 1_000L, 1), tuple("gpt-4o-mini", 300L, 2));
+      assertThat(saved.getValue().getModelUsage())
+          .allSatisfy(row -> assertThat(row.getReview()).isSameAs(saved.getValue()));
+    }
+
+    @Test
+    @DisplayName("should_merge_model_rows_with_legacy_review_totals")
+    void should_merge_model_rows_with_legacy_review_totals() {
+      final Instant since = Instant.parse("2026-01-01T00:00:00Z");
+      when(jpaRepository.aggregateModelTokenUsage(since))
+          .thenReturn(
+              List.of(
+                  new TokenUsageAggregate(
+                      "acme/shop", "openai", "gpt-4o", 1L, 1_000L, 200L, 400L, 1L),
+                  new TokenUsageAggregate(
+                      "acme/shop", "openai", "gpt-4o-mini", 1L, 300L, 50L, 0L, 2L)));
+      when(jpaRepository.aggregateTokenUsage(since))
+          .thenReturn(
+              List.of(
+                  new TokenUsageAggregate(
+                      "acme/shop", "openai", "gpt-4o", 2L, 500L, 100L, 0L, 2L)));
+
+      final List<TokenUsageAggregate> rows = repository.aggregateTokenUsage(since).block();
+
+      assertThat(rows)
+          .containsExactly(
+              new TokenUsageAggregate("acme/shop", "openai", "gpt-4o", 3L, 1_500L, 300L, 400L, 3L),
+              new TokenUsageAggregate("acme/shop", "openai", "gpt-4o-mini", 1L, 300L, 50L, 0L, 2L));
+    }
+  }
+}
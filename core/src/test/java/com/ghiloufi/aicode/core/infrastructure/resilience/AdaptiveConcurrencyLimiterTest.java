@@ -0,0 +1,227 @@
+package com.ghiloufi.aicode.core.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ghiloufi.aicode.core.exception.ConcurrencyLimitExceededException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+final class AdaptiveConcurrencyLimiterTest {
+
+  @Nested
+  @DisplayName("Limit Adjustment")
+  final class LimitAdjustment {
+
+    @Test
+    @DisplayName("should_increase_limit_additively_when_saturated")
+    void should_increase_limit_additively_when_saturated() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10, Duration.ofSeconds(1));
+
+      limiter.execute(() -> "ok");
+      assertThat(limiter.getLimit()).isEqualTo(2);
+
+      limiter.execute(() -> "ok");
+      assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should_cut_limit_multiplicatively_on_overload")
+    void should_cut_limit_multiplicatively_on_overload() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10, Duration.ofSeconds(1));
+
+      assertThatThrownBy(
+              () ->
+                  limiter.execute(
+                      () -> {
+                        throw new IllegalStateException(new TimeoutException("slow"));
+                      }))
+          .isInstanceOf(IllegalStateException.class);
+
+      assertThat(limiter.getLimit()).isEqualTo(4);
+      assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_keep_limit_on_non_overload_failure")
+    void should_keep_limit_on_non_overload_failure() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10, Duration.ofSeconds(1));
+
+      assertThatThrownBy(
+              () ->
+                  limiter.execute(
+                      () -> {
+                        throw new IllegalArgumentException("bad input");
+                      }))
+          .isInstanceOf(IllegalArgumentException.class);
+
+      assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("should_release_permit_when_call_throws_error")
+    void should_release_permit_when_call_throws_error() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, Duration.ofMillis(50));
+
+      assertThatThrownBy(
+              () ->
+                  limiter.execute(
+                      () -> {
+                        throw new AssertionError("boom");
+                      }))
+          .isInstanceOf(AssertionError.class);
+
+      assertThat(limiter.getInflight()).isZero();
+      assertThat(limiter.execute(() -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("should_not_drop_below_min_limit")
+    void should_not_drop_below_min_limit() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 10, Duration.ofSeconds(1));
+
+      for (int i = 0; i < 3; i++) {
+        try {
+          limiter.execute(
+              () -> {
+                throw new IllegalStateException(new TimeoutException("slow"));
+              });
+        } catch (final IllegalStateException ignored) {
+        }
+      }
+
+      assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should_cut_limit_on_latency_inflation")
+    void should_cut_limit_on_latency_inflation() {
+      final AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10, Duration.ofSeconds(1));
+      limiter.execute(() -> "fast");
+
+      limiter.execute(
+          () -> {
+            sleep(Duration.ofMillis(100));
+            return "slow";
+          });
+
+      assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+  }
+
+  @Nested
+  @DisplayName("Queueing")
+  final class Queueing {
+
+    @Test
+    @DisplayName("should_queue_callers_until_permit_released")
+    void should_queue_callers_until_permit_released() throws Exception {
+      final AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, Duration.ofSeconds(5));
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+      try {
+        executor.submit(
+            () ->
+                limiter.execute(
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return "first";
+                    }));
+        started.await(1, TimeUnit.SECONDS);
+
+        final var second = executor.submit(() -> limiter.execute(() -> "second"));
+        waitUntil(() -> limiter.getQueueDepth() == 1);
+
+        assertThat(limiter.getInflight()).isEqualTo(1);
+        release.countDown();
+        assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(limiter.getQueueDepth()).isZero();
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    @Test
+    @DisplayName("should_reject_when_permit_not_acquired_in_time")
+    void should_reject_when_permit_not_acquired_in_time() throws Exception {
+      final AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, Duration.ofMillis(50));
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+      try {
+        executor.submit(
+            () ->
+                limiter.execute(
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return "first";
+                    }));
+        started.await(1, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> limiter.execute(() -> "second"))
+            .isInstanceOf(ConcurrencyLimitExceededException.class)
+            .hasMessageContaining("test");
+      } finally {
+        release.countDown();
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static AdaptiveConcurrencyLimiter limiter(
+      final int initial, final int min, final int max, final Duration acquireTimeout) {
+    final AdaptiveConcurrencyProperties properties =
+        new AdaptiveConcurrencyProperties(
+            true, initial, min, max, 1.0, 0.5, 2.0, 0.05, acquireTimeout);
+    return new AdaptiveConcurrencyLimiter(
+        "test",
+        properties,
+        error -> {
+          Throwable current = error;
+          while (current != null) {
+            if (current instanceof TimeoutException) {
+              return true;
+            }
+            current = current.getCause();
+          }
+          return false;
+        });
+  }
+
+  private static void waitUntil(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(final Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.ghiloufi.aicode.core.infrastructure.scm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.config.ScmHttpCacheProperties;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.infrastructure.scm.ConditionalRequestCache.CacheKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.gitlab4j.api.GitLabApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("Conditional Request Cache Tests")
+final class ConditionalRequestCacheTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private MockWebServer server;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new MockWebServer();
+    server.setDispatcher(new EtagDispatcher());
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    server.shutdown();
+  }
+
+  private ConditionalRequestCache cache(
+      final int maxEntries, final DataSize maxEntrySize, final Duration freshFor) {
+    return new ConditionalRequestCache(
+        new ScmHttpCacheProperties(
+            true, maxEntries, maxEntrySize, DataSize.ofMegabytes(64), freshFor),
+        meterRegistry,
+        CLOCK);
+  }
+
+  private ConditionalRequestCache cache() {
+    return cache(100, DataSize.ofMegabytes(2), Duration.ZERO);
+  }
+
+  private double count(final String provider, final String endpoint, final CacheOutcome outcome) {
+    return meterRegistry
+        .counter(
+            "scm.http.cache.requests",
+            "provider",
+            provider,
+            "endpoint",
+            endpoint,
+            "outcome",
+            outcome.tag())
+        .count();
+  }
+
+  @Nested
+  @DisplayName("Storage")
+  final class Storage {
+
+    @Test
+    @DisplayName("should_evict_least_recently_used_entry_when_full")
+    void should_evict_least_recently_used_entry_when_full() {
+      final ConditionalRequestCache cache = cache(2, DataSize.ofMegabytes(2), Duration.ZERO);
+      final CacheKey first = CacheKey.of("https://scm/a", null, "token");
+      final CacheKey second = CacheKey.of("https://scm/b", null, "token");
+      final CacheKey third = CacheKey.of("https://scm/c", null, "token");
+
+      cache.store(first, Map.of("ETag", List.of("\"a\"")), new byte[] {1});
+      cache.store(second, Map.of("ETag", List.of("\"b\"")), new byte[] {2});
+      cache.lookup(first);
+      cache.store(third, Map.of("ETag", List.of("\"c\"")), new byte[] {3});
+
+      assertThat(cache.lookup(first)).isPresent();
+      assertThat(cache.lookup(second)).isEmpty();
+      assertThat(cache.lookup(third)).isPresent();
+    }
+
+    @Test
+    @DisplayName("should_not_store_entries_above_the_size_limit")
+    void should_not_store_entries_above_the_size_limit() {
+      final ConditionalRequestCache cache = cache(10, DataSize.ofBytes(4), Duration.ZERO);
+      final CacheKey key = CacheKey.of("https://scm/large", null, "token");
+
+      cache.store(key, Map.of("ETag", List.of("\"large\"")), new byte[16]);
+
+      assertThat(cache.lookup(key)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_separate_entries_by_credential")
+    void should_separate_entries_by_credential() {
+      final ConditionalRequestCache cache = cache();
+      cache.store(
+          CacheKey.of("https://scm/a", null, "alice"),
+          Map.of("ETag", List.of("\"a\"")),
+          new byte[0]);
+
+      assertThat(cache.lookup(CacheKey.of("https://scm/a", null, "bob"))).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("Invalidation")
+  final class Invalidation {
+
+    @Test
+    @DisplayName("should_evict_entries_of_the_pushed_repository_only")
+    void should_evict_entries_of_the_pushed_repository_only() {
+      final ConditionalRequestCache cache = cache();
+      final CacheKey pushed =
+          CacheKey.of("https://gitlab/api/v4/projects/group%2Fapp/repository/files", null, "t");
+      final CacheKey sibling =
+          CacheKey.of("https://gitlab/api/v4/projects/group%2Fapp-docs/merge_requests", null, "t");
+      final CacheKey github = CacheKey.of("https://api.github.com/repos/group/app", null, "t");
+      cache.store(pushed, Map.of("ETag", List.of("\"a\"")), new byte[] {1});
+      cache.store(sibling, Map.of("ETag", List.of("\"b\"")), new byte[] {2});
+      cache.store(github, Map.of("ETag", List.of("\"c\"")), new byte[] {3});
+
+      cache.invalidate(
+          new ScmCacheInvalidation(
+              SourceProvider.GITLAB, "group/app", "refs/heads/main", null, List.of()));
+
+      assertThat(cache.lookup(pushed)).isEmpty();
+      assertThat(cache.lookup(sibling)).isPresent();
+      assertThat(cache.lookup(github)).isPresent();
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("Endpoint templates")
+  final class Endpoints {
+
+    @Test
+    @DisplayName("should_collapse_identifiers_in_github_paths")
+    void should_collapse_identifiers_in_github_paths() {
+      assertThat(ScmEndpoints.template("/repos/octo/app/pulls/42/files"))
+          .isEqualTo("/repos/{owner}/{repo}/pulls/{id}/files");
+      assertThat(ScmEndpoints.template("/repos/octo/app/contents/src/main/App.java"))
+          .isEqualTo("/repos/{owner}/{repo}/contents/{path}");
+    }
+
+    @Test
+    @DisplayName("should_collapse_identifiers_in_gitlab_paths")
+    void should_collapse_identifiers_in_gitlab_paths() {
+      assertThat(ScmEndpoints.template("/api/v4/projects/group%2Fapp/merge_requests/7/changes"))
+          .isEqualTo("/api/v4/projects/{project}/merge_requests/{id}/changes");
+      assertThat(
+              ScmEndpoints.template(
+                  "/api/v4/projects/12/repository/commits/9fceb02d0ae598e95dc970b74767f19372d61af8/diff"))
+          .isEqualTo("/api/v4/projects/{project}/repository/commits/{sha}/diff");
+    }
+  }
+
+  @Nested
+  @DisplayName("GitLab transport")
+  final class GitLabTransport {
+
+    @Test
+    @DisplayName("should_revalidate_with_etag_and_serve_cached_body_on_not_modified")
+    void should_revalidate_with_etag_and_serve_cached_body_on_not_modified() throws Exception {
+      final GitLabApi gitLabApi =
+          new GitLabApi(
+              server.url("/").toString(),
+              "token",
+              CachingGitLabConnectorProvider.clientProperties(cache()));
+
+      final String first = gitLabApi.getProjectApi().getProject("group/app").getName();
+      final String second = gitLabApi.getProjectApi().getProject("group/app").getName();
+
+      assertThat(first).isEqualTo("app");
+      assertThat(second).isEqualTo("app");
+      assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+      assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+      assertThat(count("gitlab", "/api/v4/projects/{project}", CacheOutcome.MISS)).isEqualTo(1.0);
+      assertThat(count("gitlab", "/api/v4/projects/{project}", CacheOutcome.REVALIDATED))
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_serve_fresh_entries_without_a_request")
+    void should_serve_fresh_entries_without_a_request() throws Exception {
+      final GitLabApi gitLabApi =
+          new GitLabApi(
+              server.url("/").toString(),
+              "token",
+              CachingGitLabConnectorProvider.clientProperties(
+                  cache(100, DataSize.ofMegabytes(2), Duration.ofSeconds(30))));
+
+      gitLabApi.getProjectApi().getProject("group/app");
+      final String cached = gitLabApi.getProjectApi().getProject("group/app").getName();
+
+      assertThat(cached).isEqualTo("app");
+      assertThat(server.getRequestCount()).isEqualTo(1);
+      assertThat(count("gitlab", "/api/v4/projects/{project}", CacheOutcome.HIT)).isEqualTo(1.0);
+    }
+  }
+
+  @Nested
+  @DisplayName("GitHub transport")
+  final class GitHubTransport {
+
+    @Test
+    @DisplayName("should_revalidate_with_etag_and_serve_cached_body_on_not_modified")
+    void should_revalidate_with_etag_and_serve_cached_body_on_not_modified() throws Exception {
+      final GitHub gitHub =
+          new GitHubBuilder()
+              .withEndpoint(server.url("/").toString())
+              .withOAuthToken("token")
+              .withConnector(new CachingGitHubConnector(GitHubConnector.DEFAULT, cache()))
+              .build();
+
+      final String first = gitHub.getRepository("octo/app").getName();
+      final String second = gitHub.getRepository("octo/app").getName();
+
+      assertThat(first).isEqualTo("app");
+      assertThat(second).isEqualTo("app");
+      assertThat(server.takeRequest().getPath()).isEqualTo("/user");
+      assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+      assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+      assertThat(count("github", "/repos/{owner}/{repo}", CacheOutcome.REVALIDATED)).isEqualTo(1.0);
+    }
+  }
+
+  private static final class EtagDispatcher extends Dispatcher {
+
+    @Override
+    public MockResponse dispatch(final RecordedRequest request) {
+      if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+        return new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\"");
+      }
+      final String body =
+          request.getPath().startsWith("/api/v4/projects")
+              ? "{\"id\":12,\"name\":\"app\",\"path_with_namespace\":\"group/app\"}"
+              : "{\"id\":12,\"name\":\"app\",\"full_name\":\"octo/app\",\"url\":\"http://localhost/repos/octo/app\"}";
+      return new MockResponse()
+          .setHeader("Content-Type", "application/json")
+          .setHeader("ETag", "\"v1\"")
+          .setBody(body);
+    }
+  }
+}
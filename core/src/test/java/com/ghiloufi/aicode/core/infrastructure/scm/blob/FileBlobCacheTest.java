@@ -0,0 +1,209 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.blob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties;
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties.DiskTier;
+import com.ghiloufi.aicode.core.config.FileBlobCacheProperties.RedisTier;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("File Blob Cache Tests")
+final class FileBlobCacheTest {
+
+  private static final String REPOSITORY = "gitlab:group/app";
+  private static final String COMMIT = "9fceb02d0ae598e95dc970b74767f19372d61af8";
+  private static final String BLOB = "3b18e512dba79e4c8300dd08aeb37f8e728b8dad";
+
+  @TempDir Path diskDirectory;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RedisBlobStore redisStore = mock(RedisBlobStore.class);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private FileBlobCacheProperties properties(final boolean enabled, final boolean disk) {
+    return new FileBlobCacheProperties(
+        enabled,
+        DataSize.ofMegabytes(1),
+        100,
+        Duration.ofSeconds(30),
+        new RedisTier(true, "scm:blob:", Duration.ofDays(7), Duration.ofHours(24)),
+        new DiskTier(disk, diskDirectory, DataSize.ofBytes(16), DataSize.ofMegabytes(1)));
+  }
+
+  private FileBlobCache cache(final boolean enabled, final boolean disk) {
+    final FileBlobCacheProperties properties = properties(enabled, disk);
+    return new FileBlobCache(properties, redisStore, new BlobDiskStore(properties), meterRegistry);
+  }
+
+  private FileBlob load(final String content) {
+    loads.incrementAndGet();
+    return new FileBlob(BLOB, content);
+  }
+
+  private double tier(final String tier) {
+    return meterRegistry.counter("scm.blob.cache.requests", "tier", tier).count();
+  }
+
+  @Nested
+  @DisplayName("Tiered lookups")
+  final class TieredLookups {
+
+    @Test
+    @DisplayName("should_load_once_and_serve_repeat_reads_locally")
+    void should_load_once_and_serve_repeat_reads_locally() throws Exception {
+      final FileBlobCache cache = cache(true, false);
+
+      final String first = cache.getContent(REPOSITORY, COMMIT, "App.java", () -> load("class A"));
+      final String second = cache.getContent(REPOSITORY, COMMIT, "App.java", () -> load("class A"));
+
+      assertThat(first).isEqualTo("class A");
+      assertThat(second).isEqualTo("class A");
+      assertThat(loads).hasValue(1);
+      assertThat(tier("origin")).isEqualTo(1.0);
+      assertThat(tier("local")).isEqualTo(1.0);
+      verify(redisStore).putBlob(BLOB, "class A");
+      verify(redisStore).putBlobSha(REPOSITORY, COMMIT, "App.java", BLOB);
+    }
+
+    @Test
+    @DisplayName("should_serve_blobs_shared_through_redis")
+    void should_serve_blobs_shared_through_redis() throws Exception {
+      when(redisStore.getBlobSha(REPOSITORY, COMMIT, "App.java")).thenReturn(Optional.of(BLOB));
+      when(redisStore.getBlob(BLOB)).thenReturn(Optional.of("class Shared"));
+
+      final String content =
+          cache(true, false).getContent(REPOSITORY, COMMIT, "App.java", () -> load("unused"));
+
+      assertThat(content).isEqualTo("class Shared");
+      assertThat(loads).hasValue(0);
+      assertThat(tier("redis")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_keep_large_blobs_on_the_disk_tier")
+    void should_keep_large_blobs_on_the_disk_tier() throws Exception {
+      final String large = "x".repeat(64);
+      cache(true, true).getContent(REPOSITORY, COMMIT, "big.txt", () -> load(large));
+      when(redisStore.getBlobSha(REPOSITORY, COMMIT, "big.txt")).thenReturn(Optional.of(BLOB));
+
+      final String content =
+          cache(true, true).getContent(REPOSITORY, COMMIT, "big.txt", () -> load("unused"));
+
+      assertThat(content).isEqualTo(large);
+      assertThat(Files.exists(diskDirectory.resolve(BLOB.substring(0, 2)).resolve(BLOB))).isTrue();
+      assertThat(loads).hasValue(1);
+      assertThat(tier("disk")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_call_loader_directly_when_disabled")
+    void should_call_loader_directly_when_disabled() throws Exception {
+      final FileBlobCache cache = cache(false, false);
+
+      cache.getContent(REPOSITORY, COMMIT, "App.java", () -> load("class A"));
+      cache.getContent(REPOSITORY, COMMIT, "App.java", () -> load("class A"));
+
+      assertThat(loads).hasValue(2);
+      verify(redisStore, never()).getBlobSha(anyString(), anyString(), anyString());
+    }
+  }
+
+  @Nested
+  @DisplayName("Disk tier")
+  final class DiskTierAccounting {
+
+    @Test
+    @DisplayName("should_count_concurrent_writes_of_same_blob_once")
+    void should_count_concurrent_writes_of_same_blob_once() throws Exception {
+      final BlobDiskStore store = new BlobDiskStore(properties(true, true));
+      final String content = "y".repeat(1024);
+      final ExecutorService executor = Executors.newFixedThreadPool(8);
+      final CountDownLatch start = new CountDownLatch(1);
+      try {
+        final List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          writes.add(
+              executor.submit(
+                  () -> {
+                    start.await();
+                    store.put(BLOB, content);
+                    return null;
+                  }));
+        }
+        start.countDown();
+        for (final Future<?> write : writes) {
+          write.get(5, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      assertThat(store.usedBytes()).isEqualTo(1024);
+      assertThat(store.get(BLOB)).contains(content);
+    }
+  }
+
+  @Nested
+  @DisplayName("Ref resolution")
+  final class RefResolution {
+
+    @Test
+    @DisplayName("should_resolve_branch_ref_once_within_ttl")
+    void should_resolve_branch_ref_once_within_ttl() throws Exception {
+      final FileBlobCache cache = cache(true, false);
+      final AtomicInteger resolutions = new AtomicInteger();
+
+      final String first =
+          cache.resolveRef(REPOSITORY, "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+      final String second =
+          cache.resolveRef(REPOSITORY, "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+
+      assertThat(first).isEqualTo(second);
+      assertThat(resolutions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should_re_resolve_refs_after_a_branch_push")
+    void should_re_resolve_refs_after_a_branch_push() throws Exception {
+      final FileBlobCache cache = cache(true, false);
+      final AtomicInteger resolutions = new AtomicInteger();
+      cache.resolveRef(REPOSITORY, "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+      cache.resolveRef("gitlab:group/other", "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+
+      cache.invalidate(
+          new ScmCacheInvalidation(
+              SourceProvider.GITLAB, "group/app", "refs/heads/main", null, List.of()));
+      cache.invalidate(
+          new ScmCacheInvalidation(
+              SourceProvider.GITLAB, "group/other", "refs/tags/v1", null, List.of()));
+
+      cache.resolveRef(REPOSITORY, "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+      cache.resolveRef("gitlab:group/other", "HEAD", () -> COMMIT + resolutions.incrementAndGet());
+      assertThat(resolutions).hasValue(3);
+    }
+  }
+}
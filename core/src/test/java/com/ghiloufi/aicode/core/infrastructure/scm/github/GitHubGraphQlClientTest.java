@@ -0,0 +1,219 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.github;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.notContaining;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.config.ScmClientProperties;
+import com.ghiloufi.aicode.core.config.ScmGraphQlProperties;
+import com.ghiloufi.aicode.core.config.ScmRateLimitProperties;
+import com.ghiloufi.aicode.core.exception.SCMException;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient.BlobRef;
+import com.ghiloufi.aicode.core.infrastructure.scm.github.GitHubGraphQlClient.PullRequest;
+import com.ghiloufi.aicode.core.infrastructure.scm.ratelimit.ScmRateLimiter;
+import com.ghiloufi.aicode.core.infrastructure.scm.webclient.ScmWebClientFactory;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+@DisplayName("GitHub GraphQL Client Tests")
+final class GitHubGraphQlClientTest {
+
+  private WireMockServer server;
+  private ScmRateLimiter rateLimiter;
+  private ScmWebClientFactory webClients;
+  private GitHubGraphQlClient client;
+
+  @BeforeEach
+  void setUp() {
+    server = new WireMockServer(options().dynamicPort());
+    server.start();
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    rateLimiter =
+        new ScmRateLimiter(
+            new ScmRateLimitProperties(
+                true, 0.1, 0.5, Duration.ofSeconds(5), Duration.ofMillis(10)),
+            meterRegistry);
+    webClients =
+        new ScmWebClientFactory(
+            new ScmClientProperties(
+                ScmClientProperties.Mode.WEBCLIENT,
+                4,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(5),
+                DataSize.ofMegabytes(1),
+                100,
+                3,
+                Duration.ofMillis(10)),
+            rateLimiter);
+    client =
+        new GitHubGraphQlClient(
+            new ScmGraphQlProperties(true, server.baseUrl() + "/graphql", 2),
+            "gh-token",
+            webClients);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+    webClients.destroy();
+  }
+
+  @Test
+  @DisplayName("should_fetch_metadata_without_paging_changed_files")
+  void should_fetch_metadata_without_paging_changed_files() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.query", containing("baseRefOid")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"pullRequest":{
+                      "title":"Add cart","body":"Cart feature","state":"OPEN",
+                      "author":{"login":"bob"},"baseRefName":"main","headRefName":"cart",
+                      "baseRefOid":"b1","headRefOid":"h1","changedFiles":3,
+                      "labels":{"nodes":[{"name":"feature"}]},
+                      "commits":{"nodes":[{"commit":{"oid":"s1","message":"Add cart",
+                        "author":{"name":"Bob","date":"2024-05-01T10:00:00Z"}}}]}}}}}
+                    """)));
+
+    final PullRequest pullRequest = client.pullRequest("acme", "shop", 12).block();
+
+    assertThat(pullRequest.toMetadata().author()).isEqualTo("bob");
+    assertThat(pullRequest.toMetadata().labels()).containsExactly("feature");
+    assertThat(pullRequest.toMetadata().commits()).hasSize(1);
+    assertThat(pullRequest.toMetadata().changedFilesCount()).isEqualTo(3);
+    assertThat(pullRequest.isOpen()).isTrue();
+    assertThat(pullRequest.baseOid()).isEqualTo("b1");
+    assertThat(pullRequest.headOid()).isEqualTo("h1");
+    server.verify(
+        1,
+        postRequestedFor(urlPathEqualTo("/graphql"))
+            .withHeader("Authorization", equalTo("Bearer gh-token"))
+            .withRequestBody(matchingJsonPath("$.query", notContaining("files("))));
+  }
+
+  @Test
+  @DisplayName("should_read_file_contents_at_the_pull_request_head_commit")
+  void should_read_file_contents_at_the_pull_request_head_commit() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.query", containing("headRefOid")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"pullRequest":{
+                      "state":"OPEN","baseRefOid":"b1","headRefOid":"h1","changedFiles":1,
+                      "labels":{"nodes":[]},"commits":{"nodes":[]}}}}}
+                    """)));
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.variables.e0", equalTo("h1:src/Shop.java")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"b0":{"text":"class Shop {}","isBinary":false}}}}
+                    """)));
+
+    final Map<String, String> contents =
+        client.headFileContents("acme", "shop", 12, List.of("src/Shop.java")).block();
+
+    assertThat(contents).containsExactly(Map.entry("src/Shop.java", "class Shop {}"));
+  }
+
+  @Test
+  @DisplayName("should_fetch_base_and_head_blobs_in_aliased_batches")
+  void should_fetch_base_and_head_blobs_in_aliased_batches() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.variables.e0", equalTo("b1:src/Cart.java")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{
+                      "b0":{"text":"class Cart {}","isBinary":false},
+                      "b1":{"text":"class Cart { int items; }","isBinary":false}}}}
+                    """)));
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.variables.e0", equalTo("h1:logo.png")))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":{"repository":{"b0":{"text":null,"isBinary":true}}}}
+                    """)));
+
+    final Map<BlobRef, String> blobs =
+        client
+            .blobs(
+                "acme",
+                "shop",
+                List.of(
+                    new BlobRef("b1", "src/Cart.java"),
+                    new BlobRef("h1", "src/Cart.java"),
+                    new BlobRef("h1", "logo.png")))
+            .block();
+
+    assertThat(blobs)
+        .containsExactly(
+            Map.entry(new BlobRef("b1", "src/Cart.java"), "class Cart {}"),
+            Map.entry(new BlobRef("h1", "src/Cart.java"), "class Cart { int items; }"));
+    server.verify(2, postRequestedFor(urlPathEqualTo("/graphql")));
+  }
+
+  @Test
+  @DisplayName("should_track_graphql_points_separately_from_rest_quota")
+  void should_track_graphql_points_separately_from_rest_quota() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .willReturn(
+                okJson(
+                        """
+                        {"data":{"repository":{"b0":{"text":"class Cart {}","isBinary":false}}}}
+                        """)
+                    .withHeader("X-RateLimit-Limit", "5000")
+                    .withHeader("X-RateLimit-Remaining", "4321")
+                    .withHeader("X-RateLimit-Reset", "60")));
+
+    client.fileContents("acme", "shop", "h1", List.of("src/Cart.java")).block();
+
+    assertThat(rateLimiter.remaining("github-graphql")).isEqualTo(4321);
+    assertThat(rateLimiter.remaining("github")).isNaN();
+  }
+
+  @Test
+  @DisplayName("should_fail_when_query_returns_only_errors")
+  void should_fail_when_query_returns_only_errors() {
+    server.stubFor(
+        post(urlPathEqualTo("/graphql"))
+            .willReturn(
+                okJson(
+                    """
+                    {"data":null,"errors":[{"message":"Could not resolve to a Repository"}]}
+                    """)));
+
+    StepVerifier.create(client.fileContents("acme", "missing", "HEAD", List.of("a")))
+        .expectErrorMatches(
+            error ->
+                error instanceof SCMException
+                    && error.getMessage().contains("Could not resolve to a Repository"))
+        .verify();
+  }
+}
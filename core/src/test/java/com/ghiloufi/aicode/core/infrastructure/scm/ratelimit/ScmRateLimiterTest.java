@@ -0,0 +1,167 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.config.ScmRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ScmRateLimiter Tests")
+final class ScmRateLimiterTest {
+
+  private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ScmRateLimiter limiter(final boolean enabled) {
+    return new ScmRateLimiter(
+        new ScmRateLimitProperties(
+            enabled, 0.1, 0.5, Duration.ofMinutes(10), Duration.ofSeconds(60)),
+        meterRegistry,
+        CLOCK);
+  }
+
+  private static Map<String, String> headers(final String... pairs) {
+    final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    for (int i = 0; i < pairs.length; i += 2) {
+      headers.put(pairs[i], pairs[i + 1]);
+    }
+    return headers;
+  }
+
+  @Nested
+  @DisplayName("Hard limits")
+  final class HardLimits {
+
+    @Test
+    @DisplayName("should_hold_every_request_until_retry_after_elapses")
+    void should_hold_every_request_until_retry_after_elapses() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update("gitlab", 429, headers("Retry-After", "30")::get);
+
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH))
+          .isEqualTo(Duration.ofSeconds(30));
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PUBLISH))
+          .isEqualTo(Duration.ofSeconds(30));
+      assertThat(limiter.reserve("github", ScmRequestPriority.PREFETCH)).isZero();
+    }
+
+    @Test
+    @DisplayName("should_wait_for_reset_when_quota_is_exhausted")
+    void should_wait_for_reset_when_quota_is_exhausted() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update(
+          "github",
+          403,
+          headers(
+                  "X-RateLimit-Limit",
+                  "5000",
+                  "X-RateLimit-Remaining",
+                  "0",
+                  "X-RateLimit-Reset",
+                  String.valueOf(NOW.plusSeconds(120).getEpochSecond()))
+              ::get);
+
+      assertThat(limiter.reserve("github", ScmRequestPriority.PUBLISH))
+          .isEqualTo(Duration.ofSeconds(120));
+    }
+
+    @Test
+    @DisplayName("should_fall_back_to_default_wait_when_throttled_without_hints")
+    void should_fall_back_to_default_wait_when_throttled_without_hints() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update("gitlab", 429, headers()::get);
+
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PUBLISH))
+          .isEqualTo(Duration.ofSeconds(60));
+    }
+  }
+
+  @Nested
+  @DisplayName("Pacing")
+  final class Pacing {
+
+    @Test
+    @DisplayName("should_not_pace_while_quota_is_plentiful")
+    void should_not_pace_while_quota_is_plentiful() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update(
+          "gitlab",
+          200,
+          headers("RateLimit-Limit", "2000", "RateLimit-Remaining", "1500", "RateLimit-Reset", "60")
+              ::get);
+
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH)).isZero();
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH)).isZero();
+    }
+
+    @Test
+    @DisplayName("should_spread_prefetch_over_reset_window_and_let_publish_through")
+    void should_spread_prefetch_over_reset_window_and_let_publish_through() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update(
+          "gitlab",
+          200,
+          headers("RateLimit-Limit", "100", "RateLimit-Remaining", "20", "RateLimit-Reset", "100")
+              ::get);
+
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH)).isZero();
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PUBLISH)).isZero();
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH))
+          .isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("should_keep_publish_reserve_for_publish_calls")
+    void should_keep_publish_reserve_for_publish_calls() {
+      final ScmRateLimiter limiter = limiter(true);
+
+      limiter.update(
+          "gitlab",
+          200,
+          headers("RateLimit-Limit", "100", "RateLimit-Remaining", "10", "RateLimit-Reset", "45")
+              ::get);
+
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH))
+          .isEqualTo(Duration.ofSeconds(45));
+      assertThat(limiter.reserve("gitlab", ScmRequestPriority.PUBLISH)).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("should_expose_remaining_quota_as_gauge")
+  void should_expose_remaining_quota_as_gauge() {
+    final ScmRateLimiter limiter = limiter(true);
+
+    limiter.update("github", 200, headers("X-RateLimit-Remaining", "4321")::get);
+
+    assertThat(
+            meterRegistry.get("scm.ratelimit.remaining").tag("provider", "github").gauge().value())
+        .isEqualTo(4321.0);
+  }
+
+  @Test
+  @DisplayName("should_ignore_headers_when_disabled")
+  void should_ignore_headers_when_disabled() {
+    final ScmRateLimiter limiter = limiter(false);
+
+    limiter.update("gitlab", 429, headers("Retry-After", "30")::get);
+
+    assertThat(limiter.reserve("gitlab", ScmRequestPriority.PREFETCH)).isZero();
+    assertThat(meterRegistry.find("scm.ratelimit.remaining").gauge()).isNull();
+  }
+}
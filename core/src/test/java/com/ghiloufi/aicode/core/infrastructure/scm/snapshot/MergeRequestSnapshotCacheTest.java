@@ -0,0 +1,124 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.MergeRequestSnapshotProperties;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.ScmCacheInvalidation;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.service.GitLabDiffBuilder;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gitlab4j.api.models.Diff;
+import org.gitlab4j.api.models.MergeRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Merge Request Snapshot Cache Tests")
+final class MergeRequestSnapshotCacheTest {
+
+  private static final String REPOSITORY = "gitlab:group/app";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final GitLabDiffBuilder diffBuilder = new GitLabDiffBuilder();
+  private final UnifiedDiffParser diffParser = new UnifiedDiffParser();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private MergeRequestSnapshotCache cache(final boolean enabled) {
+    return new MergeRequestSnapshotCache(
+        new MergeRequestSnapshotProperties(enabled, Duration.ofMinutes(10), 10, false, "scm:mr:"),
+        diffBuilder,
+        diffParser,
+        new ObjectMapper(),
+        null,
+        meterRegistry,
+        Clock.systemUTC());
+  }
+
+  private MergeRequestSnapshot load() {
+    loads.incrementAndGet();
+    final Diff diff = new Diff();
+    diff.setOldPath("src/App.java");
+    diff.setNewPath("src/App.java");
+    diff.setDiff("@@ -1,1 +1,2 @@\n class App {\n+  int count;\n");
+    final MergeRequest mergeRequest = new MergeRequest();
+    mergeRequest.setTitle("Add counter");
+    mergeRequest.setChanges(List.of(diff));
+    final PrMetadata metadata =
+        new PrMetadata("Add counter", null, "dev", "main", "feature", List.of(), List.of(), 1);
+    return MergeRequestSnapshot.of(mergeRequest, metadata, diffBuilder, diffParser);
+  }
+
+  private double tier(final String tier) {
+    return meterRegistry.counter("scm.mr.snapshot.requests", "tier", tier).count();
+  }
+
+  @Nested
+  @DisplayName("Per-review sharing")
+  final class Sharing {
+
+    @Test
+    @DisplayName("should_fetch_once_for_diff_metadata_and_publish")
+    void should_fetch_once_for_diff_metadata_and_publish() throws Exception {
+      final MergeRequestSnapshotCache cache = cache(true);
+
+      final MergeRequestSnapshot diff = cache.refresh(REPOSITORY, 7, () -> load());
+      final MergeRequestSnapshot metadata = cache.get(REPOSITORY, 7, () -> load());
+      final MergeRequestSnapshot publish = cache.get(REPOSITORY, 7, () -> load());
+
+      assertThat(loads).hasValue(1);
+      assertThat(metadata).isSameAs(diff);
+      assertThat(publish.structuredDiff().files).hasSize(1);
+      assertThat(publish.prMetadata().title()).isEqualTo("Add counter");
+      assertThat(tier("origin")).isEqualTo(1.0);
+      assertThat(tier("local")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should_refetch_when_a_new_review_starts")
+    void should_refetch_when_a_new_review_starts() throws Exception {
+      final MergeRequestSnapshotCache cache = cache(true);
+
+      cache.refresh(REPOSITORY, 7, () -> load());
+      cache.refresh(REPOSITORY, 7, () -> load());
+
+      assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should_load_after_eviction_or_push_invalidation")
+    void should_load_after_eviction_or_push_invalidation() throws Exception {
+      final MergeRequestSnapshotCache cache = cache(true);
+      cache.refresh(REPOSITORY, 7, () -> load());
+      cache.refresh("gitlab:group/other", 7, () -> load());
+
+      cache.evict(REPOSITORY, 7);
+      cache.get(REPOSITORY, 7, () -> load());
+      cache.invalidate(
+          new ScmCacheInvalidation(
+              SourceProvider.GITLAB, "group/app", "refs/heads/feature", null, List.of()));
+      cache.get(REPOSITORY, 7, () -> load());
+      cache.get("gitlab:group/other", 7, () -> load());
+
+      assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("should_call_loader_every_time_when_disabled")
+    void should_call_loader_every_time_when_disabled() throws Exception {
+      final MergeRequestSnapshotCache cache = cache(false);
+
+      cache.refresh(REPOSITORY, 7, () -> load());
+      cache.get(REPOSITORY, 7, () -> load());
+
+      assertThat(loads).hasValue(2);
+      assertThat(tier("origin")).isZero();
+    }
+  }
+}
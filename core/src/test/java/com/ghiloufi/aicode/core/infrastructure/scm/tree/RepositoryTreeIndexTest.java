@@ -0,0 +1,138 @@
+package com.ghiloufi.aicode.core.infrastructure.scm.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ghiloufi.aicode.core.config.ScmTreeIndexProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+@DisplayName("RepositoryTreeIndex Tests")
+final class RepositoryTreeIndexTest {
+
+  private static final RepositoryTreeIndex INDEX =
+      RepositoryTreeIndex.of(
+          List.of(
+              "src/main/App.java",
+              "README.md",
+              "src/main/App.java",
+              "src/main-utils/Helper.java",
+              "src/main/service/UserService.java",
+              " ",
+              "pom.xml"));
+
+  @Nested
+  @DisplayName("Index")
+  final class Index {
+
+    @Test
+    @DisplayName("should_sort_and_deduplicate_paths")
+    void should_sort_and_deduplicate_paths() {
+      assertThat(INDEX.paths())
+          .containsExactly(
+              "README.md",
+              "pom.xml",
+              "src/main-utils/Helper.java",
+              "src/main/App.java",
+              "src/main/service/UserService.java");
+      assertThat(INDEX.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should_find_exact_paths_only")
+    void should_find_exact_paths_only() {
+      assertThat(INDEX.contains("src/main/App.java")).isTrue();
+      assertThat(INDEX.contains("src/main")).isFalse();
+      assertThat(INDEX.contains("zzz")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_list_paths_under_directory_without_sibling_prefixes")
+    void should_list_paths_under_directory_without_sibling_prefixes() {
+      assertThat(INDEX.under("src/main"))
+          .containsExactly("src/main/App.java", "src/main/service/UserService.java");
+      assertThat(INDEX.under("docs")).isEmpty();
+      assertThat(INDEX.under("")).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("should_expose_read_only_views")
+    void should_expose_read_only_views() {
+      assertThatThrownBy(() -> INDEX.paths().add("new.txt"))
+          .isInstanceOf(UnsupportedOperationException.class);
+      assertThat(RepositoryTreeIndex.of(new ArrayList<>()).isEmpty()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Cache")
+  final class CacheBehaviour {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RepositoryTreeIndexCache cache(final boolean enabled) {
+      return new RepositoryTreeIndexCache(
+          new ScmTreeIndexProperties(enabled, 100, Duration.ofMinutes(5)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should_load_each_commit_once")
+    void should_load_each_commit_once() throws Exception {
+      final RepositoryTreeIndexCache cache = cache(true);
+      final AtomicInteger loads = new AtomicInteger();
+
+      final RepositoryTreeIndex first =
+          cache.get(
+              "gitlab:group/app",
+              "sha1",
+              () -> {
+                loads.incrementAndGet();
+                return List.of("b.txt", "a.txt");
+              });
+      final RepositoryTreeIndex second =
+          cache
+              .get("gitlab:group/app", "sha1", Mono.fromCallable(() -> List.of("ignored")))
+              .block();
+      cache.get("gitlab:group/app", "sha2", () -> List.of("c.txt"));
+
+      assertThat(second).isSameAs(first);
+      assertThat(first.paths()).containsExactly("a.txt", "b.txt");
+      assertThat(loads).hasValue(1);
+      assertThat(meterRegistry.counter("scm.tree.index.requests", "tier", "local").count())
+          .isEqualTo(1.0);
+      assertThat(meterRegistry.counter("scm.tree.index.requests", "tier", "origin").count())
+          .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should_always_load_when_disabled")
+    void should_always_load_when_disabled() throws Exception {
+      final RepositoryTreeIndexCache cache = cache(false);
+      final AtomicInteger loads = new AtomicInteger();
+
+      cache.get("github:acme/shop", "sha1", () -> List.of(String.valueOf(loads.incrementAndGet())));
+      final RepositoryTreeIndex second =
+          cache.get(
+              "github:acme/shop", "sha1", () -> List.of(String.valueOf(loads.incrementAndGet())));
+
+      assertThat(second.paths()).containsExactly("2");
+      assertThat(meterRegistry.find("scm.tree.index.requests").counter()).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("should_reject_invalid_properties")
+  void should_reject_invalid_properties() {
+    assertThatThrownBy(() -> new ScmTreeIndexProperties(true, 0, Duration.ofMinutes(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ScmTreeIndexProperties(true, 10, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
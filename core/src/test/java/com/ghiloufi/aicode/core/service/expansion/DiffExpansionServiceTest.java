@@ -184,7 +184,7 @@ final class DiffExpansionServiceTest {
         List.of(),
         new ContextRetrievalConfig.RolloutConfig(100, true, 5000),
         new ContextRetrievalConfig.DiffExpansionConfig(
-            enabled, maxFileSizeKb, maxLineCount, maxFilesToExpand, excludedExtensions),
+            enabled, maxFileSizeKb, maxLineCount, maxFilesToExpand, excludedExtensions, true),
         ContextRetrievalConfig.PrMetadataConfig.defaults(),
         ContextRetrievalConfig.RepositoryPoliciesConfig.defaults());
   }
@@ -268,7 +268,7 @@ final class DiffExpansionServiceTest {
     }
 
     @Override
-    public Mono<List<String>> listRepositoryFiles() {
+    public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
       return Mono.just(List.of());
     }
 
@@ -0,0 +1,206 @@
+package com.ghiloufi.aicode.core.service.expansion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.service.expansion.SourceCompressor.CompressedSource;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Source Compressor Tests")
+final class SourceCompressorTest {
+
+  private static final String JAVA_SOURCE =
+      """
+      /*
+       * Copyright 2024 Example Corp.
+       * Licensed under the Apache License, Version 2.0.
+       */
+      package com.example;
+
+      import java.util.List;
+      import java.util.Map;
+      import java.util.Set;
+
+
+      public class OrderService {
+
+        /** Calculates totals. */
+        public int total(final List<Integer> prices) {
+          int sum = 0;
+          for (final int price : prices) {
+            sum += price;
+          }
+          return sum;
+        }
+
+        // applies the discount
+        public int discount(final int total) {
+          if (total > 100) {
+            return total - 10;
+          }
+          return total;
+        }
+      }
+      """;
+
+  private final SourceCompressor compressor = new SourceCompressor();
+
+  private static DiffHunkBlock hunk(final int newStart, final int newCount) {
+    final DiffHunkBlock hunk = new DiffHunkBlock();
+    hunk.newStart = newStart;
+    hunk.newCount = newCount;
+    return hunk;
+  }
+
+  @Nested
+  @DisplayName("Noise removal")
+  final class NoiseRemoval {
+
+    @Test
+    @DisplayName("should_strip_license_header_comments_imports_and_blank_runs")
+    void should_strip_license_header_comments_imports_and_blank_runs() {
+      final CompressedSource result =
+          compressor.compress("src/OrderService.java", JAVA_SOURCE, List.of(hunk(28, 1)), 30);
+
+      assertThat(result.content())
+          .doesNotContain("Copyright", "Calculates totals", "applies the discount")
+          .doesNotContain("import java.util.List")
+          .contains("// ... lines 7-9: 3 imports omitted")
+          .doesNotContain("\n\n\n");
+      assertThat(result.content()).startsWith(" 5| package com.example;");
+      assertThat(result.truncated()).isFalse();
+      assertThat(result.originalLineCount()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("should_prefix_kept_lines_with_original_line_numbers")
+    void should_prefix_kept_lines_with_original_line_numbers() {
+      final CompressedSource result =
+          compressor.compress("src/OrderService.java", JAVA_SOURCE, List.of(hunk(28, 1)), 30);
+
+      assertThat(result.content())
+          .contains("12| public class OrderService {")
+          .contains("15|   public int total(final List<Integer> prices) {")
+          .contains("24|   public int discount(final int total) {")
+          .contains("  | // ... lines 7-9: 3 imports omitted");
+    }
+
+    @Test
+    @DisplayName("should_keep_imports_touched_by_the_diff")
+    void should_keep_imports_touched_by_the_diff() {
+      final CompressedSource result =
+          compressor.compress("src/OrderService.java", JAVA_SOURCE, List.of(hunk(8, 1)), 30);
+
+      assertThat(result.content()).contains("import java.util.Map;");
+    }
+  }
+
+  @Nested
+  @DisplayName("Syntax-aware outlining")
+  final class Outlining {
+
+    @Test
+    @DisplayName("should_collapse_bodies_unrelated_to_changed_lines")
+    void should_collapse_bodies_unrelated_to_changed_lines() {
+      final CompressedSource result =
+          compressor.compress("src/OrderService.java", JAVA_SOURCE, List.of(hunk(27, 1)), 17);
+
+      assertThat(result.content())
+          .contains("public int total(final List<Integer> prices) {")
+          .contains("// ... lines 16-20 omitted")
+          .doesNotContain("sum += price;")
+          .contains("return total - 10;");
+      assertThat(result.truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_not_treat_control_blocks_as_functions")
+    void should_not_treat_control_blocks_as_functions() {
+      final String source =
+          """
+          if (ready) {
+            a();
+            b();
+            c();
+          } else {
+            d();
+            e();
+            f();
+          }
+
+          function helper() {
+            x();
+            y();
+            z();
+          }
+          """;
+
+      final CompressedSource result =
+          compressor.compress("src/boot.js", source, List.of(hunk(40, 1)), 13);
+
+      assertThat(result.content())
+          .contains("} else {")
+          .contains("d();")
+          .contains("// ... lines 12-14 omitted");
+    }
+
+    @Test
+    @DisplayName("should_outline_python_functions_by_indentation")
+    void should_outline_python_functions_by_indentation() {
+      final String source =
+          """
+          import os
+          import sys
+          import json
+
+          def load(path):
+              # read the file
+              with open(path) as f:
+                  data = f.read()
+              return json.loads(data)
+
+          def save(path, data):
+              with open(path, "w") as f:
+                  f.write(json.dumps(data))
+          """;
+
+      final CompressedSource result =
+          compressor.compress("tools/store.py", source, List.of(hunk(13, 1)), 8);
+
+      assertThat(result.content())
+          .contains("# ... lines 1-3: 3 imports omitted")
+          .contains("def load(path):")
+          .contains("...  # ... lines 7-9 omitted")
+          .contains("f.write(json.dumps(data))");
+    }
+
+    @Test
+    @DisplayName("should_keep_changed_region_when_truncating")
+    void should_keep_changed_region_when_truncating() {
+      final CompressedSource result =
+          compressor.compress("notes.txt", "a\nb\nc\nd\ne\nf\ng", List.of(hunk(5, 2)), 3);
+
+      assertThat(result.content()).isEqualTo("4| d\n5| e\n6| f");
+      assertThat(result.truncated()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Budget enforcement")
+  final class Budget {
+
+    @Test
+    @DisplayName("should_truncate_when_compression_is_not_enough")
+    void should_truncate_when_compression_is_not_enough() {
+      final CompressedSource result =
+          compressor.compress("notes.txt", "a\nb\nc\nd\ne", List.of(), 3);
+
+      assertThat(result.content()).isEqualTo("1| a\n2| b\n3| c");
+      assertThat(result.truncated()).isTrue();
+      assertThat(result.compressedLineCount()).isEqualTo(3);
+    }
+  }
+}
@@ -248,7 +248,7 @@ final class PrMetadataExtractorTest {
     }
 
     @Override
-    public Mono<List<String>> listRepositoryFiles() {
+    public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
       return Mono.just(List.of());
     }
 
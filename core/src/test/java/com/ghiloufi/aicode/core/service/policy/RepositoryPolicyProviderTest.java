@@ -214,7 +214,7 @@ final class RepositoryPolicyProviderTest {
     }
 
     @Override
-    public Mono<List<String>> listRepositoryFiles() {
+    public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
       return Mono.just(List.of());
     }
 
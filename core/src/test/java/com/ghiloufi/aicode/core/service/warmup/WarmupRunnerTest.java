@@ -0,0 +1,143 @@
+package com.ghiloufi.aicode.core.service.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.WarmupProperties;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.service.DiffFormatter;
+import com.ghiloufi.aicode.core.service.diff.UnifiedDiffParser;
+import com.ghiloufi.aicode.core.service.validation.ReviewResultValidator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Warm-up Runner Tests")
+final class WarmupRunnerTest {
+
+  private static final String CORPUS = "classpath*:warmup/*.diff";
+
+  private static WarmupProperties properties(final boolean enabled, final int iterations) {
+    return new WarmupProperties(enabled, iterations, Duration.ofSeconds(30), CORPUS);
+  }
+
+  private static WarmupRunner runner(
+      final WarmupProperties properties, final WarmupState state, final WarmupStep... steps) {
+    return new WarmupRunner(
+        properties, new WarmupCorpus(properties), state, new UnifiedDiffParser(), List.of(steps));
+  }
+
+  @Nested
+  @DisplayName("Corpus")
+  final class Corpus {
+
+    @Test
+    @DisplayName("should_load_bundled_diffs_with_their_responses")
+    void should_load_bundled_diffs_with_their_responses() {
+      final List<WarmupSample> samples = new WarmupCorpus(properties(true, 1)).load();
+
+      assertThat(samples)
+          .extracting(WarmupSample::name)
+          .containsExactly("java-service", "python-module", "typescript-component");
+      assertThat(samples).allMatch(WarmupSample::hasResponse);
+    }
+
+    @Test
+    @DisplayName("should_replay_bundled_corpus_through_review_pipeline")
+    void should_replay_bundled_corpus_through_review_pipeline() {
+      final ObjectMapper objectMapper = new ObjectMapper();
+      final ReviewPipelineWarmupStep pipeline =
+          new ReviewPipelineWarmupStep(
+              new DiffFormatter(), new ReviewResultValidator(objectMapper), objectMapper);
+      final RecordingStep recording = new RecordingStep();
+      final WarmupState state = new WarmupState(properties(true, 2));
+
+      runner(properties(true, 2), state, pipeline, recording).run(null);
+
+      assertThat(recording.calls).hasSize(6);
+      assertThat(recording.files).allMatch(files -> files > 0);
+      assertThat(state.isReady()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Readiness")
+  final class Readiness {
+
+    @Test
+    @DisplayName("should_be_ready_immediately_when_disabled")
+    void should_be_ready_immediately_when_disabled() {
+      final RecordingStep recording = new RecordingStep();
+      final WarmupState state = new WarmupState(properties(false, 5));
+
+      assertThat(state.isReady()).isTrue();
+      runner(properties(false, 5), state, recording).run(null);
+
+      assertThat(recording.calls).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_drop_failing_step_and_still_become_ready")
+    void should_drop_failing_step_and_still_become_ready() {
+      final RecordingStep recording = new RecordingStep();
+      final FailingStep failing = new FailingStep();
+      final WarmupState state = new WarmupState(properties(true, 3));
+
+      assertThat(state.isReady()).isFalse();
+      runner(properties(true, 3), state, failing, recording).run(null);
+
+      assertThat(failing.calls).isEqualTo(1);
+      assertThat(recording.calls).hasSize(9);
+      assertThat(state.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should_stop_when_time_budget_is_spent")
+    void should_stop_when_time_budget_is_spent() {
+      final WarmupProperties properties = new WarmupProperties(true, 100, Duration.ZERO, CORPUS);
+      final RecordingStep recording = new RecordingStep();
+      final WarmupState state = new WarmupState(properties);
+
+      runner(properties, state, recording).run(null);
+
+      assertThat(recording.calls).isEmpty();
+      assertThat(state.isReady()).isTrue();
+    }
+  }
+
+  private static final class RecordingStep implements WarmupStep {
+
+    private final List<String> calls = new ArrayList<>();
+    private final List<Integer> files = new ArrayList<>();
+
+    @Override
+    public String name() {
+      return "recording";
+    }
+
+    @Override
+    public void exercise(final WarmupSample sample, final GitDiffDocument diff) {
+      calls.add(sample.name());
+      files.add(diff.files.size());
+    }
+  }
+
+  private static final class FailingStep implements WarmupStep {
+
+    private int calls;
+
+    @Override
+    public String name() {
+      return "failing";
+    }
+
+    @Override
+    public void exercise(final WarmupSample sample, final GitDiffDocument diff) {
+      calls++;
+      throw new IllegalStateException("boom");
+    }
+  }
+}
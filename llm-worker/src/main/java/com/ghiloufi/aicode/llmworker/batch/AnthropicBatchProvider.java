@@ -0,0 +1,149 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "llm.batch.provider", havingValue = "anthropic")
+public class AnthropicBatchProvider implements BatchProvider {
+
+  private static final String BASE_URL = "https://api.anthropic.com/v1";
+  private static final String API_VERSION = "2023-06-01";
+
+  private final RestClient client;
+  private final ObjectMapper objectMapper;
+  private final String model;
+  private final int maxOutputTokens;
+
+  public AnthropicBatchProvider(
+      final ProviderProperties providerProperties,
+      final BatchProperties batchProperties,
+      final ObjectMapper objectMapper) {
+    final ProviderProperties.AnthropicProperties anthropic = providerProperties.getAnthropic();
+    this.client =
+        RestClient.builder()
+            .baseUrl(BASE_URL)
+            .defaultHeader("x-api-key", anthropic.getApiKey())
+            .defaultHeader("anthropic-version", API_VERSION)
+            .build();
+    this.objectMapper = objectMapper;
+    this.model = anthropic.getModel();
+    this.maxOutputTokens = batchProperties.getMaxOutputTokens();
+    log.info("Anthropic batch provider initialized (model={})", model);
+  }
+
+  @Override
+  public String name() {
+    return "anthropic";
+  }
+
+  @Override
+  public String submit(final List<BatchItem> items) {
+    final List<Map<String, Object>> requests =
+        items.stream()
+            .map(
+                item ->
+                    Map.<String, Object>of(
+                        "custom_id",
+                        item.customId(),
+                        "params",
+                        Map.of(
+                            "model",
+                            model,
+                            "max_tokens",
+                            maxOutputTokens,
+                            "system",
+                            item.systemPrompt(),
+                            "messages",
+                            List.of(Map.of("role", "user", "content", item.userPrompt())))))
+            .toList();
+    final JsonNode batch =
+        client
+            .post()
+            .uri("/messages/batches")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("requests", requests))
+            .retrieve()
+            .body(JsonNode.class);
+    return batch.path("id").asText();
+  }
+
+  @Override
+  public BatchStatus status(final String batchId) {
+    final String status = fetchBatch(batchId).path("processing_status").asText();
+    return "ended".equals(status) ? BatchStatus.COMPLETED : BatchStatus.IN_PROGRESS;
+  }
+
+  @Override
+  public List<BatchItemResult> results(final String batchId) {
+    final String resultsUrl = fetchBatch(batchId).path("results_url").asText(null);
+    if (resultsUrl == null) {
+      return List.of();
+    }
+    final String jsonl = client.get().uri(resultsUrl).retrieve().body(String.class);
+    final List<BatchItemResult> results = new ArrayList<>();
+    if (jsonl == null) {
+      return results;
+    }
+    for (final String line : jsonl.split("\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        results.add(toResult(objectMapper.readTree(line)));
+      } catch (final JsonProcessingException e) {
+        log.warn("Skipping unparseable Anthropic batch result line: {}", e.getMessage());
+      }
+    }
+    return results;
+  }
+
+  private JsonNode fetchBatch(final String batchId) {
+    return client.get().uri("/messages/batches/{id}", batchId).retrieve().body(JsonNode.class);
+  }
+
+  private BatchItemResult toResult(final JsonNode node) {
+    final String customId = node.path("custom_id").asText();
+    final JsonNode result = node.path("result");
+    final String type = result.path("type").asText();
+    if (!"succeeded".equals(type)) {
+      final String message = result.path("error").path("error").path("message").asText(type);
+      return BatchItemResult.failure(customId, message);
+    }
+    final StringBuilder text = new StringBuilder();
+    for (final JsonNode block : result.path("message").path("content")) {
+      if ("text".equals(block.path("type").asText())) {
+        text.append(block.path("text").asText());
+      }
+    }
+    return BatchItemResult.success(
+        customId, text.toString(), usage(result.path("message").path("usage")));
+  }
+
+  private static LlmUsage usage(final JsonNode usage) {
+    if (usage.isMissingNode() || usage.isNull()) {
+      return null;
+    }
+    final long cacheRead = usage.path("cache_read_input_tokens").asLong();
+    return new LlmUsage(
+        usage.path("input_tokens").asLong()
+            + cacheRead
+            + usage.path("cache_creation_input_tokens").asLong(),
+        usage.path("output_tokens").asLong(),
+        cacheRead,
+        1);
+  }
+}
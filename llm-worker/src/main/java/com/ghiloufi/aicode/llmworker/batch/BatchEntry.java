@@ -0,0 +1,5 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+
+public record BatchEntry(AsyncReviewRequest request, int filesAnalyzed, long submittedAt) {}
@@ -0,0 +1,3 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+public record BatchItem(String customId, String systemPrompt, String userPrompt) {}
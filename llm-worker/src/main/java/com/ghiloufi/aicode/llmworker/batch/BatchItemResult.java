@@ -0,0 +1,25 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+
+public record BatchItemResult(String customId, String content, String error, LlmUsage usage) {
+
+  public static BatchItemResult success(final String customId, final String content) {
+    return success(customId, content, null);
+  }
+
+  public static BatchItemResult success(
+      final String customId, final String content, final LlmUsage usage) {
+    return new BatchItemResult(customId, content, null, usage);
+  }
+
+  public static BatchItemResult failure(final String customId, final String error) {
+    return new BatchItemResult(customId, null, error, null);
+  }
+
+  @JsonIgnore
+  public boolean isSuccess() {
+    return error == null && content != null;
+  }
+}
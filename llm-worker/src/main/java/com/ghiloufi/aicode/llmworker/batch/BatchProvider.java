@@ -0,0 +1,14 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import java.util.List;
+
+public interface BatchProvider {
+
+  String name();
+
+  String submit(List<BatchItem> items);
+
+  BatchStatus status(String batchId);
+
+  List<BatchItemResult> results(String batchId);
+}
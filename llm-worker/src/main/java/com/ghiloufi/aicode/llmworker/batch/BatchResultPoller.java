@@ -0,0 +1,164 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewProcessor;
+import com.ghiloufi.aicode.llmworker.publisher.ReviewResultPublisher;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "llm.batch.enabled", havingValue = "true")
+public class BatchResultPoller {
+
+  private final StringRedisTemplate redisTemplate;
+  private final BatchProvider batchProvider;
+  private final ReviewProcessor reviewProcessor;
+  private final ReviewResultPublisher resultPublisher;
+  private final BatchProperties properties;
+  private final ObjectMapper objectMapper;
+  private final RedisScript<Long> releaseLockScript;
+
+  public BatchResultPoller(
+      final StringRedisTemplate redisTemplate,
+      final BatchProvider batchProvider,
+      final ReviewProcessor reviewProcessor,
+      final ReviewResultPublisher resultPublisher,
+      final BatchProperties properties,
+      final ObjectMapper objectMapper) {
+    this.redisTemplate = redisTemplate;
+    this.batchProvider = batchProvider;
+    this.reviewProcessor = reviewProcessor;
+    this.resultPublisher = resultPublisher;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.releaseLockScript =
+        RedisScript.of(new ClassPathResource("redis/release-lock.lua"), Long.class);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${llm.batch.poll-interval:30s}",
+      initialDelayString = "${llm.batch.poll-interval:30s}")
+  public void poll() {
+    final Set<String> batchIds = redisTemplate.opsForSet().members(properties.activeBatchesKey());
+    if (batchIds == null || batchIds.isEmpty()) {
+      return;
+    }
+    for (final String batchId : batchIds) {
+      try {
+        pollBatch(batchId);
+      } catch (final Exception e) {
+        log.error("Failed to poll batch {}", batchId, e);
+      }
+    }
+  }
+
+  void pollBatch(final String batchId) {
+    final String lockKey = properties.lockKey(batchId);
+    final String token = UUID.randomUUID().toString();
+    final Boolean locked =
+        redisTemplate.opsForValue().setIfAbsent(lockKey, token, properties.getLockTtl());
+    if (!Boolean.TRUE.equals(locked)) {
+      return;
+    }
+
+    try {
+      final BatchStatus status = batchProvider.status(batchId);
+      if (!status.isTerminal()) {
+        log.debug("Batch {} still in progress", batchId);
+        return;
+      }
+
+      final Map<String, BatchEntry> entries = loadEntries(batchId);
+      final Map<String, BatchItemResult> results = new HashMap<>();
+      if (status == BatchStatus.COMPLETED) {
+        batchProvider.results(batchId).forEach(result -> results.put(result.customId(), result));
+      }
+
+      entries.forEach((requestId, entry) -> complete(requestId, entry, results.get(requestId)));
+
+      redisTemplate.opsForSet().remove(properties.activeBatchesKey(), batchId);
+      redisTemplate.delete(properties.requestsKey(batchId));
+      log.info(
+          "Batch {} finished with status {}: {} reviews, {} results",
+          batchId,
+          status,
+          entries.size(),
+          results.size());
+    } finally {
+      redisTemplate.execute(releaseLockScript, List.of(lockKey), token);
+    }
+  }
+
+  private Map<String, BatchEntry> loadEntries(final String batchId) {
+    final Map<String, BatchEntry> entries = new HashMap<>();
+    redisTemplate
+        .opsForHash()
+        .entries(properties.requestsKey(batchId))
+        .forEach(
+            (requestId, json) -> {
+              try {
+                entries.put(
+                    requestId.toString(),
+                    objectMapper.readValue(json.toString(), BatchEntry.class));
+              } catch (final Exception e) {
+                log.error("Corrupt batch entry for request {} in batch {}", requestId, batchId, e);
+                resultPublisher.publishError(requestId.toString(), "Corrupt batch entry");
+              }
+            });
+    return entries;
+  }
+
+  private void complete(
+      final String requestId, final BatchEntry entry, final BatchItemResult result) {
+    if (result == null) {
+      resultPublisher.publishError(requestId, "Batch completed without a result for request");
+      return;
+    }
+    if (!result.isSuccess()) {
+      resultPublisher.publishError(requestId, "Batch request failed: " + result.error());
+      return;
+    }
+
+    try {
+      final ReviewResultSchema schema =
+          objectMapper.readValue(stripCodeFence(result.content()), ReviewResultSchema.class);
+      final long processingTime = System.currentTimeMillis() - entry.submittedAt();
+      reviewProcessor.publishCompleted(
+          requestId,
+          entry.request(),
+          schema,
+          entry.filesAnalyzed(),
+          processingTime,
+          result.usage());
+    } catch (final Exception e) {
+      log.error("Failed to parse batch result for request {}", requestId, e);
+      resultPublisher.publishError(requestId, "Invalid batch result: " + e.getMessage());
+    }
+  }
+
+  static String stripCodeFence(final String content) {
+    final String trimmed = content.strip();
+    if (!trimmed.startsWith("```")) {
+      return trimmed;
+    }
+    final int firstNewline = trimmed.indexOf('\n');
+    final int closingFence = trimmed.lastIndexOf("```");
+    if (firstNewline < 0 || closingFence <= firstNewline) {
+      return trimmed;
+    }
+    return trimmed.substring(firstNewline + 1, closingFence).strip();
+  }
+}
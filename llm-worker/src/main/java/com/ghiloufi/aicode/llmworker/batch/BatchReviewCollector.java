@@ -0,0 +1,282 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.config.WorkerProperties;
+import com.ghiloufi.aicode.llmworker.publisher.ReviewResultPublisher;
+import com.ghiloufi.aicode.llmworker.service.AsyncReviewOrchestrator;
+import com.ghiloufi.aicode.llmworker.service.PreparedReview;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "llm.batch.enabled", havingValue = "true")
+public class BatchReviewCollector {
+
+  private static final String PAYLOAD_FIELD = "payload";
+  private static final String REQUEST_ID_FIELD = "requestId";
+
+  private final StringRedisTemplate redisTemplate;
+  private final AsyncReviewOrchestrator orchestrator;
+  private final BatchProvider batchProvider;
+  private final ReviewResultPublisher resultPublisher;
+  private final BatchProperties properties;
+  private final WorkerProperties workerProperties;
+  private final ObjectMapper objectMapper;
+  private final List<PendingItem> buffer = new ArrayList<>();
+  private long oldestBufferedAt;
+  private boolean recovered;
+  private long nextClaimAt;
+
+  public BatchReviewCollector(
+      final StringRedisTemplate redisTemplate,
+      final AsyncReviewOrchestrator orchestrator,
+      final BatchProvider batchProvider,
+      final ReviewResultPublisher resultPublisher,
+      final BatchProperties properties,
+      final WorkerProperties workerProperties,
+      final ObjectMapper objectMapper) {
+    this.redisTemplate = redisTemplate;
+    this.orchestrator = orchestrator;
+    this.batchProvider = batchProvider;
+    this.resultPublisher = resultPublisher;
+    this.properties = properties;
+    this.workerProperties = workerProperties;
+    this.objectMapper = objectMapper;
+  }
+
+  @PostConstruct
+  public void init() {
+    try {
+      redisTemplate
+          .opsForStream()
+          .createGroup(
+              properties.getStreamKey(), ReadOffset.from("0"), properties.getConsumerGroup());
+      log.info(
+          "Created batch consumer group '{}' on stream '{}'",
+          properties.getConsumerGroup(),
+          properties.getStreamKey());
+    } catch (final Exception e) {
+      final Throwable cause = e.getCause();
+      if (cause == null
+          || cause.getMessage() == null
+          || !cause.getMessage().contains("BUSYGROUP")) {
+        throw new IllegalStateException("Cannot initialize batch consumer group", e);
+      }
+    }
+    log.info(
+        "BatchReviewCollector initialized: provider={}, stream={}, maxBatchSize={}, maxBatchAge={}",
+        batchProvider.name(),
+        properties.getStreamKey(),
+        properties.getMaxBatchSize(),
+        properties.getMaxBatchAge());
+  }
+
+  @Scheduled(fixedDelay = 1000)
+  public void collect() {
+    final long now = System.currentTimeMillis();
+    try {
+      if (!recovered) {
+        recoverOwnPending();
+        recovered = true;
+      }
+      if (now >= nextClaimAt) {
+        claimAbandoned();
+        nextClaimAt = now + properties.getClaimIdle().toMillis();
+      }
+      final int capacity = properties.getMaxBuffered() - bufferedCount();
+      if (capacity > 0) {
+        read(Math.min(capacity, properties.getMaxBatchSize()), ReadOffset.lastConsumed())
+            .forEach(this::stage);
+      } else {
+        log.warn(
+            "Batch buffer full ({} reviews), pausing bulk stream reads",
+            properties.getMaxBuffered());
+      }
+    } catch (final Exception e) {
+      log.error("Error consuming bulk review requests", e);
+    }
+    flushIfDue(now);
+  }
+
+  private void recoverOwnPending() {
+    String lastId = "0";
+    while (bufferedCount() < properties.getMaxBuffered()) {
+      final List<MapRecord<String, Object, Object>> pending =
+          read(properties.getMaxBatchSize(), ReadOffset.from(lastId));
+      if (pending.isEmpty()) {
+        return;
+      }
+      pending.forEach(this::stage);
+      lastId = pending.get(pending.size() - 1).getId().getValue();
+      log.info("Recovered {} pending bulk reviews for {}", pending.size(), consumerName());
+    }
+  }
+
+  private void claimAbandoned() {
+    final PendingMessages pending =
+        redisTemplate
+            .opsForStream()
+            .pending(
+                properties.getStreamKey(),
+                properties.getConsumerGroup(),
+                Range.unbounded(),
+                properties.getMaxBuffered());
+    final RecordId[] abandoned =
+        pending.stream()
+            .filter(message -> !consumerName().equals(message.getConsumerName()))
+            .filter(
+                message ->
+                    message.getElapsedTimeSinceLastDelivery().compareTo(properties.getClaimIdle())
+                        >= 0)
+            .map(PendingMessage::getId)
+            .toArray(RecordId[]::new);
+    if (abandoned.length == 0) {
+      return;
+    }
+    final List<MapRecord<String, Object, Object>> claimed =
+        redisTemplate
+            .opsForStream()
+            .claim(
+                properties.getStreamKey(),
+                properties.getConsumerGroup(),
+                consumerName(),
+                properties.getClaimIdle(),
+                abandoned);
+    log.info("Claimed {} abandoned bulk reviews", claimed.size());
+    claimed.forEach(this::stage);
+  }
+
+  private List<MapRecord<String, Object, Object>> read(final int count, final ReadOffset offset) {
+    final List<MapRecord<String, Object, Object>> messages =
+        redisTemplate
+            .opsForStream()
+            .read(
+                Consumer.from(properties.getConsumerGroup(), consumerName()),
+                StreamReadOptions.empty().count(count).block(Duration.ofSeconds(1)),
+                StreamOffset.create(properties.getStreamKey(), offset));
+    return messages != null ? messages : List.of();
+  }
+
+  private String consumerName() {
+    return workerProperties.getConsumerId();
+  }
+
+  synchronized void stage(final MapRecord<String, Object, Object> message) {
+    if (buffer.stream().anyMatch(item -> item.messageId().equals(message.getId()))) {
+      return;
+    }
+    final Object requestId = message.getValue().get(REQUEST_ID_FIELD);
+    final Object payload = message.getValue().get(PAYLOAD_FIELD);
+    if (requestId == null || payload == null) {
+      log.warn("Dropping malformed bulk review message {}", message.getId());
+      acknowledge(List.of(message.getId()));
+      return;
+    }
+
+    try {
+      final AsyncReviewRequest request =
+          objectMapper.readValue(payload.toString(), AsyncReviewRequest.class);
+      final PreparedReview prepared = orchestrator.prepareReview(request);
+      if (buffer.isEmpty()) {
+        oldestBufferedAt = System.currentTimeMillis();
+      }
+      buffer.add(new PendingItem(message.getId(), requestId.toString(), request, prepared));
+    } catch (final Exception e) {
+      log.error("Failed to prepare bulk review {}", requestId, e);
+      resultPublisher.publishError(requestId.toString(), e.getMessage());
+      acknowledge(List.of(message.getId()));
+    }
+  }
+
+  synchronized void flushIfDue(final long now) {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    final boolean full = buffer.size() >= properties.getMaxBatchSize();
+    final boolean aged = now - oldestBufferedAt >= properties.getMaxBatchAge().toMillis();
+    if (full || aged) {
+      flush();
+    }
+  }
+
+  synchronized int bufferedCount() {
+    return buffer.size();
+  }
+
+  private void flush() {
+    final List<PendingItem> items =
+        List.copyOf(buffer.subList(0, Math.min(buffer.size(), properties.getMaxBatchSize())));
+    try {
+      final String batchId =
+          batchProvider.submit(
+              items.stream()
+                  .map(
+                      item ->
+                          new BatchItem(
+                              item.requestId(),
+                              item.prepared().prompt().systemPrompt(),
+                              item.prepared().prompt().userPrompt()))
+                  .toList());
+      track(batchId, items);
+      acknowledge(items.stream().map(PendingItem::messageId).toList());
+      buffer.subList(0, items.size()).clear();
+      oldestBufferedAt = System.currentTimeMillis();
+      log.info(
+          "Submitted batch {} with {} reviews via {}", batchId, items.size(), batchProvider.name());
+    } catch (final Exception e) {
+      log.error(
+          "Failed to submit batch of {} reviews via {}, will retry",
+          items.size(),
+          batchProvider.name(),
+          e);
+    }
+  }
+
+  private void track(final String batchId, final List<PendingItem> items)
+      throws JsonProcessingException {
+    final long submittedAt = System.currentTimeMillis();
+    final Map<String, String> entries = new HashMap<>();
+    for (final PendingItem item : items) {
+      entries.put(
+          item.requestId(),
+          objectMapper.writeValueAsString(
+              new BatchEntry(item.request(), item.prepared().filesAnalyzed(), submittedAt)));
+    }
+    redisTemplate.opsForHash().putAll(properties.requestsKey(batchId), entries);
+    redisTemplate.opsForSet().add(properties.activeBatchesKey(), batchId);
+  }
+
+  private void acknowledge(final List<RecordId> messageIds) {
+    redisTemplate
+        .opsForStream()
+        .acknowledge(
+            properties.getStreamKey(),
+            properties.getConsumerGroup(),
+            messageIds.toArray(RecordId[]::new));
+  }
+
+  private record PendingItem(
+      RecordId messageId, String requestId, AsyncReviewRequest request, PreparedReview prepared) {}
+}
@@ -0,0 +1,11 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+public enum BatchStatus {
+  IN_PROGRESS,
+  COMPLETED,
+  FAILED;
+
+  public boolean isTerminal() {
+    return this != IN_PROGRESS;
+  }
+}
@@ -0,0 +1,145 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.usage.TokenUsageMapper;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "llm.batch.provider", havingValue = "file", matchIfMissing = true)
+public class FileBatchProvider implements BatchProvider {
+
+  static final String INPUT_FILE = "input.jsonl";
+  static final String OUTPUT_FILE = "output.jsonl";
+  static final String FAILED_FILE = "failed";
+
+  private final Path directory;
+  private final boolean autoComplete;
+  private final ObjectMapper objectMapper;
+  private final ObjectProvider<ChatModel> chatModel;
+
+  public FileBatchProvider(
+      final BatchProperties properties,
+      final ObjectMapper objectMapper,
+      final ObjectProvider<ChatModel> chatModel) {
+    this.directory = Path.of(properties.getFile().getDirectory());
+    this.autoComplete = properties.getFile().isAutoComplete();
+    this.objectMapper = objectMapper;
+    this.chatModel = chatModel;
+  }
+
+  @Override
+  public String name() {
+    return "file";
+  }
+
+  @Override
+  public String submit(final List<BatchItem> items) {
+    final String batchId = "batch_" + UUID.randomUUID().toString().replace("-", "");
+    final Path batchDir = directory.resolve(batchId);
+    try {
+      Files.createDirectories(batchDir);
+      final List<String> lines = new ArrayList<>();
+      for (final BatchItem item : items) {
+        lines.add(objectMapper.writeValueAsString(item));
+      }
+      Files.write(batchDir.resolve(INPUT_FILE), lines, StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to write batch " + batchId, e);
+    }
+    log.info("Wrote file batch {} with {} items to {}", batchId, items.size(), batchDir);
+    return batchId;
+  }
+
+  @Override
+  public BatchStatus status(final String batchId) {
+    final Path batchDir = directory.resolve(batchId);
+    if (Files.exists(batchDir.resolve(FAILED_FILE))) {
+      return BatchStatus.FAILED;
+    }
+    if (Files.exists(batchDir.resolve(OUTPUT_FILE))) {
+      return BatchStatus.COMPLETED;
+    }
+    if (!Files.exists(batchDir.resolve(INPUT_FILE))) {
+      return BatchStatus.FAILED;
+    }
+    if (autoComplete) {
+      complete(batchDir);
+      return BatchStatus.COMPLETED;
+    }
+    return BatchStatus.IN_PROGRESS;
+  }
+
+  @Override
+  public List<BatchItemResult> results(final String batchId) {
+    final Path output = directory.resolve(batchId).resolve(OUTPUT_FILE);
+    try {
+      final List<BatchItemResult> results = new ArrayList<>();
+      for (final String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+        if (!line.isBlank()) {
+          results.add(objectMapper.readValue(line, BatchItemResult.class));
+        }
+      }
+      return results;
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to read results of batch " + batchId, e);
+    }
+  }
+
+  private void complete(final Path batchDir) {
+    final ChatModel model = chatModel.getObject();
+    final List<String> output = new ArrayList<>();
+    try {
+      for (final String line : Files.readAllLines(batchDir.resolve(INPUT_FILE))) {
+        if (line.isBlank()) {
+          continue;
+        }
+        final BatchItem item = objectMapper.readValue(line, BatchItem.class);
+        output.add(objectMapper.writeValueAsString(answer(model, item)));
+      }
+      final Path partial = batchDir.resolve(OUTPUT_FILE + ".tmp");
+      Files.write(partial, output, StandardCharsets.UTF_8);
+      Files.move(partial, batchDir.resolve(OUTPUT_FILE), StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to complete batch in " + batchDir, e);
+    }
+    log.info("Completed file batch {} locally ({} items)", batchDir.getFileName(), output.size());
+  }
+
+  private BatchItemResult answer(final ChatModel model, final BatchItem item)
+      throws JsonProcessingException {
+    try {
+      final ChatRequest request =
+          ChatRequest.builder()
+              .messages(
+                  SystemMessage.from(item.systemPrompt()), UserMessage.from(item.userPrompt()))
+              .build();
+      final ChatResponse response = model.chat(request);
+      return BatchItemResult.success(
+          item.customId(),
+          response.aiMessage().text(),
+          TokenUsageMapper.toLlmUsage(response.tokenUsage()));
+    } catch (final RuntimeException e) {
+      return BatchItemResult.failure(item.customId(), e.getMessage());
+    }
+  }
+}
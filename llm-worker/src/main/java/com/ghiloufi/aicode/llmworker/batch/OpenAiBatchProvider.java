@@ -0,0 +1,237 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import dev.langchain4j.internal.JsonSchemaElementUtils;
+import dev.langchain4j.model.chat.request.json.JsonSchema;
+import dev.langchain4j.service.output.JsonSchemas;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "llm.batch.provider", havingValue = "openai")
+public class OpenAiBatchProvider implements BatchProvider {
+
+  private static final String DEFAULT_BASE_URL = "https://api.openai.com/v1";
+  private static final String ENDPOINT = "/v1/chat/completions";
+
+  private final RestClient client;
+  private final ObjectMapper objectMapper;
+  private final String model;
+  private final int maxOutputTokens;
+  private final String completionWindow;
+  private final Map<String, Object> responseFormat;
+
+  public OpenAiBatchProvider(
+      final ProviderProperties providerProperties,
+      final BatchProperties batchProperties,
+      final ObjectMapper objectMapper) {
+    final ProviderProperties.OpenAiProperties openai = providerProperties.getOpenai();
+    final String baseUrl =
+        openai.getBaseUrl() != null && !openai.getBaseUrl().isBlank()
+            ? openai.getBaseUrl()
+            : DEFAULT_BASE_URL;
+    this.client =
+        RestClient.builder()
+            .baseUrl(baseUrl)
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openai.getApiKey())
+            .build();
+    this.objectMapper = objectMapper;
+    this.model = openai.getModel();
+    this.maxOutputTokens = batchProperties.getMaxOutputTokens();
+    this.completionWindow = batchProperties.getCompletionWindow();
+    this.responseFormat = reviewResponseFormat();
+    log.info("OpenAI batch provider initialized: {} (model={})", baseUrl, model);
+  }
+
+  @Override
+  public String name() {
+    return "openai";
+  }
+
+  @Override
+  public String submit(final List<BatchItem> items) {
+    final String inputFileId = upload(toJsonl(items));
+    final JsonNode batch =
+        client
+            .post()
+            .uri("/batches")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(
+                Map.of(
+                    "input_file_id", inputFileId,
+                    "endpoint", ENDPOINT,
+                    "completion_window", completionWindow))
+            .retrieve()
+            .body(JsonNode.class);
+    return batch.path("id").asText();
+  }
+
+  @Override
+  public BatchStatus status(final String batchId) {
+    final String status = fetchBatch(batchId).path("status").asText();
+    return switch (status) {
+      case "completed" -> BatchStatus.COMPLETED;
+      case "failed", "expired", "cancelled" -> BatchStatus.FAILED;
+      default -> BatchStatus.IN_PROGRESS;
+    };
+  }
+
+  @Override
+  public List<BatchItemResult> results(final String batchId) {
+    final JsonNode batch = fetchBatch(batchId);
+    final List<BatchItemResult> results = new ArrayList<>();
+    for (final String field : List.of("output_file_id", "error_file_id")) {
+      final String fileId = batch.path(field).asText(null);
+      if (fileId != null) {
+        parseResults(download(fileId), results);
+      }
+    }
+    return results;
+  }
+
+  private JsonNode fetchBatch(final String batchId) {
+    return client.get().uri("/batches/{id}", batchId).retrieve().body(JsonNode.class);
+  }
+
+  private String upload(final String jsonl) {
+    final MultipartBodyBuilder body = new MultipartBodyBuilder();
+    body.part("purpose", "batch");
+    body.part(
+        "file",
+        new ByteArrayResource(jsonl.getBytes(StandardCharsets.UTF_8)) {
+          @Override
+          public String getFilename() {
+            return "batch-input.jsonl";
+          }
+        });
+    final JsonNode file =
+        client
+            .post()
+            .uri("/files")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(body.build())
+            .retrieve()
+            .body(JsonNode.class);
+    return file.path("id").asText();
+  }
+
+  private String download(final String fileId) {
+    return client.get().uri("/files/{id}/content", fileId).retrieve().body(String.class);
+  }
+
+  private static Map<String, Object> reviewResponseFormat() {
+    final JsonSchema schema =
+        JsonSchemas.jsonSchemaFrom(ReviewResultSchema.class)
+            .orElseThrow(() -> new IllegalStateException("No JSON schema for review results"));
+    return Map.of(
+        "type",
+        "json_schema",
+        "json_schema",
+        Map.of(
+            "name",
+            schema.name(),
+            "strict",
+            true,
+            "schema",
+            JsonSchemaElementUtils.toMap(schema.rootElement(), true)));
+  }
+
+  private String toJsonl(final List<BatchItem> items) {
+    final StringBuilder jsonl = new StringBuilder();
+    for (final BatchItem item : items) {
+      final Map<String, Object> body =
+          Map.of(
+              "model",
+              model,
+              "max_tokens",
+              maxOutputTokens,
+              "response_format",
+              responseFormat,
+              "messages",
+              List.of(
+                  Map.of("role", "system", "content", item.systemPrompt()),
+                  Map.of("role", "user", "content", item.userPrompt())));
+      try {
+        jsonl
+            .append(
+                objectMapper.writeValueAsString(
+                    Map.of(
+                        "custom_id",
+                        item.customId(),
+                        "method",
+                        "POST",
+                        "url",
+                        ENDPOINT,
+                        "body",
+                        body)))
+            .append('\n');
+      } catch (final JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize batch item " + item.customId(), e);
+      }
+    }
+    return jsonl.toString();
+  }
+
+  private void parseResults(final String jsonl, final List<BatchItemResult> results) {
+    if (jsonl == null) {
+      return;
+    }
+    for (final String line : jsonl.split("\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        final JsonNode node = objectMapper.readTree(line);
+        final String customId = node.path("custom_id").asText();
+        final JsonNode response = node.path("response");
+        if (!node.path("error").isNull() && !node.path("error").isMissingNode()) {
+          results.add(
+              BatchItemResult.failure(customId, node.path("error").path("message").asText()));
+        } else if (response.path("status_code").asInt() != 200) {
+          results.add(
+              BatchItemResult.failure(
+                  customId,
+                  "HTTP " + response.path("status_code").asInt() + ": " + response.path("body")));
+        } else {
+          final JsonNode body = response.path("body");
+          results.add(
+              BatchItemResult.success(
+                  customId,
+                  body.path("choices").path(0).path("message").path("content").asText(),
+                  usage(body.path("usage"))));
+        }
+      } catch (final JsonProcessingException e) {
+        log.warn("Skipping unparseable OpenAI batch result line: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static LlmUsage usage(final JsonNode usage) {
+    if (usage.isMissingNode() || usage.isNull()) {
+      return null;
+    }
+    final long input = usage.path("prompt_tokens").asLong();
+    return new LlmUsage(
+        input,
+        usage.path("completion_tokens").asLong(),
+        Math.min(usage.path("prompt_tokens_details").path("cached_tokens").asLong(), input),
+        1);
+  }
+}
@@ -0,0 +1,51 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.Optional;
+import java.util.Set;
+
+public class CachingChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final ResponseCache cache;
+  private final String modelKey;
+
+  public CachingChatModel(
+      final ChatModel delegate, final ResponseCache cache, final String modelKey) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.modelKey = modelKey;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    if (ResponseCacheControl.isBypassed()) {
+      cache.recordBypass();
+      return delegate.chat(request);
+    }
+
+    final String key = cache.key(modelKey, request);
+    final Optional<ChatResponse> cached = cache.get(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    final ChatResponse response = delegate.chat(request);
+    cache.put(key, response);
+    return response;
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+}
@@ -0,0 +1,122 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatResponseCodec {
+
+  private final ObjectMapper objectMapper;
+
+  public Optional<String> encode(final ChatResponse response) {
+    if (!isCacheable(response)) {
+      return Optional.empty();
+    }
+    final TokenUsage usage = response.tokenUsage();
+    final StoredResponse stored =
+        new StoredResponse(
+            response.aiMessage().text(),
+            response.modelName(),
+            response.finishReason() != null ? response.finishReason().name() : null,
+            usage != null ? usage.inputTokenCount() : null,
+            usage != null ? usage.outputTokenCount() : null);
+    try {
+      return Optional.of(objectMapper.writeValueAsString(stored));
+    } catch (final JsonProcessingException e) {
+      log.warn("Failed to encode chat response: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public Optional<ChatResponse> decode(final String payload) {
+    if (payload == null || payload.isBlank()) {
+      return Optional.empty();
+    }
+    try {
+      final StoredResponse stored = objectMapper.readValue(payload, StoredResponse.class);
+      return Optional.of(
+          ChatResponse.builder()
+              .aiMessage(AiMessage.from(stored.text()))
+              .modelName(stored.modelName())
+              .finishReason(
+                  stored.finishReason() != null
+                      ? FinishReason.valueOf(stored.finishReason())
+                      : null)
+              .tokenUsage(
+                  stored.inputTokens() != null || stored.outputTokens() != null
+                      ? new TokenUsage(stored.inputTokens(), stored.outputTokens())
+                      : null)
+              .build());
+    } catch (final JsonProcessingException | IllegalArgumentException e) {
+      log.warn("Failed to decode cached chat response: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public Optional<String> encodeCompressed(final ChatResponse response) {
+    return encode(response).map(ChatResponseCodec::gzip);
+  }
+
+  public Optional<ChatResponse> decodeCompressed(final String payload) {
+    if (payload == null || payload.isBlank()) {
+      return Optional.empty();
+    }
+    try {
+      return decode(gunzip(payload));
+    } catch (final IllegalArgumentException | UncheckedIOException e) {
+      log.warn("Failed to decompress cached chat response: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private static String gzip(final String json) {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getEncoder().encodeToString(buffer.toByteArray());
+  }
+
+  private static String gunzip(final String payload) {
+    final byte[] compressed = Base64.getDecoder().decode(payload);
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static boolean isCacheable(final ChatResponse response) {
+    return response != null
+        && response.aiMessage() != null
+        && response.aiMessage().text() != null
+        && !response.aiMessage().hasToolExecutionRequests();
+  }
+
+  record StoredResponse(
+      String text,
+      String modelName,
+      String finishReason,
+      Integer inputTokens,
+      Integer outputTokens) {}
+}
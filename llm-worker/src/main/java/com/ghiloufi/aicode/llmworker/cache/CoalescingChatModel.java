@@ -0,0 +1,37 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.Set;
+
+public class CoalescingChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final PromptCoalescer coalescer;
+  private final String modelKey;
+
+  public CoalescingChatModel(
+      final ChatModel delegate, final PromptCoalescer coalescer, final String modelKey) {
+    this.delegate = delegate;
+    this.coalescer = coalescer;
+    this.modelKey = modelKey;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    return coalescer.execute(PromptFingerprint.of(modelKey, request), () -> delegate.chat(request));
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+}
@@ -0,0 +1,202 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import com.ghiloufi.aicode.llmworker.config.CoalescingProperties;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PromptCoalescer implements MessageListener {
+
+  private final StringRedisTemplate redisTemplate;
+  private final CoalescingProperties properties;
+  private final ChatResponseCodec codec;
+  private final MeterRegistry meterRegistry;
+  private final RedisScript<Long> releaseLockScript;
+  private final Map<String, CompletableFuture<ChatResponse>> inflight = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Void>> remoteSignals = new ConcurrentHashMap<>();
+
+  public PromptCoalescer(
+      final StringRedisTemplate redisTemplate,
+      final CoalescingProperties properties,
+      final ChatResponseCodec codec,
+      final MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.codec = codec;
+    this.meterRegistry = meterRegistry;
+    this.releaseLockScript =
+        RedisScript.of(new ClassPathResource("redis/release-lock.lua"), Long.class);
+  }
+
+  public ChatResponse execute(final String fingerprint, final Supplier<ChatResponse> call) {
+    final CompletableFuture<ChatResponse> mine = new CompletableFuture<>();
+    final CompletableFuture<ChatResponse> existing = inflight.putIfAbsent(fingerprint, mine);
+    if (existing != null) {
+      meterRegistry.counter("llm.coalescing.followers", "scope", "local").increment();
+      log.debug("Joining in-flight LLM call {}", fingerprint);
+      return join(existing);
+    }
+
+    try {
+      final ChatResponse response =
+          properties.isDistributed() ? executeDistributed(fingerprint, call) : call.get();
+      mine.complete(response);
+      return response;
+    } catch (final RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inflight.remove(fingerprint, mine);
+    }
+  }
+
+  @Override
+  public void onMessage(final Message message, final byte[] pattern) {
+    final String fingerprint = new String(message.getBody(), StandardCharsets.UTF_8);
+    final CompletableFuture<Void> signal = remoteSignals.remove(fingerprint);
+    if (signal != null) {
+      signal.complete(null);
+    }
+  }
+
+  int inflightCount() {
+    return inflight.size();
+  }
+
+  int remoteSignalCount() {
+    return remoteSignals.size();
+  }
+
+  private ChatResponse executeDistributed(
+      final String fingerprint, final Supplier<ChatResponse> call) {
+    final String lockKey = properties.getKeyPrefix() + ":" + fingerprint + ":lock";
+    final String resultKey = properties.getKeyPrefix() + ":" + fingerprint + ":result";
+    final long deadline = System.nanoTime() + properties.getFollowTimeout().toNanos();
+
+    try {
+      while (System.nanoTime() < deadline) {
+        final Optional<ChatResponse> published = readResult(resultKey);
+        if (published.isPresent()) {
+          meterRegistry.counter("llm.coalescing.followers", "scope", "remote").increment();
+          log.debug("Reusing result published by another worker for {}", fingerprint);
+          return published.get();
+        }
+
+        final String token = UUID.randomUUID().toString();
+        if (Boolean.TRUE.equals(
+            redisTemplate.opsForValue().setIfAbsent(lockKey, token, properties.getLockTtl()))) {
+          return lead(fingerprint, lockKey, resultKey, token, call);
+        }
+
+        awaitLeader(fingerprint);
+      }
+      log.warn("Timed out following in-flight LLM call {}, calling provider directly", fingerprint);
+    } catch (final LeaderCallException e) {
+      throw e.failure;
+    } catch (final RuntimeException e) {
+      log.warn("Distributed coalescing unavailable for {}: {}", fingerprint, e.getMessage());
+    }
+    return call.get();
+  }
+
+  private ChatResponse lead(
+      final String fingerprint,
+      final String lockKey,
+      final String resultKey,
+      final String token,
+      final Supplier<ChatResponse> call) {
+    meterRegistry.counter("llm.coalescing.leaders").increment();
+    final ChatResponse response;
+    try {
+      response = call.get();
+    } catch (final RuntimeException e) {
+      publishQuietly(fingerprint, lockKey, resultKey, token, null);
+      throw new LeaderCallException(e);
+    }
+    publishQuietly(fingerprint, lockKey, resultKey, token, response);
+    return response;
+  }
+
+  private void publishQuietly(
+      final String fingerprint,
+      final String lockKey,
+      final String resultKey,
+      final String token,
+      final ChatResponse response) {
+    try {
+      if (response != null) {
+        codec
+            .encode(response)
+            .ifPresent(
+                payload ->
+                    redisTemplate.opsForValue().set(resultKey, payload, properties.getResultTtl()));
+      }
+      redisTemplate.execute(releaseLockScript, List.of(lockKey), token);
+      redisTemplate.convertAndSend(properties.channel(), fingerprint);
+    } catch (final RuntimeException e) {
+      log.warn("Failed to publish coalesced result for {}: {}", fingerprint, e.getMessage());
+    }
+  }
+
+  private Optional<ChatResponse> readResult(final String resultKey) {
+    return codec.decode(redisTemplate.opsForValue().get(resultKey));
+  }
+
+  private void awaitLeader(final String fingerprint) {
+    final CompletableFuture<Void> signal =
+        remoteSignals.computeIfAbsent(fingerprint, key -> new CompletableFuture<>());
+    try {
+      signal.get(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException e) {
+      log.trace("No completion signal yet for {}", fingerprint);
+    } catch (final ExecutionException e) {
+      log.trace("Completion signal failed for {}", fingerprint);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for coalesced LLM call", e);
+    } finally {
+      remoteSignals.remove(fingerprint, signal);
+    }
+  }
+
+  private static ChatResponse join(final CompletableFuture<ChatResponse> future) {
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException runtime
+          ? runtime
+          : new IllegalStateException(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for coalesced LLM call", e);
+    }
+  }
+
+  private static final class LeaderCallException extends RuntimeException {
+    private final RuntimeException failure;
+
+    private LeaderCallException(final RuntimeException failure) {
+      super(failure);
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class PromptFingerprint {
+
+  private PromptFingerprint() {}
+
+  public static String of(final String modelKey, final ChatRequest request) {
+    final String parameters = request.parameters() != null ? request.parameters().toString() : "";
+    return sha256(
+        modelKey
+            + "\n"
+            + parameters
+            + "\n"
+            + ChatMessageSerializer.messagesToJson(request.messages()));
+  }
+
+  public static String sha256(final String value) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
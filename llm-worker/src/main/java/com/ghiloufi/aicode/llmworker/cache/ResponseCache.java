@@ -0,0 +1,148 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import com.ghiloufi.aicode.llmworker.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ResponseCache {
+
+  private static final int DELETE_BATCH_SIZE = 500;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ResponseCacheProperties properties;
+  private final ChatResponseCodec codec;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, ChatResponse> localCache;
+
+  public ResponseCache(
+      final StringRedisTemplate redisTemplate,
+      final ResponseCacheProperties properties,
+      final ChatResponseCodec codec,
+      final MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.codec = codec;
+    this.meterRegistry = meterRegistry;
+    this.localCache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getLocalMaxSize())
+            .expireAfterWrite(properties.getLocalTtl())
+            .recordStats()
+            .build();
+    meterRegistry.gaugeMapSize("llm.cache.local.size", List.of(), localCache.asMap());
+  }
+
+  public String key(final String modelKey, final ChatRequest request) {
+    final Double temperature =
+        request.parameters() != null ? request.parameters().temperature() : null;
+    return String.join(
+        ":",
+        properties.getKeyPrefix(),
+        properties.getSchemaVersion(),
+        modelKey,
+        "t" + (temperature != null ? temperature : "default"),
+        PromptFingerprint.of(modelKey, request));
+  }
+
+  public Optional<ChatResponse> get(final String key) {
+    final ChatResponse local = localCache.getIfPresent(key);
+    if (local != null) {
+      recordHit("local", local);
+      return Optional.of(local);
+    }
+
+    try {
+      final Optional<ChatResponse> remote =
+          codec.decodeCompressed(redisTemplate.opsForValue().get(key));
+      if (remote.isPresent()) {
+        localCache.put(key, remote.get());
+        recordHit("redis", remote.get());
+        return remote;
+      }
+    } catch (final RuntimeException e) {
+      log.warn("Response cache lookup failed for {}: {}", key, e.getMessage());
+    }
+
+    meterRegistry.counter("llm.cache.requests", "result", "miss").increment();
+    return Optional.empty();
+  }
+
+  public void put(final String key, final ChatResponse response) {
+    if (!ChatResponseCodec.isCacheable(response)) {
+      return;
+    }
+    localCache.put(key, response);
+    try {
+      codec
+          .encodeCompressed(response)
+          .ifPresent(payload -> redisTemplate.opsForValue().set(key, payload, properties.getTtl()));
+    } catch (final RuntimeException e) {
+      log.warn("Response cache write failed for {}: {}", key, e.getMessage());
+    }
+  }
+
+  public void recordBypass() {
+    meterRegistry.counter("llm.cache.requests", "result", "bypass").increment();
+  }
+
+  public boolean invalidate(final String key) {
+    localCache.invalidate(key);
+    final boolean removed = Boolean.TRUE.equals(redisTemplate.delete(key));
+    log.info("Invalidated cached LLM response {} (present in Redis: {})", key, removed);
+    return removed;
+  }
+
+  public long invalidateAll() {
+    localCache.invalidateAll();
+    long removed = 0;
+    final List<String> batch = new ArrayList<>();
+    final ScanOptions options =
+        ScanOptions.scanOptions().match(properties.getKeyPrefix() + ":*").count(1000).build();
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        batch.add(cursor.next());
+        if (batch.size() >= DELETE_BATCH_SIZE) {
+          removed += deleteBatch(batch);
+        }
+      }
+    }
+    removed += deleteBatch(batch);
+    log.info("Invalidated {} cached LLM responses", removed);
+    return removed;
+  }
+
+  public long localSize() {
+    return localCache.estimatedSize();
+  }
+
+  private long deleteBatch(final List<String> keys) {
+    if (keys.isEmpty()) {
+      return 0;
+    }
+    final Long deleted = redisTemplate.delete(keys);
+    keys.clear();
+    return deleted != null ? deleted : 0;
+  }
+
+  private void recordHit(final String tier, final ChatResponse response) {
+    meterRegistry.counter("llm.cache.requests", "result", "hit", "tier", tier).increment();
+    final TokenUsage usage = response.tokenUsage();
+    if (usage != null && usage.totalTokenCount() != null) {
+      meterRegistry.counter("llm.cache.tokens.saved").increment(usage.totalTokenCount());
+    }
+  }
+}
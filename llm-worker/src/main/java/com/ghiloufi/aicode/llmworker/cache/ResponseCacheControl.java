@@ -0,0 +1,30 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import java.util.function.Supplier;
+
+public final class ResponseCacheControl {
+
+  private static final InheritableThreadLocal<Boolean> BYPASS =
+      new InheritableThreadLocal<>() {
+        @Override
+        protected Boolean initialValue() {
+          return false;
+        }
+      };
+
+  private ResponseCacheControl() {}
+
+  public static <T> T bypassing(final Supplier<T> call) {
+    final boolean previous = BYPASS.get();
+    BYPASS.set(true);
+    try {
+      return call.get();
+    } finally {
+      BYPASS.set(previous);
+    }
+  }
+
+  public static boolean isBypassed() {
+    return BYPASS.get();
+  }
+}
@@ -0,0 +1,38 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import com.ghiloufi.aicode.llmworker.config.ResponseCacheProperties;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "llmcache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+  private final ResponseCache responseCache;
+  private final ResponseCacheProperties properties;
+
+  @ReadOperation
+  public Map<String, Object> status() {
+    return Map.of(
+        "enabled", properties.isEnabled(),
+        "schemaVersion", properties.getSchemaVersion(),
+        "ttl", properties.getTtl().toString(),
+        "localEntries", responseCache.localSize());
+  }
+
+  @DeleteOperation
+  public Map<String, Object> invalidateAll() {
+    return Map.of("invalidated", responseCache.invalidateAll());
+  }
+
+  @DeleteOperation
+  public Map<String, Object> invalidate(@Selector final String key) {
+    return Map.of("key", key, "invalidated", responseCache.invalidate(key));
+  }
+}
@@ -0,0 +1,40 @@
+package com.ghiloufi.aicode.llmworker.checkpoint;
+
+import com.ghiloufi.aicode.core.domain.model.ContextRetrievalResult;
+import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.RepositoryPolicies;
+import com.ghiloufi.aicode.core.domain.model.StructuredTicketAnalysis;
+import com.ghiloufi.aicode.core.domain.model.TicketBusinessContext;
+import com.ghiloufi.aicode.core.domain.model.TicketContext;
+
+public record ContextCheckpoint(
+    ContextRetrievalResult contextResult,
+    PrMetadata prMetadata,
+    TicketBusinessContext ticket,
+    StructuredTicketAnalysis structuredTicket,
+    DiffExpansionResult expansionResult,
+    RepositoryPolicies policies) {
+
+  public static ContextCheckpoint of(
+      final ContextRetrievalResult contextResult,
+      final PrMetadata prMetadata,
+      final TicketContext ticketContext,
+      final DiffExpansionResult expansionResult,
+      final RepositoryPolicies policies) {
+    return new ContextCheckpoint(
+        contextResult,
+        prMetadata,
+        ticketContext instanceof TicketBusinessContext business ? business : null,
+        ticketContext instanceof StructuredTicketAnalysis structured ? structured : null,
+        expansionResult,
+        policies);
+  }
+
+  public TicketContext ticketContext() {
+    if (structuredTicket != null) {
+      return structuredTicket;
+    }
+    return ticket != null ? ticket : TicketContext.empty();
+  }
+}
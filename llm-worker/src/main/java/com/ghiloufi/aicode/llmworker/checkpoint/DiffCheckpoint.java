@@ -0,0 +1,38 @@
+package com.ghiloufi.aicode.llmworker.checkpoint;
+
+import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public record DiffCheckpoint(
+    String revision, GitDiffDocument structuredDiff, String rawDiffText, PrMetadata prMetadata) {
+
+  private static final int REVISION_BYTES = 8;
+
+  public static DiffCheckpoint of(final DiffAnalysisBundle bundle) {
+    return new DiffCheckpoint(
+        revisionOf(bundle.rawDiffText()),
+        bundle.structuredDiff(),
+        bundle.rawDiffText(),
+        bundle.prMetadata());
+  }
+
+  public DiffAnalysisBundle toBundle(final RepositoryIdentifier repositoryIdentifier) {
+    return new DiffAnalysisBundle(repositoryIdentifier, structuredDiff, rawDiffText, prMetadata);
+  }
+
+  static String revisionOf(final String rawDiffText) {
+    try {
+      final byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(rawDiffText.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, REVISION_BYTES);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.ghiloufi.aicode.llmworker.checkpoint;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.config.CheckpointProperties;
+import com.ghiloufi.aicode.llmworker.triage.ReviewTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PipelineCheckpointStore {
+
+  private final StringRedisTemplate redisTemplate;
+  private final CheckpointProperties properties;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  public PipelineCheckpointStore(
+      final StringRedisTemplate redisTemplate,
+      final CheckpointProperties properties,
+      final ObjectMapper objectMapper,
+      final MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.objectMapper = objectMapper.copy();
+    this.objectMapper.setConfig(
+        this.objectMapper
+            .getDeserializationConfig()
+            .without(MapperFeature.USE_GETTERS_AS_SETTERS)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    this.meterRegistry = meterRegistry;
+  }
+
+  public int maxAttempts() {
+    return properties.isEnabled() ? properties.getMaxAttempts() : 1;
+  }
+
+  public Duration retryBackoff(final int attempt) {
+    return properties.getRetryBackoff().multipliedBy(1L << Math.min(attempt - 1, 10));
+  }
+
+  public <T> T resume(
+      final String requestId,
+      final String revision,
+      final PipelineStage stage,
+      final Class<T> type,
+      final Supplier<T> stageComputation) {
+    if (!properties.isEnabled() || requestId == null) {
+      return stageComputation.get();
+    }
+    final Optional<T> checkpoint = load(requestId, revision, stage, type);
+    if (checkpoint.isPresent()) {
+      log.info("Resuming request {} from {} checkpoint", requestId, stage.key());
+      meterRegistry.counter("llm.checkpoint.resumed", "stage", stage.key()).increment();
+      return checkpoint.get();
+    }
+    final T artifact = stageComputation.get();
+    save(requestId, revision, stage, artifact);
+    return artifact;
+  }
+
+  public <T> Optional<T> load(
+      final String requestId,
+      final String revision,
+      final PipelineStage stage,
+      final Class<T> type) {
+    final String key = key(requestId, revision, stage);
+    try {
+      final String payload = redisTemplate.opsForValue().get(key);
+      if (payload == null) {
+        return Optional.empty();
+      }
+      return Optional.of(objectMapper.readValue(payload, type));
+    } catch (final JsonProcessingException | RuntimeException e) {
+      log.warn("Ignoring unreadable checkpoint {}: {}", key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public void save(
+      final String requestId,
+      final String revision,
+      final PipelineStage stage,
+      final Object artifact) {
+    if (artifact == null) {
+      return;
+    }
+    final String key = key(requestId, revision, stage);
+    try {
+      redisTemplate
+          .opsForValue()
+          .set(key, objectMapper.writeValueAsString(artifact), properties.getTtl());
+      meterRegistry.counter("llm.checkpoint.saved", "stage", stage.key()).increment();
+    } catch (final JsonProcessingException | RuntimeException e) {
+      log.warn("Failed to checkpoint {}: {}", key, e.getMessage());
+    }
+  }
+
+  public void clear(final String requestId) {
+    if (!properties.isEnabled() || requestId == null) {
+      return;
+    }
+    final List<String> keys = new ArrayList<>();
+    keys.add(key(requestId, null, PipelineStage.DIFF));
+    try {
+      load(requestId, null, PipelineStage.DIFF, DiffCheckpoint.class)
+          .map(DiffCheckpoint::revision)
+          .ifPresent(
+              revision -> {
+                for (final PipelineStage stage : PipelineStage.values()) {
+                  if (stage != PipelineStage.DIFF) {
+                    keys.add(key(requestId, revision, stage));
+                  }
+                }
+                for (final ReviewTier tier : ReviewTier.values()) {
+                  if (tier != ReviewTier.SKIP) {
+                    keys.add(key(requestId, tierScope(revision, tier), PipelineStage.PROMPT));
+                    keys.add(key(requestId, tierScope(revision, tier), PipelineStage.LLM_RESPONSE));
+                  }
+                }
+              });
+      redisTemplate.delete(keys);
+    } catch (final RuntimeException e) {
+      log.warn("Failed to clear checkpoints for {}: {}", requestId, e.getMessage());
+    }
+  }
+
+  public static String tierScope(final String scope, final ReviewTier tier) {
+    return scope + ":" + tier.name().toLowerCase(Locale.ROOT);
+  }
+
+  String key(final String requestId, final String revision, final PipelineStage stage) {
+    final StringBuilder key = new StringBuilder(properties.getKeyPrefix()).append(':');
+    key.append(requestId).append(':');
+    if (revision != null) {
+      key.append(revision).append(':');
+    }
+    return key.append(stage.key()).toString();
+  }
+}
@@ -0,0 +1,18 @@
+package com.ghiloufi.aicode.llmworker.checkpoint;
+
+public enum PipelineStage {
+  DIFF("diff"),
+  CONTEXT("context"),
+  PROMPT("prompt"),
+  LLM_RESPONSE("llm-response");
+
+  private final String key;
+
+  PipelineStage(final String key) {
+    this.key = key;
+  }
+
+  public String key() {
+    return key;
+  }
+}
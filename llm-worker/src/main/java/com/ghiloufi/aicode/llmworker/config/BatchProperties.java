@@ -0,0 +1,88 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.batch")
+public class BatchProperties {
+
+  private final boolean enabled;
+  private final String provider;
+  private final String streamKey;
+  private final String consumerGroup;
+  private final String keyPrefix;
+  private final int maxBatchSize;
+  private final Duration maxBatchAge;
+  private final int maxBuffered;
+  private final Duration claimIdle;
+  private final Duration pollInterval;
+  private final Duration lockTtl;
+  private final int maxOutputTokens;
+  private final String completionWindow;
+  private final FileProperties file;
+
+  public BatchProperties(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("file") String provider,
+      @DefaultValue("review:bulk-requests") String streamKey,
+      @DefaultValue("llm-batch-workers") String consumerGroup,
+      @DefaultValue("llm:batch") String keyPrefix,
+      @DefaultValue("50") int maxBatchSize,
+      @DefaultValue("5m") Duration maxBatchAge,
+      @DefaultValue("200") int maxBuffered,
+      @DefaultValue("15m") Duration claimIdle,
+      @DefaultValue("30s") Duration pollInterval,
+      @DefaultValue("5m") Duration lockTtl,
+      @DefaultValue("4096") int maxOutputTokens,
+      @DefaultValue("24h") String completionWindow,
+      @DefaultValue FileProperties file) {
+    if (maxBuffered < maxBatchSize) {
+      throw new IllegalArgumentException("Batch max buffered must be at least the max batch size");
+    }
+    if (claimIdle.compareTo(maxBatchAge) <= 0) {
+      throw new IllegalArgumentException("Batch claim idle must be longer than the max batch age");
+    }
+    this.enabled = enabled;
+    this.provider = provider;
+    this.streamKey = streamKey;
+    this.consumerGroup = consumerGroup;
+    this.keyPrefix = keyPrefix;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchAge = maxBatchAge;
+    this.maxBuffered = maxBuffered;
+    this.claimIdle = claimIdle;
+    this.pollInterval = pollInterval;
+    this.lockTtl = lockTtl;
+    this.maxOutputTokens = maxOutputTokens;
+    this.completionWindow = completionWindow;
+    this.file = file;
+  }
+
+  public String activeBatchesKey() {
+    return keyPrefix + ":active";
+  }
+
+  public String requestsKey(final String batchId) {
+    return keyPrefix + ":" + batchId + ":requests";
+  }
+
+  public String lockKey(final String batchId) {
+    return keyPrefix + ":" + batchId + ":lock";
+  }
+
+  @Getter
+  public static class FileProperties {
+    private final String directory;
+    private final boolean autoComplete;
+
+    public FileProperties(
+        @DefaultValue("${java.io.tmpdir}/llm-batch") String directory,
+        @DefaultValue("true") boolean autoComplete) {
+      this.directory = directory;
+      this.autoComplete = autoComplete;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import static dev.langchain4j.model.chat.Capability.RESPONSE_FORMAT_JSON_SCHEMA;
+
+import com.ghiloufi.aicode.core.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.ghiloufi.aicode.core.infrastructure.resilience.AdaptiveConcurrencyLimiterRegistry;
+import com.ghiloufi.aicode.llmworker.keypool.ApiKeyState;
+import com.ghiloufi.aicode.llmworker.keypool.HeaderCapturingHttpClientBuilder;
+import com.ghiloufi.aicode.llmworker.keypool.KeyPoolChatModel;
+import com.ghiloufi.aicode.llmworker.keypool.PooledKey;
+import com.ghiloufi.aicode.llmworker.limit.ConcurrencyLimitedChatModel;
+import com.ghiloufi.aicode.llmworker.limit.RateLimitedChatModel;
+import com.ghiloufi.aicode.llmworker.limit.RedisTokenBucketRateLimiter;
+import com.ghiloufi.aicode.llmworker.routing.ProviderErrors;
+import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter;
+import com.ghiloufi.aicode.llmworker.usage.TokenAccountingChatModel;
+import com.ghiloufi.aicode.llmworker.usage.TokenUsageTracker;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatModelFactory {
+
+  private final ProviderProperties props;
+  private final AdaptiveConcurrencyLimiterRegistry limiterRegistry;
+  private final RateLimitProperties rateLimitProperties;
+  private final RedisTokenBucketRateLimiter rateLimiter;
+  private final TokenCounter tokenCounter;
+  private final FanOutProperties fanOutProperties;
+  private final KeyPoolProperties keyPoolProperties;
+  private final TokenUsageTracker tokenUsageTracker;
+  private final MeterRegistry meterRegistry;
+
+  public ChatModel create(final String provider) {
+    return create(provider, modelName(provider));
+  }
+
+  public ChatModel create(final String provider, final String modelName) {
+    ChatModel model =
+        new TokenAccountingChatModel(
+            createRaw(provider, modelName),
+            tokenUsageTracker,
+            meterRegistry,
+            provider.toLowerCase(),
+            modelName);
+    if (limiterRegistry.isEnabled()) {
+      final AdaptiveConcurrencyLimiter limiter =
+          limiterRegistry.limiter("llm." + provider.toLowerCase(), ProviderErrors::isOverloaded);
+      model = new ConcurrencyLimitedChatModel(model, limiter);
+    }
+    if (rateLimitProperties.isEnabled()) {
+      model =
+          new RateLimitedChatModel(
+              model,
+              rateLimiter,
+              tokenCounter,
+              provider.toLowerCase(),
+              modelName,
+              keyCount(provider),
+              rateLimitProperties.getExpectedOutputTokens());
+    }
+    return model;
+  }
+
+  private ChatModel createRaw(final String provider, final String modelName) {
+    if (keyPoolProperties.isPooled(provider)) {
+      return pooledModel(provider, modelName);
+    }
+    return createForKey(provider, modelName, defaultApiKey(provider), null);
+  }
+
+  private ChatModel pooledModel(final String provider, final String modelName) {
+    final List<String> keys = keyPoolProperties.keysFor(provider);
+    final List<PooledKey> pooled = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      final ApiKeyState state =
+          new ApiKeyState(
+              provider.toLowerCase() + "#" + i,
+              keyPoolProperties.getEjectAfter(),
+              keyPoolProperties.getEjectionDuration(),
+              keyPoolProperties.getMaxEjectionDuration(),
+              Clock.systemUTC());
+      pooled.add(
+          new PooledKey(
+              state,
+              createForKey(
+                  provider, modelName, keys.get(i), new HeaderCapturingHttpClientBuilder(state))));
+    }
+    return new KeyPoolChatModel(provider.toLowerCase(), pooled, meterRegistry);
+  }
+
+  private int keyCount(final String provider) {
+    return keyPoolProperties.isPooled(provider) ? keyPoolProperties.keysFor(provider).size() : 1;
+  }
+
+  private String defaultApiKey(final String provider) {
+    return switch (provider.toLowerCase()) {
+      case "openai" -> props.getOpenai().getApiKey();
+      case "anthropic" -> props.getAnthropic().getApiKey();
+      case "gemini" -> props.getGemini().getApiKey();
+      default -> null;
+    };
+  }
+
+  private ChatModel createForKey(
+      final String provider,
+      final String modelName,
+      final String apiKey,
+      final HttpClientBuilder httpClientBuilder) {
+    return switch (provider.toLowerCase()) {
+      case "openai" -> openAiModel(modelName, apiKey, httpClientBuilder);
+      case "anthropic" -> anthropicModel(modelName, apiKey, httpClientBuilder);
+      case "gemini" -> geminiModel(modelName, apiKey, httpClientBuilder);
+      case "ollama" -> ollamaModel(modelName);
+      default ->
+          throw new IllegalStateException(
+              String.format(
+                  "Unknown LLM provider: '%s'. Supported providers: openai, anthropic, gemini, ollama",
+                  provider));
+    };
+  }
+
+  public String modelName(final String provider) {
+    return switch (provider.toLowerCase()) {
+      case "openai" -> props.getOpenai().getModel();
+      case "anthropic" -> props.getAnthropic().getModel();
+      case "gemini" -> props.getGemini().getModel();
+      case "ollama" -> props.getOllama().getModel();
+      default -> "unknown";
+    };
+  }
+
+  public Set<Capability> capabilities(final String provider) {
+    return "anthropic".equalsIgnoreCase(provider) ? Set.of() : Set.of(RESPONSE_FORMAT_JSON_SCHEMA);
+  }
+
+  private ChatModel openAiModel(
+      final String modelName, final String apiKey, final HttpClientBuilder httpClientBuilder) {
+    log.info("Configuring OpenAI provider with model: {}", modelName);
+
+    final OpenAiChatModel.OpenAiChatModelBuilder builder =
+        OpenAiChatModel.builder()
+            .apiKey(apiKey)
+            .modelName(modelName)
+            .supportedCapabilities(capabilities("openai"))
+            .strictJsonSchema(true)
+            .temperature(0.1)
+            .timeout(props.getTimeout());
+
+    if (props.getOpenai().getBaseUrl() != null) {
+      builder.baseUrl(props.getOpenai().getBaseUrl());
+    }
+    if (httpClientBuilder != null) {
+      builder.httpClientBuilder(httpClientBuilder).maxRetries(0);
+    }
+
+    return builder.build();
+  }
+
+  private ChatModel anthropicModel(
+      final String modelName, final String apiKey, final HttpClientBuilder httpClientBuilder) {
+    log.info("Configuring Anthropic provider with model: {}", modelName);
+
+    final AnthropicChatModel.AnthropicChatModelBuilder builder =
+        AnthropicChatModel.builder()
+            .apiKey(apiKey)
+            .modelName(modelName)
+            .cacheSystemMessages(
+                fanOutProperties.isEnabled() && fanOutProperties.isCacheSharedPrefix())
+            .temperature(0.1)
+            .timeout(props.getTimeout());
+
+    if (httpClientBuilder != null) {
+      builder.httpClientBuilder(httpClientBuilder).maxRetries(0);
+    }
+
+    return builder.build();
+  }
+
+  private ChatModel geminiModel(
+      final String modelName, final String apiKey, final HttpClientBuilder httpClientBuilder) {
+    log.info("Configuring Gemini provider with model: {}", modelName);
+
+    final GoogleAiGeminiChatModel.GoogleAiGeminiChatModelBuilder builder =
+        GoogleAiGeminiChatModel.builder()
+            .apiKey(apiKey)
+            .modelName(modelName)
+            .supportedCapabilities(capabilities("gemini"))
+            .temperature(0.1);
+
+    if (httpClientBuilder != null) {
+      builder.httpClientBuilder(httpClientBuilder).maxRetries(0);
+    }
+
+    return builder.build();
+  }
+
+  private ChatModel ollamaModel(final String modelName) {
+    log.info(
+        "Configuring Ollama provider at {} with model: {}",
+        props.getOllama().getBaseUrl(),
+        modelName);
+
+    return OllamaChatModel.builder()
+        .baseUrl(props.getOllama().getBaseUrl())
+        .modelName(modelName)
+        .supportedCapabilities(capabilities("ollama"))
+        .temperature(0.1)
+        .timeout(props.getTimeout())
+        .build();
+  }
+}
@@ -0,0 +1,36 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.checkpoint")
+public class CheckpointProperties {
+
+  private final boolean enabled;
+  private final String keyPrefix;
+  private final Duration ttl;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+
+  public CheckpointProperties(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("llm:checkpoint") String keyPrefix,
+      @DefaultValue("30m") Duration ttl,
+      @DefaultValue("2") int maxAttempts,
+      @DefaultValue("2s") Duration retryBackoff) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Checkpoint max attempts must be at least 1");
+    }
+    if (retryBackoff.isNegative()) {
+      throw new IllegalArgumentException("Checkpoint retry backoff must not be negative");
+    }
+    this.enabled = enabled;
+    this.keyPrefix = keyPrefix;
+    this.ttl = ttl;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoff = retryBackoff;
+  }
+}
@@ -0,0 +1,46 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.coalescing")
+public class CoalescingProperties {
+
+  private static final Duration MAX_RESULT_TTL = Duration.ofMinutes(1);
+
+  private final boolean enabled;
+  private final boolean distributed;
+  private final String keyPrefix;
+  private final Duration lockTtl;
+  private final Duration resultTtl;
+  private final Duration pollInterval;
+  private final Duration followTimeout;
+
+  public CoalescingProperties(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("false") boolean distributed,
+      @DefaultValue("llm:coalesce") String keyPrefix,
+      @DefaultValue("180s") Duration lockTtl,
+      @DefaultValue("10s") Duration resultTtl,
+      @DefaultValue("500ms") Duration pollInterval,
+      @DefaultValue("180s") Duration followTimeout) {
+    if (resultTtl.isNegative() || resultTtl.isZero() || resultTtl.compareTo(MAX_RESULT_TTL) > 0) {
+      throw new IllegalArgumentException(
+          "Coalesced result TTL must be positive and at most " + MAX_RESULT_TTL.toSeconds() + "s");
+    }
+    this.enabled = enabled;
+    this.distributed = distributed;
+    this.keyPrefix = keyPrefix;
+    this.lockTtl = lockTtl;
+    this.resultTtl = resultTtl;
+    this.pollInterval = pollInterval;
+    this.followTimeout = followTimeout;
+  }
+
+  public String channel() {
+    return keyPrefix + ":done";
+  }
+}
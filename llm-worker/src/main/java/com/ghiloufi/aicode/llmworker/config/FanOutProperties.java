@@ -0,0 +1,39 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.fan-out")
+public class FanOutProperties {
+
+  private final boolean enabled;
+  private final int minFiles;
+  private final int maxFilesPerGroup;
+  private final int maxLinesPerGroup;
+  private final int maxGroups;
+  private final int parallelism;
+  private final Duration groupTimeout;
+  private final boolean cacheSharedPrefix;
+
+  public FanOutProperties(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("4") int minFiles,
+      @DefaultValue("3") int maxFilesPerGroup,
+      @DefaultValue("300") int maxLinesPerGroup,
+      @DefaultValue("16") int maxGroups,
+      @DefaultValue("8") int parallelism,
+      @DefaultValue("180s") Duration groupTimeout,
+      @DefaultValue("true") boolean cacheSharedPrefix) {
+    this.enabled = enabled;
+    this.minFiles = minFiles;
+    this.maxFilesPerGroup = maxFilesPerGroup;
+    this.maxLinesPerGroup = maxLinesPerGroup;
+    this.maxGroups = maxGroups;
+    this.parallelism = parallelism;
+    this.groupTimeout = groupTimeout;
+    this.cacheSharedPrefix = cacheSharedPrefix;
+  }
+}
@@ -0,0 +1,44 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.key-pool")
+public class KeyPoolProperties {
+
+  private final boolean enabled;
+  private final Map<String, List<String>> keys;
+  private final int ejectAfter;
+  private final Duration ejectionDuration;
+  private final Duration maxEjectionDuration;
+
+  public KeyPoolProperties(
+      @DefaultValue("false") boolean enabled,
+      Map<String, List<String>> keys,
+      @DefaultValue("3") int ejectAfter,
+      @DefaultValue("30s") Duration ejectionDuration,
+      @DefaultValue("5m") Duration maxEjectionDuration) {
+    this.enabled = enabled;
+    this.keys = keys != null ? Map.copyOf(keys) : Map.of();
+    this.ejectAfter = ejectAfter;
+    this.ejectionDuration = ejectionDuration;
+    this.maxEjectionDuration = maxEjectionDuration;
+  }
+
+  public List<String> keysFor(final String provider) {
+    final List<String> configured = keys.get(provider.toLowerCase());
+    if (configured == null) {
+      return List.of();
+    }
+    return configured.stream().filter(key -> key != null && !key.isBlank()).distinct().toList();
+  }
+
+  public boolean isPooled(final String provider) {
+    return enabled && keysFor(provider).size() > 1;
+  }
+}
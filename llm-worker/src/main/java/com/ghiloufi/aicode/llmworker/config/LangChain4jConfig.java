@@ -1,17 +1,31 @@
 package com.ghiloufi.aicode.llmworker.config;
 
-import static dev.langchain4j.model.chat.Capability.RESPONSE_FORMAT_JSON_SCHEMA;
-
-import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import com.ghiloufi.aicode.llmworker.cache.CachingChatModel;
+import com.ghiloufi.aicode.llmworker.cache.CoalescingChatModel;
+import com.ghiloufi.aicode.llmworker.cache.PromptCoalescer;
+import com.ghiloufi.aicode.llmworker.cache.ResponseCache;
+import com.ghiloufi.aicode.llmworker.replay.RecordingChatModel;
+import com.ghiloufi.aicode.llmworker.replay.ReplayChatModel;
+import com.ghiloufi.aicode.llmworker.replay.ReplayCorpus;
+import com.ghiloufi.aicode.llmworker.replay.ReplayStreamingChatModel;
+import com.ghiloufi.aicode.llmworker.replay.TokenRateEmulator;
+import com.ghiloufi.aicode.llmworker.routing.ProviderRoute;
+import com.ghiloufi.aicode.llmworker.routing.RoutingChatModel;
+import dev.langchain4j.model.chat.Capability;
 import dev.langchain4j.model.chat.ChatModel;
-import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
-import dev.langchain4j.model.ollama.OllamaChatModel;
-import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Slf4j
 @Configuration
@@ -19,68 +33,151 @@ import org.springframework.context.annotation.Configuration;
 public class LangChain4jConfig {
 
   private final ProviderProperties props;
+  private final RoutingProperties routingProperties;
+  private final CoalescingProperties coalescingProperties;
+  private final ResponseCacheProperties responseCacheProperties;
+  private final ReplayProperties replayProperties;
 
   @Bean
-  @ConditionalOnProperty(name = "llm.provider", havingValue = "openai", matchIfMissing = true)
-  public ChatModel openAiModel() {
-    log.info("Configuring OpenAI provider with model: {}", props.getOpenai().getModel());
-
-    OpenAiChatModel.OpenAiChatModelBuilder builder =
-        OpenAiChatModel.builder()
-            .apiKey(props.getOpenai().getApiKey())
-            .modelName(props.getOpenai().getModel())
-            .supportedCapabilities(RESPONSE_FORMAT_JSON_SCHEMA)
-            .strictJsonSchema(true)
-            .temperature(0.1)
-            .timeout(props.getTimeout());
+  @Primary
+  public ChatModel chatModel(
+      final ChatModelFactory chatModelFactory,
+      final PromptCoalescer promptCoalescer,
+      final ResponseCache responseCache,
+      final ReplayCorpus replayCorpus,
+      final MeterRegistry meterRegistry) {
+    return decorate(
+        () -> providerModel(chatModelFactory, chatModelFactory::modelName, meterRegistry),
+        capabilities(chatModelFactory, providers()),
+        modelKey(chatModelFactory),
+        promptCoalescer,
+        responseCache,
+        replayCorpus);
+  }
 
-    if (props.getOpenai().getBaseUrl() != null) {
-      builder.baseUrl(props.getOpenai().getBaseUrl());
+  @Bean
+  @ConditionalOnProperty(prefix = "llm.triage", name = "enabled", havingValue = "true")
+  public ChatModel lightChatModel(
+      final ChatModelFactory chatModelFactory,
+      final TriageProperties triageProperties,
+      final PromptCoalescer promptCoalescer,
+      final ResponseCache responseCache,
+      final ReplayCorpus replayCorpus,
+      final MeterRegistry meterRegistry) {
+    if (routingProperties.isEnabled() && triageProperties.getLightProvider().isBlank()) {
+      return decorate(
+          () ->
+              providerModel(
+                  chatModelFactory,
+                  provider ->
+                      triageProperties.lightModelFor(
+                          provider, chatModelFactory.modelName(provider)),
+                  meterRegistry),
+          capabilities(chatModelFactory, providers()),
+          modelKey(chatModelFactory) + ":light",
+          promptCoalescer,
+          responseCache,
+          replayCorpus);
     }
-
-    return builder.build();
+    final String provider = triageProperties.lightProviderOr(props.getProvider());
+    final String model =
+        triageProperties.lightModelFor(provider, chatModelFactory.modelName(provider));
+    return decorate(
+        () -> chatModelFactory.create(provider, model),
+        chatModelFactory.capabilities(provider),
+        provider + ":" + model,
+        promptCoalescer,
+        responseCache,
+        replayCorpus);
   }
 
   @Bean
-  @ConditionalOnProperty(name = "llm.provider", havingValue = "anthropic")
-  public ChatModel anthropicModel() {
-    log.info("Configuring Anthropic provider with model: {}", props.getAnthropic().getModel());
+  @ConditionalOnProperty(prefix = "llm.replay", name = "mode", havingValue = "replay")
+  public StreamingChatModel replayStreamingChatModel(
+      final ChatModelFactory chatModelFactory, final ReplayCorpus replayCorpus) {
+    return new ReplayStreamingChatModel(
+        replayCorpus,
+        modelKey(chatModelFactory),
+        new TokenRateEmulator(replayProperties),
+        replayProperties.getStreamChunkChars());
+  }
 
-    return AnthropicChatModel.builder()
-        .apiKey(props.getAnthropic().getApiKey())
-        .modelName(props.getAnthropic().getModel())
-        .temperature(0.1)
-        .timeout(props.getTimeout())
-        .build();
+  private String modelKey(final ChatModelFactory chatModelFactory) {
+    if (routingProperties.isEnabled()) {
+      return "routing:" + String.join(",", routingProperties.getProviders());
+    }
+    return props.getProvider() + ":" + chatModelFactory.modelName(props.getProvider());
   }
 
-  @Bean
-  @ConditionalOnProperty(name = "llm.provider", havingValue = "gemini")
-  public ChatModel geminiModel() {
-    log.info("Configuring Gemini provider with model: {}", props.getGemini().getModel());
+  private List<String> providers() {
+    return routingProperties.isEnabled()
+        ? routingProperties.getProviders()
+        : List.of(props.getProvider());
+  }
 
-    return GoogleAiGeminiChatModel.builder()
-        .apiKey(props.getGemini().getApiKey())
-        .modelName(props.getGemini().getModel())
-        .supportedCapabilities(RESPONSE_FORMAT_JSON_SCHEMA)
-        .temperature(0.1)
-        .build();
+  private static Set<Capability> capabilities(
+      final ChatModelFactory chatModelFactory, final List<String> providers) {
+    final Set<Capability> common = EnumSet.allOf(Capability.class);
+    providers.forEach(provider -> common.retainAll(chatModelFactory.capabilities(provider)));
+    return common;
   }
 
-  @Bean
-  @ConditionalOnProperty(name = "llm.provider", havingValue = "ollama")
-  public ChatModel ollamaModel() {
+  private ChatModel decorate(
+      final Supplier<ChatModel> providerModel,
+      final Set<Capability> capabilities,
+      final String modelKey,
+      final PromptCoalescer promptCoalescer,
+      final ResponseCache responseCache,
+      final ReplayCorpus replayCorpus) {
+    ChatModel model;
+    if (replayProperties.isReplaying()) {
+      log.info(
+          "Replaying recorded LLM responses for {} from {}",
+          modelKey,
+          replayProperties.getDirectory());
+      model =
+          new ReplayChatModel(
+              capabilities, replayCorpus, modelKey, new TokenRateEmulator(replayProperties));
+    } else if (replayProperties.isRecording()) {
+      log.info("Recording LLM responses for {} to {}", modelKey, replayProperties.getDirectory());
+      model = new RecordingChatModel(providerModel.get(), replayCorpus, modelKey);
+    } else {
+      model = providerModel.get();
+    }
+    if (replayProperties.isReplaying() || replayProperties.isRecording()) {
+      return model;
+    }
+    if (coalescingProperties.isEnabled()) {
+      model = new CoalescingChatModel(model, promptCoalescer, modelKey);
+    }
+    if (responseCacheProperties.isEnabled()) {
+      model = new CachingChatModel(model, responseCache, modelKey);
+    }
+    return model;
+  }
+
+  private ChatModel providerModel(
+      final ChatModelFactory chatModelFactory,
+      final Function<String, String> modelNames,
+      final MeterRegistry meterRegistry) {
+    if (!routingProperties.isEnabled()) {
+      return chatModelFactory.create(props.getProvider(), modelNames.apply(props.getProvider()));
+    }
+
+    final List<ProviderRoute> routes =
+        routingProperties.getProviders().stream()
+            .map(
+                provider ->
+                    new ProviderRoute(
+                        provider, chatModelFactory.create(provider, modelNames.apply(provider))))
+            .toList();
+
     log.info(
-        "Configuring Ollama provider at {} with model: {}",
-        props.getOllama().getBaseUrl(),
-        props.getOllama().getModel());
+        "Configuring multi-provider routing: providers={}, hedge quantile={}",
+        routingProperties.getProviders(),
+        routingProperties.getHedge().getQuantile());
 
-    return OllamaChatModel.builder()
-        .baseUrl(props.getOllama().getBaseUrl())
-        .modelName(props.getOllama().getModel())
-        .supportedCapabilities(RESPONSE_FORMAT_JSON_SCHEMA)
-        .temperature(0.1)
-        .timeout(props.getTimeout())
-        .build();
+    return new RoutingChatModel(
+        routes, routingProperties.getHedge(), props.getTimeout(), meterRegistry);
   }
 }
@@ -1,6 +1,7 @@
 package com.ghiloufi.aicode.llmworker.config;
 
 import jakarta.annotation.PostConstruct;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -8,11 +9,13 @@ import org.springframework.context.annotation.Configuration;
 
 @Slf4j
 @Configuration
-@EnableConfigurationProperties(ProviderProperties.class)
+@EnableConfigurationProperties({ProviderProperties.class, RoutingProperties.class})
 @RequiredArgsConstructor
 public class LlmConfigurationValidator {
 
   private final ProviderProperties providerProperties;
+  private final RoutingProperties routingProperties;
+  private final ReplayProperties replayProperties;
 
   @PostConstruct
   public void validateConfiguration() {
@@ -20,6 +23,39 @@ public class LlmConfigurationValidator {
 
     final String provider = providerProperties.getProvider();
 
+    validateProvider(provider);
+
+    if (routingProperties.isEnabled()) {
+      validateRouting();
+    }
+
+    log.info(
+        "LLM configuration validation successful - provider: {}, timeout: {}",
+        provider,
+        providerProperties.getTimeout());
+  }
+
+  private void validateRouting() {
+    final List<String> providers = routingProperties.getProviders();
+    if (providers == null || providers.isEmpty()) {
+      throw new IllegalStateException(
+          "LLM routing is enabled but 'llm.routing.providers' is empty. "
+              + "Please configure at least one provider.");
+    }
+
+    providers.forEach(this::validateProvider);
+
+    final RoutingProperties.HedgeProperties hedge = routingProperties.getHedge();
+    if (hedge.getQuantile() <= 0.0 || hedge.getQuantile() > 1.0) {
+      throw new IllegalStateException(
+          String.format(
+              "Invalid 'llm.routing.hedge.quantile': %s. Must be in (0, 1].", hedge.getQuantile()));
+    }
+
+    log.info("LLM routing configured: providers={}, hedging={}", providers, hedge.isEnabled());
+  }
+
+  private void validateProvider(final String provider) {
     switch (provider.toLowerCase()) {
       case "openai" -> validateOpenAi();
       case "anthropic" -> validateAnthropic();
@@ -31,17 +67,12 @@ public class LlmConfigurationValidator {
                   "Unknown LLM provider: '%s'. Supported providers: openai, anthropic, gemini, ollama",
                   provider));
     }
-
-    log.info(
-        "LLM configuration validation successful - provider: {}, timeout: {}",
-        provider,
-        providerProperties.getTimeout());
   }
 
   private void validateOpenAi() {
     final ProviderProperties.OpenAiProperties openai = providerProperties.getOpenai();
 
-    validateNotBlank(openai.getApiKey(), "llm.openai.api-key");
+    validateCredential(openai.getApiKey(), "llm.openai.api-key");
     validateNotBlank(openai.getModel(), "llm.openai.model");
 
     log.info(
@@ -53,7 +84,7 @@ public class LlmConfigurationValidator {
   private void validateAnthropic() {
     final ProviderProperties.AnthropicProperties anthropic = providerProperties.getAnthropic();
 
-    validateNotBlank(anthropic.getApiKey(), "llm.anthropic.api-key");
+    validateCredential(anthropic.getApiKey(), "llm.anthropic.api-key");
     validateNotBlank(anthropic.getModel(), "llm.anthropic.model");
 
     log.info("Anthropic provider configured: model={}", anthropic.getModel());
@@ -62,7 +93,7 @@ public class LlmConfigurationValidator {
   private void validateGemini() {
     final ProviderProperties.GeminiProperties gemini = providerProperties.getGemini();
 
-    validateNotBlank(gemini.getApiKey(), "llm.gemini.api-key");
+    validateCredential(gemini.getApiKey(), "llm.gemini.api-key");
     validateNotBlank(gemini.getModel(), "llm.gemini.model");
 
     log.info("Gemini provider configured: model={}", gemini.getModel());
@@ -78,6 +109,12 @@ public class LlmConfigurationValidator {
         "Ollama provider configured: baseUrl={}, model={}", ollama.getBaseUrl(), ollama.getModel());
   }
 
+  private void validateCredential(final String value, final String propertyName) {
+    if (!replayProperties.isReplaying()) {
+      validateNotBlank(value, propertyName);
+    }
+  }
+
   private void validateNotBlank(final String value, final String propertyName) {
     if (value == null || value.isBlank()) {
       throw new IllegalStateException(
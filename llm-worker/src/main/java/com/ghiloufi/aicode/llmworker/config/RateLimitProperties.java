@@ -0,0 +1,62 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import java.util.Map;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.rate-limit")
+public class RateLimitProperties {
+
+  private final boolean enabled;
+  private final String keyPrefix;
+  private final int requestsPerMinute;
+  private final int tokensPerMinute;
+  private final int expectedOutputTokens;
+  private final Duration maxWait;
+  private final Map<String, QuotaProperties> providers;
+
+  public RateLimitProperties(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("llm:ratelimit") String keyPrefix,
+      @DefaultValue("500") int requestsPerMinute,
+      @DefaultValue("200000") int tokensPerMinute,
+      @DefaultValue("1024") int expectedOutputTokens,
+      @DefaultValue("60s") Duration maxWait,
+      Map<String, QuotaProperties> providers) {
+    this.enabled = enabled;
+    this.keyPrefix = keyPrefix;
+    this.requestsPerMinute = requestsPerMinute;
+    this.tokensPerMinute = tokensPerMinute;
+    this.expectedOutputTokens = expectedOutputTokens;
+    this.maxWait = maxWait;
+    this.providers = providers != null ? providers : Map.of();
+  }
+
+  public int requestsPerMinute(final String provider) {
+    final QuotaProperties quota = providers.get(provider);
+    return quota != null && quota.getRequestsPerMinute() != null
+        ? quota.getRequestsPerMinute()
+        : requestsPerMinute;
+  }
+
+  public int tokensPerMinute(final String provider) {
+    final QuotaProperties quota = providers.get(provider);
+    return quota != null && quota.getTokensPerMinute() != null
+        ? quota.getTokensPerMinute()
+        : tokensPerMinute;
+  }
+
+  @Getter
+  public static class QuotaProperties {
+    private final Integer requestsPerMinute;
+    private final Integer tokensPerMinute;
+
+    public QuotaProperties(Integer requestsPerMinute, Integer tokensPerMinute) {
+      this.requestsPerMinute = requestsPerMinute;
+      this.tokensPerMinute = tokensPerMinute;
+    }
+  }
+}
@@ -2,10 +2,14 @@ package com.ghiloufi.aicode.llmworker.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ghiloufi.aicode.llmworker.cache.PromptCoalescer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -22,6 +26,18 @@ public class RedisConfig {
     return template;
   }
 
+  @Bean
+  @ConditionalOnProperty(name = "llm.coalescing.distributed", havingValue = "true")
+  public RedisMessageListenerContainer coalescingListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      PromptCoalescer promptCoalescer,
+      CoalescingProperties coalescingProperties) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(promptCoalescer, new ChannelTopic(coalescingProperties.channel()));
+    return container;
+  }
+
   @Bean
   public ObjectMapper objectMapper() {
     ObjectMapper mapper = new ObjectMapper();
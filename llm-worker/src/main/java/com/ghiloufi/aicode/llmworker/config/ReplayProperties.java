@@ -0,0 +1,47 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.replay")
+public class ReplayProperties {
+
+  private final Mode mode;
+  private final String directory;
+  private final Duration latency;
+  private final double tokensPerSecond;
+  private final boolean recordedLatency;
+  private final int streamChunkChars;
+
+  public ReplayProperties(
+      @DefaultValue("off") Mode mode,
+      @DefaultValue("replay-corpus") String directory,
+      @DefaultValue("0ms") Duration latency,
+      @DefaultValue("0") double tokensPerSecond,
+      @DefaultValue("false") boolean recordedLatency,
+      @DefaultValue("16") int streamChunkChars) {
+    this.mode = mode;
+    this.directory = directory;
+    this.latency = latency;
+    this.tokensPerSecond = tokensPerSecond;
+    this.recordedLatency = recordedLatency;
+    this.streamChunkChars = streamChunkChars;
+  }
+
+  public boolean isRecording() {
+    return mode == Mode.RECORD;
+  }
+
+  public boolean isReplaying() {
+    return mode == Mode.REPLAY;
+  }
+
+  public enum Mode {
+    OFF,
+    RECORD,
+    REPLAY
+  }
+}
@@ -0,0 +1,33 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.cache")
+public class ResponseCacheProperties {
+
+  private final boolean enabled;
+  private final String keyPrefix;
+  private final String schemaVersion;
+  private final Duration ttl;
+  private final long localMaxSize;
+  private final Duration localTtl;
+
+  public ResponseCacheProperties(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("llm:cache") String keyPrefix,
+      @DefaultValue("v1") String schemaVersion,
+      @DefaultValue("24h") Duration ttl,
+      @DefaultValue("500") long localMaxSize,
+      @DefaultValue("10m") Duration localTtl) {
+    this.enabled = enabled;
+    this.keyPrefix = keyPrefix;
+    this.schemaVersion = schemaVersion;
+    this.ttl = ttl;
+    this.localMaxSize = localMaxSize;
+    this.localTtl = localTtl;
+  }
+}
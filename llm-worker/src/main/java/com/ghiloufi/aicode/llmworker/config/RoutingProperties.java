@@ -0,0 +1,50 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.routing")
+public class RoutingProperties {
+
+  private final boolean enabled;
+  private final List<String> providers;
+  private final HedgeProperties hedge;
+
+  public RoutingProperties(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue({"openai", "anthropic"}) List<String> providers,
+      @DefaultValue HedgeProperties hedge) {
+    this.enabled = enabled;
+    this.providers = providers;
+    this.hedge = hedge;
+  }
+
+  @Getter
+  public static class HedgeProperties {
+    private final boolean enabled;
+    private final double quantile;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final int minSamples;
+    private final int windowSize;
+
+    public HedgeProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.95") double quantile,
+        @DefaultValue("30s") Duration initialDelay,
+        @DefaultValue("2s") Duration minDelay,
+        @DefaultValue("20") int minSamples,
+        @DefaultValue("200") int windowSize) {
+      this.enabled = enabled;
+      this.quantile = quantile;
+      this.initialDelay = initialDelay;
+      this.minDelay = minDelay;
+      this.minSamples = minSamples;
+      this.windowSize = windowSize;
+    }
+  }
+}
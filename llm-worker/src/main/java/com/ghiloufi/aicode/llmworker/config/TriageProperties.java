@@ -0,0 +1,93 @@
+package com.ghiloufi.aicode.llmworker.config;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConfigurationProperties(prefix = "llm.triage")
+public class TriageProperties {
+
+  private final boolean enabled;
+  private final Mode mode;
+  private final String lightProvider;
+  private final String lightModel;
+  private final Map<String, String> lightModels;
+  private final int deepLineThreshold;
+  private final List<String> skipPatterns;
+  private final List<String> highRiskPatterns;
+
+  public TriageProperties(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("heuristic") Mode mode,
+      @DefaultValue("") String lightProvider,
+      @DefaultValue("") String lightModel,
+      Map<String, String> lightModels,
+      @DefaultValue("150") int deepLineThreshold,
+      @DefaultValue({
+            "**/*.lock",
+            "**/package-lock.json",
+            "**/pnpm-lock.yaml",
+            "**/*.min.js",
+            "**/*.min.css",
+            "**/*.map",
+            "**/*.snap",
+            "**/*.svg",
+            "**/*.png",
+            "**/*.jpg",
+            "**/*.gif",
+            "**/generated/**",
+            "**/vendor/**",
+            "**/node_modules/**"
+          })
+          List<String> skipPatterns,
+      @DefaultValue({
+            "**/*security*",
+            "**/*security*/**",
+            "**/*auth*",
+            "**/*auth*/**",
+            "**/*crypto*",
+            "**/*crypto*/**",
+            "**/*payment*",
+            "**/*payment*/**",
+            "**/db/migration/**",
+            "**/*.sql",
+            "**/Dockerfile",
+            "**/pom.xml",
+            "**/build.gradle*"
+          })
+          List<String> highRiskPatterns) {
+    this.enabled = enabled;
+    this.mode = mode;
+    this.lightProvider = lightProvider;
+    this.lightModel = lightModel;
+    this.lightModels =
+        lightModels != null
+            ? Map.copyOf(lightModels)
+            : Map.of(
+                "openai", "gpt-4o-mini",
+                "anthropic", "claude-3-5-haiku-20241022",
+                "gemini", "gemini-1.5-flash");
+    this.deepLineThreshold = deepLineThreshold;
+    this.skipPatterns = List.copyOf(skipPatterns);
+    this.highRiskPatterns = List.copyOf(highRiskPatterns);
+  }
+
+  public String lightProviderOr(final String primaryProvider) {
+    return lightProvider.isBlank() ? primaryProvider : lightProvider;
+  }
+
+  public String lightModelFor(final String provider, final String primaryModel) {
+    if (!lightModel.isBlank()) {
+      return lightModel;
+    }
+    return lightModels.getOrDefault(provider.toLowerCase(), primaryModel);
+  }
+
+  public enum Mode {
+    HEURISTIC,
+    MODEL
+  }
+}
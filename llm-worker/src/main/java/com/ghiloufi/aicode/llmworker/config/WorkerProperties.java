@@ -1,5 +1,8 @@
 package com.ghiloufi.aicode.llmworker.config;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
 import lombok.Getter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
@@ -21,9 +24,26 @@ public class WorkerProperties {
       @DefaultValue("10") int batchSize,
       @DefaultValue("120") int timeoutSeconds) {
     this.consumerGroup = consumerGroup;
-    this.consumerId = consumerId != null ? consumerId : "worker-" + ProcessHandle.current().pid();
+    this.consumerId =
+        consumerId != null && !consumerId.isBlank() ? consumerId : defaultConsumerId();
     this.streamKey = streamKey;
     this.batchSize = batchSize;
     this.timeoutSeconds = timeoutSeconds;
   }
+
+  private static String defaultConsumerId() {
+    return "worker-" + hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  private static String hostName() {
+    final String hostName = System.getenv("HOSTNAME");
+    if (hostName != null && !hostName.isBlank()) {
+      return hostName;
+    }
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (final UnknownHostException e) {
+      return String.valueOf(ProcessHandle.current().pid());
+    }
+  }
 }
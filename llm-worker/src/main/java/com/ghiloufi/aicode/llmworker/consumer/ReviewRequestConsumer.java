@@ -2,9 +2,10 @@ package com.ghiloufi.aicode.llmworker.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.core.infrastructure.observability.StartupMetrics;
+import com.ghiloufi.aicode.core.service.warmup.WarmupState;
 import com.ghiloufi.aicode.llmworker.config.WorkerProperties;
 import com.ghiloufi.aicode.llmworker.processor.ReviewProcessor;
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
@@ -23,7 +25,7 @@ import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-public class ReviewRequestConsumer {
+public class ReviewRequestConsumer implements SmartLifecycle {
 
   private static final String PAYLOAD_FIELD = "payload";
   private static final String REQUEST_ID_FIELD = "requestId";
@@ -32,21 +34,43 @@ public class ReviewRequestConsumer {
   private final ReviewProcessor processor;
   private final WorkerProperties workerProperties;
   private final ObjectMapper objectMapper;
+  private final WarmupState warmupState;
+  private final StartupMetrics startupMetrics;
   private final ExecutorService executor;
+  private volatile boolean running;
 
   public ReviewRequestConsumer(
       final StringRedisTemplate redisTemplate,
       final ReviewProcessor processor,
       final WorkerProperties workerProperties,
-      final ObjectMapper objectMapper) {
+      final ObjectMapper objectMapper,
+      final WarmupState warmupState,
+      final StartupMetrics startupMetrics) {
     this.redisTemplate = redisTemplate;
     this.processor = processor;
     this.workerProperties = workerProperties;
     this.objectMapper = objectMapper;
+    this.warmupState = warmupState;
+    this.startupMetrics = startupMetrics;
     this.executor = Executors.newVirtualThreadPerTaskExecutor();
   }
 
-  @PostConstruct
+  @Override
+  public void start() {
+    init();
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
   public void init() {
     createConsumerGroupIfNotExists();
     log.info(
@@ -93,6 +117,10 @@ public class ReviewRequestConsumer {
 
   @Scheduled(fixedDelay = 100)
   public void consumeMessages() {
+    if (!warmupState.isReady()) {
+      return;
+    }
+    startupMetrics.recordFirstStreamRead(workerProperties.getStreamKey());
     try {
       final List<MapRecord<String, Object, Object>> messages =
           redisTemplate
@@ -0,0 +1,115 @@
+package com.ghiloufi.aicode.llmworker.fanout;
+
+import com.ghiloufi.aicode.llmworker.config.FanOutProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import com.ghiloufi.aicode.llmworker.service.prompt.FanOutPrompts;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class FanOutReviewExecutor {
+
+  private final FanOutProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final DistributionSummary groupSizes;
+  private final Timer duration;
+  private final ExecutorService executor;
+
+  public FanOutReviewExecutor(
+      final FanOutProperties properties, final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.groupSizes = DistributionSummary.builder("llm.fanout.groups").register(meterRegistry);
+    this.duration = Timer.builder("llm.fanout.duration").register(meterRegistry);
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  public ReviewResultSchema review(final FanOutPrompts prompts, final ReviewService reviewer) {
+    final long startNanos = System.nanoTime();
+    final Semaphore permits = new Semaphore(Math.max(1, properties.getParallelism()));
+    final List<Future<ReviewResultSchema>> calls = new ArrayList<>(prompts.groupCount());
+    for (final String groupPrompt : prompts.groupPrompts()) {
+      calls.add(
+          executor.submit(
+              () -> {
+                permits.acquire();
+                try {
+                  return reviewer.performReview(prompts.sharedSystemPrompt(), groupPrompt);
+                } finally {
+                  permits.release();
+                }
+              }));
+    }
+
+    final long deadline = System.nanoTime() + properties.getGroupTimeout().toNanos();
+    final List<ReviewResultSchema> results = new ArrayList<>(calls.size());
+    Throwable firstFailure = null;
+    for (final Future<ReviewResultSchema> call : calls) {
+      try {
+        results.add(call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+      } catch (final ExecutionException e) {
+        firstFailure = firstFailure != null ? firstFailure : e.getCause();
+        log.warn("Fan-out group review failed: {}", e.getCause().getMessage());
+      } catch (final TimeoutException e) {
+        call.cancel(true);
+        firstFailure = firstFailure != null ? firstFailure : e;
+        log.warn("Fan-out group review timed out after {}", properties.getGroupTimeout());
+      } catch (final InterruptedException e) {
+        calls.forEach(pending -> pending.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted during fan-out review", e);
+      }
+    }
+
+    final int failed = calls.size() - results.size();
+    groupSizes.record(calls.size());
+    duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    if (failed > 0) {
+      meterRegistry.counter("llm.fanout.group.failures").increment(failed);
+    }
+
+    if (results.isEmpty()) {
+      throw new IllegalStateException(
+          "All " + calls.size() + " fan-out review groups failed", firstFailure);
+    }
+
+    final ReviewResultSchema merged = ReviewResultSchema.merge(results);
+    log.info(
+        "Fan-out review completed: {} groups, {} failed, {} issues",
+        calls.size(),
+        failed,
+        merged.issues().size());
+    if (failed == 0) {
+      return merged;
+    }
+    return new ReviewResultSchema(
+        merged.summary()
+            + " ("
+            + failed
+            + " of "
+            + calls.size()
+            + " file groups could not be reviewed)",
+        merged.issues(),
+        merged.nonBlockingNotes());
+  }
+}
@@ -0,0 +1,57 @@
+package com.ghiloufi.aicode.llmworker.fanout;
+
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.llmworker.config.FanOutProperties;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FileGroupPlanner {
+
+  private final FanOutProperties properties;
+
+  public boolean shouldFanOut(final List<GitFileModification> files) {
+    return properties.isEnabled() && files.size() >= properties.getMinFiles();
+  }
+
+  public List<GitDiffDocument> plan(final List<GitFileModification> files) {
+    final List<GitFileModification> ordered =
+        files.stream().sorted(Comparator.comparing(GitFileModification::getEffectivePath)).toList();
+
+    final int maxGroups = Math.max(1, properties.getMaxGroups());
+    final int maxFilesPerGroup =
+        Math.max(
+            Math.max(1, properties.getMaxFilesPerGroup()),
+            (int) Math.ceil((double) ordered.size() / maxGroups));
+    final int totalLines = ordered.stream().mapToInt(GitFileModification::getTotalLineCount).sum();
+    final int maxLinesPerGroup =
+        Math.max(
+            properties.getMaxLinesPerGroup(), (int) Math.ceil((double) totalLines / maxGroups));
+
+    final List<List<GitFileModification>> groups = new ArrayList<>();
+    List<GitFileModification> current = new ArrayList<>();
+    int currentLines = 0;
+    for (final GitFileModification file : ordered) {
+      final int lines = file.getTotalLineCount();
+      final boolean full =
+          current.size() >= maxFilesPerGroup || currentLines + lines > maxLinesPerGroup;
+      if (!current.isEmpty() && full) {
+        groups.add(current);
+        current = new ArrayList<>();
+        currentLines = 0;
+      }
+      current.add(file);
+      currentLines += lines;
+    }
+    if (!current.isEmpty()) {
+      groups.add(current);
+    }
+
+    return groups.stream().map(GitDiffDocument::new).toList();
+  }
+}
@@ -0,0 +1,99 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+
+public final class ApiKeyState {
+
+  private final String id;
+  private final int ejectAfter;
+  private final Duration ejectionDuration;
+  private final Duration maxEjectionDuration;
+  private final Clock clock;
+
+  private double headroom = 1.0;
+  private int consecutiveRateLimits;
+  private int ejections;
+  private Instant ejectedUntil = Instant.MIN;
+  private long lastUsedNanos;
+
+  public ApiKeyState(
+      final String id,
+      final int ejectAfter,
+      final Duration ejectionDuration,
+      final Duration maxEjectionDuration,
+      final Clock clock) {
+    this.id = id;
+    this.ejectAfter = Math.max(ejectAfter, 1);
+    this.ejectionDuration = ejectionDuration;
+    this.maxEjectionDuration = maxEjectionDuration;
+    this.clock = clock;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public synchronized double headroom() {
+    return headroom;
+  }
+
+  public synchronized boolean isAvailable() {
+    return !clock.instant().isBefore(ejectedUntil);
+  }
+
+  public synchronized Instant ejectedUntil() {
+    return ejectedUntil;
+  }
+
+  public synchronized long lastUsedNanos() {
+    return lastUsedNanos;
+  }
+
+  public synchronized void markUsed() {
+    lastUsedNanos = System.nanoTime();
+  }
+
+  public synchronized void onHeaders(final RateLimitHeaders headers) {
+    if (headers.isEmpty()) {
+      return;
+    }
+    final double requests = ratio(headers.remainingRequests(), headers.limitRequests());
+    final double tokens = ratio(headers.remainingTokens(), headers.limitTokens());
+    headroom = Math.min(requests, tokens);
+  }
+
+  public synchronized void onSuccess() {
+    consecutiveRateLimits = 0;
+    ejections = 0;
+  }
+
+  public synchronized boolean onRateLimited() {
+    headroom = 0.0;
+    consecutiveRateLimits++;
+    if (consecutiveRateLimits < ejectAfter) {
+      return false;
+    }
+    final long factor = 1L << Math.min(ejections, 16);
+    final Duration backoff = ejectionDuration.multipliedBy(factor);
+    ejectedUntil =
+        clock
+            .instant()
+            .plus(backoff.compareTo(maxEjectionDuration) > 0 ? maxEjectionDuration : backoff);
+    ejections++;
+    consecutiveRateLimits = 0;
+    return true;
+  }
+
+  private static double ratio(final OptionalLong remaining, final OptionalLong limit) {
+    if (remaining.isEmpty()) {
+      return 1.0;
+    }
+    if (limit.isEmpty() || limit.getAsLong() <= 0) {
+      return remaining.getAsLong() > 0 ? 1.0 : 0.0;
+    }
+    return Math.min(1.0, (double) remaining.getAsLong() / limit.getAsLong());
+  }
+}
@@ -0,0 +1,68 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.HttpClientBuilderLoader;
+import dev.langchain4j.http.client.HttpRequest;
+import dev.langchain4j.http.client.SuccessfulHttpResponse;
+import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventParser;
+import java.time.Duration;
+
+public final class HeaderCapturingHttpClientBuilder implements HttpClientBuilder {
+
+  private final HttpClientBuilder delegate;
+  private final ApiKeyState state;
+
+  public HeaderCapturingHttpClientBuilder(final ApiKeyState state) {
+    this(HttpClientBuilderLoader.loadHttpClientBuilder(), state);
+  }
+
+  HeaderCapturingHttpClientBuilder(final HttpClientBuilder delegate, final ApiKeyState state) {
+    this.delegate = delegate;
+    this.state = state;
+  }
+
+  @Override
+  public Duration connectTimeout() {
+    return delegate.connectTimeout();
+  }
+
+  @Override
+  public HttpClientBuilder connectTimeout(final Duration timeout) {
+    delegate.connectTimeout(timeout);
+    return this;
+  }
+
+  @Override
+  public Duration readTimeout() {
+    return delegate.readTimeout();
+  }
+
+  @Override
+  public HttpClientBuilder readTimeout(final Duration timeout) {
+    delegate.readTimeout(timeout);
+    return this;
+  }
+
+  @Override
+  public HttpClient build() {
+    final HttpClient client = delegate.build();
+    return new HttpClient() {
+      @Override
+      public SuccessfulHttpResponse execute(final HttpRequest request) {
+        final SuccessfulHttpResponse response = client.execute(request);
+        state.onHeaders(RateLimitHeaders.parse(response.headers()));
+        return response;
+      }
+
+      @Override
+      public void execute(
+          final HttpRequest request,
+          final ServerSentEventParser parser,
+          final ServerSentEventListener listener) {
+        client.execute(request, parser, listener);
+      }
+    };
+  }
+}
@@ -0,0 +1,113 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import com.ghiloufi.aicode.llmworker.routing.ProviderErrors;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class KeyPoolChatModel implements ChatModel {
+
+  private static final Comparator<PooledKey> MOST_HEADROOM =
+      Comparator.<PooledKey>comparingDouble(key -> key.state().headroom())
+          .reversed()
+          .thenComparingLong(key -> key.state().lastUsedNanos());
+
+  private static final Comparator<PooledKey> EARLIEST_RETURN =
+      Comparator.comparing(key -> key.state().ejectedUntil());
+
+  private final String provider;
+  private final List<PooledKey> keys;
+  private final MeterRegistry meterRegistry;
+
+  public KeyPoolChatModel(
+      final String provider, final List<PooledKey> keys, final MeterRegistry meterRegistry) {
+    if (keys == null || keys.isEmpty()) {
+      throw new IllegalArgumentException("Key pool requires at least one key");
+    }
+    this.provider = provider;
+    this.keys = List.copyOf(keys);
+    this.meterRegistry = meterRegistry;
+    for (final PooledKey key : this.keys) {
+      meterRegistry.gauge(
+          "llm.keypool.headroom",
+          List.of(Tag.of("provider", provider), Tag.of("key", key.state().id())),
+          key.state(),
+          ApiKeyState::headroom);
+    }
+    log.info("API key pool initialized: provider={}, keys={}", provider, this.keys.size());
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    final Set<PooledKey> tried = new HashSet<>();
+    RuntimeException lastFailure = null;
+
+    while (tried.size() < keys.size()) {
+      final PooledKey key = select(tried);
+      tried.add(key);
+      key.state().markUsed();
+      try {
+        final ChatResponse response = key.model().chat(request);
+        key.state().onSuccess();
+        meterRegistry
+            .counter("llm.keypool.requests", "provider", provider, "key", key.state().id())
+            .increment();
+        return response;
+      } catch (final RuntimeException failure) {
+        if (!ProviderErrors.isRateLimited(failure)) {
+          throw failure;
+        }
+        lastFailure = failure;
+        meterRegistry
+            .counter("llm.keypool.rate_limited", "provider", provider, "key", key.state().id())
+            .increment();
+        if (key.state().onRateLimited()) {
+          meterRegistry
+              .counter("llm.keypool.ejections", "provider", provider, "key", key.state().id())
+              .increment();
+          log.warn(
+              "Ejected API key {} for provider {} until {}",
+              key.state().id(),
+              provider,
+              key.state().ejectedUntil());
+        }
+      }
+    }
+
+    throw lastFailure;
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return keys.getFirst().model().defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return keys.getFirst().model().supportedCapabilities();
+  }
+
+  PooledKey select(final Set<PooledKey> excluded) {
+    final List<PooledKey> candidates = new ArrayList<>();
+    for (final PooledKey key : keys) {
+      if (!excluded.contains(key)) {
+        candidates.add(key);
+      }
+    }
+    return candidates.stream()
+        .filter(key -> key.state().isAvailable())
+        .min(MOST_HEADROOM)
+        .orElseGet(() -> candidates.stream().min(EARLIEST_RETURN).orElseThrow());
+  }
+}
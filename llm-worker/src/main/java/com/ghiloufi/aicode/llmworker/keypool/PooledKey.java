@@ -0,0 +1,5 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import dev.langchain4j.model.chat.ChatModel;
+
+public record PooledKey(ApiKeyState state, ChatModel model) {}
@@ -0,0 +1,57 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+public record RateLimitHeaders(
+    OptionalLong remainingRequests,
+    OptionalLong limitRequests,
+    OptionalLong remainingTokens,
+    OptionalLong limitTokens) {
+
+  private static final String OPENAI_PREFIX = "x-ratelimit-";
+  private static final String ANTHROPIC_PREFIX = "anthropic-ratelimit-";
+
+  public static RateLimitHeaders parse(final Map<String, List<String>> headers) {
+    return new RateLimitHeaders(
+        first(
+            headers, OPENAI_PREFIX + "remaining-requests", ANTHROPIC_PREFIX + "requests-remaining"),
+        first(headers, OPENAI_PREFIX + "limit-requests", ANTHROPIC_PREFIX + "requests-limit"),
+        first(headers, OPENAI_PREFIX + "remaining-tokens", ANTHROPIC_PREFIX + "tokens-remaining"),
+        first(headers, OPENAI_PREFIX + "limit-tokens", ANTHROPIC_PREFIX + "tokens-limit"));
+  }
+
+  public boolean isEmpty() {
+    return remainingRequests.isEmpty() && remainingTokens.isEmpty();
+  }
+
+  private static OptionalLong first(
+      final Map<String, List<String>> headers, final String... names) {
+    if (headers == null) {
+      return OptionalLong.empty();
+    }
+    for (final String name : names) {
+      for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+        if (header.getKey() != null
+            && header.getKey().equalsIgnoreCase(name)
+            && header.getValue() != null
+            && !header.getValue().isEmpty()) {
+          final OptionalLong value = parseLong(header.getValue().getFirst());
+          if (value.isPresent()) {
+            return value;
+          }
+        }
+      }
+    }
+    return OptionalLong.empty();
+  }
+
+  private static OptionalLong parseLong(final String value) {
+    try {
+      return OptionalLong.of(Long.parseLong(value.trim()));
+    } catch (final NumberFormatException e) {
+      return OptionalLong.empty();
+    }
+  }
+}
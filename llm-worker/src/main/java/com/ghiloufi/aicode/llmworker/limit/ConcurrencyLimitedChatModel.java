@@ -0,0 +1,36 @@
+package com.ghiloufi.aicode.llmworker.limit;
+
+import com.ghiloufi.aicode.core.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.Set;
+
+public class ConcurrencyLimitedChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  public ConcurrencyLimitedChatModel(
+      final ChatModel delegate, final AdaptiveConcurrencyLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    return limiter.execute(() -> delegate.chat(request));
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+}
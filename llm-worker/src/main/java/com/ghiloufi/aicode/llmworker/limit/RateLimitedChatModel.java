@@ -0,0 +1,79 @@
+package com.ghiloufi.aicode.llmworker.limit;
+
+import com.ghiloufi.aicode.llmworker.limit.RedisTokenBucketRateLimiter.Reservation;
+import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.Set;
+
+public class RateLimitedChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final RedisTokenBucketRateLimiter rateLimiter;
+  private final TokenCounter tokenCounter;
+  private final String provider;
+  private final String model;
+  private final int keyCount;
+  private final int expectedOutputTokens;
+
+  public RateLimitedChatModel(
+      final ChatModel delegate,
+      final RedisTokenBucketRateLimiter rateLimiter,
+      final TokenCounter tokenCounter,
+      final String provider,
+      final String model,
+      final int keyCount,
+      final int expectedOutputTokens) {
+    this.delegate = delegate;
+    this.rateLimiter = rateLimiter;
+    this.tokenCounter = tokenCounter;
+    this.provider = provider;
+    this.model = model;
+    this.keyCount = keyCount;
+    this.expectedOutputTokens = expectedOutputTokens;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    final Reservation reservation =
+        rateLimiter.reserve(provider, model, keyCount, estimateTokens(request));
+    final ChatResponse response;
+    try {
+      response = delegate.chat(request);
+    } catch (final RuntimeException e) {
+      rateLimiter.refund(reservation);
+      throw e;
+    }
+    final Integer actualTokens = actualTokens(response);
+    if (actualTokens != null) {
+      rateLimiter.reconcile(reservation, actualTokens);
+    }
+    return response;
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+
+  private int estimateTokens(final ChatRequest request) {
+    final Integer maxOutputTokens =
+        request.parameters() != null ? request.parameters().maxOutputTokens() : null;
+    final int outputTokens = maxOutputTokens != null ? maxOutputTokens : expectedOutputTokens;
+    return tokenCounter.countMessageTokens(request.messages()).tokens() + outputTokens;
+  }
+
+  private static Integer actualTokens(final ChatResponse response) {
+    final TokenUsage usage = response != null ? response.tokenUsage() : null;
+    return usage != null ? usage.totalTokenCount() : null;
+  }
+}
@@ -0,0 +1,145 @@
+package com.ghiloufi.aicode.llmworker.limit;
+
+import com.ghiloufi.aicode.llmworker.config.RateLimitProperties;
+import dev.langchain4j.exception.RateLimitException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class RedisTokenBucketRateLimiter {
+
+  private static final long WINDOW_MILLIS = Duration.ofMinutes(1).toMillis();
+  private static final long MIN_BACKOFF_MILLIS = 50;
+
+  private final StringRedisTemplate redisTemplate;
+  private final RateLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final RedisScript<List> acquireScript;
+  private final RedisScript<Long> reconcileScript;
+
+  public RedisTokenBucketRateLimiter(
+      final StringRedisTemplate redisTemplate,
+      final RateLimitProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.acquireScript =
+        RedisScript.of(new ClassPathResource("redis/token-bucket-acquire.lua"), List.class);
+    this.reconcileScript =
+        RedisScript.of(new ClassPathResource("redis/token-bucket-reconcile.lua"), Long.class);
+  }
+
+  public Reservation reserve(
+      final String provider, final String model, final int keyCount, final int tokens) {
+    final String bucket = bucketKey(provider, model);
+    final long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+    final int rpm = properties.requestsPerMinute(provider) * keyCount;
+    final int tpm = properties.tokensPerMinute(provider) * keyCount;
+
+    while (true) {
+      final long waitMillis;
+      try {
+        waitMillis = tryAcquire(bucket, rpm, tpm, tokens);
+      } catch (final RuntimeException e) {
+        log.warn("Rate limiter unavailable for {}, proceeding without reservation", bucket, e);
+        meterRegistry.counter("llm.ratelimit.unavailable", "provider", provider).increment();
+        return new Reservation(provider, model, keyCount, 0);
+      }
+
+      if (waitMillis == 0) {
+        meterRegistry
+            .counter("llm.ratelimit.reserved.tokens", "provider", provider)
+            .increment(tokens);
+        return new Reservation(provider, model, keyCount, tokens);
+      }
+
+      final long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+      if (remainingMillis <= 0) {
+        meterRegistry.counter("llm.ratelimit.rejected", "provider", provider).increment();
+        throw new RateLimitException(
+            String.format(
+                "Cluster rate limit exceeded for %s after waiting %s (rpm=%d, tpm=%d)",
+                bucket, properties.getMaxWait(), rpm, tpm));
+      }
+
+      meterRegistry.counter("llm.ratelimit.throttled", "provider", provider).increment();
+      sleep(Math.min(remainingMillis, withJitter(waitMillis)));
+    }
+  }
+
+  public void reconcile(final Reservation reservation, final int actualTokens) {
+    if (reservation.reservedTokens() == 0 || actualTokens < 0) {
+      return;
+    }
+    final int delta = actualTokens - reservation.reservedTokens();
+    if (delta == 0) {
+      return;
+    }
+    final String bucket = bucketKey(reservation.provider(), reservation.model());
+    try {
+      redisTemplate.execute(
+          reconcileScript,
+          List.of(bucket + ":tpm"),
+          String.valueOf(
+              properties.tokensPerMinute(reservation.provider()) * reservation.keyCount()),
+          String.valueOf(delta),
+          String.valueOf(WINDOW_MILLIS));
+      log.debug(
+          "Reconciled {} tokens for {} (reserved={}, actual={})",
+          delta,
+          bucket,
+          reservation.reservedTokens(),
+          actualTokens);
+    } catch (final RuntimeException e) {
+      log.warn("Failed to reconcile token usage for {}: {}", bucket, e.getMessage());
+    }
+  }
+
+  public void refund(final Reservation reservation) {
+    reconcile(reservation, 0);
+  }
+
+  private long tryAcquire(final String bucket, final int rpm, final int tpm, final int tokens) {
+    final List<?> result =
+        redisTemplate.execute(
+            acquireScript,
+            List.of(bucket + ":rpm", bucket + ":tpm"),
+            String.valueOf(rpm),
+            String.valueOf(tpm),
+            String.valueOf(tokens),
+            String.valueOf(WINDOW_MILLIS));
+    if (result == null || result.size() < 2) {
+      throw new IllegalStateException("Unexpected rate limiter script result: " + result);
+    }
+    final long allowed = ((Number) result.get(0)).longValue();
+    return allowed == 1 ? 0 : Math.max(MIN_BACKOFF_MILLIS, ((Number) result.get(1)).longValue());
+  }
+
+  private String bucketKey(final String provider, final String model) {
+    return properties.getKeyPrefix() + ":{" + provider + ":" + model + "}";
+  }
+
+  private static long withJitter(final long waitMillis) {
+    return waitMillis + ThreadLocalRandom.current().nextLong(Math.max(1, waitMillis / 5));
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for rate limit", e);
+    }
+  }
+
+  public record Reservation(String provider, String model, int keyCount, int reservedTokens) {}
+}
@@ -1,7 +1,11 @@
 package com.ghiloufi.aicode.llmworker.processor;
 
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ModelUsage;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.llmworker.cache.ResponseCacheControl;
+import com.ghiloufi.aicode.llmworker.checkpoint.PipelineCheckpointStore;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
 import com.ghiloufi.aicode.llmworker.publisher.ReviewResultPublisher;
 import com.ghiloufi.aicode.llmworker.schema.IssueSchema;
@@ -9,6 +13,8 @@ import com.ghiloufi.aicode.llmworker.schema.NoteSchema;
 import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
 import com.ghiloufi.aicode.llmworker.service.AsyncReviewOrchestrator;
 import com.ghiloufi.aicode.llmworker.service.AsyncReviewResult;
+import com.ghiloufi.aicode.llmworker.usage.TokenUsageTracker;
+import java.time.Duration;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +29,8 @@ public class ReviewProcessor {
   private final AsyncReviewOrchestrator asyncReviewOrchestrator;
   private final ReviewResultPublisher resultPublisher;
   private final ProviderProperties providerProperties;
+  private final TokenUsageTracker tokenUsageTracker;
+  private final PipelineCheckpointStore checkpointStore;
 
   public void process(final String requestId, final AsyncReviewRequest request) {
     log.info(
@@ -32,22 +40,95 @@ public class ReviewProcessor {
         request.changeRequestId());
 
     final long startTime = System.currentTimeMillis();
+    final int maxAttempts = checkpointStore.maxAttempts();
+
+    try (TokenUsageTracker.Scope usage = tokenUsageTracker.open()) {
+      for (int attempt = 1; ; attempt++) {
+        try {
+          reviewAndPublish(requestId, request, startTime, usage);
+          checkpointStore.clear(request.requestId());
+          return;
+        } catch (final Exception e) {
+          if (attempt >= maxAttempts) {
+            throw e;
+          }
+          final Duration backoff = checkpointStore.retryBackoff(attempt);
+          log.warn(
+              "Async review attempt {}/{} failed for {}, resuming from last checkpoint in {}ms: {}",
+              attempt,
+              maxAttempts,
+              requestId,
+              backoff.toMillis(),
+              e.getMessage());
+          sleep(backoff);
+        }
+      }
+    } catch (final Exception e) {
+      log.error("Async review failed: {}", requestId, e);
+      resultPublisher.publishError(requestId, e.getMessage());
+    }
+  }
 
+  private static void sleep(final Duration backoff) {
     try {
-      final AsyncReviewResult asyncResult = asyncReviewOrchestrator.performAsyncReview(request);
-      final ReviewResult result =
-          mapToDomain(asyncResult.schema()).withFilesAnalyzed(asyncResult.filesAnalyzed());
-      final long processingTime = System.currentTimeMillis() - startTime;
+      Thread.sleep(backoff.toMillis());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while backing off before retry", e);
+    }
+  }
 
-      resultPublisher.publish(
-          requestId, request, result, getLlmProvider(), getLlmModel(), processingTime);
+  private void reviewAndPublish(
+      final String requestId,
+      final AsyncReviewRequest request,
+      final long startTime,
+      final TokenUsageTracker.Scope usage) {
+    final AsyncReviewResult asyncResult =
+        request.refresh()
+            ? ResponseCacheControl.bypassing(
+                () -> asyncReviewOrchestrator.performAsyncReview(request))
+            : asyncReviewOrchestrator.performAsyncReview(request);
+    final long processingTime = System.currentTimeMillis() - startTime;
+
+    final ReviewResult result =
+        mapToDomain(asyncResult.schema())
+            .withFilesAnalyzed(asyncResult.filesAnalyzed())
+            .withModelUsage(usage.byModel());
+    publish(requestId, request, result, processingTime);
+
+    log.info(
+        "Async review completed: {} in {}ms ({} input / {} cached / {} output tokens)",
+        requestId,
+        processingTime,
+        usage.usage().inputTokens(),
+        usage.usage().cachedInputTokens(),
+        usage.usage().outputTokens());
+  }
 
-      log.info("Async review completed: {} in {}ms", requestId, processingTime);
+  public void publishCompleted(
+      final String requestId,
+      final AsyncReviewRequest request,
+      final ReviewResultSchema schema,
+      final int filesAnalyzed,
+      final long processingTimeMs,
+      final LlmUsage usage) {
+    final ReviewResult result = mapToDomain(schema).withFilesAnalyzed(filesAnalyzed);
+    publish(
+        requestId,
+        request,
+        usage != null
+            ? result.withModelUsage(List.of(new ModelUsage(getLlmProvider(), getLlmModel(), usage)))
+            : result,
+        processingTimeMs);
+  }
 
-    } catch (final Exception e) {
-      log.error("Async review failed: {}", requestId, e);
-      resultPublisher.publishError(requestId, e.getMessage());
-    }
+  private void publish(
+      final String requestId,
+      final AsyncReviewRequest request,
+      final ReviewResult result,
+      final long processingTimeMs) {
+    resultPublisher.publish(
+        requestId, request, result, getLlmProvider(), getLlmModel(), processingTimeMs);
   }
 
   @Deprecated
@@ -57,10 +138,10 @@ public class ReviewProcessor {
 
     final long startTime = System.currentTimeMillis();
 
-    try {
+    try (TokenUsageTracker.Scope usage = tokenUsageTracker.open()) {
       final ReviewResultSchema schema = reviewService.performReview(userPrompt);
 
-      final ReviewResult result = mapToDomain(schema);
+      final ReviewResult result = mapToDomain(schema).withModelUsage(usage.byModel());
 
       final long processingTime = System.currentTimeMillis() - startTime;
 
@@ -0,0 +1,3 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+public record Recording(String modelKey, String response, long latencyMs, String recordedAt) {}
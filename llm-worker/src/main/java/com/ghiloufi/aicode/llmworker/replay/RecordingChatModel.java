@@ -0,0 +1,48 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RecordingChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final ReplayCorpus corpus;
+  private final String modelKey;
+
+  public RecordingChatModel(
+      final ChatModel delegate, final ReplayCorpus corpus, final String modelKey) {
+    this.delegate = delegate;
+    this.corpus = corpus;
+    this.modelKey = modelKey;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    final long startNanos = System.nanoTime();
+    final ChatResponse response = delegate.chat(request);
+    final Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+    try {
+      corpus.record(corpus.key(modelKey, request), modelKey, response, latency);
+    } catch (final RuntimeException e) {
+      log.warn("Failed to record LLM interaction: {}", e.getMessage());
+    }
+    return response;
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+}
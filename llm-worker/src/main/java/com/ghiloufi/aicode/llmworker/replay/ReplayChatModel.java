@@ -0,0 +1,42 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.Set;
+
+public class ReplayChatModel implements ChatModel {
+
+  private final Set<Capability> capabilities;
+  private final ReplayCorpus corpus;
+  private final String modelKey;
+  private final TokenRateEmulator emulator;
+
+  public ReplayChatModel(
+      final Set<Capability> capabilities,
+      final ReplayCorpus corpus,
+      final String modelKey,
+      final TokenRateEmulator emulator) {
+    this.capabilities = capabilities;
+    this.corpus = corpus;
+    this.modelKey = modelKey;
+    this.emulator = emulator;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    final String key = corpus.key(modelKey, request);
+    final ReplayCorpus.Recorded recorded =
+        corpus
+            .find(key)
+            .orElseThrow(() -> new ReplayMissException("No recorded response for prompt " + key));
+    TokenRateEmulator.pause(emulator.totalDelay(recorded));
+    return recorded.response();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return capabilities;
+  }
+}
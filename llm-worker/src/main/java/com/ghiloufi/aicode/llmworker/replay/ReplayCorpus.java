@@ -0,0 +1,104 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.cache.ChatResponseCodec;
+import com.ghiloufi.aicode.llmworker.cache.PromptFingerprint;
+import com.ghiloufi.aicode.llmworker.config.ReplayProperties;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ReplayCorpus {
+
+  private static final String EXTENSION = ".json";
+
+  private final Path directory;
+  private final ChatResponseCodec codec;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Optional<Recorded>> loaded = new ConcurrentHashMap<>();
+
+  public ReplayCorpus(
+      final ReplayProperties properties,
+      final ChatResponseCodec codec,
+      final ObjectMapper objectMapper) {
+    this.directory = Path.of(properties.getDirectory());
+    this.codec = codec;
+    this.objectMapper = objectMapper;
+  }
+
+  public String key(final String modelKey, final ChatRequest request) {
+    final Object responseFormat =
+        request.parameters() != null ? request.parameters().responseFormat() : null;
+    return PromptFingerprint.sha256(
+        modelKey
+            + "\n"
+            + responseFormat
+            + "\n"
+            + ChatMessageSerializer.messagesToJson(request.messages()));
+  }
+
+  public Optional<Recorded> find(final String key) {
+    return loaded.computeIfAbsent(key, this::load);
+  }
+
+  public void record(
+      final String key,
+      final String modelKey,
+      final ChatResponse response,
+      final Duration latency) {
+    final Optional<String> encoded = codec.encode(response);
+    if (encoded.isEmpty()) {
+      log.debug("Skipping recording of non-cacheable response for {}", key);
+      return;
+    }
+    final Recording recording =
+        new Recording(modelKey, encoded.get(), latency.toMillis(), Instant.now().toString());
+    try {
+      Files.createDirectories(directory);
+      final Path partial = Files.createTempFile(directory, key, ".tmp");
+      objectMapper.writeValue(partial.toFile(), recording);
+      Files.move(
+          partial, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to record LLM interaction " + key, e);
+    }
+    loaded.put(key, Optional.of(new Recorded(response, latency)));
+    log.debug("Recorded LLM interaction {} ({}ms)", key, latency.toMillis());
+  }
+
+  private Optional<Recorded> load(final String key) {
+    final Path file = file(key);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      final Recording recording = objectMapper.readValue(file.toFile(), Recording.class);
+      return codec
+          .decode(recording.response())
+          .map(response -> new Recorded(response, Duration.ofMillis(recording.latencyMs())));
+    } catch (final IOException e) {
+      log.warn("Failed to read recording {}: {}", file, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private Path file(final String key) {
+    return directory.resolve(key + EXTENSION);
+  }
+
+  public record Recorded(ChatResponse response, Duration latency) {}
+}
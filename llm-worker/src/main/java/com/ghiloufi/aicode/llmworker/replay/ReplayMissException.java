@@ -0,0 +1,8 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+public class ReplayMissException extends RuntimeException {
+
+  public ReplayMissException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,55 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import java.util.Optional;
+
+public class ReplayStreamingChatModel implements StreamingChatModel {
+
+  private final ReplayCorpus corpus;
+  private final String modelKey;
+  private final TokenRateEmulator emulator;
+  private final int chunkChars;
+
+  public ReplayStreamingChatModel(
+      final ReplayCorpus corpus,
+      final String modelKey,
+      final TokenRateEmulator emulator,
+      final int chunkChars) {
+    if (chunkChars <= 0) {
+      throw new IllegalArgumentException("Stream chunk size must be positive");
+    }
+    this.corpus = corpus;
+    this.modelKey = modelKey;
+    this.emulator = emulator;
+    this.chunkChars = chunkChars;
+  }
+
+  @Override
+  public void doChat(final ChatRequest request, final StreamingChatResponseHandler handler) {
+    final String key = corpus.key(modelKey, request);
+    final Optional<ReplayCorpus.Recorded> recorded = corpus.find(key);
+    if (recorded.isEmpty()) {
+      handler.onError(new ReplayMissException("No recorded response for prompt " + key));
+      return;
+    }
+    Thread.ofVirtual().name("llm-replay-stream").start(() -> stream(recorded.get(), handler));
+  }
+
+  private void stream(
+      final ReplayCorpus.Recorded recorded, final StreamingChatResponseHandler handler) {
+    try {
+      TokenRateEmulator.pause(emulator.firstTokenDelay(recorded));
+      final String text = recorded.response().aiMessage().text();
+      for (int start = 0; start < text.length(); start += chunkChars) {
+        final String chunk = text.substring(start, Math.min(text.length(), start + chunkChars));
+        handler.onPartialResponse(chunk);
+        TokenRateEmulator.pause(emulator.chunkDelay(chunk));
+      }
+      handler.onCompleteResponse(recorded.response());
+    } catch (final RuntimeException e) {
+      handler.onError(e);
+    }
+  }
+}
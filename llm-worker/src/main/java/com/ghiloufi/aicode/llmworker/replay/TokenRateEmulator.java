@@ -0,0 +1,74 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import com.ghiloufi.aicode.llmworker.config.ReplayProperties;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+
+public final class TokenRateEmulator {
+
+  private static final int CHARS_PER_TOKEN = 4;
+
+  private final Duration latency;
+  private final double tokensPerSecond;
+  private final boolean recordedLatency;
+
+  public TokenRateEmulator(final ReplayProperties properties) {
+    this(properties.getLatency(), properties.getTokensPerSecond(), properties.isRecordedLatency());
+  }
+
+  public TokenRateEmulator(
+      final Duration latency, final double tokensPerSecond, final boolean recordedLatency) {
+    this.latency = latency;
+    this.tokensPerSecond = tokensPerSecond;
+    this.recordedLatency = recordedLatency;
+  }
+
+  public Duration firstTokenDelay(final ReplayCorpus.Recorded recorded) {
+    if (recordedLatency) {
+      return recorded.latency().minus(generationDelay(recorded.response()));
+    }
+    return latency;
+  }
+
+  public Duration totalDelay(final ReplayCorpus.Recorded recorded) {
+    if (recordedLatency) {
+      return recorded.latency();
+    }
+    return latency.plus(generationDelay(recorded.response()));
+  }
+
+  public Duration chunkDelay(final String chunk) {
+    return tokenDelay(Math.max(1, chunk.length() / CHARS_PER_TOKEN));
+  }
+
+  Duration generationDelay(final ChatResponse response) {
+    return tokenDelay(outputTokens(response));
+  }
+
+  private Duration tokenDelay(final int tokens) {
+    if (tokensPerSecond <= 0) {
+      return Duration.ZERO;
+    }
+    return Duration.ofNanos((long) (tokens / tokensPerSecond * 1_000_000_000L));
+  }
+
+  static int outputTokens(final ChatResponse response) {
+    if (response.tokenUsage() != null && response.tokenUsage().outputTokenCount() != null) {
+      return response.tokenUsage().outputTokenCount();
+    }
+    final String text = response.aiMessage().text();
+    return text == null ? 0 : Math.max(1, text.length() / CHARS_PER_TOKEN);
+  }
+
+  static void pause(final Duration delay) {
+    if (delay.isNegative() || delay.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(delay);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while emulating LLM latency", e);
+    }
+  }
+}
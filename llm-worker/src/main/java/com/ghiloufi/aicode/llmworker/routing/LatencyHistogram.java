@@ -0,0 +1,47 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+public final class LatencyHistogram {
+
+  private final long[] samples;
+  private int next;
+  private int size;
+
+  public LatencyHistogram(final int windowSize) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("Window size must be positive");
+    }
+    this.samples = new long[windowSize];
+  }
+
+  public synchronized void record(final Duration latency) {
+    samples[next] = latency.toMillis();
+    next = (next + 1) % samples.length;
+    size = Math.min(size + 1, samples.length);
+  }
+
+  public synchronized int sampleCount() {
+    return size;
+  }
+
+  public Optional<Duration> quantile(final double quantile, final int minSamples) {
+    if (quantile <= 0.0 || quantile > 1.0) {
+      throw new IllegalArgumentException("Quantile must be in (0, 1]: " + quantile);
+    }
+
+    final long[] snapshot;
+    synchronized (this) {
+      if (size == 0 || size < minSamples) {
+        return Optional.empty();
+      }
+      snapshot = Arrays.copyOf(samples, size);
+    }
+
+    Arrays.sort(snapshot);
+    final int rank = (int) Math.ceil(quantile * snapshot.length) - 1;
+    return Optional.of(Duration.ofMillis(snapshot[Math.max(rank, 0)]));
+  }
+}
@@ -0,0 +1,94 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.InternalServerException;
+import dev.langchain4j.exception.RateLimitException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+public final class ProviderErrors {
+
+  private static final int MAX_CAUSE_DEPTH = 10;
+
+  private ProviderErrors() {}
+
+  public static boolean isRateLimited(final Throwable error) {
+    return anyCause(
+        error,
+        cause ->
+            cause instanceof RateLimitException
+                || (cause instanceof HttpException http && http.statusCode() == 429));
+  }
+
+  public static boolean isServerError(final Throwable error) {
+    return anyCause(
+        error,
+        cause ->
+            cause instanceof InternalServerException
+                || (cause instanceof HttpException http && http.statusCode() >= 500));
+  }
+
+  public static boolean isOverloaded(final Throwable error) {
+    return isRateLimited(error)
+        || isTimeout(error)
+        || anyCause(
+            error,
+            cause ->
+                cause instanceof HttpException http
+                    && (http.statusCode() == 503 || http.statusCode() == 529));
+  }
+
+  public static boolean isTimeout(final Throwable error) {
+    return anyCause(
+        error,
+        cause ->
+            cause instanceof dev.langchain4j.exception.TimeoutException
+                || cause instanceof TimeoutException
+                || cause instanceof HttpTimeoutException
+                || cause instanceof SocketTimeoutException);
+  }
+
+  public static boolean isFailoverEligible(final Throwable error) {
+    return isRateLimited(error)
+        || isServerError(error)
+        || isTimeout(error)
+        || error instanceof InvalidResponseException;
+  }
+
+  public static String classify(final Throwable error) {
+    if (isRateLimited(error)) {
+      return "rate_limited";
+    }
+    if (isServerError(error)) {
+      return "server_error";
+    }
+    if (isTimeout(error)) {
+      return "timeout";
+    }
+    if (error instanceof InvalidResponseException) {
+      return "invalid_response";
+    }
+    return "other";
+  }
+
+  private static boolean anyCause(final Throwable error, final Predicate<Throwable> predicate) {
+    Throwable current = error;
+    int depth = 0;
+    while (current != null && depth < MAX_CAUSE_DEPTH) {
+      if (predicate.test(current)) {
+        return true;
+      }
+      current = current.getCause();
+      depth++;
+    }
+    return false;
+  }
+
+  public static final class InvalidResponseException extends RuntimeException {
+    public InvalidResponseException(final String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import dev.langchain4j.model.chat.ChatModel;
+
+public record ProviderRoute(String name, ChatModel model) {
+
+  public ProviderRoute {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Route name cannot be blank");
+    }
+    if (model == null) {
+      throw new IllegalArgumentException("Route model cannot be null");
+    }
+  }
+}
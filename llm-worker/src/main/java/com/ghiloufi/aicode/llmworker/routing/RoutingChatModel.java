@@ -0,0 +1,261 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import com.ghiloufi.aicode.llmworker.config.RoutingProperties;
+import com.ghiloufi.aicode.llmworker.routing.ProviderErrors.InvalidResponseException;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RoutingChatModel implements ChatModel, AutoCloseable {
+
+  private final List<ProviderRoute> routes;
+  private final RoutingProperties.HedgeProperties hedge;
+  private final Duration requestTimeout;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, LatencyHistogram> histograms;
+  private final Map<String, Timer> latencyTimers;
+  private final ExecutorService executor;
+
+  public RoutingChatModel(
+      final List<ProviderRoute> routes,
+      final RoutingProperties.HedgeProperties hedge,
+      final Duration requestTimeout,
+      final MeterRegistry meterRegistry) {
+    if (routes == null || routes.isEmpty()) {
+      throw new IllegalArgumentException("At least one provider route is required");
+    }
+    if (requestTimeout == null || requestTimeout.isNegative()) {
+      throw new IllegalArgumentException("Request timeout must be non-negative");
+    }
+    this.routes = List.copyOf(routes);
+    this.hedge = hedge;
+    this.requestTimeout = requestTimeout;
+    this.meterRegistry = meterRegistry;
+    this.histograms = new LinkedHashMap<>();
+    this.latencyTimers = new LinkedHashMap<>();
+    for (final ProviderRoute route : this.routes) {
+      histograms.put(route.name(), new LatencyHistogram(hedge.getWindowSize()));
+      latencyTimers.put(
+          route.name(),
+          Timer.builder("llm.provider.latency")
+              .tag("provider", route.name())
+              .publishPercentiles(0.5, 0.95, 0.99)
+              .register(meterRegistry));
+    }
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    log.info(
+        "Routing chat model initialized: providers={}, hedging={}",
+        histograms.keySet(),
+        hedge.isEnabled());
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    RuntimeException lastFailure = null;
+    int index = 0;
+
+    while (index < routes.size()) {
+      final ProviderRoute primary = routes.get(index);
+      final ProviderRoute alternate = index + 1 < routes.size() ? routes.get(index + 1) : null;
+      final Race race = new Race(request);
+      race.start(primary);
+
+      boolean hedged = false;
+      if (alternate != null && hedge.isEnabled()) {
+        final Duration threshold = hedgeThreshold(primary.name());
+        if (!race.awaitFor(threshold) && race.start(alternate)) {
+          hedged = true;
+          log.info(
+              "Provider {} exceeded hedge threshold of {}ms, hedging to {}",
+              primary.name(),
+              threshold.toMillis(),
+              alternate.name());
+          meterRegistry.counter("llm.routing.hedges", "provider", primary.name()).increment();
+        }
+      }
+
+      try {
+        final RaceWinner winner = race.await();
+        meterRegistry.counter("llm.routing.wins", "provider", winner.provider()).increment();
+        return winner.response();
+      } catch (final RuntimeException failure) {
+        if (!ProviderErrors.isFailoverEligible(failure)) {
+          throw failure;
+        }
+        lastFailure = failure;
+        final String reason = ProviderErrors.classify(failure);
+        meterRegistry
+            .counter("llm.routing.failovers", "provider", primary.name(), "reason", reason)
+            .increment();
+        log.warn(
+            "Provider {} failed ({}), failing over: {}",
+            primary.name(),
+            reason,
+            failure.getMessage());
+        index += hedged ? 2 : 1;
+      }
+    }
+
+    throw lastFailure;
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    final Set<Capability> common = EnumSet.allOf(Capability.class);
+    for (final ProviderRoute route : routes) {
+      common.retainAll(route.model().supportedCapabilities());
+    }
+    return common;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  Duration hedgeThreshold(final String provider) {
+    final Duration observed =
+        histograms
+            .get(provider)
+            .quantile(hedge.getQuantile(), hedge.getMinSamples())
+            .orElse(hedge.getInitialDelay());
+    return observed.compareTo(hedge.getMinDelay()) < 0 ? hedge.getMinDelay() : observed;
+  }
+
+  private void recordLatency(final String provider, final Duration latency) {
+    histograms.get(provider).record(latency);
+    latencyTimers.get(provider).record(latency);
+  }
+
+  private static boolean isValid(final ChatResponse response) {
+    if (response == null || response.aiMessage() == null) {
+      return false;
+    }
+    final var message = response.aiMessage();
+    return (message.text() != null && !message.text().isBlank())
+        || message.hasToolExecutionRequests();
+  }
+
+  private record RaceWinner(String provider, ChatResponse response) {}
+
+  private final class Race {
+
+    private final ChatRequest request;
+    private final CompletableFuture<RaceWinner> winner = new CompletableFuture<>();
+    private final List<Future<?>> calls = new ArrayList<>();
+    private final Map<String, Long> inFlight = new HashMap<>();
+    private int pending;
+
+    private Race(final ChatRequest request) {
+      this.request = request;
+    }
+
+    private synchronized boolean start(final ProviderRoute route) {
+      if (winner.isDone()) {
+        return false;
+      }
+      pending++;
+      inFlight.put(route.name(), System.nanoTime());
+      calls.add(executor.submit(() -> call(route)));
+      return true;
+    }
+
+    private void call(final ProviderRoute route) {
+      try {
+        final ChatResponse response = route.model().chat(request);
+        if (!isValid(response)) {
+          onFailure(
+              route.name(), new InvalidResponseException("Empty response from " + route.name()));
+          return;
+        }
+        onSuccess(new RaceWinner(route.name(), response));
+      } catch (final RuntimeException e) {
+        onFailure(route.name(), e);
+      }
+    }
+
+    private synchronized void onSuccess(final RaceWinner result) {
+      pending--;
+      settle(result.provider(), Duration.ZERO);
+      winner.complete(result);
+    }
+
+    private synchronized void onFailure(final String provider, final RuntimeException failure) {
+      pending--;
+      if (ProviderErrors.isTimeout(failure)) {
+        settle(provider, requestTimeout);
+      } else if (failure instanceof InvalidResponseException) {
+        settle(provider, Duration.ZERO);
+      } else {
+        inFlight.remove(provider);
+      }
+      if (pending == 0) {
+        winner.completeExceptionally(failure);
+      }
+    }
+
+    private boolean awaitFor(final Duration timeout) {
+      try {
+        winner.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return true;
+      } catch (final TimeoutException e) {
+        return false;
+      } catch (final ExecutionException e) {
+        return true;
+      } catch (final InterruptedException e) {
+        cancelAll();
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for LLM response", e);
+      }
+    }
+
+    private RaceWinner await() {
+      try {
+        return winner.get();
+      } catch (final ExecutionException e) {
+        throw e.getCause() instanceof RuntimeException runtime
+            ? runtime
+            : new IllegalStateException(e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for LLM response", e);
+      } finally {
+        cancelAll();
+      }
+    }
+
+    private void settle(final String provider, final Duration floor) {
+      final Long startNanos = inFlight.remove(provider);
+      if (startNanos == null) {
+        return;
+      }
+      final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+      recordLatency(provider, elapsed.compareTo(floor) < 0 ? floor : elapsed);
+    }
+
+    private synchronized void cancelAll() {
+      List.copyOf(inFlight.keySet()).forEach(provider -> settle(provider, Duration.ZERO));
+      calls.forEach(call -> call.cancel(true));
+    }
+  }
+}
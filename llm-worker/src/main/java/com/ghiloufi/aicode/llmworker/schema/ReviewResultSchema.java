@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.langchain4j.model.output.structured.Description;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public record ReviewResultSchema(
     @Description("1-2 sentence overview of the code changes and their quality") String summary,
@@ -12,4 +14,28 @@ public record ReviewResultSchema(
     @JsonProperty("non_blocking_notes")
         @JsonAlias("nonBlockingNotes")
         @Description("List of non-blocking observations, suggestions, or improvements")
-        List<NoteSchema> nonBlockingNotes) {}
+        List<NoteSchema> nonBlockingNotes) {
+
+  public static ReviewResultSchema merge(final List<ReviewResultSchema> partials) {
+    if (partials.size() == 1) {
+      return partials.get(0);
+    }
+    final String summary =
+        partials.stream()
+            .map(ReviewResultSchema::summary)
+            .filter(Objects::nonNull)
+            .filter(partial -> !partial.isBlank())
+            .collect(Collectors.joining(" "));
+    final List<IssueSchema> issues =
+        partials.stream()
+            .filter(partial -> partial.issues() != null)
+            .flatMap(partial -> partial.issues().stream())
+            .toList();
+    final List<NoteSchema> notes =
+        partials.stream()
+            .filter(partial -> partial.nonBlockingNotes() != null)
+            .flatMap(partial -> partial.nonBlockingNotes().stream())
+            .toList();
+    return new ReviewResultSchema(summary, issues, notes);
+  }
+}
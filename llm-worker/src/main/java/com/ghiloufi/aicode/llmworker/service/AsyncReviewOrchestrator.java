@@ -8,6 +8,7 @@ import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
 import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
 import com.ghiloufi.aicode.core.domain.model.EnrichedDiffAnalysisBundle;
 import com.ghiloufi.aicode.core.domain.model.ExpandedFileContext;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
 import com.ghiloufi.aicode.core.domain.model.GitFileModification;
 import com.ghiloufi.aicode.core.domain.model.PolicyDocument;
 import com.ghiloufi.aicode.core.domain.model.PrMetadata;
@@ -18,12 +19,28 @@ import com.ghiloufi.aicode.core.domain.model.TicketContext;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
 import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
 import com.ghiloufi.aicode.core.infrastructure.factory.SCMProviderFactory;
+import com.ghiloufi.aicode.core.service.expansion.SourceCompressor;
+import com.ghiloufi.aicode.core.service.expansion.SourceCompressor.CompressedSource;
+import com.ghiloufi.aicode.llmworker.checkpoint.ContextCheckpoint;
+import com.ghiloufi.aicode.llmworker.checkpoint.DiffCheckpoint;
+import com.ghiloufi.aicode.llmworker.checkpoint.PipelineCheckpointStore;
+import com.ghiloufi.aicode.llmworker.checkpoint.PipelineStage;
+import com.ghiloufi.aicode.llmworker.fanout.FanOutReviewExecutor;
+import com.ghiloufi.aicode.llmworker.fanout.FileGroupPlanner;
 import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import com.ghiloufi.aicode.llmworker.service.prompt.FanOutPrompts;
 import com.ghiloufi.aicode.llmworker.service.prompt.PromptBuilder;
 import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import com.ghiloufi.aicode.llmworker.triage.ReviewTier;
+import com.ghiloufi.aicode.llmworker.triage.ReviewTriageService;
+import com.ghiloufi.aicode.llmworker.triage.TriagePlan;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,8 +60,100 @@ public final class AsyncReviewOrchestrator {
   private final TicketContextService ticketContextService;
   private final ContextRetrievalConfig contextRetrievalConfig;
   private final ReviewService reviewService;
+  private final ReviewTriageService triageService;
+  private final FileGroupPlanner fileGroupPlanner;
+  private final FanOutReviewExecutor fanOutExecutor;
+  private final PipelineCheckpointStore checkpoints;
+  private final SourceCompressor sourceCompressor = new SourceCompressor();
 
   public AsyncReviewResult performAsyncReview(final AsyncReviewRequest request) {
+    final ReviewInputs inputs = gatherInputs(request);
+    return checkpoints.resume(
+        inputs.requestId(),
+        inputs.checkpointScope(),
+        PipelineStage.LLM_RESPONSE,
+        AsyncReviewResult.class,
+        () -> {
+          if (triageService.isEnabled()) {
+            return performTriagedReview(inputs);
+          }
+          final ReviewResultSchema schema = review(inputs, reviewService, null);
+          return new AsyncReviewResult(schema, inputs.filesAnalyzed());
+        });
+  }
+
+  public PreparedReview prepareReview(final AsyncReviewRequest request) {
+    final ReviewInputs inputs = gatherInputs(request);
+    return new PreparedReview(checkpointedPrompt(inputs), inputs.filesAnalyzed());
+  }
+
+  private AsyncReviewResult performTriagedReview(final ReviewInputs inputs) {
+    final List<GitFileModification> files = inputs.enrichedDiff().structuredDiff().files;
+    final TriagePlan plan = triageService.triage(files);
+
+    final Set<String> skipped = plan.paths(ReviewTier.SKIP);
+    triageService.recordSkipped(
+        files.stream().filter(file -> skipped.contains(file.getEffectivePath())).toList());
+
+    final List<ReviewResultSchema> partials = new ArrayList<>();
+    for (final ReviewTier tier : List.of(ReviewTier.DEEP, ReviewTier.LIGHT)) {
+      final Set<String> paths = plan.paths(tier);
+      if (paths.isEmpty()) {
+        continue;
+      }
+      partials.add(review(inputs.restrictedTo(paths, tier), triageService.reviewerFor(tier), tier));
+    }
+
+    if (partials.isEmpty()) {
+      return new AsyncReviewResult(
+          new ReviewResultSchema(
+              "No reviewable changes: all " + files.size() + " file(s) were skipped by triage.",
+              List.of(),
+              List.of()),
+          inputs.filesAnalyzed());
+    }
+    return new AsyncReviewResult(ReviewResultSchema.merge(partials), inputs.filesAnalyzed());
+  }
+
+  private ReviewResultSchema review(
+      final ReviewInputs inputs, final ReviewService reviewer, final ReviewTier tier) {
+    final List<GitFileModification> files = inputs.enrichedDiff().structuredDiff().files;
+    if (fileGroupPlanner.shouldFanOut(files)) {
+      final List<GitDiffDocument> groups = fileGroupPlanner.plan(files);
+      final FanOutPrompts prompts =
+          checkpoints.resume(
+              inputs.requestId(),
+              inputs.checkpointScope(),
+              PipelineStage.PROMPT,
+              FanOutPrompts.class,
+              () ->
+                  promptBuilder.buildFanOutReviewPrompts(
+                      inputs.enrichedDiff(),
+                      ReviewConfiguration.defaults(),
+                      inputs.ticketContext(),
+                      inputs.expansionResult(),
+                      inputs.prMetadata(),
+                      inputs.policies(),
+                      groups));
+      log.info(
+          "Fanning out review of {} files into {} groups (shared prefix={} chars)",
+          files.size(),
+          prompts.groupCount(),
+          prompts.sharedSystemPrompt().length());
+      if (tier != null) {
+        triageService.recordPrompt(tier, prompts);
+      }
+      return fanOutExecutor.review(prompts, reviewer);
+    }
+
+    final ReviewPromptResult prompt = checkpointedPrompt(inputs);
+    if (tier != null) {
+      triageService.recordPrompt(tier, prompt);
+    }
+    return reviewer.performReview(prompt.systemPrompt(), prompt.userPrompt());
+  }
+
+  private ReviewInputs gatherInputs(final AsyncReviewRequest request) {
     log.info(
         "Starting async review for {} PR #{} (requestId={})",
         request.provider(),
@@ -58,28 +167,83 @@ public final class AsyncReviewOrchestrator {
 
     final SCMPort scmPort = scmProviderFactory.getProvider(request.provider());
 
-    final DiffAnalysisBundle diffBundle = fetchDiff(scmPort, repo, cr);
+    final String requestId = request.requestId();
+    final DiffCheckpoint diff =
+        checkpoints.resume(
+            requestId,
+            null,
+            PipelineStage.DIFF,
+            DiffCheckpoint.class,
+            () -> DiffCheckpoint.of(fetchDiff(scmPort, repo, cr)));
+    final DiffAnalysisBundle diffBundle = diff.toBundle(repo);
     final int filesAnalyzed = diffBundle.structuredDiff().files.size();
     log.debug("Fetched diff: {} files, {} lines", filesAnalyzed, diffBundle.getTotalLineCount());
 
-    final EnrichedDiffAnalysisBundle enrichedDiff = enrichDiff(diffBundle);
+    final ContextCheckpoint context =
+        checkpoints.resume(
+            requestId,
+            diff.revision(),
+            PipelineStage.CONTEXT,
+            ContextCheckpoint.class,
+            () -> gatherContext(scmPort, repo, cr, diffBundle));
+    final EnrichedDiffAnalysisBundle enrichedDiff =
+        new EnrichedDiffAnalysisBundle(diffBundle).withContext(context.contextResult());
     log.debug("Context enrichment: {} matches", enrichedDiff.getContextMatchCount());
 
+    return new ReviewInputs(
+        requestId,
+        diff.revision(),
+        enrichedDiff,
+        context.ticketContext(),
+        context.expansionResult(),
+        context.prMetadata(),
+        context.policies(),
+        filesAnalyzed);
+  }
+
+  private ContextCheckpoint gatherContext(
+      final SCMPort scmPort,
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier cr,
+      final DiffAnalysisBundle diffBundle) {
+    final EnrichedDiffAnalysisBundle enrichedDiff = enrichDiff(diffBundle);
     final PrMetadata prMetadata = fetchPrMetadata(scmPort, repo, cr, diffBundle);
 
     final TicketContext ticketContext = extractTicketContext(prMetadata);
-    final DiffExpansionResult expansionResult = expandDiff(scmPort, diffBundle);
+    final DiffExpansionResult expansionResult = expandDiff(scmPort, cr, diffBundle);
     final RepositoryPolicies policies = fetchPolicies(scmPort, repo);
 
+    return ContextCheckpoint.of(
+        enrichedDiff.contextResult(), prMetadata, ticketContext, expansionResult, policies);
+  }
+
+  private ReviewPromptResult checkpointedPrompt(final ReviewInputs inputs) {
+    return checkpoints.resume(
+        inputs.requestId(),
+        inputs.checkpointScope(),
+        PipelineStage.PROMPT,
+        ReviewPromptResult.class,
+        () -> buildPrompt(inputs));
+  }
+
+  private ReviewPromptResult buildPrompt(final ReviewInputs inputs) {
     final ReviewConfiguration config = ReviewConfiguration.defaults();
     final ReviewPromptResult prompt =
         promptBuilder.buildStructuredReviewPrompt(
-            enrichedDiff, config, ticketContext, expansionResult, prMetadata, policies);
-
-    logPromptDetails(prompt, enrichedDiff, ticketContext, expansionResult, policies);
-
-    final var schema = reviewService.performReview(prompt.systemPrompt(), prompt.userPrompt());
-    return new AsyncReviewResult(schema, filesAnalyzed);
+            inputs.enrichedDiff(),
+            config,
+            inputs.ticketContext(),
+            inputs.expansionResult(),
+            inputs.prMetadata(),
+            inputs.policies());
+
+    logPromptDetails(
+        prompt,
+        inputs.enrichedDiff(),
+        inputs.ticketContext(),
+        inputs.expansionResult(),
+        inputs.policies());
+    return prompt;
   }
 
   private DiffAnalysisBundle fetchDiff(
@@ -96,8 +260,11 @@ public final class AsyncReviewOrchestrator {
       final RepositoryIdentifier repo,
       final ChangeRequestIdentifier cr,
       final DiffAnalysisBundle diffBundle) {
+    if (diffBundle.prMetadata() != null) {
+      return diffBundle.prMetadata();
+    }
     if (!contextRetrievalConfig.isPrMetadataEnabled()) {
-      return diffBundle.prMetadata() != null ? diffBundle.prMetadata() : PrMetadata.empty();
+      return PrMetadata.empty();
     }
 
     return scmPort
@@ -105,8 +272,7 @@ public final class AsyncReviewOrchestrator {
         .onErrorResume(
             error -> {
               log.warn("Failed to fetch PR metadata: {}", error.getMessage());
-              return Mono.just(
-                  diffBundle.prMetadata() != null ? diffBundle.prMetadata() : PrMetadata.empty());
+              return Mono.just(PrMetadata.empty());
             })
         .block(DEFAULT_TIMEOUT);
   }
@@ -127,7 +293,9 @@ public final class AsyncReviewOrchestrator {
   }
 
   private DiffExpansionResult expandDiff(
-      final SCMPort scmPort, final DiffAnalysisBundle diffBundle) {
+      final SCMPort scmPort,
+      final ChangeRequestIdentifier cr,
+      final DiffAnalysisBundle diffBundle) {
     if (!contextRetrievalConfig.isDiffExpansionEnabled()) {
       return DiffExpansionResult.disabled();
     }
@@ -146,12 +314,13 @@ public final class AsyncReviewOrchestrator {
       return DiffExpansionResult.empty();
     }
 
-    final List<String> filesToExpand =
+    final List<GitFileModification> filesToExpand =
         modifiedFiles.stream()
-            .map(GitFileModification::getEffectivePath)
-            .filter(path -> shouldIncludeFile(path, expansionConfig))
+            .filter(file -> shouldIncludeFile(file.getEffectivePath(), expansionConfig))
             .limit(expansionConfig.maxFilesToExpand())
             .toList();
+    final List<String> paths =
+        filesToExpand.stream().map(GitFileModification::getEffectivePath).toList();
 
     final int totalCandidates = modifiedFiles.size();
     log.info(
@@ -160,21 +329,14 @@ public final class AsyncReviewOrchestrator {
         totalCandidates,
         newFilesSkipped);
 
+    final Map<String, String> contents =
+        fetchFileContents(scmPort, diffBundle.repositoryIdentifier(), cr, paths);
     final var expandedFiles =
         filesToExpand.stream()
             .map(
-                path -> {
-                  try {
-                    final String content =
-                        scmPort
-                            .getFileContent(diffBundle.repositoryIdentifier(), path)
-                            .block(DEFAULT_TIMEOUT);
-                    return createExpandedContext(path, content, expansionConfig.maxLineCount());
-                  } catch (final Exception e) {
-                    log.warn("Failed to expand file {}: {}", path, e.getMessage());
-                    return ExpandedFileContext.empty(path);
-                  }
-                })
+                file ->
+                    createExpandedContext(
+                        file, contents.get(file.getEffectivePath()), expansionConfig))
             .filter(ExpandedFileContext::hasContent)
             .toList();
 
@@ -186,6 +348,21 @@ public final class AsyncReviewOrchestrator {
         expandedFiles, totalRequested, expandedFiles.size(), skipped, skipReason);
   }
 
+  private Map<String, String> fetchFileContents(
+      final SCMPort scmPort,
+      final RepositoryIdentifier repo,
+      final ChangeRequestIdentifier cr,
+      final List<String> paths) {
+    try {
+      final Map<String, String> contents =
+          scmPort.getFileContents(repo, cr, paths).block(DEFAULT_TIMEOUT);
+      return contents != null ? contents : Map.of();
+    } catch (final Exception e) {
+      log.warn("Failed to expand {} files: {}", paths.size(), e.getMessage());
+      return Map.of();
+    }
+  }
+
   private List<GitFileModification> extractFilesNeedingExpansion(
       final List<GitFileModification> files) {
     return files.stream()
@@ -225,12 +402,28 @@ public final class AsyncReviewOrchestrator {
   }
 
   private ExpandedFileContext createExpandedContext(
-      final String filePath, final String content, final int maxLineCount) {
+      final GitFileModification file,
+      final String content,
+      final ContextRetrievalConfig.DiffExpansionConfig expansionConfig) {
+    final String filePath = file.getEffectivePath();
     if (content == null) {
       return ExpandedFileContext.empty(filePath);
     }
 
+    final int maxLineCount = expansionConfig.maxLineCount();
     final long lineCount = content.lines().count();
+    if (lineCount > maxLineCount && expansionConfig.compressionEnabled()) {
+      final CompressedSource compressed =
+          sourceCompressor.compress(filePath, content, file.diffHunkBlocks, maxLineCount);
+      log.debug(
+          "Compressed {} from {} to {} lines{}",
+          filePath,
+          compressed.originalLineCount(),
+          compressed.compressedLineCount(),
+          compressed.truncated() ? " (truncated)" : "");
+      return ExpandedFileContext.compressed(filePath, compressed.content(), (int) lineCount);
+    }
+
     if (lineCount > maxLineCount) {
       final String truncatedContent =
           content.lines().limit(maxLineCount).collect(Collectors.joining("\n"));
@@ -316,4 +509,49 @@ public final class AsyncReviewOrchestrator {
       log.trace("=== USER PROMPT ===\n{}", prompt.userPrompt());
     }
   }
+
+  private record ReviewInputs(
+      String requestId,
+      String checkpointScope,
+      EnrichedDiffAnalysisBundle enrichedDiff,
+      TicketContext ticketContext,
+      DiffExpansionResult expansionResult,
+      PrMetadata prMetadata,
+      RepositoryPolicies policies,
+      int filesAnalyzed) {
+
+    private ReviewInputs restrictedTo(final Set<String> paths, final ReviewTier tier) {
+      final List<GitFileModification> files =
+          enrichedDiff.structuredDiff().files.stream()
+              .filter(file -> paths.contains(file.getEffectivePath()))
+              .toList();
+      final EnrichedDiffAnalysisBundle restrictedDiff =
+          new EnrichedDiffAnalysisBundle(
+              enrichedDiff.repositoryIdentifier(),
+              new GitDiffDocument(files),
+              enrichedDiff.rawDiffText(),
+              enrichedDiff.contextResult(),
+              enrichedDiff.prMetadata());
+      final List<ExpandedFileContext> expanded =
+          expansionResult.expandedFiles().stream()
+              .filter(file -> paths.contains(file.filePath()))
+              .toList();
+      final DiffExpansionResult restrictedExpansion =
+          new DiffExpansionResult(
+              expanded,
+              expansionResult.totalFilesRequested(),
+              expanded.size(),
+              expansionResult.filesSkipped(),
+              expansionResult.skipReason());
+      return new ReviewInputs(
+          requestId,
+          PipelineCheckpointStore.tierScope(checkpointScope, tier),
+          restrictedDiff,
+          ticketContext,
+          restrictedExpansion,
+          prMetadata,
+          policies,
+          filesAnalyzed);
+    }
+  }
 }
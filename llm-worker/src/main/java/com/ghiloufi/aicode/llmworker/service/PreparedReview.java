@@ -0,0 +1,5 @@
+package com.ghiloufi.aicode.llmworker.service;
+
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+
+public record PreparedReview(ReviewPromptResult prompt, int filesAnalyzed) {}
@@ -0,0 +1,14 @@
+package com.ghiloufi.aicode.llmworker.service.prompt;
+
+import java.util.List;
+
+public record FanOutPrompts(String sharedSystemPrompt, List<String> groupPrompts) {
+
+  public FanOutPrompts {
+    groupPrompts = groupPrompts != null ? List.copyOf(groupPrompts) : List.of();
+  }
+
+  public int groupCount() {
+    return groupPrompts.size();
+  }
+}
@@ -5,6 +5,8 @@ import com.ghiloufi.aicode.core.domain.model.CommitInfo;
 import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
 import com.ghiloufi.aicode.core.domain.model.EnrichedDiffAnalysisBundle;
 import com.ghiloufi.aicode.core.domain.model.ExpandedFileContext;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
 import com.ghiloufi.aicode.core.domain.model.PolicyDocument;
 import com.ghiloufi.aicode.core.domain.model.PrMetadata;
 import com.ghiloufi.aicode.core.domain.model.RepositoryPolicies;
@@ -13,7 +15,10 @@ import com.ghiloufi.aicode.core.domain.model.TestFailure;
 import com.ghiloufi.aicode.core.domain.model.TestResults;
 import com.ghiloufi.aicode.core.domain.model.TicketContext;
 import com.ghiloufi.aicode.core.domain.service.DiffFormatter;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -111,6 +116,87 @@ public class PromptBuilder {
     return new ReviewPromptResult(systemPrompt, userPrompt);
   }
 
+  public FanOutPrompts buildFanOutReviewPrompts(
+      final EnrichedDiffAnalysisBundle enrichedDiff,
+      final ReviewConfiguration config,
+      final TicketContext ticketContext,
+      final DiffExpansionResult expansionResult,
+      final PrMetadata prMetadata,
+      final RepositoryPolicies policies,
+      final List<GitDiffDocument> fileGroups) {
+    if (enrichedDiff == null) {
+      throw new IllegalArgumentException("EnrichedDiffAnalysisBundle cannot be null");
+    }
+    if (config == null) {
+      throw new IllegalArgumentException("ReviewConfiguration cannot be null");
+    }
+    if (ticketContext == null) {
+      throw new IllegalArgumentException("TicketContext cannot be null");
+    }
+
+    final String ticketContextFormatted = ticketContext.formatForPrompt();
+    final StringBuilder shared = new StringBuilder(buildSystemPrompt());
+    shared.append("\n\n[SHARED_CONTEXT]\n");
+
+    if (!ticketContextFormatted.isBlank()) {
+      shared.append(ticketContextFormatted).append("\n");
+    }
+
+    shared.append("[REPO]\n");
+    shared.append("language: ").append(config.programmingLanguage()).append("\n");
+    shared.append("focus: ").append(config.focus().name()).append("\n");
+    shared.append("[/REPO]\n\n");
+
+    appendPrMetadataSection(shared, prMetadata != null ? prMetadata : PrMetadata.empty());
+
+    if (enrichedDiff.hasContext() && enrichedDiff.getContextMatchCount() > 0) {
+      shared.append("\n[CONTEXT]\n");
+      shared.append(formatContextMatches(enrichedDiff));
+      shared.append("[/CONTEXT]\n");
+    }
+
+    appendPoliciesSection(shared, policies);
+
+    if (config.customInstructions() != null && !config.customInstructions().isBlank()) {
+      shared.append("\n[CUSTOM_INSTRUCTIONS]\n");
+      shared.append(config.customInstructions());
+      shared.append("\n[/CUSTOM_INSTRUCTIONS]\n");
+    }
+
+    shared.append("[/SHARED_CONTEXT]\n\n");
+    shared.append(
+        "Each user message contains one slice of this change. "
+            + "Review only the files in that slice and report issues for those files only.\n");
+
+    final DiffExpansionResult expansion =
+        expansionResult != null ? expansionResult : DiffExpansionResult.empty();
+    final List<String> groupPrompts =
+        fileGroups.stream().map(group -> buildFileGroupPrompt(group, expansion)).toList();
+
+    return new FanOutPrompts(shared.toString(), groupPrompts);
+  }
+
+  private String buildFileGroupPrompt(
+      final GitDiffDocument group, final DiffExpansionResult expansionResult) {
+    final String formattedDiff = diffFormatter.formatDiff(group);
+    final StringBuilder prompt = new StringBuilder(formattedDiff.length() + 64);
+    prompt.append("[DIFF]\n");
+    prompt.append(formattedDiff);
+    prompt.append("\n[/DIFF]\n");
+
+    final Set<String> paths =
+        group.files.stream().map(GitFileModification::getEffectivePath).collect(Collectors.toSet());
+    final List<ExpandedFileContext> expanded =
+        expansionResult.expandedFiles().stream()
+            .filter(file -> paths.contains(file.filePath()))
+            .toList();
+    if (!expanded.isEmpty()) {
+      appendExpandedFilesSection(
+          prompt, new DiffExpansionResult(expanded, expanded.size(), expanded.size(), 0, null));
+    }
+    return prompt.toString();
+  }
+
   private String buildUserPrompt(
       final EnrichedDiffAnalysisBundle enrichedDiff,
       final ReviewConfiguration config,
@@ -221,7 +307,12 @@ public class PromptBuilder {
         continue;
       }
       prompt.append("--- FILE: ").append(file.filePath());
-      if (file.truncated()) {
+      if (file.compressed()) {
+        prompt
+            .append(" (compressed from ")
+            .append(file.lineCount())
+            .append(" lines, prefixed with original line numbers)");
+      } else if (file.truncated()) {
         prompt.append(" (truncated from ").append(file.lineCount()).append(" lines)");
       }
       prompt.append(" ---\n");
@@ -1,5 +1,13 @@
 package com.ghiloufi.aicode.llmworker.service.prompt;
 
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -18,6 +26,35 @@ public class TokenCounter {
     return new TokenCount(characterCount, estimatedTokens);
   }
 
+  public TokenCount countMessageTokens(final List<ChatMessage> messages) {
+    if (messages == null || messages.isEmpty()) {
+      return new TokenCount(0, 0);
+    }
+
+    int characters = 0;
+    int tokens = 0;
+    for (final ChatMessage message : messages) {
+      final TokenCount count = countTokens(textOf(message));
+      characters += count.characters();
+      tokens += count.tokens();
+    }
+    return new TokenCount(characters, tokens);
+  }
+
+  private static String textOf(final ChatMessage message) {
+    return switch (message) {
+      case SystemMessage system -> system.text();
+      case UserMessage user ->
+          user.contents().stream()
+              .filter(TextContent.class::isInstance)
+              .map(content -> ((TextContent) content).text())
+              .collect(Collectors.joining("\n"));
+      case AiMessage ai -> ai.text();
+      case ToolExecutionResultMessage toolResult -> toolResult.text();
+      default -> "";
+    };
+  }
+
   public TokenComparison comparePrompts(final String currentPrompt, final String optimizedPrompt) {
     final TokenCount currentCount = countTokens(currentPrompt);
     final TokenCount optimizedCount = countTokens(optimizedPrompt);
@@ -42,7 +42,7 @@ public final class MetadataBasedContextStrategy implements ContextRetrievalStrat
     final Instant startTime = Instant.now();
 
     return scmPort
-        .listRepositoryFiles()
+        .listRepositoryFiles(diffBundle.repositoryIdentifier())
         .map(
             repositoryFiles -> {
               final List<ContextMatch> allMatches = collectAllMatches(diffBundle, repositoryFiles);
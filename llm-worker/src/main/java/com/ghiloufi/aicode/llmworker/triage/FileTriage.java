@@ -0,0 +1,3 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+public record FileTriage(String path, ReviewTier tier, String reason, int changedLines) {}
@@ -0,0 +1,67 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.llmworker.config.TriageProperties;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+@Component
+public class HeuristicTriageClassifier {
+
+  private final TriageProperties properties;
+  private final AntPathMatcher matcher;
+
+  public HeuristicTriageClassifier(final TriageProperties properties) {
+    this.properties = properties;
+    this.matcher = new AntPathMatcher();
+    this.matcher.setCaseSensitive(false);
+  }
+
+  public TriagePlan classify(final List<GitFileModification> files) {
+    return new TriagePlan(files.stream().map(this::classify).toList(), "heuristic");
+  }
+
+  public FileTriage classify(final GitFileModification file) {
+    final String path = file.getEffectivePath();
+    final int changedLines = changedLines(file);
+
+    if (file.isDeleted()) {
+      return new FileTriage(path, ReviewTier.SKIP, "deleted file", changedLines);
+    }
+    final Optional<String> skipPattern = firstMatch(properties.getSkipPatterns(), path);
+    if (skipPattern.isPresent()) {
+      return new FileTriage(path, ReviewTier.SKIP, "matches " + skipPattern.get(), changedLines);
+    }
+    final Optional<String> riskPattern = firstMatch(properties.getHighRiskPatterns(), path);
+    if (riskPattern.isPresent()) {
+      return new FileTriage(
+          path, ReviewTier.DEEP, "high-risk path " + riskPattern.get(), changedLines);
+    }
+    if (changedLines >= properties.getDeepLineThreshold()) {
+      return new FileTriage(
+          path, ReviewTier.DEEP, "large change (" + changedLines + " lines)", changedLines);
+    }
+    return new FileTriage(
+        path, ReviewTier.LIGHT, "small change (" + changedLines + " lines)", changedLines);
+  }
+
+  static int changedLines(final GitFileModification file) {
+    if (file.diffHunkBlocks == null) {
+      return 0;
+    }
+    int changed = 0;
+    for (final DiffHunkBlock hunk : file.diffHunkBlocks) {
+      final DiffHunkBlock.LineStats stats = hunk.getLineStats();
+      changed += stats.added() + stats.deleted();
+    }
+    return changed;
+  }
+
+  private Optional<String> firstMatch(final List<String> patterns, final String path) {
+    final String normalized = path.startsWith("/") ? path.substring(1) : path;
+    return patterns.stream().filter(pattern -> matcher.match(pattern, normalized)).findFirst();
+  }
+}
@@ -0,0 +1,145 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ModelTriageClassifier {
+
+  private static final int MAX_EXCERPT_LINES = 12;
+
+  private static final String SYSTEM_PROMPT =
+      """
+      You triage files in a code change before review.
+      For each file choose one tier:
+      - deep: risky logic, security, concurrency, data handling, public APIs
+      - light: simple, low-risk edits that only need a quick look
+      - skip: generated code, formatting-only, lockfiles, assets
+      Respond with JSON only:
+      {"files":[{"path":"<path>","tier":"deep|light|skip","reason":"<short reason>"}]}
+      """;
+
+  private final ChatModel model;
+  private final HeuristicTriageClassifier heuristic;
+  private final ObjectMapper objectMapper;
+
+  public ModelTriageClassifier(
+      final ChatModel model,
+      final HeuristicTriageClassifier heuristic,
+      final ObjectMapper objectMapper) {
+    this.model = model;
+    this.heuristic = heuristic;
+    this.objectMapper = objectMapper;
+  }
+
+  public TriagePlan classify(final List<GitFileModification> files) {
+    final TriagePlan baseline = heuristic.classify(files);
+    final Map<String, FileTriage> decisions;
+    try {
+      decisions = askModel(files);
+    } catch (final RuntimeException e) {
+      log.warn("Model triage failed, falling back to heuristics: {}", e.getMessage());
+      return new TriagePlan(baseline.files(), "heuristic-fallback");
+    }
+
+    final List<FileTriage> merged =
+        baseline.files().stream().map(file -> merge(file, decisions.get(file.path()))).toList();
+    return new TriagePlan(merged, "model");
+  }
+
+  private static FileTriage merge(final FileTriage heuristic, final FileTriage model) {
+    if (model == null || heuristic.tier() == ReviewTier.DEEP) {
+      return heuristic;
+    }
+    return new FileTriage(heuristic.path(), model.tier(), model.reason(), heuristic.changedLines());
+  }
+
+  private Map<String, FileTriage> askModel(final List<GitFileModification> files) {
+    final ChatRequest request =
+        ChatRequest.builder()
+            .messages(SystemMessage.from(SYSTEM_PROMPT), UserMessage.from(describe(files)))
+            .build();
+    final String answer = model.chat(request).aiMessage().text();
+    return parse(answer);
+  }
+
+  Map<String, FileTriage> parse(final String answer) {
+    final int start = answer != null ? answer.indexOf('{') : -1;
+    final int end = answer != null ? answer.lastIndexOf('}') : -1;
+    if (start < 0 || end <= start) {
+      throw new IllegalStateException("Triage response contains no JSON object");
+    }
+    final JsonNode root;
+    try {
+      root = objectMapper.readTree(answer.substring(start, end + 1));
+    } catch (final Exception e) {
+      throw new IllegalStateException("Unparseable triage response", e);
+    }
+
+    final Map<String, FileTriage> decisions = new HashMap<>();
+    for (final JsonNode node : root.path("files")) {
+      final String path = node.path("path").asText(null);
+      final ReviewTier tier = parseTier(node.path("tier").asText(""));
+      if (path != null && tier != null) {
+        decisions.put(path, new FileTriage(path, tier, node.path("reason").asText("model"), 0));
+      }
+    }
+    return decisions;
+  }
+
+  private static ReviewTier parseTier(final String tier) {
+    try {
+      return ReviewTier.valueOf(tier.trim().toUpperCase(Locale.ROOT));
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String describe(final List<GitFileModification> files) {
+    final StringBuilder prompt = new StringBuilder("Changed files:\n");
+    for (final GitFileModification file : files) {
+      prompt
+          .append("\n### ")
+          .append(file.getEffectivePath())
+          .append(" (")
+          .append(status(file))
+          .append(", ")
+          .append(HeuristicTriageClassifier.changedLines(file))
+          .append(" changed lines)\n");
+      int excerptLines = 0;
+      for (final DiffHunkBlock hunk : file.diffHunkBlocks) {
+        for (final String line : hunk.lines) {
+          if (excerptLines >= MAX_EXCERPT_LINES) {
+            break;
+          }
+          if (line.startsWith("+") || line.startsWith("-")) {
+            prompt.append(line).append('\n');
+            excerptLines++;
+          }
+        }
+      }
+    }
+    return prompt.toString();
+  }
+
+  private static String status(final GitFileModification file) {
+    if (file.isNewFile()) {
+      return "added";
+    }
+    if (file.isDeleted()) {
+      return "deleted";
+    }
+    return file.isRenamed() ? "renamed" : "modified";
+  }
+}
@@ -0,0 +1,7 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+public enum ReviewTier {
+  DEEP,
+  LIGHT,
+  SKIP
+}
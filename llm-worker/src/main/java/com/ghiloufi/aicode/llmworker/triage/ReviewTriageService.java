@@ -0,0 +1,166 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.service.LlmCostModel;
+import com.ghiloufi.aicode.llmworker.config.ChatModelFactory;
+import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
+import com.ghiloufi.aicode.llmworker.config.TriageProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.processor.StructuredReviewService;
+import com.ghiloufi.aicode.llmworker.service.prompt.FanOutPrompts;
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter;
+import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class ReviewTriageService {
+
+  private final TriageProperties properties;
+  private final HeuristicTriageClassifier heuristic;
+  private final ReviewService deepReviewService;
+  private final TokenCounter tokenCounter;
+  private final LlmCostModel costModel;
+  private final MeterRegistry meterRegistry;
+  private final ReviewService lightReviewService;
+  private final ModelTriageClassifier modelClassifier;
+  private final String primaryProvider;
+  private final String primaryModel;
+  private final String lightProvider;
+  private final String lightModel;
+
+  public ReviewTriageService(
+      final TriageProperties properties,
+      final HeuristicTriageClassifier heuristic,
+      final ReviewService deepReviewService,
+      @Qualifier("lightChatModel") final ObjectProvider<ChatModel> lightChatModel,
+      final ChatModelFactory chatModelFactory,
+      final ProviderProperties providerProperties,
+      final TokenCounter tokenCounter,
+      final LlmCostModel costModel,
+      final ObjectMapper objectMapper,
+      final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.heuristic = heuristic;
+    this.deepReviewService = deepReviewService;
+    this.tokenCounter = tokenCounter;
+    this.costModel = costModel;
+    this.meterRegistry = meterRegistry;
+    this.primaryProvider = providerProperties.getProvider();
+    this.primaryModel = chatModelFactory.modelName(primaryProvider);
+    this.lightProvider = properties.lightProviderOr(primaryProvider);
+    this.lightModel =
+        properties.lightModelFor(lightProvider, chatModelFactory.modelName(lightProvider));
+
+    final ChatModel light = properties.isEnabled() ? lightChatModel.getIfAvailable() : null;
+    if (light == null) {
+      this.lightReviewService = deepReviewService;
+      this.modelClassifier = null;
+      return;
+    }
+
+    this.lightReviewService = new StructuredReviewService(light);
+    this.modelClassifier =
+        properties.getMode() == TriageProperties.Mode.MODEL
+            ? new ModelTriageClassifier(light, heuristic, objectMapper)
+            : null;
+    if (lightProvider.equalsIgnoreCase(primaryProvider) && lightModel.equals(primaryModel)) {
+      log.warn(
+          "Review triage light model {}:{} is the primary model; downgrades will not save tokens",
+          lightProvider,
+          lightModel);
+    }
+    log.info(
+        "Review triage enabled: mode={}, light model={}:{}",
+        properties.getMode(),
+        lightProvider,
+        lightModel);
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public TriagePlan triage(final List<GitFileModification> files) {
+    final TriagePlan plan =
+        modelClassifier != null ? modelClassifier.classify(files) : heuristic.classify(files);
+
+    meterRegistry.counter("llm.triage.decisions", "classifier", plan.classifier()).increment();
+    for (final FileTriage file : plan.files()) {
+      meterRegistry.counter("llm.triage.files", "tier", tag(file.tier())).increment();
+      log.debug("Triage {} -> {} ({})", file.path(), file.tier(), file.reason());
+    }
+    log.info("Triage plan: {}", plan.summary());
+    return plan;
+  }
+
+  public ReviewService reviewerFor(final ReviewTier tier) {
+    return switch (tier) {
+      case DEEP -> deepReviewService;
+      case LIGHT -> lightReviewService;
+      case SKIP -> throw new IllegalArgumentException("Skipped files are not reviewed");
+    };
+  }
+
+  public void recordPrompt(final ReviewTier tier, final ReviewPromptResult prompt) {
+    recordPromptTokens(
+        tier,
+        tokenCounter.countTokens(prompt.systemPrompt()).tokens()
+            + tokenCounter.countTokens(prompt.userPrompt()).tokens());
+  }
+
+  public void recordPrompt(final ReviewTier tier, final FanOutPrompts prompts) {
+    final int sharedTokens = tokenCounter.countTokens(prompts.sharedSystemPrompt()).tokens();
+    int tokens = 0;
+    for (final String groupPrompt : prompts.groupPrompts()) {
+      tokens += sharedTokens + tokenCounter.countTokens(groupPrompt).tokens();
+    }
+    recordPromptTokens(tier, tokens);
+  }
+
+  private void recordPromptTokens(final ReviewTier tier, final int tokens) {
+    meterRegistry.counter("llm.triage.prompt.tokens", "tier", tag(tier)).increment(tokens);
+    if (tier == ReviewTier.LIGHT) {
+      final double saved = downgradeSavings(tokens);
+      if (saved > 0) {
+        meterRegistry.counter("llm.triage.tokens.saved", "reason", "downgraded").increment(saved);
+      }
+    }
+  }
+
+  private double downgradeSavings(final int tokens) {
+    final LlmUsage usage = new LlmUsage(tokens, 0, 0, 1);
+    final BigDecimal primaryCost =
+        costModel.estimate(primaryProvider, primaryModel, usage).orElse(null);
+    final BigDecimal lightCost = costModel.estimate(lightProvider, lightModel, usage).orElse(null);
+    if (primaryCost == null || lightCost == null || primaryCost.signum() <= 0) {
+      return 0;
+    }
+    return tokens * (1 - lightCost.doubleValue() / primaryCost.doubleValue());
+  }
+
+  public void recordSkipped(final List<GitFileModification> skippedFiles) {
+    int tokens = 0;
+    for (final GitFileModification file : skippedFiles) {
+      for (final var hunk : file.diffHunkBlocks) {
+        tokens += tokenCounter.countTokens(String.join("\n", hunk.lines)).tokens();
+      }
+    }
+    if (tokens > 0) {
+      meterRegistry.counter("llm.triage.tokens.saved", "reason", "skipped").increment(tokens);
+    }
+  }
+
+  private static String tag(final ReviewTier tier) {
+    return tier.name().toLowerCase();
+  }
+}
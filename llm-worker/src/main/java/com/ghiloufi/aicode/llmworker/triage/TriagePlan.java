@@ -0,0 +1,33 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record TriagePlan(List<FileTriage> files, String classifier) {
+
+  public TriagePlan {
+    files = files != null ? List.copyOf(files) : List.of();
+  }
+
+  public Set<String> paths(final ReviewTier tier) {
+    return files.stream()
+        .filter(file -> file.tier() == tier)
+        .map(FileTriage::path)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  public long count(final ReviewTier tier) {
+    return files.stream().filter(file -> file.tier() == tier).count();
+  }
+
+  public boolean hasReviewableFiles() {
+    return files.stream().anyMatch(file -> file.tier() != ReviewTier.SKIP);
+  }
+
+  public String summary() {
+    return String.format(
+        "%d deep, %d light, %d skipped (%s)",
+        count(ReviewTier.DEEP), count(ReviewTier.LIGHT), count(ReviewTier.SKIP), classifier);
+  }
+}
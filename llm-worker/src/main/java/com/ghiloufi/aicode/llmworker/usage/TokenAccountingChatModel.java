@@ -0,0 +1,59 @@
+package com.ghiloufi.aicode.llmworker.usage;
+
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+
+public class TokenAccountingChatModel implements ChatModel {
+
+  private final ChatModel delegate;
+  private final TokenUsageTracker tracker;
+  private final MeterRegistry meterRegistry;
+  private final String provider;
+  private final String modelName;
+
+  public TokenAccountingChatModel(
+      final ChatModel delegate,
+      final TokenUsageTracker tracker,
+      final MeterRegistry meterRegistry,
+      final String provider,
+      final String modelName) {
+    this.delegate = delegate;
+    this.tracker = tracker;
+    this.meterRegistry = meterRegistry;
+    this.provider = provider;
+    this.modelName = modelName;
+  }
+
+  @Override
+  public ChatResponse doChat(final ChatRequest request) {
+    final ChatResponse response = delegate.chat(request);
+    final LlmUsage usage = TokenUsageMapper.toLlmUsage(response.tokenUsage());
+    tracker.record(provider, modelName, usage);
+    count("input", usage.uncachedInputTokens());
+    count("cached", usage.cachedInputTokens());
+    count("output", usage.outputTokens());
+    return response;
+  }
+
+  @Override
+  public ChatRequestParameters defaultRequestParameters() {
+    return delegate.defaultRequestParameters();
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+
+  private void count(final String type, final long tokens) {
+    meterRegistry
+        .counter("llm.tokens", "provider", provider, "model", modelName, "type", type)
+        .increment(tokens);
+  }
+}
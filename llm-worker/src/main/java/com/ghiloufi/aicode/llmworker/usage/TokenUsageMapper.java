@@ -0,0 +1,36 @@
+package com.ghiloufi.aicode.llmworker.usage;
+
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import dev.langchain4j.model.anthropic.AnthropicTokenUsage;
+import dev.langchain4j.model.openai.OpenAiTokenUsage;
+import dev.langchain4j.model.output.TokenUsage;
+
+public final class TokenUsageMapper {
+
+  private TokenUsageMapper() {}
+
+  public static LlmUsage toLlmUsage(final TokenUsage tokenUsage) {
+    if (tokenUsage == null) {
+      return new LlmUsage(0, 0, 0, 1);
+    }
+    final long output = count(tokenUsage.outputTokenCount());
+    if (tokenUsage instanceof AnthropicTokenUsage anthropic) {
+      final long cacheRead = count(anthropic.cacheReadInputTokens());
+      final long input =
+          count(anthropic.inputTokenCount())
+              + cacheRead
+              + count(anthropic.cacheCreationInputTokens());
+      return new LlmUsage(input, output, cacheRead, 1);
+    }
+    final long input = count(tokenUsage.inputTokenCount());
+    if (tokenUsage instanceof OpenAiTokenUsage openAi && openAi.inputTokensDetails() != null) {
+      final long cached = Math.min(count(openAi.inputTokensDetails().cachedTokens()), input);
+      return new LlmUsage(input, output, cached, 1);
+    }
+    return new LlmUsage(input, output, 0, 1);
+  }
+
+  private static long count(final Integer value) {
+    return value != null ? value : 0L;
+  }
+}
@@ -0,0 +1,70 @@
+package com.ghiloufi.aicode.llmworker.usage;
+
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ModelUsage;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenUsageTracker {
+
+  private static final Comparator<ModelUsage> BY_MODEL =
+      Comparator.comparing(ModelUsage::llmProvider).thenComparing(ModelUsage::llmModel);
+
+  private final InheritableThreadLocal<Map<ModelKey, LlmUsage>> current =
+      new InheritableThreadLocal<>();
+
+  public Scope open() {
+    final Map<ModelKey, LlmUsage> previous = current.get();
+    final Map<ModelKey, LlmUsage> usage = new ConcurrentHashMap<>();
+    current.set(usage);
+    return new Scope(usage, previous);
+  }
+
+  public void record(final String provider, final String model, final LlmUsage usage) {
+    final Map<ModelKey, LlmUsage> byModel = current.get();
+    if (byModel != null && usage != null) {
+      byModel.merge(new ModelKey(provider, model), usage, LlmUsage::plus);
+    }
+  }
+
+  private record ModelKey(String provider, String model) {}
+
+  public final class Scope implements AutoCloseable {
+
+    private final Map<ModelKey, LlmUsage> byModel;
+    private final Map<ModelKey, LlmUsage> previous;
+
+    private Scope(final Map<ModelKey, LlmUsage> byModel, final Map<ModelKey, LlmUsage> previous) {
+      this.byModel = byModel;
+      this.previous = previous;
+    }
+
+    public LlmUsage usage() {
+      return ModelUsage.total(byModel());
+    }
+
+    public List<ModelUsage> byModel() {
+      return byModel.entrySet().stream()
+          .map(
+              entry ->
+                  new ModelUsage(
+                      entry.getKey().provider(), entry.getKey().model(), entry.getValue()))
+          .sorted(BY_MODEL)
+          .toList();
+    }
+
+    @Override
+    public void close() {
+      if (previous != null) {
+        current.set(previous);
+        byModel.forEach((key, usage) -> previous.merge(key, usage, LlmUsage::plus));
+      } else {
+        current.remove();
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.ghiloufi.aicode.llmworker.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.ContextRetrievalResult;
+import com.ghiloufi.aicode.core.domain.model.EnrichedDiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitHubRepositoryId;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.ReviewConfiguration;
+import com.ghiloufi.aicode.core.domain.model.TicketContext;
+import com.ghiloufi.aicode.core.service.warmup.WarmupSample;
+import com.ghiloufi.aicode.core.service.warmup.WarmupStep;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import com.ghiloufi.aicode.llmworker.service.prompt.PromptBuilder;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PromptWarmupStep implements WarmupStep {
+
+  private static final GitHubRepositoryId REPOSITORY = new GitHubRepositoryId("warmup", "corpus");
+
+  private final PromptBuilder promptBuilder;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public String name() {
+    return "structured-prompt";
+  }
+
+  @Override
+  public void exercise(final WarmupSample sample, final GitDiffDocument diff) {
+    final EnrichedDiffAnalysisBundle bundle =
+        new EnrichedDiffAnalysisBundle(
+            REPOSITORY, diff, sample.diff(), ContextRetrievalResult.empty(), PrMetadata.empty());
+    promptBuilder.buildStructuredReviewPrompt(
+        bundle, ReviewConfiguration.defaults(), TicketContext.empty());
+    if (!sample.hasResponse()) {
+      return;
+    }
+    try {
+      objectMapper.readValue(sample.response(), ReviewResultSchema.class);
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
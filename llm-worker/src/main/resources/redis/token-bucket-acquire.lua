@@ -0,0 +1,40 @@
+local rpm_key = KEYS[1]
+local tpm_key = KEYS[2]
+local rpm_capacity = tonumber(ARGV[1])
+local tpm_capacity = tonumber(ARGV[2])
+local cost = math.min(tonumber(ARGV[3]), tpm_capacity)
+local window = tonumber(ARGV[4])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local function available(key, capacity)
+  local state = redis.call('HMGET', key, 'tokens', 'ts')
+  local tokens = tonumber(state[1])
+  local ts = tonumber(state[2])
+  if tokens == nil or ts == nil then
+    return capacity
+  end
+  local elapsed = math.max(0, now - ts)
+  return math.min(capacity, tokens + elapsed * capacity / window)
+end
+
+local rpm_available = available(rpm_key, rpm_capacity)
+local tpm_available = available(tpm_key, tpm_capacity)
+
+if rpm_available >= 1 and tpm_available >= cost then
+  redis.call('HSET', rpm_key, 'tokens', tostring(rpm_available - 1), 'ts', now)
+  redis.call('HSET', tpm_key, 'tokens', tostring(tpm_available - cost), 'ts', now)
+  redis.call('PEXPIRE', rpm_key, window * 2)
+  redis.call('PEXPIRE', tpm_key, window * 2)
+  return {1, 0}
+end
+
+local wait = 0
+if rpm_available < 1 then
+  wait = math.max(wait, (1 - rpm_available) * window / rpm_capacity)
+end
+if tpm_available < cost then
+  wait = math.max(wait, (cost - tpm_available) * window / tpm_capacity)
+end
+return {0, math.ceil(wait)}
@@ -0,0 +1,22 @@
+local tpm_key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local delta = tonumber(ARGV[2])
+local window = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', tpm_key, 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  return 0
+end
+
+local elapsed = math.max(0, now - ts)
+local refilled = math.min(capacity, tokens + elapsed * capacity / window)
+local adjusted = math.max(-capacity, math.min(capacity, refilled - delta))
+
+redis.call('HSET', tpm_key, 'tokens', tostring(adjusted), 'ts', now)
+redis.call('PEXPIRE', tpm_key, window * 2)
+return 1
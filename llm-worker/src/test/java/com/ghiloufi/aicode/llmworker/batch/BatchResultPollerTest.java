@@ -0,0 +1,286 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ReviewMode;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewProcessor;
+import com.ghiloufi.aicode.llmworker.publisher.ReviewResultPublisher;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@DisplayName("BatchResultPoller Tests")
+final class BatchResultPollerTest {
+
+  private static final String REVIEW_JSON =
+      """
+      {"summary":"Looks good","issues":[],"non_blocking_notes":[]}""";
+
+  @TempDir Path directory;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final Map<Object, Object> trackedEntries = new HashMap<>();
+  private StringRedisTemplate redisTemplate;
+  private SetOperations<String, String> sets;
+  private ReviewProcessor reviewProcessor;
+  private ReviewResultPublisher resultPublisher;
+  private StubChatModel chatModel;
+  private BatchProperties properties;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    final ValueOperations<String, String> values = mock(ValueOperations.class);
+    final HashOperations<String, Object, Object> hashes = mock(HashOperations.class);
+    sets = mock(SetOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(values);
+    when(redisTemplate.opsForHash()).thenReturn(hashes);
+    when(redisTemplate.opsForSet()).thenReturn(sets);
+    when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+    when(hashes.entries(anyString())).thenReturn(trackedEntries);
+    reviewProcessor = mock(ReviewProcessor.class);
+    resultPublisher = mock(ReviewResultPublisher.class);
+    chatModel = new StubChatModel("```json\n" + REVIEW_JSON + "\n```");
+  }
+
+  private FileBatchProvider provider(final boolean autoComplete) {
+    properties =
+        new BatchProperties(
+            true,
+            "file",
+            "review:bulk-requests",
+            "llm-batch-workers",
+            "llm:batch",
+            50,
+            Duration.ofMinutes(5),
+            200,
+            Duration.ofMinutes(15),
+            Duration.ofSeconds(30),
+            Duration.ofMinutes(5),
+            4096,
+            "24h",
+            new BatchProperties.FileProperties(directory.toString(), autoComplete));
+    @SuppressWarnings("unchecked")
+    final ObjectProvider<ChatModel> models = mock(ObjectProvider.class);
+    when(models.getObject()).thenReturn(chatModel);
+    return new FileBatchProvider(properties, objectMapper, models);
+  }
+
+  private BatchResultPoller poller(final BatchProvider provider) {
+    return new BatchResultPoller(
+        redisTemplate, provider, reviewProcessor, resultPublisher, properties, objectMapper);
+  }
+
+  private void track(final String requestId) throws Exception {
+    final AsyncReviewRequest request =
+        new AsyncReviewRequest(
+            requestId, SourceProvider.GITHUB, "owner/repo", 7, ReviewMode.DIFF, Instant.now());
+    trackedEntries.put(
+        requestId,
+        objectMapper.writeValueAsString(new BatchEntry(request, 3, System.currentTimeMillis())));
+  }
+
+  @Nested
+  @DisplayName("Completion")
+  final class Completion {
+
+    @Test
+    @DisplayName("should_publish_parsed_results_when_batch_completes")
+    void should_publish_parsed_results_when_batch_completes() throws Exception {
+      final FileBatchProvider provider = provider(true);
+      final String batchId =
+          provider.submit(
+              List.of(
+                  new BatchItem("req-1", "system", "review one"),
+                  new BatchItem("req-2", "system", "review two")));
+      track("req-1");
+      track("req-2");
+
+      poller(provider).pollBatch(batchId);
+
+      final ArgumentCaptor<ReviewResultSchema> schema =
+          ArgumentCaptor.forClass(ReviewResultSchema.class);
+      final ArgumentCaptor<LlmUsage> usage = ArgumentCaptor.forClass(LlmUsage.class);
+      verify(reviewProcessor)
+          .publishCompleted(
+              eq("req-1"),
+              any(AsyncReviewRequest.class),
+              schema.capture(),
+              eq(3),
+              anyLong(),
+              usage.capture());
+      verify(reviewProcessor)
+          .publishCompleted(
+              eq("req-2"), any(AsyncReviewRequest.class), any(), eq(3), anyLong(), any());
+      assertThat(schema.getValue().summary()).isEqualTo("Looks good");
+      assertThat(usage.getValue().calls()).isEqualTo(1);
+      assertThat(chatModel.calls).isEqualTo(2);
+      verify(sets).remove("llm:batch:active", batchId);
+      verify(redisTemplate).delete("llm:batch:" + batchId + ":requests");
+    }
+
+    @Test
+    @DisplayName("should_publish_error_for_unparseable_result")
+    void should_publish_error_for_unparseable_result() throws Exception {
+      chatModel = new StubChatModel("not json");
+      final FileBatchProvider provider = provider(true);
+      final String batchId = provider.submit(List.of(new BatchItem("req-1", "system", "user")));
+      track("req-1");
+
+      poller(provider).pollBatch(batchId);
+
+      verify(resultPublisher).publishError(eq("req-1"), anyString());
+      verify(reviewProcessor, never())
+          .publishCompleted(anyString(), any(), any(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("should_publish_error_for_request_missing_from_results")
+    void should_publish_error_for_request_missing_from_results() throws Exception {
+      final FileBatchProvider provider = provider(true);
+      final String batchId = provider.submit(List.of(new BatchItem("req-1", "system", "user")));
+      track("req-1");
+      track("req-orphan");
+
+      poller(provider).pollBatch(batchId);
+
+      verify(resultPublisher).publishError(eq("req-orphan"), anyString());
+    }
+  }
+
+  @Nested
+  @DisplayName("Pending Batches")
+  final class PendingBatches {
+
+    @Test
+    @DisplayName("should_leave_batch_active_while_in_progress")
+    void should_leave_batch_active_while_in_progress() throws Exception {
+      final FileBatchProvider provider = provider(false);
+      final String batchId = provider.submit(List.of(new BatchItem("req-1", "system", "user")));
+      track("req-1");
+
+      poller(provider).pollBatch(batchId);
+
+      assertThat(provider.status(batchId)).isEqualTo(BatchStatus.IN_PROGRESS);
+      verify(sets, never()).remove(anyString(), any());
+      verify(reviewProcessor, never())
+          .publishCompleted(anyString(), any(), any(), anyInt(), anyLong(), any());
+      assertThat(chatModel.calls).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("Locking")
+  final class Locking {
+
+    @Test
+    @DisplayName("should_release_poll_lock_only_with_own_token")
+    void should_release_poll_lock_only_with_own_token() throws Exception {
+      final FileBatchProvider provider = provider(false);
+      final String batchId = provider.submit(List.of(new BatchItem("req-1", "system", "user")));
+
+      poller(provider).pollBatch(batchId);
+
+      final ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+      verify(redisTemplate.opsForValue())
+          .setIfAbsent(eq(properties.lockKey(batchId)), token.capture(), any(Duration.class));
+      verify(redisTemplate)
+          .execute(
+              any(RedisScript.class),
+              eq(List.of(properties.lockKey(batchId))),
+              eq(token.getValue()));
+      verify(redisTemplate, never()).delete(properties.lockKey(batchId));
+    }
+
+    @Test
+    @DisplayName("should_leave_lock_untouched_when_held_by_another_worker")
+    void should_leave_lock_untouched_when_held_by_another_worker() throws Exception {
+      final FileBatchProvider provider = provider(true);
+      final String batchId = provider.submit(List.of(new BatchItem("req-1", "system", "user")));
+      when(redisTemplate.opsForValue().setIfAbsent(anyString(), anyString(), any(Duration.class)))
+          .thenReturn(false);
+
+      poller(provider).pollBatch(batchId);
+
+      verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+      verify(redisTemplate, never()).delete(properties.lockKey(batchId));
+      assertThat(chatModel.calls).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("Code Fences")
+  final class CodeFences {
+
+    @Test
+    @DisplayName("should_strip_markdown_code_fence")
+    void should_strip_markdown_code_fence() {
+      assertThat(BatchResultPoller.stripCodeFence("```json\n{\"a\":1}\n```"))
+          .isEqualTo("{\"a\":1}");
+    }
+
+    @Test
+    @DisplayName("should_keep_plain_json_untouched")
+    void should_keep_plain_json_untouched() {
+      assertThat(BatchResultPoller.stripCodeFence(" {\"a\":1} ")).isEqualTo("{\"a\":1}");
+    }
+  }
+
+  private static final class StubChatModel implements ChatModel {
+
+    private final String answer;
+    private int calls;
+
+    private StubChatModel(final String answer) {
+      this.answer = answer;
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls++;
+      assertThat(request.messages()).last().isInstanceOf(UserMessage.class);
+      return ChatResponse.builder().aiMessage(AiMessage.from(answer)).build();
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package com.ghiloufi.aicode.llmworker.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.ReviewMode;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.llmworker.config.BatchProperties;
+import com.ghiloufi.aicode.llmworker.config.WorkerProperties;
+import com.ghiloufi.aicode.llmworker.publisher.ReviewResultPublisher;
+import com.ghiloufi.aicode.llmworker.service.AsyncReviewOrchestrator;
+import com.ghiloufi.aicode.llmworker.service.PreparedReview;
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@DisplayName("BatchReviewCollector Tests")
+final class BatchReviewCollectorTest {
+
+  private static final String STREAM_KEY = "review:bulk-requests";
+  private static final String GROUP = "llm-batch-workers";
+  private static final String CONSUMER = "worker-1";
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final List<MapRecord<String, Object, Object>> ownPending = new ArrayList<>();
+  private final List<MapRecord<String, Object, Object>> incoming = new ArrayList<>();
+  private final List<PendingMessage> groupPending = new ArrayList<>();
+  private StringRedisTemplate redisTemplate;
+  private StreamOperations<String, Object, Object> streams;
+  private HashOperations<String, Object, Object> hashes;
+  private BatchProvider batchProvider;
+  private int newReads;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    streams = mock(StreamOperations.class);
+    hashes = mock(HashOperations.class);
+    final SetOperations<String, String> sets = mock(SetOperations.class);
+    when(redisTemplate.opsForStream()).thenReturn(streams);
+    when(redisTemplate.opsForHash()).thenReturn(hashes);
+    when(redisTemplate.opsForSet()).thenReturn(sets);
+    when(streams.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+        .thenAnswer(
+            invocation -> {
+              final StreamOffset<String> offset = invocation.getArgument(2);
+              if (ReadOffset.lastConsumed().equals(offset.getOffset())) {
+                newReads++;
+                final List<MapRecord<String, Object, Object>> batch = List.copyOf(incoming);
+                incoming.clear();
+                return batch;
+              }
+              final List<MapRecord<String, Object, Object>> batch = List.copyOf(ownPending);
+              ownPending.clear();
+              return batch;
+            });
+    when(streams.pending(eq(STREAM_KEY), eq(GROUP), any(Range.class), anyLong()))
+        .thenAnswer(invocation -> new PendingMessages(GROUP, List.copyOf(groupPending)));
+    batchProvider = mock(BatchProvider.class);
+    when(batchProvider.name()).thenReturn("file");
+  }
+
+  private BatchReviewCollector collector(final int maxBatchSize, final int maxBuffered) {
+    final BatchProperties properties =
+        new BatchProperties(
+            true,
+            "file",
+            STREAM_KEY,
+            GROUP,
+            "llm:batch",
+            maxBatchSize,
+            Duration.ofMinutes(5),
+            maxBuffered,
+            Duration.ofMinutes(15),
+            Duration.ofSeconds(30),
+            Duration.ofMinutes(5),
+            4096,
+            "24h",
+            new BatchProperties.FileProperties("/tmp/llm-batch", false));
+    final AsyncReviewOrchestrator orchestrator = mock(AsyncReviewOrchestrator.class);
+    when(orchestrator.prepareReview(any()))
+        .thenReturn(new PreparedReview(new ReviewPromptResult("system", "user"), 2));
+    return new BatchReviewCollector(
+        redisTemplate,
+        orchestrator,
+        batchProvider,
+        mock(ReviewResultPublisher.class),
+        properties,
+        new WorkerProperties(GROUP, CONSUMER, "review:requests", 10, 120),
+        objectMapper);
+  }
+
+  private MapRecord<String, Object, Object> message(final String id, final String requestId)
+      throws Exception {
+    final AsyncReviewRequest request =
+        new AsyncReviewRequest(
+            requestId, SourceProvider.GITHUB, "owner/repo", 7, ReviewMode.BULK, Instant.now());
+    return MapRecord.create(
+            STREAM_KEY,
+            Map.<Object, Object>of(
+                "requestId", requestId, "payload", objectMapper.writeValueAsString(request)))
+        .withId(RecordId.of(id));
+  }
+
+  @Nested
+  @DisplayName("Acknowledgement")
+  final class Acknowledgement {
+
+    @Test
+    @DisplayName("should_acknowledge_only_after_batch_is_tracked")
+    void should_acknowledge_only_after_batch_is_tracked() throws Exception {
+      when(batchProvider.submit(any())).thenReturn("batch-1");
+      incoming.add(message("1-0", "req-1"));
+      final BatchReviewCollector collector = collector(1, 10);
+
+      collector.collect();
+
+      final InOrder order = inOrder(batchProvider, hashes, streams);
+      order.verify(batchProvider).submit(any());
+      order.verify(hashes).putAll(eq("llm:batch:batch-1:requests"), anyMap());
+      order.verify(streams).acknowledge(STREAM_KEY, GROUP, RecordId.of("1-0"));
+      assertThat(collector.bufferedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_keep_messages_pending_when_submit_fails")
+    void should_keep_messages_pending_when_submit_fails() throws Exception {
+      when(batchProvider.submit(any())).thenThrow(new IllegalStateException("provider down"));
+      incoming.add(message("1-0", "req-1"));
+      final BatchReviewCollector collector = collector(1, 10);
+
+      collector.collect();
+
+      verify(streams, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+      assertThat(collector.bufferedCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("Recovery")
+  final class Recovery {
+
+    @Test
+    @DisplayName("should_restage_own_pending_messages_on_first_collect")
+    void should_restage_own_pending_messages_on_first_collect() throws Exception {
+      ownPending.add(message("1-0", "req-1"));
+      final BatchReviewCollector collector = collector(5, 10);
+
+      collector.collect();
+
+      assertThat(collector.bufferedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should_claim_idle_messages_of_other_consumers")
+    void should_claim_idle_messages_of_other_consumers() throws Exception {
+      groupPending.add(
+          new PendingMessage(
+              RecordId.of("1-0"), Consumer.from(GROUP, "worker-dead"), Duration.ofMinutes(20), 1));
+      groupPending.add(
+          new PendingMessage(
+              RecordId.of("2-0"), Consumer.from(GROUP, "worker-live"), Duration.ofMinutes(1), 1));
+      when(streams.claim(STREAM_KEY, GROUP, CONSUMER, Duration.ofMinutes(15), RecordId.of("1-0")))
+          .thenReturn(List.of(message("1-0", "req-1")));
+      final BatchReviewCollector collector = collector(5, 10);
+
+      collector.collect();
+
+      verify(streams)
+          .claim(STREAM_KEY, GROUP, CONSUMER, Duration.ofMinutes(15), RecordId.of("1-0"));
+      assertThat(collector.bufferedCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("Buffer Cap")
+  final class BufferCap {
+
+    @Test
+    @DisplayName("should_pause_stream_reads_when_buffer_is_full")
+    void should_pause_stream_reads_when_buffer_is_full() throws Exception {
+      when(batchProvider.submit(any())).thenThrow(new IllegalStateException("provider down"));
+      incoming.add(message("1-0", "req-1"));
+      incoming.add(message("2-0", "req-2"));
+      final BatchReviewCollector collector = collector(2, 2);
+
+      collector.collect();
+      incoming.add(message("3-0", "req-3"));
+      collector.collect();
+
+      assertThat(newReads).isEqualTo(1);
+      assertThat(collector.bufferedCount()).isEqualTo(2);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.config.ResponseCacheProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@DisplayName("CachingChatModel Tests")
+final class CachingChatModelTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ChatResponseCodec codec = new ChatResponseCodec(new ObjectMapper());
+  private StringRedisTemplate redisTemplate;
+  private ValueOperations<String, String> values;
+  private CountingChatModel delegate;
+  private ResponseCache cache;
+  private CachingChatModel model;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    values = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(values);
+    delegate = new CountingChatModel();
+    cache =
+        new ResponseCache(
+            redisTemplate,
+            new ResponseCacheProperties(
+                true, "llm:cache", "v1", Duration.ofHours(24), 100, Duration.ofMinutes(10)),
+            codec,
+            meterRegistry);
+    model = new CachingChatModel(delegate, cache, "openai:gpt-4o");
+  }
+
+  @Nested
+  @DisplayName("Lookup")
+  final class Lookup {
+
+    @Test
+    @DisplayName("should_serve_repeated_prompt_from_local_cache")
+    void should_serve_repeated_prompt_from_local_cache() {
+      model.chat(request("review diff"));
+      final ChatResponse second = model.chat(request("review diff"));
+
+      assertThat(second.aiMessage().text()).isEqualTo("answer-1");
+      assertThat(delegate.calls).isEqualTo(1);
+      assertThat(meterRegistry.counter("llm.cache.tokens.saved").count()).isEqualTo(30.0);
+      verify(values).set(anyString(), anyString(), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    @DisplayName("should_serve_prompt_from_redis_when_not_local")
+    void should_serve_prompt_from_redis_when_not_local() {
+      final ChatRequest request = request("review diff");
+      final String key = cache.key("openai:gpt-4o", request);
+      when(values.get(key))
+          .thenReturn(
+              codec
+                  .encodeCompressed(
+                      ChatResponse.builder().aiMessage(AiMessage.from("from redis")).build())
+                  .orElseThrow());
+
+      final ChatResponse response = model.chat(request);
+
+      assertThat(response.aiMessage().text()).isEqualTo("from redis");
+      assertThat(delegate.calls).isZero();
+      assertThat(
+              meterRegistry.counter("llm.cache.requests", "result", "hit", "tier", "redis").count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_call_provider_for_different_prompt")
+    void should_call_provider_for_different_prompt() {
+      model.chat(request("first diff"));
+      model.chat(request("second diff"));
+
+      assertThat(delegate.calls).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should_treat_redis_failure_as_miss")
+    void should_treat_redis_failure_as_miss() {
+      when(values.get(anyString())).thenThrow(new IllegalStateException("connection refused"));
+
+      final ChatResponse response = model.chat(request("review diff"));
+
+      assertThat(response.aiMessage().text()).isEqualTo("answer-1");
+    }
+  }
+
+  @Nested
+  @DisplayName("Controls")
+  final class Controls {
+
+    @Test
+    @DisplayName("should_bypass_cache_when_requested")
+    void should_bypass_cache_when_requested() {
+      model.chat(request("review diff"));
+
+      final ChatResponse fresh =
+          ResponseCacheControl.bypassing(() -> model.chat(request("review diff")));
+
+      assertThat(fresh.aiMessage().text()).isEqualTo("answer-2");
+      assertThat(ResponseCacheControl.isBypassed()).isFalse();
+      assertThat(meterRegistry.get("llm.cache.requests").tag("result", "bypass").counter().count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_bypass_cache_on_threads_started_within_bypass")
+    void should_bypass_cache_on_threads_started_within_bypass() throws Exception {
+      model.chat(request("review diff"));
+
+      final ChatResponse fresh =
+          ResponseCacheControl.bypassing(
+              () -> {
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                  return executor.submit(() -> model.chat(request("review diff"))).get();
+                } catch (final Exception e) {
+                  throw new IllegalStateException(e);
+                }
+              });
+
+      assertThat(fresh.aiMessage().text()).isEqualTo("answer-2");
+    }
+
+    @Test
+    @DisplayName("should_call_provider_after_invalidation")
+    void should_call_provider_after_invalidation() {
+      final ChatRequest request = request("review diff");
+      model.chat(request);
+
+      cache.invalidate(cache.key("openai:gpt-4o", request));
+      model.chat(request);
+
+      assertThat(delegate.calls).isEqualTo(2);
+      verify(redisTemplate).delete(cache.key("openai:gpt-4o", request));
+    }
+
+    @Test
+    @DisplayName("should_include_schema_version_and_temperature_in_key")
+    void should_include_schema_version_and_temperature_in_key() {
+      final ChatRequest request =
+          ChatRequest.builder().messages(UserMessage.from("diff")).temperature(0.1).build();
+
+      assertThat(cache.key("openai:gpt-4o", request))
+          .startsWith("llm:cache:v1:openai:gpt-4o:t0.1:");
+    }
+  }
+
+  private static ChatRequest request(final String prompt) {
+    return ChatRequest.builder().messages(UserMessage.from(prompt)).build();
+  }
+
+  private static final class CountingChatModel implements ChatModel {
+
+    private int calls;
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls++;
+      return ChatResponse.builder()
+          .aiMessage(AiMessage.from("answer-" + calls))
+          .tokenUsage(new TokenUsage(20, 10))
+          .build();
+    }
+  }
+}
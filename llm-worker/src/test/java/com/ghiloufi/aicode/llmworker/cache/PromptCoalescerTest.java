@@ -0,0 +1,200 @@
+package com.ghiloufi.aicode.llmworker.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.config.CoalescingProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@DisplayName("PromptCoalescer Tests")
+final class PromptCoalescerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ChatResponseCodec codec = new ChatResponseCodec(new ObjectMapper());
+
+  @Nested
+  @DisplayName("Local Coalescing")
+  final class LocalCoalescing {
+
+    @Test
+    @DisplayName("should_share_single_call_between_concurrent_identical_prompts")
+    void should_share_single_call_between_concurrent_identical_prompts() throws Exception {
+      final PromptCoalescer coalescer = coalescer(mock(StringRedisTemplate.class), false);
+      final AtomicInteger calls = new AtomicInteger();
+      final CountDownLatch leaderStarted = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+      try {
+        final Future<ChatResponse> leader =
+            executor.submit(
+                () ->
+                    coalescer.execute(
+                        "fp",
+                        () -> {
+                          calls.incrementAndGet();
+                          leaderStarted.countDown();
+                          await(release);
+                          return response("shared");
+                        }));
+        leaderStarted.await(1, TimeUnit.SECONDS);
+
+        final Future<ChatResponse> follower =
+            executor.submit(
+                () ->
+                    coalescer.execute(
+                        "fp",
+                        () -> {
+                          calls.incrementAndGet();
+                          return response("duplicate");
+                        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(leader.get(2, TimeUnit.SECONDS).aiMessage().text()).isEqualTo("shared");
+        assertThat(follower.get(2, TimeUnit.SECONDS).aiMessage().text()).isEqualTo("shared");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescer.inflightCount()).isZero();
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    @Test
+    @DisplayName("should_propagate_leader_failure")
+    void should_propagate_leader_failure() {
+      final PromptCoalescer coalescer = coalescer(mock(StringRedisTemplate.class), false);
+
+      assertThatThrownBy(
+              () ->
+                  coalescer.execute(
+                      "fp",
+                      () -> {
+                        throw new IllegalStateException("provider down");
+                      }))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("provider down");
+      assertThat(coalescer.inflightCount()).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("Distributed Coalescing")
+  final class DistributedCoalescing {
+
+    @Test
+    @DisplayName("should_reuse_result_published_by_another_worker")
+    @SuppressWarnings("unchecked")
+    void should_reuse_result_published_by_another_worker() {
+      final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+      final ValueOperations<String, String> values = mock(ValueOperations.class);
+      when(redisTemplate.opsForValue()).thenReturn(values);
+      when(values.get("llm:coalesce:fp:result"))
+          .thenReturn(codec.encode(response("remote")).orElseThrow());
+
+      final ChatResponse result =
+          coalescer(redisTemplate, true)
+              .execute(
+                  "fp",
+                  () -> {
+                    throw new AssertionError("provider must not be called");
+                  });
+
+      assertThat(result.aiMessage().text()).isEqualTo("remote");
+    }
+
+    @Test
+    @DisplayName("should_publish_result_when_leading")
+    @SuppressWarnings("unchecked")
+    void should_publish_result_when_leading() {
+      final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+      final ValueOperations<String, String> values = mock(ValueOperations.class);
+      when(redisTemplate.opsForValue()).thenReturn(values);
+      when(values.setIfAbsent(eq("llm:coalesce:fp:lock"), anyString(), any(Duration.class)))
+          .thenReturn(true);
+
+      final ChatResponse result =
+          coalescer(redisTemplate, true).execute("fp", () -> response("fresh"));
+
+      assertThat(result.aiMessage().text()).isEqualTo("fresh");
+      verify(values).set(eq("llm:coalesce:fp:result"), anyString(), eq(Duration.ofSeconds(10)));
+      verify(redisTemplate).convertAndSend("llm:coalesce:done", "fp");
+    }
+
+    @Test
+    @DisplayName("should_drop_completion_signal_when_follow_times_out")
+    @SuppressWarnings("unchecked")
+    void should_drop_completion_signal_when_follow_times_out() {
+      final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+      final ValueOperations<String, String> values = mock(ValueOperations.class);
+      when(redisTemplate.opsForValue()).thenReturn(values);
+      when(values.setIfAbsent(eq("llm:coalesce:fp:lock"), anyString(), any(Duration.class)))
+          .thenReturn(false);
+      final PromptCoalescer coalescer = coalescer(redisTemplate, true);
+
+      final ChatResponse result = coalescer.execute("fp", () -> response("direct"));
+
+      assertThat(result.aiMessage().text()).isEqualTo("direct");
+      assertThat(coalescer.remoteSignalCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_call_provider_directly_when_redis_unavailable")
+    void should_call_provider_directly_when_redis_unavailable() {
+      final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+      when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("connection refused"));
+
+      final ChatResponse result =
+          coalescer(redisTemplate, true).execute("fp", () -> response("direct"));
+
+      assertThat(result.aiMessage().text()).isEqualTo("direct");
+    }
+  }
+
+  private PromptCoalescer coalescer(
+      final StringRedisTemplate redisTemplate, final boolean distributed) {
+    final CoalescingProperties properties =
+        new CoalescingProperties(
+            true,
+            distributed,
+            "llm:coalesce",
+            Duration.ofSeconds(180),
+            Duration.ofSeconds(10),
+            Duration.ofMillis(20),
+            Duration.ofSeconds(1));
+    return new PromptCoalescer(redisTemplate, properties, codec, meterRegistry);
+  }
+
+  private static ChatResponse response(final String text) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
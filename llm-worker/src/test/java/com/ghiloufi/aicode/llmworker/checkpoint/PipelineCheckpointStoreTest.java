@@ -0,0 +1,325 @@
+package com.ghiloufi.aicode.llmworker.checkpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ghiloufi.aicode.core.domain.model.CommitInfo;
+import com.ghiloufi.aicode.core.domain.model.ContextMatch;
+import com.ghiloufi.aicode.core.domain.model.ContextRetrievalMetadata;
+import com.ghiloufi.aicode.core.domain.model.ContextRetrievalResult;
+import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.ExpandedFileContext;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.core.domain.model.GitHubRepositoryId;
+import com.ghiloufi.aicode.core.domain.model.MatchReason;
+import com.ghiloufi.aicode.core.domain.model.PolicyDocument;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.RepositoryPolicies;
+import com.ghiloufi.aicode.core.domain.model.StructuredTicketAnalysis;
+import com.ghiloufi.aicode.core.domain.model.TicketContext;
+import com.ghiloufi.aicode.llmworker.config.CheckpointProperties;
+import com.ghiloufi.aicode.llmworker.config.RedisConfig;
+import com.ghiloufi.aicode.llmworker.schema.IssueSchema;
+import com.ghiloufi.aicode.llmworker.schema.NoteSchema;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import com.ghiloufi.aicode.llmworker.schema.Severity;
+import com.ghiloufi.aicode.llmworker.service.AsyncReviewResult;
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import com.ghiloufi.aicode.llmworker.triage.ReviewTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@DisplayName("Pipeline Checkpoint Store Tests")
+final class PipelineCheckpointStoreTest {
+
+  private final Map<String, String> redis = new HashMap<>();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private StringRedisTemplate redisTemplate;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    final ValueOperations<String, String> values = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(values);
+    when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.getArgument(0)));
+    doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(values)
+        .set(anyString(), anyString(), any(Duration.class));
+    when(redisTemplate.delete(anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              final Collection<String> keys = invocation.getArgument(0);
+              return keys.stream().filter(key -> redis.remove(key) != null).count();
+            });
+  }
+
+  private PipelineCheckpointStore store(final boolean enabled) {
+    return new PipelineCheckpointStore(
+        redisTemplate,
+        new CheckpointProperties(
+            enabled, "llm:checkpoint", Duration.ofMinutes(30), 3, Duration.ofSeconds(2)),
+        new RedisConfig().objectMapper(),
+        meterRegistry);
+  }
+
+  private static DiffAnalysisBundle diffBundle() {
+    final GitFileModification file = new GitFileModification("src/A.java", "src/A.java");
+    final DiffHunkBlock hunk = new DiffHunkBlock(10, 2, 10, 3);
+    hunk.lines.addAll(List.of(" a", "-b", "+c", "+d"));
+    file.diffHunkBlocks.add(hunk);
+    return new DiffAnalysisBundle(
+        new GitHubRepositoryId("owner", "repo"),
+        new GitDiffDocument(List.of(file)),
+        "diff --git a/src/A.java b/src/A.java",
+        new PrMetadata(
+            "Add discount",
+            "Applies discount",
+            "dev",
+            "main",
+            "feature/discount",
+            List.of("review"),
+            List.of(
+                new CommitInfo(
+                    "abc123",
+                    "Add discount",
+                    "dev",
+                    Instant.parse("2025-01-01T10:00:00Z"),
+                    List.of())),
+            1));
+  }
+
+  @Nested
+  @DisplayName("Stage resumption")
+  final class Resumption {
+
+    @Test
+    @DisplayName("should_compute_stage_once_and_resume_from_checkpoint")
+    void should_compute_stage_once_and_resume_from_checkpoint() {
+      final PipelineCheckpointStore store = store(true);
+      final AtomicInteger computations = new AtomicInteger();
+
+      for (int attempt = 0; attempt < 2; attempt++) {
+        final ReviewPromptResult prompt =
+            store.resume(
+                "req-1",
+                "rev",
+                PipelineStage.PROMPT,
+                ReviewPromptResult.class,
+                () -> {
+                  computations.incrementAndGet();
+                  return new ReviewPromptResult("system", "user");
+                });
+        assertThat(prompt).isEqualTo(new ReviewPromptResult("system", "user"));
+      }
+
+      assertThat(computations).hasValue(1);
+      assertThat(redis).containsKey("llm:checkpoint:req-1:rev:prompt");
+      assertThat(meterRegistry.counter("llm.checkpoint.resumed", "stage", "prompt").count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_recompute_when_checkpoint_is_unreadable")
+    void should_recompute_when_checkpoint_is_unreadable() {
+      final PipelineCheckpointStore store = store(true);
+      redis.put("llm:checkpoint:req-1:diff", "{not json");
+
+      final DiffCheckpoint diff =
+          store.resume(
+              "req-1",
+              null,
+              PipelineStage.DIFF,
+              DiffCheckpoint.class,
+              () -> DiffCheckpoint.of(diffBundle()));
+
+      assertThat(diff.rawDiffText()).startsWith("diff --git");
+      assertThat(redis.get("llm:checkpoint:req-1:diff")).startsWith("{\"revision\"");
+    }
+
+    @Test
+    @DisplayName("should_bypass_redis_and_retry_once_when_disabled")
+    void should_bypass_redis_and_retry_once_when_disabled() {
+      final PipelineCheckpointStore store = store(false);
+
+      store.resume("req-1", null, PipelineStage.DIFF, String.class, () -> "computed");
+      store.clear("req-1");
+
+      assertThat(redis).isEmpty();
+      assertThat(store.maxAttempts()).isEqualTo(1);
+      verify(redisTemplate, never()).delete(anyCollection());
+    }
+  }
+
+  @Nested
+  @DisplayName("Cleanup and retry")
+  final class Cleanup {
+
+    @Test
+    @DisplayName("should_delete_known_stage_keys_without_scanning")
+    void should_delete_known_stage_keys_without_scanning() {
+      final PipelineCheckpointStore store = store(true);
+      final DiffCheckpoint diff = DiffCheckpoint.of(diffBundle());
+      store.save("req-1", null, PipelineStage.DIFF, diff);
+
+      store.clear("req-1");
+
+      verify(redisTemplate)
+          .delete(
+              List.of(
+                  "llm:checkpoint:req-1:diff",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":context",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":prompt",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":llm-response",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":deep:prompt",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":deep:llm-response",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":light:prompt",
+                  "llm:checkpoint:req-1:" + diff.revision() + ":light:llm-response"));
+      verify(redisTemplate, never()).scan(any());
+    }
+
+    @Test
+    @DisplayName("should_remove_tier_scoped_checkpoints_on_clear")
+    void should_remove_tier_scoped_checkpoints_on_clear() {
+      final PipelineCheckpointStore store = store(true);
+      final DiffCheckpoint diff = DiffCheckpoint.of(diffBundle());
+      final ReviewPromptResult prompt = new ReviewPromptResult("system", "user");
+      store.save("req-1", null, PipelineStage.DIFF, diff);
+      store.save("req-1", diff.revision(), PipelineStage.PROMPT, prompt);
+      for (final ReviewTier tier : List.of(ReviewTier.DEEP, ReviewTier.LIGHT)) {
+        final String scope = PipelineCheckpointStore.tierScope(diff.revision(), tier);
+        store.save("req-1", scope, PipelineStage.PROMPT, prompt);
+        store.save(
+            "req-1",
+            scope,
+            PipelineStage.LLM_RESPONSE,
+            new ReviewResultSchema("Summary", List.of(), List.of()));
+      }
+      assertThat(redis).hasSize(6);
+
+      store.clear("req-1");
+
+      assertThat(redis).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_double_retry_backoff_per_attempt")
+    void should_double_retry_backoff_per_attempt() {
+      final PipelineCheckpointStore store = store(true);
+
+      assertThat(store.retryBackoff(1)).isEqualTo(Duration.ofSeconds(2));
+      assertThat(store.retryBackoff(2)).isEqualTo(Duration.ofSeconds(4));
+      assertThat(store.retryBackoff(3)).isEqualTo(Duration.ofSeconds(8));
+    }
+  }
+
+  @Nested
+  @DisplayName("Artifact round trip")
+  final class RoundTrip {
+
+    @Test
+    @DisplayName("should_restore_parsed_diff_keyed_by_content_revision")
+    void should_restore_parsed_diff_keyed_by_content_revision() {
+      final PipelineCheckpointStore store = store(true);
+      final DiffCheckpoint saved = DiffCheckpoint.of(diffBundle());
+      store.save("req-1", null, PipelineStage.DIFF, saved);
+
+      final DiffCheckpoint loaded =
+          store.load("req-1", null, PipelineStage.DIFF, DiffCheckpoint.class).orElseThrow();
+
+      assertThat(loaded.revision()).hasSize(16).isEqualTo(saved.revision());
+      assertThat(loaded.structuredDiff()).isEqualTo(saved.structuredDiff());
+      assertThat(loaded.prMetadata()).isEqualTo(saved.prMetadata());
+      assertThat(loaded.toBundle(new GitHubRepositoryId("owner", "repo")).getTotalLineCount())
+          .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should_restore_enriched_context_with_structured_ticket")
+    void should_restore_enriched_context_with_structured_ticket() {
+      final PipelineCheckpointStore store = store(true);
+      final ContextRetrievalResult contextResult =
+          new ContextRetrievalResult(
+              List.of(
+                  new ContextMatch("src/B.java", MatchReason.SIBLING_FILE, 0.75, "same package")),
+              new ContextRetrievalMetadata(
+                  "metadata-based",
+                  Duration.ofMillis(120),
+                  1,
+                  0,
+                  Map.of(MatchReason.SIBLING_FILE, 1)));
+      final TicketContext ticket =
+          new StructuredTicketAnalysis(
+              "PROJ-1",
+              "Discounts",
+              "Apply discounts",
+              "Reduce price",
+              List.of("discount applied"),
+              List.of(),
+              List.of());
+      final ContextCheckpoint saved =
+          ContextCheckpoint.of(
+              contextResult,
+              diffBundle().prMetadata(),
+              ticket,
+              new DiffExpansionResult(
+                  List.of(ExpandedFileContext.of("src/A.java", "class A {}")), 1, 1, 0, null),
+              new RepositoryPolicies(
+                  List.of(new PolicyDocument("SECURITY.md", "SECURITY.md", "No secrets", false))));
+      store.save("req-1", "rev", PipelineStage.CONTEXT, saved);
+
+      final ContextCheckpoint loaded =
+          store.load("req-1", "rev", PipelineStage.CONTEXT, ContextCheckpoint.class).orElseThrow();
+
+      assertThat(loaded).isEqualTo(saved);
+      assertThat(loaded.ticketContext()).isEqualTo(ticket);
+    }
+
+    @Test
+    @DisplayName("should_restore_raw_llm_review_result")
+    void should_restore_raw_llm_review_result() {
+      final PipelineCheckpointStore store = store(true);
+      final AsyncReviewResult saved =
+          new AsyncReviewResult(
+              new ReviewResultSchema(
+                  "Discount logic reviewed",
+                  List.of(
+                      new IssueSchema(
+                          "src/A.java",
+                          12,
+                          Severity.major,
+                          "Negative total",
+                          "Clamp to zero",
+                          0.8,
+                          "Boundary not handled")),
+                  List.of(new NoteSchema("src/A.java", 11, "Extract constant"))),
+              1);
+      store.save("req-1", "rev", PipelineStage.LLM_RESPONSE, saved);
+
+      assertThat(store.load("req-1", "rev", PipelineStage.LLM_RESPONSE, AsyncReviewResult.class))
+          .contains(saved);
+    }
+  }
+}
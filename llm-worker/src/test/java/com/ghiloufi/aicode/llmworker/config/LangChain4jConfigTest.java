@@ -1,12 +1,24 @@
 package com.ghiloufi.aicode.llmworker.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.ghiloufi.aicode.llmworker.cache.CachingChatModel;
+import com.ghiloufi.aicode.llmworker.cache.PromptCoalescer;
+import com.ghiloufi.aicode.llmworker.cache.ResponseCache;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.AnthropicProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.GeminiProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.OllamaProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.OpenAiProperties;
+import com.ghiloufi.aicode.llmworker.replay.RecordingChatModel;
+import com.ghiloufi.aicode.llmworker.replay.ReplayChatModel;
+import com.ghiloufi.aicode.llmworker.replay.ReplayCorpus;
+import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -135,7 +147,33 @@ final class LangChain4jConfigTest {
               new OllamaProperties(null, null),
               Duration.ofSeconds(60));
 
-      final LangChain4jConfig config = new LangChain4jConfig(props);
+      final RoutingProperties routing =
+          new RoutingProperties(
+              false,
+              List.of(),
+              new RoutingProperties.HedgeProperties(
+                  true, 0.95, Duration.ofSeconds(30), Duration.ofSeconds(2), 20, 200));
+
+      final CoalescingProperties coalescing =
+          new CoalescingProperties(
+              true,
+              false,
+              "llm:coalesce",
+              Duration.ofSeconds(180),
+              Duration.ofSeconds(10),
+              Duration.ofMillis(500),
+              Duration.ofSeconds(180));
+
+      final ResponseCacheProperties cache =
+          new ResponseCacheProperties(
+              true, "llm:cache", "v1", Duration.ofHours(24), 500, Duration.ofMinutes(10));
+
+      final ReplayProperties replay =
+          new ReplayProperties(
+              ReplayProperties.Mode.OFF, "replay-corpus", Duration.ZERO, 0, false, 16);
+
+      final LangChain4jConfig config =
+          new LangChain4jConfig(props, routing, coalescing, cache, replay);
 
       assertThat(config).isNotNull();
     }
@@ -205,4 +243,67 @@ final class LangChain4jConfigTest {
       assertThat(props.getProvider()).isEqualTo("ollama");
     }
   }
+
+  @Nested
+  @DisplayName("Model Decoration")
+  final class ModelDecoration {
+
+    private ChatModel chatModel(final ReplayProperties.Mode mode) {
+      final ProviderProperties props =
+          new ProviderProperties(
+              "openai",
+              new OpenAiProperties("key", "gpt-4o", null),
+              new AnthropicProperties(null, null),
+              new GeminiProperties(null, null),
+              new OllamaProperties(null, null),
+              Duration.ofSeconds(60));
+      final LangChain4jConfig config =
+          new LangChain4jConfig(
+              props,
+              new RoutingProperties(
+                  false,
+                  List.of(),
+                  new RoutingProperties.HedgeProperties(
+                      true, 0.95, Duration.ofSeconds(30), Duration.ofSeconds(2), 20, 200)),
+              new CoalescingProperties(
+                  true,
+                  false,
+                  "llm:coalesce",
+                  Duration.ofSeconds(180),
+                  Duration.ofSeconds(10),
+                  Duration.ofMillis(500),
+                  Duration.ofSeconds(180)),
+              new ResponseCacheProperties(
+                  true, "llm:cache", "v1", Duration.ofHours(24), 500, Duration.ofMinutes(10)),
+              new ReplayProperties(mode, "replay-corpus", Duration.ZERO, 0, false, 16));
+      final ChatModelFactory chatModelFactory = mock(ChatModelFactory.class);
+      when(chatModelFactory.modelName("openai")).thenReturn("gpt-4o");
+      when(chatModelFactory.capabilities("openai")).thenReturn(Set.of());
+      when(chatModelFactory.create("openai", "gpt-4o")).thenReturn(mock(ChatModel.class));
+      return config.chatModel(
+          chatModelFactory,
+          mock(PromptCoalescer.class),
+          mock(ResponseCache.class),
+          mock(ReplayCorpus.class),
+          new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("should_cache_and_coalesce_provider_calls_when_replay_is_off")
+    void should_cache_and_coalesce_provider_calls_when_replay_is_off() {
+      assertThat(chatModel(ReplayProperties.Mode.OFF)).isInstanceOf(CachingChatModel.class);
+    }
+
+    @Test
+    @DisplayName("should_record_every_provider_call_without_cache_or_coalescing")
+    void should_record_every_provider_call_without_cache_or_coalescing() {
+      assertThat(chatModel(ReplayProperties.Mode.RECORD)).isInstanceOf(RecordingChatModel.class);
+    }
+
+    @Test
+    @DisplayName("should_serve_replayed_responses_without_cache_or_coalescing")
+    void should_serve_replayed_responses_without_cache_or_coalescing() {
+      assertThat(chatModel(ReplayProperties.Mode.REPLAY)).isInstanceOf(ReplayChatModel.class);
+    }
+  }
 }
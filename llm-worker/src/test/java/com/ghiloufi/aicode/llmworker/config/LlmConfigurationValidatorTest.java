@@ -8,6 +8,7 @@ import com.ghiloufi.aicode.llmworker.config.ProviderProperties.GeminiProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.OllamaProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.OpenAiProperties;
 import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,7 +27,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "openai", new OpenAiProperties("sk-valid-api-key", "gpt-4o", null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -42,7 +45,9 @@ final class LlmConfigurationValidatorTest {
               null,
               null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -53,7 +58,9 @@ final class LlmConfigurationValidatorTest {
       final ProviderProperties properties =
           createProperties("openai", new OpenAiProperties(null, "gpt-4o", null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -61,13 +68,28 @@ final class LlmConfigurationValidatorTest {
           .hasMessageContaining("not configured");
     }
 
+    @Test
+    @DisplayName("should_accept_openai_without_api_key_when_replaying")
+    final void should_accept_openai_without_api_key_when_replaying() {
+      final ProviderProperties properties =
+          createProperties("openai", new OpenAiProperties(null, "gpt-4o", null), null, null, null);
+
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.REPLAY));
+
+      assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
+    }
+
     @Test
     @DisplayName("should_reject_openai_with_blank_api_key")
     final void should_reject_openai_with_blank_api_key() {
       final ProviderProperties properties =
           createProperties("openai", new OpenAiProperties("   ", "gpt-4o", null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -81,7 +103,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "openai", new OpenAiProperties("sk-valid-key", null, null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -95,7 +119,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "openai", new OpenAiProperties("sk-valid-key", "", null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -118,7 +144,9 @@ final class LlmConfigurationValidatorTest {
               null,
               null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -134,7 +162,9 @@ final class LlmConfigurationValidatorTest {
               null,
               null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -148,7 +178,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "anthropic", null, new AnthropicProperties("sk-ant-valid-key", "   "), null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -167,7 +199,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "gemini", null, null, new GeminiProperties("AIza-valid-key", "gemini-1.5-pro"), null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -179,7 +213,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "gemini", null, null, new GeminiProperties(null, "gemini-1.5-pro"), null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -192,7 +228,9 @@ final class LlmConfigurationValidatorTest {
       final ProviderProperties properties =
           createProperties("gemini", null, null, new GeminiProperties("AIza-valid-key", ""), null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -211,7 +249,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "ollama", null, null, null, new OllamaProperties("http://localhost:11434", "llama3"));
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -222,7 +262,9 @@ final class LlmConfigurationValidatorTest {
       final ProviderProperties properties =
           createProperties("ollama", null, null, null, new OllamaProperties(null, "llama3"));
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -236,7 +278,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "ollama", null, null, null, new OllamaProperties("http://localhost:11434", "   "));
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -254,7 +298,9 @@ final class LlmConfigurationValidatorTest {
       final ProviderProperties properties =
           createProperties("unknown-provider", null, null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -268,7 +314,9 @@ final class LlmConfigurationValidatorTest {
     final void should_reject_empty_provider() {
       final ProviderProperties properties = createProperties("", null, null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatThrownBy(validator::validateConfiguration)
           .isInstanceOf(IllegalStateException.class)
@@ -287,7 +335,9 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "OPENAI", new OpenAiProperties("sk-valid-key", "gpt-4o", null), null, null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
@@ -299,12 +349,110 @@ final class LlmConfigurationValidatorTest {
           createProperties(
               "AnThRoPiC", null, new AnthropicProperties("sk-ant-key", "claude-3"), null, null);
 
-      final LlmConfigurationValidator validator = new LlmConfigurationValidator(properties);
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routingDisabled(), replay(ReplayProperties.Mode.OFF));
 
       assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
     }
   }
 
+  @Nested
+  @DisplayName("Routing Validation")
+  final class RoutingValidationTests {
+
+    @Test
+    @DisplayName("should_validate_every_routed_provider")
+    final void should_validate_every_routed_provider() {
+      final ProviderProperties properties =
+          createProperties(
+              "openai",
+              new OpenAiProperties("sk-valid-key", "gpt-4o", null),
+              new AnthropicProperties("sk-ant-key", "claude-3"),
+              null,
+              null);
+
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties,
+              routing(List.of("openai", "anthropic"), 0.95),
+              replay(ReplayProperties.Mode.OFF));
+
+      assertThatCode(validator::validateConfiguration).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should_reject_routed_provider_without_credentials")
+    final void should_reject_routed_provider_without_credentials() {
+      final ProviderProperties properties =
+          createProperties(
+              "openai",
+              new OpenAiProperties("sk-valid-key", "gpt-4o", null),
+              new AnthropicProperties(null, "claude-3"),
+              null,
+              null);
+
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties,
+              routing(List.of("openai", "anthropic"), 0.95),
+              replay(ReplayProperties.Mode.OFF));
+
+      assertThatThrownBy(validator::validateConfiguration)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("llm.anthropic.api-key");
+    }
+
+    @Test
+    @DisplayName("should_reject_empty_routing_providers")
+    final void should_reject_empty_routing_providers() {
+      final ProviderProperties properties =
+          createProperties(
+              "openai", new OpenAiProperties("sk-valid-key", "gpt-4o", null), null, null, null);
+
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routing(List.of(), 0.95), replay(ReplayProperties.Mode.OFF));
+
+      assertThatThrownBy(validator::validateConfiguration)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("llm.routing.providers");
+    }
+
+    @Test
+    @DisplayName("should_reject_invalid_hedge_quantile")
+    final void should_reject_invalid_hedge_quantile() {
+      final ProviderProperties properties =
+          createProperties(
+              "openai", new OpenAiProperties("sk-valid-key", "gpt-4o", null), null, null, null);
+
+      final LlmConfigurationValidator validator =
+          new LlmConfigurationValidator(
+              properties, routing(List.of("openai"), 1.5), replay(ReplayProperties.Mode.OFF));
+
+      assertThatThrownBy(validator::validateConfiguration)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("llm.routing.hedge.quantile");
+    }
+  }
+
+  private ReplayProperties replay(final ReplayProperties.Mode mode) {
+    return new ReplayProperties(mode, "replay-corpus", Duration.ZERO, 0, false, 16);
+  }
+
+  private RoutingProperties routingDisabled() {
+    return new RoutingProperties(false, List.of(), hedge(0.95));
+  }
+
+  private RoutingProperties routing(final List<String> providers, final double quantile) {
+    return new RoutingProperties(true, providers, hedge(quantile));
+  }
+
+  private RoutingProperties.HedgeProperties hedge(final double quantile) {
+    return new RoutingProperties.HedgeProperties(
+        true, quantile, Duration.ofSeconds(30), Duration.ofSeconds(2), 20, 200);
+  }
+
   private ProviderProperties createProperties(
       final String provider,
       final OpenAiProperties openai,
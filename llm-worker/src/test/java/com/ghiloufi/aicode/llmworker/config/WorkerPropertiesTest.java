@@ -68,11 +68,20 @@ final class WorkerPropertiesTest {
     }
 
     @Test
-    @DisplayName("should_handle_empty_consumer_id")
-    void should_handle_empty_consumer_id() {
+    @DisplayName("should_generate_consumer_id_when_empty")
+    void should_generate_consumer_id_when_empty() {
       final WorkerProperties props = new WorkerProperties("group", "", "stream", 10, 60);
 
-      assertThat(props.getConsumerId()).isEmpty();
+      assertThat(props.getConsumerId()).startsWith("worker-");
+    }
+
+    @Test
+    @DisplayName("should_generate_distinct_consumer_ids_per_instance")
+    void should_generate_distinct_consumer_ids_per_instance() {
+      final WorkerProperties first = new WorkerProperties("group", null, "stream", 5, 30);
+      final WorkerProperties second = new WorkerProperties("group", null, "stream", 5, 30);
+
+      assertThat(first.getConsumerId()).isNotEqualTo(second.getConsumerId());
     }
   }
 
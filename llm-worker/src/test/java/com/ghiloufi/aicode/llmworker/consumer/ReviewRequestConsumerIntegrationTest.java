@@ -5,9 +5,13 @@ import static org.awaitility.Awaitility.await;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ghiloufi.aicode.core.config.WarmupProperties;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.core.infrastructure.observability.StartupMetrics;
+import com.ghiloufi.aicode.core.service.warmup.WarmupState;
 import com.ghiloufi.aicode.llmworker.config.WorkerProperties;
 import com.ghiloufi.aicode.llmworker.processor.ReviewProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,6 +42,8 @@ final class ReviewRequestConsumerIntegrationTest {
   private WorkerProperties workerProperties;
   private TestProcessor testProcessor;
   private ObjectMapper objectMapper;
+  private WarmupState warmupState;
+  private StartupMetrics startupMetrics;
 
   @BeforeEach
   void setUp() {
@@ -53,6 +59,10 @@ final class ReviewRequestConsumerIntegrationTest {
     objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
     testProcessor = new TestProcessor();
+    startupMetrics = new StartupMetrics(new SimpleMeterRegistry());
+    warmupState =
+        new WarmupState(
+            new WarmupProperties(false, 1, Duration.ofSeconds(1), "classpath*:warmup/*.diff"));
 
     final String streamKey = workerProperties.getStreamKey();
     try {
@@ -69,7 +79,13 @@ final class ReviewRequestConsumerIntegrationTest {
     @DisplayName("should_create_consumer_group_on_init")
     final void should_create_consumer_group_on_init() {
       final ReviewRequestConsumer consumer =
-          new ReviewRequestConsumer(redisTemplate, testProcessor, workerProperties, objectMapper);
+          new ReviewRequestConsumer(
+              redisTemplate,
+              testProcessor,
+              workerProperties,
+              objectMapper,
+              warmupState,
+              startupMetrics);
 
       consumer.init();
 
@@ -88,7 +104,13 @@ final class ReviewRequestConsumerIntegrationTest {
     @DisplayName("should_process_message_from_stream")
     final void should_process_message_from_stream() {
       final ReviewRequestConsumer consumer =
-          new ReviewRequestConsumer(redisTemplate, testProcessor, workerProperties, objectMapper);
+          new ReviewRequestConsumer(
+              redisTemplate,
+              testProcessor,
+              workerProperties,
+              objectMapper,
+              warmupState,
+              startupMetrics);
 
       consumer.init();
 
@@ -120,7 +142,13 @@ final class ReviewRequestConsumerIntegrationTest {
     @DisplayName("should_process_multiple_messages")
     final void should_process_multiple_messages() {
       final ReviewRequestConsumer consumer =
-          new ReviewRequestConsumer(redisTemplate, testProcessor, workerProperties, objectMapper);
+          new ReviewRequestConsumer(
+              redisTemplate,
+              testProcessor,
+              workerProperties,
+              objectMapper,
+              warmupState,
+              startupMetrics);
 
       consumer.init();
 
@@ -156,7 +184,13 @@ final class ReviewRequestConsumerIntegrationTest {
     @DisplayName("should_shutdown_gracefully")
     final void should_shutdown_gracefully() {
       final ReviewRequestConsumer consumer =
-          new ReviewRequestConsumer(redisTemplate, testProcessor, workerProperties, objectMapper);
+          new ReviewRequestConsumer(
+              redisTemplate,
+              testProcessor,
+              workerProperties,
+              objectMapper,
+              warmupState,
+              startupMetrics);
 
       consumer.init();
       consumer.shutdown();
@@ -168,7 +202,7 @@ final class ReviewRequestConsumerIntegrationTest {
     private final Map<String, String> processedRequests = new ConcurrentHashMap<>();
 
     TestProcessor() {
-      super(null, null, null, null);
+      super(null, null, null, null, null, null);
     }
 
     @Override
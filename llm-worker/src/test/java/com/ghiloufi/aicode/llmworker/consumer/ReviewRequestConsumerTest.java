@@ -110,11 +110,11 @@ final class ReviewRequestConsumerTest {
     }
 
     @Test
-    @DisplayName("should_handle_empty_consumer_id")
-    void should_handle_empty_consumer_id() {
+    @DisplayName("should_generate_consumer_id_when_empty")
+    void should_generate_consumer_id_when_empty() {
       final WorkerProperties props = new WorkerProperties("group", "", "stream", 10, 60);
 
-      assertThat(props.getConsumerId()).isEmpty();
+      assertThat(props.getConsumerId()).startsWith("worker-");
     }
   }
 }
@@ -0,0 +1,145 @@
+package com.ghiloufi.aicode.llmworker.fanout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ghiloufi.aicode.llmworker.config.FanOutProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.schema.IssueSchema;
+import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
+import com.ghiloufi.aicode.llmworker.schema.Severity;
+import com.ghiloufi.aicode.llmworker.service.prompt.FanOutPrompts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FanOutReviewExecutor Tests")
+final class FanOutReviewExecutorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final FanOutReviewExecutor executor =
+      new FanOutReviewExecutor(
+          new FanOutProperties(true, 2, 1, 100, 16, 2, Duration.ofSeconds(5), true), meterRegistry);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  private static ReviewResultSchema reviewOf(final String file) {
+    return new ReviewResultSchema(
+        "Reviewed " + file + ".",
+        List.of(
+            new IssueSchema(file, 1, Severity.major, "Problem in " + file, "Fix it", 0.9, null)),
+        List.of());
+  }
+
+  @Nested
+  @DisplayName("Aggregation")
+  final class Aggregation {
+
+    @Test
+    @DisplayName("should_send_shared_prefix_with_each_group_and_merge_results")
+    void should_send_shared_prefix_with_each_group_and_merge_results() {
+      final Set<String> systemPrompts = ConcurrentHashMap.newKeySet();
+      final ReviewService reviewer =
+          new StubReviewService(
+              (system, user) -> {
+                systemPrompts.add(system);
+                return reviewOf(user);
+              });
+
+      final ReviewResultSchema result =
+          executor.review(new FanOutPrompts("shared", List.of("a", "b", "c")), reviewer);
+
+      assertThat(systemPrompts).containsExactly("shared");
+      assertThat(result.issues()).extracting(IssueSchema::file).containsExactly("a", "b", "c");
+      assertThat(result.summary()).isEqualTo("Reviewed a. Reviewed b. Reviewed c.");
+    }
+
+    @Test
+    @DisplayName("should_bound_concurrent_group_calls")
+    void should_bound_concurrent_group_calls() {
+      final AtomicInteger inflight = new AtomicInteger();
+      final AtomicInteger peak = new AtomicInteger();
+      final ReviewService reviewer =
+          new StubReviewService(
+              (system, user) -> {
+                peak.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+                try {
+                  Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                inflight.decrementAndGet();
+                return reviewOf(user);
+              });
+
+      executor.review(new FanOutPrompts("shared", List.of("a", "b", "c", "d", "e")), reviewer);
+
+      assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("Failures")
+  final class Failures {
+
+    @Test
+    @DisplayName("should_keep_successful_groups_when_some_fail")
+    void should_keep_successful_groups_when_some_fail() {
+      final ReviewService reviewer =
+          new StubReviewService(
+              (system, user) -> {
+                if (user.equals("b")) {
+                  throw new IllegalStateException("provider down");
+                }
+                return reviewOf(user);
+              });
+
+      final ReviewResultSchema result =
+          executor.review(new FanOutPrompts("shared", List.of("a", "b")), reviewer);
+
+      assertThat(result.issues()).extracting(IssueSchema::file).containsExactly("a");
+      assertThat(result.summary()).contains("1 of 2 file groups could not be reviewed");
+      assertThat(meterRegistry.counter("llm.fanout.group.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_fail_when_every_group_fails")
+    void should_fail_when_every_group_fails() {
+      final ReviewService reviewer =
+          new StubReviewService(
+              (system, user) -> {
+                throw new IllegalStateException("provider down");
+              });
+
+      assertThatThrownBy(
+              () -> executor.review(new FanOutPrompts("shared", List.of("a", "b")), reviewer))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("All 2 fan-out review groups failed");
+    }
+  }
+
+  private record StubReviewService(BiFunction<String, String, ReviewResultSchema> answer)
+      implements ReviewService {
+
+    @Override
+    public ReviewResultSchema performReview(final String userPrompt) {
+      return answer.apply(null, userPrompt);
+    }
+
+    @Override
+    public ReviewResultSchema performReview(final String systemPrompt, final String userPrompt) {
+      return answer.apply(systemPrompt, userPrompt);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.ghiloufi.aicode.llmworker.fanout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.llmworker.config.FanOutProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FileGroupPlanner Tests")
+final class FileGroupPlannerTest {
+
+  private static FileGroupPlanner planner(
+      final int minFiles, final int maxFiles, final int maxLines, final int maxGroups) {
+    return new FileGroupPlanner(
+        new FanOutProperties(
+            true, minFiles, maxFiles, maxLines, maxGroups, 4, Duration.ofSeconds(30), true));
+  }
+
+  private static GitFileModification file(final String path, final int lines) {
+    final GitFileModification file = new GitFileModification(path, path);
+    final DiffHunkBlock hunk = new DiffHunkBlock(1, 0, 1, lines);
+    final List<String> content = new ArrayList<>();
+    IntStream.range(0, lines).forEach(i -> content.add("+" + i));
+    hunk.lines = content;
+    file.diffHunkBlocks = List.of(hunk);
+    return file;
+  }
+
+  @Nested
+  @DisplayName("Activation")
+  final class Activation {
+
+    @Test
+    @DisplayName("should_fan_out_only_above_minimum_file_count")
+    void should_fan_out_only_above_minimum_file_count() {
+      final FileGroupPlanner planner = planner(3, 1, 100, 16);
+
+      assertThat(planner.shouldFanOut(List.of(file("a", 1), file("b", 1)))).isFalse();
+      assertThat(planner.shouldFanOut(List.of(file("a", 1), file("b", 1), file("c", 1)))).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Grouping")
+  final class Grouping {
+
+    @Test
+    @DisplayName("should_pack_small_files_up_to_file_limit")
+    void should_pack_small_files_up_to_file_limit() {
+      final List<GitDiffDocument> groups =
+          planner(1, 2, 1000, 16)
+              .plan(List.of(file("c", 5), file("a", 5), file("b", 5), file("d", 5), file("e", 5)));
+
+      assertThat(groups).hasSize(3);
+      assertThat(groups.get(0).files)
+          .extracting(GitFileModification::getEffectivePath)
+          .containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("should_isolate_large_files")
+    void should_isolate_large_files() {
+      final List<GitDiffDocument> groups =
+          planner(1, 5, 100, 16).plan(List.of(file("a", 20), file("b", 500), file("c", 20)));
+
+      assertThat(groups).hasSize(3);
+      assertThat(groups.get(1).files)
+          .extracting(GitFileModification::getEffectivePath)
+          .containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("should_respect_maximum_group_count")
+    void should_respect_maximum_group_count() {
+      final List<GitFileModification> files =
+          IntStream.range(0, 40).mapToObj(i -> file("f" + (100 + i), 10)).toList();
+
+      assertThat(planner(1, 1, 10, 8).plan(files)).hasSizeLessThanOrEqualTo(8);
+    }
+  }
+}
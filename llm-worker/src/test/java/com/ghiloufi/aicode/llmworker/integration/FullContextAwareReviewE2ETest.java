@@ -273,6 +273,29 @@ final class FullContextAwareReviewE2ETest {
       assertThat(userPrompt).contains("(truncated from 1500 lines)");
     }
 
+    @Test
+    @DisplayName("should_label_compressed_files_with_line_number_hint")
+    final void should_label_compressed_files_with_line_number_hint() {
+      final ExpandedFileContext compressedFile =
+          ExpandedFileContext.compressed("src/LargeFile.java", "  12| class Large {", 1500);
+      final DiffExpansionResult expansionResult =
+          new DiffExpansionResult(List.of(compressedFile), 1, 1, 0, null);
+
+      final ReviewPromptResult result =
+          promptBuilder.buildStructuredReviewPrompt(
+              createMinimalEnrichedBundle(),
+              ReviewConfiguration.defaults(),
+              TicketBusinessContext.empty(),
+              expansionResult,
+              PrMetadata.empty(),
+              RepositoryPolicies.empty());
+      final String userPrompt = result.userPrompt();
+
+      assertThat(userPrompt)
+          .contains("(compressed from 1500 lines, prefixed with original line numbers)")
+          .doesNotContain("truncated from");
+    }
+
     @Test
     @DisplayName("should_return_disabled_result_when_expansion_disabled")
     final void should_return_disabled_result_when_expansion_disabled() throws Exception {
@@ -282,7 +305,7 @@ final class FullContextAwareReviewE2ETest {
               30,
               List.of("test-strategy"),
               new ContextRetrievalConfig.RolloutConfig(100, false, 1000),
-              new ContextRetrievalConfig.DiffExpansionConfig(false, 100, 500, 10, Set.of()),
+              new ContextRetrievalConfig.DiffExpansionConfig(false, 100, 500, 10, Set.of(), true),
               null,
               null);
 
@@ -584,7 +607,8 @@ final class FullContextAwareReviewE2ETest {
         30,
         List.of("test-strategy"),
         new ContextRetrievalConfig.RolloutConfig(100, false, 1000),
-        new ContextRetrievalConfig.DiffExpansionConfig(true, 100, 500, 10, Set.of(".lock", ".svg")),
+        new ContextRetrievalConfig.DiffExpansionConfig(
+            true, 100, 500, 10, Set.of(".lock", ".svg"), true),
         new ContextRetrievalConfig.PrMetadataConfig(true, true, true, true, 5),
         new ContextRetrievalConfig.RepositoryPoliciesConfig(
             true, 5000, List.of("CONTRIBUTING.md", "SECURITY.md")));
@@ -772,7 +796,7 @@ final class FullContextAwareReviewE2ETest {
     }
 
     @Override
-    public Mono<List<String>> listRepositoryFiles() {
+    public Mono<List<String>> listRepositoryFiles(final RepositoryIdentifier repo) {
       return Mono.just(List.of());
     }
 
@@ -0,0 +1,329 @@
+package com.ghiloufi.aicode.llmworker.keypool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.HttpMethod;
+import dev.langchain4j.http.client.HttpRequest;
+import dev.langchain4j.http.client.SuccessfulHttpResponse;
+import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventParser;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("API Key Pool Tests")
+final class KeyPoolChatModelTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> calls = new ArrayList<>();
+
+  private ApiKeyState state(final String id) {
+    return new ApiKeyState(id, 2, Duration.ofSeconds(30), Duration.ofMinutes(5), clock);
+  }
+
+  private PooledKey key(final ApiKeyState state, final boolean rateLimited) {
+    return new PooledKey(state, new KeyChatModel(state.id(), rateLimited, calls));
+  }
+
+  private static ChatRequest request() {
+    return ChatRequest.builder().messages(UserMessage.from("review")).build();
+  }
+
+  private static Map<String, List<String>> openAiHeaders(
+      final long remainingRequests, final long remainingTokens) {
+    return Map.of(
+        "x-ratelimit-limit-requests", List.of("100"),
+        "x-ratelimit-remaining-requests", List.of(String.valueOf(remainingRequests)),
+        "x-ratelimit-limit-tokens", List.of("10000"),
+        "x-ratelimit-remaining-tokens", List.of(String.valueOf(remainingTokens)));
+  }
+
+  @Nested
+  @DisplayName("Key selection")
+  final class Selection {
+
+    @Test
+    @DisplayName("should_route_to_key_with_most_remaining_headroom")
+    void should_route_to_key_with_most_remaining_headroom() {
+      final ApiKeyState busy = state("openai#0");
+      final ApiKeyState idle = state("openai#1");
+      busy.onHeaders(RateLimitHeaders.parse(openAiHeaders(90, 500)));
+      idle.onHeaders(RateLimitHeaders.parse(openAiHeaders(40, 8_000)));
+
+      final KeyPoolChatModel pool =
+          new KeyPoolChatModel(
+              "openai", List.of(key(busy, false), key(idle, false)), meterRegistry);
+
+      pool.chat(request());
+
+      assertThat(calls).containsExactly("openai#1");
+    }
+
+    @Test
+    @DisplayName("should_fail_over_to_next_key_on_rate_limit")
+    void should_fail_over_to_next_key_on_rate_limit() {
+      final ApiKeyState limited = state("openai#0");
+      final ApiKeyState healthy = state("openai#1");
+      healthy.onHeaders(RateLimitHeaders.parse(openAiHeaders(10, 1_000)));
+
+      final KeyPoolChatModel pool =
+          new KeyPoolChatModel(
+              "openai", List.of(key(limited, true), key(healthy, false)), meterRegistry);
+
+      final ChatResponse response = pool.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("openai#1");
+      assertThat(calls).containsExactly("openai#0", "openai#1");
+      assertThat(limited.headroom()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_throw_last_rate_limit_when_every_key_is_exhausted")
+    void should_throw_last_rate_limit_when_every_key_is_exhausted() {
+      final KeyPoolChatModel pool =
+          new KeyPoolChatModel(
+              "openai",
+              List.of(key(state("openai#0"), true), key(state("openai#1"), true)),
+              meterRegistry);
+
+      assertThatThrownBy(() -> pool.chat(request())).isInstanceOf(RateLimitException.class);
+      assertThat(calls).hasSize(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("Ejection")
+  final class Ejection {
+
+    @Test
+    @DisplayName("should_eject_key_after_repeated_rate_limits_until_backoff_expires")
+    void should_eject_key_after_repeated_rate_limits_until_backoff_expires() {
+      final ApiKeyState limited = state("openai#0");
+      final ApiKeyState healthy = state("openai#1");
+      final KeyPoolChatModel pool =
+          new KeyPoolChatModel(
+              "openai", List.of(key(limited, true), key(healthy, false)), meterRegistry);
+
+      limited.onHeaders(RateLimitHeaders.parse(openAiHeaders(100, 10_000)));
+      pool.chat(request());
+      limited.onHeaders(RateLimitHeaders.parse(openAiHeaders(100, 10_000)));
+      pool.chat(request());
+
+      assertThat(limited.isAvailable()).isFalse();
+      assertThat(
+              meterRegistry
+                  .counter("llm.keypool.ejections", "provider", "openai", "key", "openai#0")
+                  .count())
+          .isEqualTo(1.0);
+
+      calls.clear();
+      limited.onHeaders(RateLimitHeaders.parse(openAiHeaders(100, 10_000)));
+      pool.chat(request());
+      assertThat(calls).containsExactly("openai#1");
+
+      clock.advance(Duration.ofSeconds(31));
+      assertThat(limited.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should_double_ejection_up_to_maximum")
+    void should_double_ejection_up_to_maximum() {
+      final ApiKeyState key = state("anthropic#0");
+      final Instant start = clock.instant();
+
+      key.onRateLimited();
+      key.onRateLimited();
+      assertThat(key.ejectedUntil()).isEqualTo(start.plusSeconds(30));
+
+      key.onRateLimited();
+      key.onRateLimited();
+      assertThat(key.ejectedUntil()).isEqualTo(start.plusSeconds(60));
+
+      for (int i = 0; i < 20; i++) {
+        key.onRateLimited();
+      }
+      assertThat(key.ejectedUntil()).isEqualTo(start.plus(Duration.ofMinutes(5)));
+
+      key.onSuccess();
+      key.onRateLimited();
+      key.onRateLimited();
+      assertThat(key.ejectedUntil()).isEqualTo(start.plusSeconds(30));
+    }
+
+    @Test
+    @DisplayName("should_not_eject_on_non_rate_limit_failures")
+    void should_not_eject_on_non_rate_limit_failures() {
+      final ApiKeyState state = state("openai#0");
+      final ChatModel failing =
+          new ChatModel() {
+            @Override
+            public ChatResponse doChat(final ChatRequest request) {
+              throw new IllegalArgumentException("bad request");
+            }
+          };
+      final KeyPoolChatModel pool =
+          new KeyPoolChatModel(
+              "openai",
+              List.of(new PooledKey(state, failing), key(state("openai#1"), false)),
+              meterRegistry);
+      state.onHeaders(RateLimitHeaders.parse(openAiHeaders(100, 10_000)));
+
+      assertThatThrownBy(() -> pool.chat(request())).isInstanceOf(IllegalArgumentException.class);
+      assertThat(state.isAvailable()).isTrue();
+      assertThat(calls).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("Rate limit headers")
+  final class Headers {
+
+    @Test
+    @DisplayName("should_parse_anthropic_headers_case_insensitively")
+    void should_parse_anthropic_headers_case_insensitively() {
+      final RateLimitHeaders headers =
+          RateLimitHeaders.parse(
+              Map.of(
+                  "Anthropic-RateLimit-Requests-Remaining", List.of("7"),
+                  "anthropic-ratelimit-requests-limit", List.of("50"),
+                  "anthropic-ratelimit-tokens-remaining", List.of("not-a-number")));
+
+      assertThat(headers.remainingRequests()).hasValue(7);
+      assertThat(headers.limitRequests()).hasValue(50);
+      assertThat(headers.remainingTokens()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_capture_headers_from_provider_http_responses")
+    void should_capture_headers_from_provider_http_responses() {
+      final ApiKeyState state = state("openai#0");
+      final HttpClient client =
+          new HeaderCapturingHttpClientBuilder(
+                  new StubHttpClientBuilder(openAiHeaders(25, 9_000)), state)
+              .build();
+
+      client.execute(
+          HttpRequest.builder()
+              .method(HttpMethod.POST)
+              .url("https://api.example.com")
+              .body("{}")
+              .build());
+
+      assertThat(state.headroom()).isEqualTo(0.25);
+    }
+  }
+
+  private static final class KeyChatModel implements ChatModel {
+
+    private final String id;
+    private final boolean rateLimited;
+    private final List<String> calls;
+
+    private KeyChatModel(final String id, final boolean rateLimited, final List<String> calls) {
+      this.id = id;
+      this.rateLimited = rateLimited;
+      this.calls = calls;
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls.add(id);
+      if (rateLimited) {
+        throw new RateLimitException("429 Too Many Requests");
+      }
+      return ChatResponse.builder().aiMessage(AiMessage.from(id)).build();
+    }
+  }
+
+  private static final class StubHttpClientBuilder implements HttpClientBuilder {
+
+    private final Map<String, List<String>> headers;
+
+    private StubHttpClientBuilder(final Map<String, List<String>> headers) {
+      this.headers = headers;
+    }
+
+    @Override
+    public Duration connectTimeout() {
+      return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public HttpClientBuilder connectTimeout(final Duration timeout) {
+      return this;
+    }
+
+    @Override
+    public Duration readTimeout() {
+      return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public HttpClientBuilder readTimeout(final Duration timeout) {
+      return this;
+    }
+
+    @Override
+    public HttpClient build() {
+      return new HttpClient() {
+        @Override
+        public SuccessfulHttpResponse execute(final HttpRequest request) {
+          return SuccessfulHttpResponse.builder()
+              .statusCode(200)
+              .headers(headers)
+              .body("{}")
+              .build();
+        }
+
+        @Override
+        public void execute(
+            final HttpRequest request,
+            final ServerSentEventParser parser,
+            final ServerSentEventListener listener) {}
+      };
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    private void advance(final Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
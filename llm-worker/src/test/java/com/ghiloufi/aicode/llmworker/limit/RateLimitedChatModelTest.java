@@ -0,0 +1,120 @@
+package com.ghiloufi.aicode.llmworker.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ghiloufi.aicode.llmworker.limit.RedisTokenBucketRateLimiter.Reservation;
+import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimitedChatModel Tests")
+final class RateLimitedChatModelTest {
+
+  private RedisTokenBucketRateLimiter rateLimiter;
+  private StubChatModel delegate;
+  private RateLimitedChatModel model;
+
+  @BeforeEach
+  void setUp() {
+    rateLimiter = mock(RedisTokenBucketRateLimiter.class);
+    delegate = new StubChatModel();
+    model =
+        new RateLimitedChatModel(
+            delegate, rateLimiter, new TokenCounter(), "openai", "gpt-4o", 3, 100);
+  }
+
+  @Test
+  @DisplayName("should_reserve_estimated_tokens_against_pool_capacity_and_reconcile_actual_usage")
+  void should_reserve_estimated_tokens_against_pool_capacity_and_reconcile_actual_usage() {
+    final Reservation reservation = new Reservation("openai", "gpt-4o", 3, 107);
+    final ChatResponse response =
+        ChatResponse.builder()
+            .aiMessage(AiMessage.from("looks good"))
+            .tokenUsage(new TokenUsage(10, 20))
+            .build();
+    when(rateLimiter.reserve("openai", "gpt-4o", 3, 107)).thenReturn(reservation);
+    delegate.response = response;
+
+    final ChatResponse result =
+        model.chat(
+            ChatRequest.builder()
+                .messages(SystemMessage.from("reviewer"), UserMessage.from("a".repeat(20)))
+                .build());
+
+    assertThat(result).isSameAs(response);
+    verify(rateLimiter).reconcile(reservation, 30);
+  }
+
+  @Test
+  @DisplayName("should_not_call_provider_when_reservation_rejected")
+  void should_not_call_provider_when_reservation_rejected() {
+    when(rateLimiter.reserve(eq("openai"), eq("gpt-4o"), eq(3), anyInt()))
+        .thenThrow(new RateLimitException("Cluster rate limit exceeded"));
+
+    assertThatThrownBy(
+            () -> model.chat(ChatRequest.builder().messages(UserMessage.from("diff")).build()))
+        .isInstanceOf(RateLimitException.class);
+
+    assertThat(delegate.calls).isZero();
+  }
+
+  @Test
+  @DisplayName("should_refund_reservation_when_provider_call_fails")
+  void should_refund_reservation_when_provider_call_fails() {
+    final Reservation reservation = new Reservation("openai", "gpt-4o", 3, 104);
+    when(rateLimiter.reserve(eq("openai"), eq("gpt-4o"), eq(3), anyInt())).thenReturn(reservation);
+    delegate.failure = new IllegalStateException("connection reset");
+
+    assertThatThrownBy(
+            () -> model.chat(ChatRequest.builder().messages(UserMessage.from("diff")).build()))
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(rateLimiter).refund(reservation);
+    verify(rateLimiter, never()).reconcile(eq(reservation), anyInt());
+  }
+
+  @Test
+  @DisplayName("should_keep_reservation_when_usage_is_unreported")
+  void should_keep_reservation_when_usage_is_unreported() {
+    final Reservation reservation = new Reservation("openai", "gpt-4o", 3, 104);
+    when(rateLimiter.reserve(eq("openai"), eq("gpt-4o"), eq(3), anyInt())).thenReturn(reservation);
+    delegate.response = ChatResponse.builder().aiMessage(AiMessage.from("ok")).build();
+
+    model.chat(ChatRequest.builder().messages(UserMessage.from("diff")).build());
+
+    verify(rateLimiter, never()).reconcile(eq(reservation), anyInt());
+    verify(rateLimiter, never()).refund(reservation);
+  }
+
+  private static final class StubChatModel implements ChatModel {
+
+    private ChatResponse response;
+    private RuntimeException failure;
+    private int calls;
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls++;
+      if (failure != null) {
+        throw failure;
+      }
+      return response;
+    }
+  }
+}
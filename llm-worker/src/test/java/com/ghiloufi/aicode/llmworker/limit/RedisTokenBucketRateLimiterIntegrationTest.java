@@ -0,0 +1,166 @@
+package com.ghiloufi.aicode.llmworker.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import com.ghiloufi.aicode.llmworker.config.RateLimitProperties;
+import com.ghiloufi.aicode.llmworker.limit.RedisTokenBucketRateLimiter.Reservation;
+import dev.langchain4j.exception.RateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@DisplayName("RedisTokenBucketRateLimiter Integration Tests")
+final class RedisTokenBucketRateLimiterIntegrationTest {
+
+  private static final String BUCKET = "test:ratelimit:{openai:gpt-4o}";
+
+  @Container
+  static final GenericContainer<?> REDIS =
+      new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private StringRedisTemplate redisTemplate;
+
+  @BeforeEach
+  void setUp() {
+    final LettuceConnectionFactory connectionFactory =
+        new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+    connectionFactory.afterPropertiesSet();
+    redisTemplate = new StringRedisTemplate(connectionFactory);
+    redisTemplate.delete(List.of(BUCKET + ":rpm", BUCKET + ":tpm"));
+  }
+
+  private RedisTokenBucketRateLimiter limiter(
+      final int requestsPerMinute, final int tokensPerMinute, final Duration maxWait) {
+    return new RedisTokenBucketRateLimiter(
+        redisTemplate,
+        new RateLimitProperties(
+            true, "test:ratelimit", requestsPerMinute, tokensPerMinute, 100, maxWait, Map.of()),
+        meterRegistry);
+  }
+
+  private double tokens(final String suffix) {
+    final Object tokens = redisTemplate.opsForHash().get(BUCKET + suffix, "tokens");
+    return Double.parseDouble(String.valueOf(tokens));
+  }
+
+  @Nested
+  @DisplayName("Acquire")
+  final class Acquire {
+
+    @Test
+    @DisplayName("should_deduct_request_and_tokens_from_both_buckets")
+    void should_deduct_request_and_tokens_from_both_buckets() {
+      final RedisTokenBucketRateLimiter limiter = limiter(60, 6000, Duration.ofSeconds(1));
+
+      final Reservation reservation = limiter.reserve("openai", "gpt-4o", 1, 1000);
+
+      assertThat(reservation.reservedTokens()).isEqualTo(1000);
+      assertThat(tokens(":rpm")).isCloseTo(59, offset(1.0));
+      assertThat(tokens(":tpm")).isCloseTo(5000, offset(50.0));
+      assertThat(redisTemplate.getExpire(BUCKET + ":tpm")).isPositive();
+    }
+
+    @Test
+    @DisplayName("should_scale_capacity_with_pooled_keys")
+    void should_scale_capacity_with_pooled_keys() {
+      final RedisTokenBucketRateLimiter limiter = limiter(1, 1000, Duration.ofMillis(100));
+
+      limiter.reserve("openai", "gpt-4o", 2, 900);
+      limiter.reserve("openai", "gpt-4o", 2, 900);
+
+      assertThat(tokens(":tpm")).isCloseTo(200, offset(20.0));
+    }
+
+    @Test
+    @DisplayName("should_wait_then_reject_when_bucket_stays_empty")
+    void should_wait_then_reject_when_bucket_stays_empty() {
+      final RedisTokenBucketRateLimiter limiter = limiter(1, 100000, Duration.ofMillis(300));
+      limiter.reserve("openai", "gpt-4o", 1, 10);
+
+      final long start = System.nanoTime();
+      assertThatThrownBy(() -> limiter.reserve("openai", "gpt-4o", 1, 10))
+          .isInstanceOf(RateLimitException.class)
+          .hasMessageContaining(BUCKET);
+
+      assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThan(Duration.ofMillis(250));
+      assertThat(meterRegistry.counter("llm.ratelimit.throttled", "provider", "openai").count())
+          .isPositive();
+      assertThat(meterRegistry.counter("llm.ratelimit.rejected", "provider", "openai").count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_admit_waiting_caller_once_bucket_refills")
+    void should_admit_waiting_caller_once_bucket_refills() {
+      final RedisTokenBucketRateLimiter limiter = limiter(600, 100000, Duration.ofSeconds(2));
+      redisTemplate
+          .opsForHash()
+          .putAll(BUCKET + ":rpm", Map.of("tokens", "0", "ts", String.valueOf(redisNowMillis())));
+
+      final Reservation reservation = limiter.reserve("openai", "gpt-4o", 1, 10);
+
+      assertThat(reservation.reservedTokens()).isEqualTo(10);
+      assertThat(meterRegistry.counter("llm.ratelimit.throttled", "provider", "openai").count())
+          .isPositive();
+    }
+  }
+
+  @Nested
+  @DisplayName("Reconcile")
+  final class Reconcile {
+
+    @Test
+    @DisplayName("should_return_unused_tokens_to_bucket")
+    void should_return_unused_tokens_to_bucket() {
+      final RedisTokenBucketRateLimiter limiter = limiter(60, 6000, Duration.ofSeconds(1));
+      final Reservation reservation = limiter.reserve("openai", "gpt-4o", 1, 3000);
+
+      limiter.reconcile(reservation, 1000);
+
+      assertThat(tokens(":tpm")).isCloseTo(5000, offset(50.0));
+    }
+
+    @Test
+    @DisplayName("should_charge_overrun_against_bucket")
+    void should_charge_overrun_against_bucket() {
+      final RedisTokenBucketRateLimiter limiter = limiter(60, 6000, Duration.ofSeconds(1));
+      final Reservation reservation = limiter.reserve("openai", "gpt-4o", 1, 1000);
+
+      limiter.reconcile(reservation, 4000);
+
+      assertThat(tokens(":tpm")).isCloseTo(2000, offset(50.0));
+    }
+
+    @Test
+    @DisplayName("should_refund_whole_reservation")
+    void should_refund_whole_reservation() {
+      final RedisTokenBucketRateLimiter limiter = limiter(60, 6000, Duration.ofSeconds(1));
+      final Reservation reservation = limiter.reserve("openai", "gpt-4o", 1, 2500);
+
+      limiter.refund(reservation);
+
+      assertThat(tokens(":tpm")).isCloseTo(6000, offset(1.0));
+    }
+  }
+
+  private long redisNowMillis() {
+    return redisTemplate.execute(
+        (RedisCallback<Long>) connection -> connection.serverCommands().time());
+  }
+}
@@ -1,11 +1,20 @@
 package com.ghiloufi.aicode.llmworker.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import com.ghiloufi.aicode.core.domain.model.ModelUsage;
 import com.ghiloufi.aicode.core.domain.model.ReviewMode;
 import com.ghiloufi.aicode.core.domain.model.ReviewResult;
 import com.ghiloufi.aicode.core.domain.model.SourceProvider;
 import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.llmworker.cache.ResponseCacheControl;
+import com.ghiloufi.aicode.llmworker.checkpoint.PipelineCheckpointStore;
+import com.ghiloufi.aicode.llmworker.config.CheckpointProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.AnthropicProperties;
 import com.ghiloufi.aicode.llmworker.config.ProviderProperties.GeminiProperties;
@@ -16,6 +25,17 @@ import com.ghiloufi.aicode.llmworker.schema.IssueSchema;
 import com.ghiloufi.aicode.llmworker.schema.NoteSchema;
 import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
 import com.ghiloufi.aicode.llmworker.schema.Severity;
+import com.ghiloufi.aicode.llmworker.service.AsyncReviewOrchestrator;
+import com.ghiloufi.aicode.llmworker.service.AsyncReviewResult;
+import com.ghiloufi.aicode.llmworker.usage.TokenAccountingChatModel;
+import com.ghiloufi.aicode.llmworker.usage.TokenUsageTracker;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -23,6 +43,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @DisplayName("ReviewProcessor Async Tests")
 final class ReviewProcessorAsyncTest {
@@ -50,7 +71,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("openai", "gpt-4o");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       final AsyncReviewRequest request =
           new AsyncReviewRequest(
@@ -89,7 +111,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("anthropic", "claude-3");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("async-sec", "{}", "Check for SQL injection");
 
@@ -117,7 +140,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("gemini", "gemini-pro");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("async-notes", "{}", "Review all");
 
@@ -146,7 +170,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("openai", "gpt-4o");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("async-filter", "{}", "Review");
 
@@ -174,7 +199,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("ollama", "llama3");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("async-notes-filter", "{}", "Review");
 
@@ -201,7 +227,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("openai", "gpt-4o");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("async-error", "{}", "Review");
 
@@ -228,7 +255,8 @@ final class ReviewProcessorAsyncTest {
           new TestProviderProperties("gemini", "gemini-1.5-pro");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("gemini-req", "{}", "Review");
 
@@ -249,7 +277,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("ollama", "codellama");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("ollama-req", "{}", "Review");
 
@@ -269,7 +298,8 @@ final class ReviewProcessorAsyncTest {
       final TestProviderProperties properties = new TestProviderProperties("unknown", "model");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("unknown-req", "{}", "Review");
 
@@ -277,6 +307,123 @@ final class ReviewProcessorAsyncTest {
     }
   }
 
+  @Nested
+  @DisplayName("Token Attribution")
+  final class TokenAttribution {
+
+    @Test
+    @DisplayName("should_break_usage_down_by_model_that_served_each_call")
+    void should_break_usage_down_by_model_that_served_each_call() {
+      final AtomicReference<ReviewResult> capturedResult = new AtomicReference<>();
+      final TokenUsageTracker tracker = new TokenUsageTracker();
+      final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+      final ChatModel primary =
+          new TokenAccountingChatModel(
+              usageModel(new TokenUsage(1_000, 200)), tracker, meterRegistry, "openai", "gpt-4o");
+      final ChatModel light =
+          new TokenAccountingChatModel(
+              usageModel(new TokenUsage(300, 50)),
+              tracker,
+              meterRegistry,
+              "anthropic",
+              "claude-haiku");
+      final ReviewResultSchema schema =
+          new ReviewResultSchema("Mixed review", List.of(), List.of());
+      final ReviewService reviewService =
+          new ReviewService() {
+            @Override
+            public ReviewResultSchema performReview(final String userPrompt) {
+              return performReview("", userPrompt);
+            }
+
+            @Override
+            public ReviewResultSchema performReview(
+                final String systemPrompt, final String userPrompt) {
+              primary.chat(UserMessage.from(userPrompt));
+              light.chat(UserMessage.from(userPrompt));
+              light.chat(UserMessage.from(userPrompt));
+              return schema;
+            }
+          };
+
+      final ReviewProcessor processor =
+          new ReviewProcessor(
+              reviewService,
+              null,
+              new TestAsyncPublisher(capturedResult, new AtomicReference<>()),
+              new TestProviderProperties("openai", "gpt-4o"),
+              tracker,
+              null);
+
+      processor.process("mixed-1", "{}", "Review this code");
+
+      assertThat(capturedResult.get().getModelUsage())
+          .containsExactly(
+              new ModelUsage("anthropic", "claude-haiku", new LlmUsage(600, 100, 0, 2)),
+              new ModelUsage("openai", "gpt-4o", new LlmUsage(1_000, 200, 0, 1)));
+      assertThat(capturedResult.get().getTokenUsage()).isEqualTo(new LlmUsage(1_600, 300, 0, 3));
+    }
+
+    private static ChatModel usageModel(final TokenUsage usage) {
+      return new ChatModel() {
+        @Override
+        public ChatResponse doChat(final ChatRequest request) {
+          return ChatResponse.builder().aiMessage(AiMessage.from("ok")).tokenUsage(usage).build();
+        }
+      };
+    }
+  }
+
+  @Nested
+  @DisplayName("Cache Refresh")
+  final class CacheRefresh {
+
+    private boolean bypassedDuring(final boolean refresh) {
+      final AtomicReference<Boolean> bypassed = new AtomicReference<>();
+      final AsyncReviewOrchestrator orchestrator = mock(AsyncReviewOrchestrator.class);
+      when(orchestrator.performAsyncReview(any()))
+          .thenAnswer(
+              invocation -> {
+                bypassed.set(ResponseCacheControl.isBypassed());
+                return new AsyncReviewResult(
+                    new ReviewResultSchema("Summary", List.of(), List.of()), 1);
+              });
+      final ReviewProcessor processor =
+          new ReviewProcessor(
+              null,
+              orchestrator,
+              new TestAsyncPublisher(new AtomicReference<>(), new AtomicReference<>()),
+              new TestProviderProperties("openai", "gpt-4o"),
+              new TokenUsageTracker(),
+              new PipelineCheckpointStore(
+                  mock(StringRedisTemplate.class),
+                  new CheckpointProperties(
+                      false, "llm:checkpoint", Duration.ofMinutes(30), 1, Duration.ZERO),
+                  new ObjectMapper(),
+                  new SimpleMeterRegistry()));
+
+      processor.process(
+          "req-refresh",
+          AsyncReviewRequest.create(
+              "req-refresh", SourceProvider.GITHUB, "owner/repo", 7, ReviewMode.DIFF, refresh));
+
+      return bypassed.get();
+    }
+
+    @Test
+    @DisplayName("should_bypass_response_cache_for_refresh_requests")
+    void should_bypass_response_cache_for_refresh_requests() {
+      assertThat(bypassedDuring(true)).isTrue();
+      assertThat(ResponseCacheControl.isBypassed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_use_response_cache_for_regular_requests")
+    void should_use_response_cache_for_regular_requests() {
+      assertThat(bypassedDuring(false)).isFalse();
+    }
+  }
+
   private static final class TestReviewService implements ReviewService {
     private final ReviewResultSchema result;
     private boolean shouldThrow;
@@ -13,6 +13,7 @@ import com.ghiloufi.aicode.llmworker.schema.IssueSchema;
 import com.ghiloufi.aicode.llmworker.schema.NoteSchema;
 import com.ghiloufi.aicode.llmworker.schema.ReviewResultSchema;
 import com.ghiloufi.aicode.llmworker.schema.Severity;
+import com.ghiloufi.aicode.llmworker.usage.TokenUsageTracker;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -51,7 +52,8 @@ final class ReviewProcessorTest {
               List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-123", "{}", "Review this code");
 
@@ -78,7 +80,8 @@ final class ReviewProcessorTest {
               List.of(new NoteSchema("src/Utils.java", 25, "Consider using Optional"))));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-456", "{}", "Review");
 
@@ -100,7 +103,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Clean code", null, null));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-789", "{}", "Review");
 
@@ -128,7 +132,8 @@ final class ReviewProcessorTest {
               List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-sev", "{}", "Review");
 
@@ -154,7 +159,8 @@ final class ReviewProcessorTest {
               List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-null-sev", "{}", "Review");
 
@@ -179,7 +185,8 @@ final class ReviewProcessorTest {
               List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-filter-issue", "{}", "Review");
 
@@ -205,7 +212,8 @@ final class ReviewProcessorTest {
               List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-filter-neg", "{}", "Review");
 
@@ -231,7 +239,8 @@ final class ReviewProcessorTest {
                   new NoteSchema("another.java", 30, "Another valid"))));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-filter-note", "{}", "Review");
 
@@ -259,7 +268,8 @@ final class ReviewProcessorTest {
                   new NoteSchema("bad.java", -5, "Bad note"))));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-filter-neg-note", "{}", "Review");
 
@@ -287,7 +297,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Summary", List.of(), List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-provider", "{}", "Review");
 
@@ -310,7 +321,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Summary", List.of(), List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-anthropic", "{}", "Review");
 
@@ -333,7 +345,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Summary", List.of(), List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-gemini", "{}", "Review");
 
@@ -355,7 +368,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Summary", List.of(), List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-ollama", "{}", "Review");
 
@@ -378,7 +392,8 @@ final class ReviewProcessorTest {
       reviewService.setResult(new ReviewResultSchema("Summary", List.of(), List.of()));
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-unknown", "{}", "Review");
 
@@ -403,7 +418,8 @@ final class ReviewProcessorTest {
       final TestProviderProperties properties = new TestProviderProperties("openai", "gpt-4o");
 
       final ReviewProcessor processor =
-          new ReviewProcessor(reviewService, null, publisher, properties);
+          new ReviewProcessor(
+              reviewService, null, publisher, properties, new TokenUsageTracker(), null);
 
       processor.process("req-error", "{}", "Review");
 
@@ -0,0 +1,177 @@
+package com.ghiloufi.aicode.llmworker.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.llmworker.cache.ChatResponseCodec;
+import com.ghiloufi.aicode.llmworker.config.ReplayProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.TokenUsage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Record/Replay ChatModel Tests")
+final class ReplayChatModelTest {
+
+  private static final String MODEL_KEY = "openai:gpt-4o";
+  private static final String ANSWER = "{\"summary\":\"Looks good\",\"issues\":[]}";
+
+  @TempDir Path directory;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private StubChatModel provider;
+
+  @BeforeEach
+  void setUp() {
+    provider = new StubChatModel();
+  }
+
+  private ReplayCorpus corpus() {
+    return new ReplayCorpus(
+        new ReplayProperties(
+            ReplayProperties.Mode.REPLAY, directory.toString(), Duration.ZERO, 0, false, 16),
+        new ChatResponseCodec(objectMapper),
+        objectMapper);
+  }
+
+  private static ChatRequest request(final String prompt) {
+    return ChatRequest.builder().messages(UserMessage.from(prompt)).build();
+  }
+
+  @Nested
+  @DisplayName("Recording")
+  final class Recording {
+
+    @Test
+    @DisplayName("should_replay_recorded_response_without_calling_provider")
+    void should_replay_recorded_response_without_calling_provider() {
+      new RecordingChatModel(provider, corpus(), MODEL_KEY).chat(request("review this"));
+
+      final ReplayChatModel replay =
+          new ReplayChatModel(
+              provider.supportedCapabilities(),
+              corpus(),
+              MODEL_KEY,
+              new TokenRateEmulator(Duration.ZERO, 0, false));
+      final ChatResponse response = replay.chat(request("review this"));
+
+      assertThat(response.aiMessage().text()).isEqualTo(ANSWER);
+      assertThat(response.tokenUsage().outputTokenCount()).isEqualTo(40);
+      assertThat(provider.calls).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should_fail_on_unrecorded_prompt")
+    void should_fail_on_unrecorded_prompt() {
+      final ReplayChatModel replay =
+          new ReplayChatModel(
+              provider.supportedCapabilities(),
+              corpus(),
+              MODEL_KEY,
+              new TokenRateEmulator(Duration.ZERO, 0, false));
+
+      assertThatThrownBy(() -> replay.chat(request("never seen")))
+          .isInstanceOf(ReplayMissException.class);
+    }
+
+    @Test
+    @DisplayName("should_key_recordings_by_model")
+    void should_key_recordings_by_model() {
+      final ReplayCorpus corpus = corpus();
+
+      assertThat(corpus.key(MODEL_KEY, request("same")))
+          .isNotEqualTo(corpus.key("anthropic:claude", request("same")));
+    }
+  }
+
+  @Nested
+  @DisplayName("Emulation")
+  final class Emulation {
+
+    @Test
+    @DisplayName("should_add_generation_time_from_token_rate")
+    void should_add_generation_time_from_token_rate() {
+      final TokenRateEmulator emulator = new TokenRateEmulator(Duration.ofMillis(200), 100, false);
+      final ReplayCorpus.Recorded recorded =
+          new ReplayCorpus.Recorded(provider.response(), Duration.ofSeconds(5));
+
+      assertThat(emulator.firstTokenDelay(recorded)).isEqualTo(Duration.ofMillis(200));
+      assertThat(emulator.totalDelay(recorded)).isEqualTo(Duration.ofMillis(600));
+    }
+
+    @Test
+    @DisplayName("should_use_recorded_latency_when_configured")
+    void should_use_recorded_latency_when_configured() {
+      final TokenRateEmulator emulator = new TokenRateEmulator(Duration.ofMillis(200), 100, true);
+      final ReplayCorpus.Recorded recorded =
+          new ReplayCorpus.Recorded(provider.response(), Duration.ofSeconds(5));
+
+      assertThat(emulator.totalDelay(recorded)).isEqualTo(Duration.ofSeconds(5));
+      assertThat(emulator.firstTokenDelay(recorded)).isEqualTo(Duration.ofMillis(4600));
+    }
+
+    @Test
+    @DisplayName("should_stream_recorded_response_in_chunks")
+    void should_stream_recorded_response_in_chunks() throws Exception {
+      new RecordingChatModel(provider, corpus(), MODEL_KEY).chat(request("stream me"));
+      final ReplayStreamingChatModel streaming =
+          new ReplayStreamingChatModel(
+              corpus(), MODEL_KEY, new TokenRateEmulator(Duration.ZERO, 0, false), 8);
+      final StringBuilder partials = new StringBuilder();
+      final CompletableFuture<ChatResponse> completed = new CompletableFuture<>();
+
+      streaming.chat(
+          request("stream me"),
+          new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(final String partialResponse) {
+              partials.append(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(final ChatResponse completeResponse) {
+              completed.complete(completeResponse);
+            }
+
+            @Override
+            public void onError(final Throwable error) {
+              completed.completeExceptionally(error);
+            }
+          });
+
+      assertThat(completed.get(5, TimeUnit.SECONDS).aiMessage().text()).isEqualTo(ANSWER);
+      assertThat(partials.toString()).isEqualTo(ANSWER);
+    }
+  }
+
+  private static final class StubChatModel implements ChatModel {
+
+    private int calls;
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls++;
+      return response();
+    }
+
+    private ChatResponse response() {
+      return ChatResponse.builder()
+          .aiMessage(AiMessage.from(ANSWER))
+          .tokenUsage(new TokenUsage(100, 40))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LatencyHistogram Tests")
+final class LatencyHistogramTest {
+
+  @Test
+  @DisplayName("should_return_empty_below_min_samples")
+  void should_return_empty_below_min_samples() {
+    final LatencyHistogram histogram = new LatencyHistogram(10);
+    histogram.record(Duration.ofMillis(100));
+
+    assertThat(histogram.quantile(0.95, 2)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should_compute_nearest_rank_quantile")
+  void should_compute_nearest_rank_quantile() {
+    final LatencyHistogram histogram = new LatencyHistogram(100);
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(Duration.ofMillis(i * 10L));
+    }
+
+    assertThat(histogram.quantile(0.95, 1)).contains(Duration.ofMillis(950));
+    assertThat(histogram.quantile(0.5, 1)).contains(Duration.ofMillis(500));
+    assertThat(histogram.quantile(1.0, 1)).contains(Duration.ofMillis(1000));
+  }
+
+  @Test
+  @DisplayName("should_evict_oldest_samples_when_window_is_full")
+  void should_evict_oldest_samples_when_window_is_full() {
+    final LatencyHistogram histogram = new LatencyHistogram(3);
+    histogram.record(Duration.ofSeconds(60));
+    histogram.record(Duration.ofMillis(10));
+    histogram.record(Duration.ofMillis(20));
+    histogram.record(Duration.ofMillis(30));
+
+    assertThat(histogram.sampleCount()).isEqualTo(3);
+    assertThat(histogram.quantile(1.0, 1)).contains(Duration.ofMillis(30));
+  }
+
+  @Test
+  @DisplayName("should_reject_invalid_quantile")
+  void should_reject_invalid_quantile() {
+    final LatencyHistogram histogram = new LatencyHistogram(3);
+
+    assertThatThrownBy(() -> histogram.quantile(0.0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,310 @@
+package com.ghiloufi.aicode.llmworker.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ghiloufi.aicode.llmworker.config.RoutingProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.InternalServerException;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.TimeoutException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RoutingChatModel Tests")
+final class RoutingChatModelTest {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private RoutingChatModel routingModel;
+
+  @AfterEach
+  void tearDown() {
+    if (routingModel != null) {
+      routingModel.close();
+    }
+  }
+
+  @Nested
+  @DisplayName("Failover")
+  final class FailoverTests {
+
+    @Test
+    @DisplayName("should_fail_over_on_rate_limit")
+    void should_fail_over_on_rate_limit() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new RateLimitException("429 Too Many Requests");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      final ChatResponse response = routingModel.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("from secondary");
+      assertThat(
+              meterRegistry
+                  .counter("llm.routing.failovers", "provider", "primary", "reason", "rate_limited")
+                  .count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_fail_over_on_server_error")
+    void should_fail_over_on_server_error() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new InternalServerException("503 Service Unavailable");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      final ChatResponse response = routingModel.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("from secondary");
+    }
+
+    @Test
+    @DisplayName("should_fail_over_on_empty_response")
+    void should_fail_over_on_empty_response() {
+      final FakeChatModel primary = FakeChatModel.replying(" ");
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      final ChatResponse response = routingModel.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("from secondary");
+    }
+
+    @Test
+    @DisplayName("should_record_timeout_as_request_timeout")
+    void should_record_timeout_as_request_timeout() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new TimeoutException("read timed out");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      routingModel.chat(request());
+
+      assertThat(latency("primary").count()).isEqualTo(1);
+      assertThat(latency("primary").totalTime(TimeUnit.SECONDS))
+          .isGreaterThanOrEqualTo(REQUEST_TIMEOUT.toSeconds());
+    }
+
+    @Test
+    @DisplayName("should_not_record_latency_of_fast_rejection")
+    void should_not_record_latency_of_fast_rejection() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new RateLimitException("429 Too Many Requests");
+              });
+      routingModel = routing(hedgeDisabled(), primary, FakeChatModel.replying("from secondary"));
+
+      routingModel.chat(request());
+
+      assertThat(latency("primary").count()).isZero();
+      assertThat(latency("secondary").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should_rethrow_non_retryable_error_without_failover")
+    void should_rethrow_non_retryable_error_without_failover() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new IllegalArgumentException("bad request");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      assertThatThrownBy(() -> routingModel.chat(request()))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("bad request");
+      assertThat(secondary.calls()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_throw_last_failure_when_all_providers_fail")
+    void should_throw_last_failure_when_all_providers_fail() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                throw new RateLimitException("primary limited");
+              });
+      final FakeChatModel secondary =
+          new FakeChatModel(
+              () -> {
+                throw new InternalServerException("secondary down");
+              });
+      routingModel = routing(hedgeDisabled(), primary, secondary);
+
+      assertThatThrownBy(() -> routingModel.chat(request()))
+          .isInstanceOf(InternalServerException.class)
+          .hasMessage("secondary down");
+    }
+  }
+
+  @Nested
+  @DisplayName("Hedging")
+  final class HedgingTests {
+
+    @Test
+    @DisplayName("should_hedge_slow_primary_and_cancel_loser")
+    void should_hedge_slow_primary_and_cancel_loser() throws InterruptedException {
+      final CountDownLatch interrupted = new CountDownLatch(1);
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                try {
+                  Thread.sleep(Duration.ofSeconds(10));
+                } catch (final InterruptedException e) {
+                  interrupted.countDown();
+                  Thread.currentThread().interrupt();
+                }
+                return response("from primary");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeAfter(Duration.ofMillis(50)), primary, secondary);
+
+      final ChatResponse response = routingModel.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("from secondary");
+      assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+      assertThat(meterRegistry.counter("llm.routing.hedges", "provider", "primary").count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should_record_latency_of_cancelled_loser")
+    void should_record_latency_of_cancelled_loser() {
+      final FakeChatModel primary =
+          new FakeChatModel(
+              () -> {
+                try {
+                  Thread.sleep(Duration.ofSeconds(10));
+                } catch (final InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                return response("from primary");
+              });
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeAfter(Duration.ofMillis(50)), primary, secondary);
+
+      routingModel.chat(request());
+
+      assertThat(latency("secondary").count()).isEqualTo(1);
+      assertThat(latency("primary").count()).isEqualTo(1);
+      assertThat(latency("primary").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should_not_hedge_fast_primary")
+    void should_not_hedge_fast_primary() {
+      final FakeChatModel primary = FakeChatModel.replying("from primary");
+      final FakeChatModel secondary = FakeChatModel.replying("from secondary");
+      routingModel = routing(hedgeAfter(Duration.ofSeconds(5)), primary, secondary);
+
+      final ChatResponse response = routingModel.chat(request());
+
+      assertThat(response.aiMessage().text()).isEqualTo("from primary");
+      assertThat(secondary.calls()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_derive_hedge_threshold_from_observed_latency")
+    void should_derive_hedge_threshold_from_observed_latency() {
+      final FakeChatModel primary = FakeChatModel.replying("from primary");
+      routingModel =
+          routing(
+              new RoutingProperties.HedgeProperties(
+                  true, 0.95, Duration.ofSeconds(30), Duration.ofMillis(1), 3, 10),
+              primary,
+              FakeChatModel.replying("from secondary"));
+
+      assertThat(routingModel.hedgeThreshold("primary")).isEqualTo(Duration.ofSeconds(30));
+
+      for (int i = 0; i < 3; i++) {
+        routingModel.chat(request());
+      }
+
+      assertThat(routingModel.hedgeThreshold("primary")).isLessThan(Duration.ofSeconds(30));
+    }
+  }
+
+  private RoutingChatModel routing(
+      final RoutingProperties.HedgeProperties hedge,
+      final ChatModel primary,
+      final ChatModel secondary) {
+    return new RoutingChatModel(
+        List.of(new ProviderRoute("primary", primary), new ProviderRoute("secondary", secondary)),
+        hedge,
+        REQUEST_TIMEOUT,
+        meterRegistry);
+  }
+
+  private Timer latency(final String provider) {
+    return meterRegistry.find("llm.provider.latency").tag("provider", provider).timer();
+  }
+
+  private static RoutingProperties.HedgeProperties hedgeDisabled() {
+    return new RoutingProperties.HedgeProperties(
+        false, 0.95, Duration.ofSeconds(30), Duration.ofSeconds(2), 20, 200);
+  }
+
+  private static RoutingProperties.HedgeProperties hedgeAfter(final Duration delay) {
+    return new RoutingProperties.HedgeProperties(true, 0.95, delay, delay, 20, 200);
+  }
+
+  private static ChatRequest request() {
+    return ChatRequest.builder().messages(UserMessage.from("review this diff")).build();
+  }
+
+  private static ChatResponse response(final String text) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+  }
+
+  private static final class FakeChatModel implements ChatModel {
+
+    private final Supplier<ChatResponse> behavior;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private FakeChatModel(final Supplier<ChatResponse> behavior) {
+      this.behavior = behavior;
+    }
+
+    private static FakeChatModel replying(final String text) {
+      return new FakeChatModel(() -> response(text));
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      calls.incrementAndGet();
+      return behavior.get();
+    }
+
+    private int calls() {
+      return calls.get();
+    }
+  }
+}
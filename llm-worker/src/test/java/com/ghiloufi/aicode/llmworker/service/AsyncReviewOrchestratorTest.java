@@ -0,0 +1,194 @@
+package com.ghiloufi.aicode.llmworker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.application.service.TicketContextService;
+import com.ghiloufi.aicode.core.application.service.context.ContextOrchestrator;
+import com.ghiloufi.aicode.core.config.ContextRetrievalConfig;
+import com.ghiloufi.aicode.core.domain.model.DiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.DiffExpansionResult;
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.EnrichedDiffAnalysisBundle;
+import com.ghiloufi.aicode.core.domain.model.ExpandedFileContext;
+import com.ghiloufi.aicode.core.domain.model.GitDiffDocument;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.core.domain.model.PrMetadata;
+import com.ghiloufi.aicode.core.domain.model.RepositoryIdentifier;
+import com.ghiloufi.aicode.core.domain.model.ReviewMode;
+import com.ghiloufi.aicode.core.domain.model.SourceProvider;
+import com.ghiloufi.aicode.core.domain.model.async.AsyncReviewRequest;
+import com.ghiloufi.aicode.core.domain.port.output.SCMPort;
+import com.ghiloufi.aicode.core.infrastructure.factory.SCMProviderFactory;
+import com.ghiloufi.aicode.llmworker.checkpoint.PipelineCheckpointStore;
+import com.ghiloufi.aicode.llmworker.config.CheckpointProperties;
+import com.ghiloufi.aicode.llmworker.fanout.FanOutReviewExecutor;
+import com.ghiloufi.aicode.llmworker.fanout.FileGroupPlanner;
+import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.service.prompt.PromptBuilder;
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import com.ghiloufi.aicode.llmworker.triage.ReviewTriageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+@DisplayName("AsyncReviewOrchestrator Tests")
+final class AsyncReviewOrchestratorTest {
+
+  private static final String PATH = "src/OrderService.java";
+
+  private static final String JAVA_SOURCE =
+      """
+      /*
+       * Copyright 2024 Example Corp.
+       * Licensed under the Apache License, Version 2.0.
+       */
+      package com.example;
+
+      import java.util.List;
+      import java.util.Map;
+      import java.util.Set;
+
+
+      public class OrderService {
+
+        /** Calculates totals. */
+        public int total(final List<Integer> prices) {
+          int sum = 0;
+          for (final int price : prices) {
+            sum += price;
+          }
+          return sum;
+        }
+
+        // applies the discount
+        public int discount(final int total) {
+          if (total > 100) {
+            return total - 10;
+          }
+          return total;
+        }
+      }
+      """;
+
+  private final SCMPort scmPort = mock(SCMPort.class);
+  private final PromptBuilder promptBuilder = mock(PromptBuilder.class);
+
+  @BeforeEach
+  void setUp() {
+    final GitFileModification file = new GitFileModification(PATH, PATH);
+    final DiffHunkBlock hunk = new DiffHunkBlock();
+    hunk.newStart = 27;
+    hunk.newCount = 1;
+    file.diffHunkBlocks = List.of(hunk);
+    final DiffAnalysisBundle bundle =
+        new DiffAnalysisBundle(
+            RepositoryIdentifier.create(SourceProvider.GITHUB, "acme/shop"),
+            new GitDiffDocument(List.of(file)),
+            "diff --git a/" + PATH + " b/" + PATH,
+            PrMetadata.empty());
+
+    when(scmPort.getDiff(any(), any())).thenReturn(Mono.just(bundle));
+    when(scmPort.getFileContents(any(), any(), anyList()))
+        .thenReturn(Mono.just(Map.of(PATH, JAVA_SOURCE)));
+    when(promptBuilder.buildStructuredReviewPrompt(
+            any(), any(), any(), any(DiffExpansionResult.class), any(), any()))
+        .thenReturn(new ReviewPromptResult("system", "user"));
+  }
+
+  private AsyncReviewOrchestrator orchestrator(final boolean compressionEnabled) {
+    final SCMProviderFactory scmProviderFactory = mock(SCMProviderFactory.class);
+    when(scmProviderFactory.getProvider(SourceProvider.GITHUB)).thenReturn(scmPort);
+    final ContextOrchestrator contextOrchestrator = mock(ContextOrchestrator.class);
+    when(contextOrchestrator.retrieveEnrichedContext(any()))
+        .thenAnswer(
+            invocation ->
+                Mono.just(
+                    new EnrichedDiffAnalysisBundle(invocation.<DiffAnalysisBundle>getArgument(0))));
+    final ContextRetrievalConfig config =
+        new ContextRetrievalConfig(
+            true,
+            5,
+            List.of(),
+            new ContextRetrievalConfig.RolloutConfig(100, true, 5000),
+            new ContextRetrievalConfig.DiffExpansionConfig(
+                true, 100, 17, 10, Set.of(), compressionEnabled),
+            ContextRetrievalConfig.PrMetadataConfig.defaults(),
+            ContextRetrievalConfig.RepositoryPoliciesConfig.defaults());
+    return new AsyncReviewOrchestrator(
+        scmProviderFactory,
+        contextOrchestrator,
+        promptBuilder,
+        mock(TicketContextService.class),
+        config,
+        mock(ReviewService.class),
+        mock(ReviewTriageService.class),
+        mock(FileGroupPlanner.class),
+        mock(FanOutReviewExecutor.class),
+        new PipelineCheckpointStore(
+            mock(StringRedisTemplate.class),
+            new CheckpointProperties(
+                false, "llm:checkpoint", Duration.ofMinutes(30), 1, Duration.ZERO),
+            new ObjectMapper(),
+            new SimpleMeterRegistry()));
+  }
+
+  private ExpandedFileContext expand(final boolean compressionEnabled) {
+    orchestrator(compressionEnabled)
+        .prepareReview(
+            new AsyncReviewRequest(
+                "req-1", SourceProvider.GITHUB, "acme/shop", 12, ReviewMode.DIFF, Instant.now()));
+    final ArgumentCaptor<DiffExpansionResult> expansion =
+        ArgumentCaptor.forClass(DiffExpansionResult.class);
+    verify(promptBuilder)
+        .buildStructuredReviewPrompt(any(), any(), any(), expansion.capture(), any(), any());
+    assertThat(expansion.getValue().expandedFiles()).hasSize(1);
+    return expansion.getValue().expandedFiles().getFirst();
+  }
+
+  @Nested
+  @DisplayName("Diff Expansion")
+  final class DiffExpansion {
+
+    @Test
+    @DisplayName("should_keep_changed_hunk_and_elide_distant_bodies_when_compressing")
+    void should_keep_changed_hunk_and_elide_distant_bodies_when_compressing() {
+      final ExpandedFileContext expanded = expand(true);
+
+      assertThat(expanded.compressed()).isTrue();
+      assertThat(expanded.lineCount()).isEqualTo(30);
+      assertThat(expanded.content())
+          .contains("return total - 10;")
+          .contains("public int total(final List<Integer> prices) {")
+          .contains("omitted")
+          .doesNotContain("sum += price;");
+    }
+
+    @Test
+    @DisplayName("should_truncate_to_leading_lines_when_compression_is_disabled")
+    void should_truncate_to_leading_lines_when_compression_is_disabled() {
+      final ExpandedFileContext expanded = expand(false);
+
+      assertThat(expanded.compressed()).isFalse();
+      assertThat(expanded.truncated()).isTrue();
+      assertThat(expanded.content())
+          .contains("public int total(final List<Integer> prices) {")
+          .doesNotContain("return total - 10;");
+    }
+  }
+}
@@ -4,6 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter.TokenComparison;
 import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter.TokenCount;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -56,6 +60,20 @@ final class TokenCounterTest {
     assertThat(count.tokens()).isEqualTo(25);
   }
 
+  @Test
+  @DisplayName("should_sum_tokens_across_chat_messages")
+  void should_sum_tokens_across_chat_messages() {
+    final TokenCount count =
+        tokenCounter.countMessageTokens(
+            List.of(
+                SystemMessage.from("a".repeat(40)),
+                UserMessage.from("b".repeat(80)),
+                AiMessage.from("c".repeat(4))));
+
+    assertThat(count.characters()).isEqualTo(124);
+    assertThat(count.tokens()).isEqualTo(31);
+  }
+
   @Test
   @DisplayName("should_format_token_count_summary")
   void should_format_token_count_summary() {
@@ -83,7 +83,7 @@ final class MetadataBasedContextStrategyTest {
               "src/service/UserRepository.java",
               "src/util/Helper.java");
 
-      when(mockSCMPort.listRepositoryFiles()).thenReturn(Mono.just(repositoryFiles));
+      when(mockSCMPort.listRepositoryFiles(repo)).thenReturn(Mono.just(repositoryFiles));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
 
@@ -127,7 +127,7 @@ final class MetadataBasedContextStrategyTest {
       final List<String> repositoryFiles =
           List.of("src/service/UserService.java", "src/service/UserRepository.java");
 
-      when(mockSCMPort.listRepositoryFiles()).thenReturn(Mono.just(repositoryFiles));
+      when(mockSCMPort.listRepositoryFiles(repo)).thenReturn(Mono.just(repositoryFiles));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
 
@@ -154,7 +154,7 @@ final class MetadataBasedContextStrategyTest {
           RepositoryIdentifier.create(SourceProvider.GITLAB, "test/repo");
       final DiffAnalysisBundle bundle = new DiffAnalysisBundle(repo, gitDiff, "raw diff", null);
 
-      when(mockSCMPort.listRepositoryFiles()).thenReturn(Mono.just(List.of()));
+      when(mockSCMPort.listRepositoryFiles(repo)).thenReturn(Mono.just(List.of()));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
 
@@ -179,7 +179,7 @@ final class MetadataBasedContextStrategyTest {
           RepositoryIdentifier.create(SourceProvider.GITLAB, "test/repo");
       final DiffAnalysisBundle bundle = new DiffAnalysisBundle(repo, gitDiff, "raw diff", null);
 
-      when(mockSCMPort.listRepositoryFiles()).thenReturn(Mono.just(List.of()));
+      when(mockSCMPort.listRepositoryFiles(repo)).thenReturn(Mono.just(List.of()));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
 
@@ -201,7 +201,7 @@ final class MetadataBasedContextStrategyTest {
           RepositoryIdentifier.create(SourceProvider.GITLAB, "test/repo");
       final DiffAnalysisBundle bundle = new DiffAnalysisBundle(repo, gitDiff, "raw diff", null);
 
-      when(mockSCMPort.listRepositoryFiles())
+      when(mockSCMPort.listRepositoryFiles(repo))
           .thenReturn(Mono.error(new RuntimeException("SCM error")));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
@@ -248,7 +248,7 @@ final class MetadataBasedContextStrategyTest {
               "src/main/java/com/example/repository/UserRepository.java",
               "src/test/java/com/example/service/UserServiceTest.java");
 
-      when(mockSCMPort.listRepositoryFiles()).thenReturn(Mono.just(repositoryFiles));
+      when(mockSCMPort.listRepositoryFiles(repo)).thenReturn(Mono.just(repositoryFiles));
 
       final Mono<ContextRetrievalResult> result = strategy.retrieveContext(bundle);
 
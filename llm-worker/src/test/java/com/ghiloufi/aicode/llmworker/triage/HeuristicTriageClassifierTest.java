@@ -0,0 +1,159 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.llmworker.config.TriageProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HeuristicTriageClassifier Tests")
+final class HeuristicTriageClassifierTest {
+
+  private final HeuristicTriageClassifier classifier =
+      new HeuristicTriageClassifier(
+          new TriageProperties(
+              true,
+              TriageProperties.Mode.HEURISTIC,
+              "",
+              "",
+              null,
+              50,
+              List.of("**/*.lock", "**/generated/**"),
+              List.of("**/*auth*", "**/db/migration/**")));
+
+  private static GitFileModification file(final String path, final int changedLines) {
+    final GitFileModification file = new GitFileModification(path, path);
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < changedLines; i++) {
+      lines.add("+line " + i);
+    }
+    final DiffHunkBlock hunk = new DiffHunkBlock(1, 0, 1, changedLines);
+    hunk.lines = lines;
+    file.diffHunkBlocks = List.of(hunk);
+    return file;
+  }
+
+  @Nested
+  @DisplayName("Tier Selection")
+  final class TierSelection {
+
+    @Test
+    @DisplayName("should_skip_files_matching_skip_patterns")
+    void should_skip_files_matching_skip_patterns() {
+      assertThat(classifier.classify(file("web/yarn.lock", 400)).tier()).isEqualTo(ReviewTier.SKIP);
+      assertThat(classifier.classify(file("src/generated/Api.java", 10)).tier())
+          .isEqualTo(ReviewTier.SKIP);
+    }
+
+    @Test
+    @DisplayName("should_skip_deleted_files")
+    void should_skip_deleted_files() {
+      final GitFileModification deleted = file("src/Old.java", 5);
+      deleted.newPath = "/dev/null";
+
+      assertThat(classifier.classify(deleted).tier()).isEqualTo(ReviewTier.SKIP);
+    }
+
+    @Test
+    @DisplayName("should_send_high_risk_paths_to_deep_review_regardless_of_size")
+    void should_send_high_risk_paths_to_deep_review_regardless_of_size() {
+      assertThat(classifier.classify(file("src/main/java/OAuthFilter.java", 2)).tier())
+          .isEqualTo(ReviewTier.DEEP);
+      assertThat(classifier.classify(file("core/db/migration/V9__x.sql", 3)).tier())
+          .isEqualTo(ReviewTier.DEEP);
+    }
+
+    @Test
+    @DisplayName("should_split_ordinary_files_by_change_size")
+    void should_split_ordinary_files_by_change_size() {
+      assertThat(classifier.classify(file("src/Service.java", 80)).tier())
+          .isEqualTo(ReviewTier.DEEP);
+      assertThat(classifier.classify(file("src/Typo.java", 1)).tier()).isEqualTo(ReviewTier.LIGHT);
+    }
+  }
+
+  @Nested
+  @DisplayName("Plan")
+  final class Plan {
+
+    @Test
+    @DisplayName("should_group_paths_by_tier")
+    void should_group_paths_by_tier() {
+      final TriagePlan plan =
+          classifier.classify(
+              List.of(file("a.lock", 3), file("src/Auth.java", 3), file("src/Readme.java", 3)));
+
+      assertThat(plan.paths(ReviewTier.SKIP)).containsExactly("a.lock");
+      assertThat(plan.paths(ReviewTier.DEEP)).containsExactly("src/Auth.java");
+      assertThat(plan.paths(ReviewTier.LIGHT)).containsExactly("src/Readme.java");
+      assertThat(plan.hasReviewableFiles()).isTrue();
+      assertThat(plan.classifier()).isEqualTo("heuristic");
+    }
+  }
+
+  @Nested
+  @DisplayName("Model Triage")
+  final class ModelTriage {
+
+    @Test
+    @DisplayName("should_apply_model_decisions_without_downgrading_deep_files")
+    void should_apply_model_decisions_without_downgrading_deep_files() {
+      final ModelTriageClassifier model =
+          new ModelTriageClassifier(
+              new FixedAnswerChatModel(
+                  """
+                  ```json
+                  {"files":[
+                    {"path":"src/Auth.java","tier":"skip","reason":"cosmetic"},
+                    {"path":"src/Readme.java","tier":"skip","reason":"docs only"}
+                  ]}
+                  ```"""),
+              classifier,
+              new ObjectMapper());
+
+      final TriagePlan plan =
+          model.classify(List.of(file("src/Auth.java", 3), file("src/Readme.java", 3)));
+
+      assertThat(plan.classifier()).isEqualTo("model");
+      assertThat(plan.paths(ReviewTier.DEEP)).containsExactly("src/Auth.java");
+      assertThat(plan.paths(ReviewTier.SKIP)).containsExactly("src/Readme.java");
+    }
+
+    @Test
+    @DisplayName("should_fall_back_to_heuristics_on_unusable_answer")
+    void should_fall_back_to_heuristics_on_unusable_answer() {
+      final ModelTriageClassifier model =
+          new ModelTriageClassifier(
+              new FixedAnswerChatModel("no idea"), classifier, new ObjectMapper());
+
+      final TriagePlan plan = model.classify(List.of(file("src/Readme.java", 3)));
+
+      assertThat(plan.classifier()).isEqualTo("heuristic-fallback");
+      assertThat(plan.paths(ReviewTier.LIGHT)).containsExactly("src/Readme.java");
+    }
+  }
+
+  private static final class FixedAnswerChatModel implements ChatModel {
+
+    private final String answer;
+
+    private FixedAnswerChatModel(final String answer) {
+      this.answer = answer;
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      return ChatResponse.builder().aiMessage(AiMessage.from(answer)).build();
+    }
+  }
+}
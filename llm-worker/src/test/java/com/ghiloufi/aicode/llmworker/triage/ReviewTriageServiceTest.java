@@ -0,0 +1,236 @@
+package com.ghiloufi.aicode.llmworker.triage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghiloufi.aicode.core.config.LlmPricingProperties;
+import com.ghiloufi.aicode.core.config.LlmPricingProperties.ModelPrice;
+import com.ghiloufi.aicode.core.domain.model.DiffHunkBlock;
+import com.ghiloufi.aicode.core.domain.model.GitFileModification;
+import com.ghiloufi.aicode.core.domain.service.LlmCostModel;
+import com.ghiloufi.aicode.llmworker.config.ChatModelFactory;
+import com.ghiloufi.aicode.llmworker.config.ProviderProperties;
+import com.ghiloufi.aicode.llmworker.config.TriageProperties;
+import com.ghiloufi.aicode.llmworker.processor.ReviewService;
+import com.ghiloufi.aicode.llmworker.service.prompt.ReviewPromptResult;
+import com.ghiloufi.aicode.llmworker.service.prompt.TokenCounter;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+@DisplayName("ReviewTriageService Tests")
+final class ReviewTriageServiceTest {
+
+  private static final String REVIEW_ANSWER =
+      """
+      {"summary":"looks fine","issues":[],"non_blocking_notes":[]}""";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReviewService deepReviewService = mock(ReviewService.class);
+  private ChatModelFactory chatModelFactory;
+  private ProviderProperties providerProperties;
+
+  @BeforeEach
+  void setUp() {
+    chatModelFactory = mock(ChatModelFactory.class);
+    when(chatModelFactory.modelName("openai")).thenReturn("gpt-4o");
+    providerProperties = mock(ProviderProperties.class);
+    when(providerProperties.getProvider()).thenReturn("openai");
+  }
+
+  private static TriageProperties properties(final TriageProperties.Mode mode) {
+    return new TriageProperties(
+        true, mode, "", "", null, 50, List.of("**/*.lock"), List.of("**/*auth*"));
+  }
+
+  private static LlmCostModel pricing(final ModelPrice... prices) {
+    return new LlmCostModel(new LlmPricingProperties("USD", List.of(prices)));
+  }
+
+  private static ModelPrice price(final String model, final String inputPerMillion) {
+    return new ModelPrice("openai", model, new BigDecimal(inputPerMillion), BigDecimal.ZERO, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ReviewTriageService service(
+      final TriageProperties properties, final ChatModel lightModel, final LlmCostModel costModel) {
+    final ObjectProvider<ChatModel> provider = mock(ObjectProvider.class);
+    when(provider.getIfAvailable()).thenReturn(lightModel);
+    return new ReviewTriageService(
+        properties,
+        new HeuristicTriageClassifier(properties),
+        deepReviewService,
+        provider,
+        chatModelFactory,
+        providerProperties,
+        new TokenCounter(),
+        costModel,
+        new ObjectMapper(),
+        meterRegistry);
+  }
+
+  private static GitFileModification file(final String path, final int changedLines) {
+    final GitFileModification file = new GitFileModification(path, path);
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < changedLines; i++) {
+      lines.add("+line " + i);
+    }
+    final DiffHunkBlock hunk = new DiffHunkBlock(1, 0, 1, changedLines);
+    hunk.lines = lines;
+    file.diffHunkBlocks = List.of(hunk);
+    return file;
+  }
+
+  private double savedTokens() {
+    final Counter counter =
+        meterRegistry.find("llm.triage.tokens.saved").tag("reason", "downgraded").counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  @Nested
+  @DisplayName("Classification")
+  final class Classification {
+
+    @Test
+    @DisplayName("should_classify_with_light_model_in_model_mode")
+    void should_classify_with_light_model_in_model_mode() {
+      final RecordingChatModel light =
+          new RecordingChatModel(
+              """
+              {"files":[{"path":"src/Readme.java","tier":"skip","reason":"docs only"}]}""");
+      final ReviewTriageService service =
+          service(properties(TriageProperties.Mode.MODEL), light, pricing());
+
+      final TriagePlan plan =
+          service.triage(List.of(file("src/Readme.java", 3), file("src/Service.java", 80)));
+
+      assertThat(light.requests).hasSize(1);
+      assertThat(plan.classifier()).isEqualTo("model");
+      assertThat(plan.paths(ReviewTier.SKIP)).containsExactly("src/Readme.java");
+      assertThat(plan.paths(ReviewTier.DEEP)).containsExactly("src/Service.java");
+      assertThat(meterRegistry.find("llm.triage.decisions").tag("classifier", "model").counter())
+          .isNotNull();
+    }
+
+    @Test
+    @DisplayName("should_not_call_light_model_in_heuristic_mode")
+    void should_not_call_light_model_in_heuristic_mode() {
+      final RecordingChatModel light = new RecordingChatModel(REVIEW_ANSWER);
+      final ReviewTriageService service =
+          service(properties(TriageProperties.Mode.HEURISTIC), light, pricing());
+
+      final TriagePlan plan = service.triage(List.of(file("src/Readme.java", 3)));
+
+      assertThat(light.requests).isEmpty();
+      assertThat(plan.classifier()).isEqualTo("heuristic");
+    }
+  }
+
+  @Nested
+  @DisplayName("Routing")
+  final class Routing {
+
+    @Test
+    @DisplayName("should_route_light_files_to_light_model_and_deep_files_to_primary")
+    void should_route_light_files_to_light_model_and_deep_files_to_primary() {
+      final RecordingChatModel light = new RecordingChatModel(REVIEW_ANSWER);
+      final ReviewTriageService service =
+          service(properties(TriageProperties.Mode.HEURISTIC), light, pricing());
+
+      assertThat(service.reviewerFor(ReviewTier.DEEP)).isSameAs(deepReviewService);
+
+      service.reviewerFor(ReviewTier.LIGHT).performReview("system", "user");
+
+      assertThat(light.requests).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should_use_primary_reviewer_when_light_model_is_unavailable")
+    void should_use_primary_reviewer_when_light_model_is_unavailable() {
+      final ReviewTriageService service =
+          service(properties(TriageProperties.Mode.MODEL), null, pricing());
+
+      assertThat(service.reviewerFor(ReviewTier.LIGHT)).isSameAs(deepReviewService);
+      assertThat(service.triage(List.of(file("src/Readme.java", 3))).classifier())
+          .isEqualTo("heuristic");
+    }
+  }
+
+  @Nested
+  @DisplayName("Savings")
+  final class Savings {
+
+    @Test
+    @DisplayName("should_record_price_difference_between_primary_and_light_model")
+    void should_record_price_difference_between_primary_and_light_model() {
+      final ReviewTriageService service =
+          service(
+              properties(TriageProperties.Mode.HEURISTIC),
+              new RecordingChatModel(REVIEW_ANSWER),
+              pricing(price("gpt-4o", "2.50"), price("gpt-4o-mini", "0.25")));
+
+      service.recordPrompt(ReviewTier.LIGHT, new ReviewPromptResult("a".repeat(400), ""));
+
+      assertThat(savedTokens()).isCloseTo(90.0, offset(0.01));
+    }
+
+    @Test
+    @DisplayName("should_not_record_savings_without_prices")
+    void should_not_record_savings_without_prices() {
+      final ReviewTriageService service =
+          service(
+              properties(TriageProperties.Mode.HEURISTIC),
+              new RecordingChatModel(REVIEW_ANSWER),
+              pricing());
+
+      service.recordPrompt(ReviewTier.LIGHT, new ReviewPromptResult("a".repeat(400), ""));
+
+      assertThat(savedTokens()).isZero();
+    }
+
+    @Test
+    @DisplayName("should_not_record_savings_when_light_model_is_primary_model")
+    void should_not_record_savings_when_light_model_is_primary_model() {
+      final TriageProperties properties =
+          new TriageProperties(
+              true, TriageProperties.Mode.HEURISTIC, "", "gpt-4o", null, 50, List.of(), List.of());
+      final ReviewTriageService service =
+          service(
+              properties, new RecordingChatModel(REVIEW_ANSWER), pricing(price("gpt-4o", "2.50")));
+
+      service.recordPrompt(ReviewTier.LIGHT, new ReviewPromptResult("a".repeat(400), ""));
+
+      assertThat(savedTokens()).isZero();
+    }
+  }
+
+  private static final class RecordingChatModel implements ChatModel {
+
+    private final String answer;
+    private final List<ChatRequest> requests = new ArrayList<>();
+
+    private RecordingChatModel(final String answer) {
+      this.answer = answer;
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      requests.add(request);
+      return ChatResponse.builder().aiMessage(AiMessage.from(answer)).build();
+    }
+  }
+}
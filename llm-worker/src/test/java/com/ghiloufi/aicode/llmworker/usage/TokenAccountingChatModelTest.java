@@ -0,0 +1,156 @@
+package com.ghiloufi.aicode.llmworker.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ghiloufi.aicode.core.domain.model.LlmUsage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.anthropic.AnthropicTokenUsage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.openai.OpenAiTokenUsage;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Token Accounting Tests")
+final class TokenAccountingChatModelTest {
+
+  private final TokenUsageTracker tracker = new TokenUsageTracker();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private TokenAccountingChatModel model(final TokenUsage usage) {
+    return new TokenAccountingChatModel(
+        new UsageChatModel(usage), tracker, meterRegistry, "openai", "gpt-4o");
+  }
+
+  private static ChatRequest request() {
+    return ChatRequest.builder().messages(UserMessage.from("review")).build();
+  }
+
+  @Nested
+  @DisplayName("Provider usage mapping")
+  final class Mapping {
+
+    @Test
+    @DisplayName("should_count_anthropic_cache_reads_as_cached_input")
+    void should_count_anthropic_cache_reads_as_cached_input() {
+      final LlmUsage usage =
+          TokenUsageMapper.toLlmUsage(
+              AnthropicTokenUsage.builder()
+                  .inputTokenCount(200)
+                  .outputTokenCount(50)
+                  .cacheReadInputTokens(1_000)
+                  .cacheCreationInputTokens(300)
+                  .build());
+
+      assertThat(usage).isEqualTo(new LlmUsage(1_500, 50, 1_000, 1));
+    }
+
+    @Test
+    @DisplayName("should_read_openai_cached_prompt_tokens")
+    void should_read_openai_cached_prompt_tokens() {
+      final LlmUsage usage =
+          TokenUsageMapper.toLlmUsage(
+              OpenAiTokenUsage.builder()
+                  .inputTokenCount(2_048)
+                  .outputTokenCount(120)
+                  .inputTokensDetails(
+                      OpenAiTokenUsage.InputTokensDetails.builder().cachedTokens(1_024).build())
+                  .build());
+
+      assertThat(usage).isEqualTo(new LlmUsage(2_048, 120, 1_024, 1));
+    }
+
+    @Test
+    @DisplayName("should_count_call_even_without_usage_metadata")
+    void should_count_call_even_without_usage_metadata() {
+      assertThat(TokenUsageMapper.toLlmUsage(null)).isEqualTo(new LlmUsage(0, 0, 0, 1));
+      assertThat(TokenUsageMapper.toLlmUsage(new TokenUsage(10, 5)))
+          .isEqualTo(new LlmUsage(10, 5, 0, 1));
+    }
+  }
+
+  @Nested
+  @DisplayName("Per-review tracking")
+  final class Tracking {
+
+    @Test
+    @DisplayName("should_accumulate_usage_of_every_call_in_scope")
+    void should_accumulate_usage_of_every_call_in_scope() {
+      final TokenAccountingChatModel model = model(new TokenUsage(100, 20));
+
+      try (TokenUsageTracker.Scope scope = tracker.open()) {
+        model.chat(request());
+        model.chat(request());
+
+        assertThat(scope.usage()).isEqualTo(new LlmUsage(200, 40, 0, 2));
+      }
+      assertThat(
+              meterRegistry
+                  .counter("llm.tokens", "provider", "openai", "model", "gpt-4o", "type", "output")
+                  .count())
+          .isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("should_attribute_calls_made_on_child_virtual_threads")
+    void should_attribute_calls_made_on_child_virtual_threads() throws Exception {
+      final TokenAccountingChatModel model = model(new TokenUsage(50, 10));
+
+      try (TokenUsageTracker.Scope scope = tracker.open();
+          ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        executor.submit(() -> model.chat(request())).get();
+        executor.submit(() -> model.chat(request())).get();
+
+        assertThat(scope.usage()).isEqualTo(new LlmUsage(100, 20, 0, 2));
+      }
+    }
+
+    @Test
+    @DisplayName("should_ignore_calls_outside_a_scope")
+    void should_ignore_calls_outside_a_scope() {
+      final TokenAccountingChatModel model = model(new TokenUsage(50, 10));
+
+      model.chat(request());
+
+      try (TokenUsageTracker.Scope scope = tracker.open()) {
+        assertThat(scope.usage().isEmpty()).isTrue();
+      }
+    }
+
+    @Test
+    @DisplayName("should_roll_nested_scope_usage_into_outer_scope")
+    void should_roll_nested_scope_usage_into_outer_scope() {
+      final TokenAccountingChatModel model = model(new TokenUsage(10, 1));
+
+      try (TokenUsageTracker.Scope outer = tracker.open()) {
+        model.chat(request());
+        try (TokenUsageTracker.Scope inner = tracker.open()) {
+          model.chat(request());
+          assertThat(inner.usage().calls()).isEqualTo(1);
+        }
+        assertThat(outer.usage()).isEqualTo(new LlmUsage(20, 2, 0, 2));
+      }
+    }
+  }
+
+  private static final class UsageChatModel implements ChatModel {
+
+    private final TokenUsage usage;
+
+    private UsageChatModel(final TokenUsage usage) {
+      this.usage = usage;
+    }
+
+    @Override
+    public ChatResponse doChat(final ChatRequest request) {
+      return ChatResponse.builder().aiMessage(AiMessage.from("ok")).tokenUsage(usage).build();
+    }
+  }
+}
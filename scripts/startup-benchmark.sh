@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+#
+# Measures time from process start to the first XREADGROUP issued by a worker,
+# comparing the standard image with the AOT + CDS fast-start image.
+#
+# Usage: scripts/startup-benchmark.sh [llm-worker|agent-worker] [runs]
+#
+# Extra container environment (datasource, SCM tokens, ...) can be supplied
+# through BENCH_ENV_FILE, a docker --env-file.
+
+set -euo pipefail
+
+MODULE="${1:-llm-worker}"
+RUNS="${2:-5}"
+TIMEOUT_SECONDS="${BENCH_TIMEOUT_SECONDS:-180}"
+NETWORK="startup-bench"
+REDIS="startup-bench-redis"
+MARKER="First stream read on"
+
+case "${MODULE}" in
+  llm-worker | agent-worker) ;;
+  *)
+    echo "Unsupported module '${MODULE}': expected llm-worker or agent-worker" >&2
+    exit 1
+    ;;
+esac
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+  docker rm -f "${REDIS}" >/dev/null 2>&1 || true
+  docker network rm "${NETWORK}" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+echo "[BUILD] Building ${MODULE} images..."
+docker build -q -t "ai-code-reviewer/${MODULE}:standard" -f "${MODULE}/Dockerfile" . >/dev/null
+docker build -q -t "ai-code-reviewer/${MODULE}:fast-start" -f "${MODULE}/Dockerfile.fast-start" . >/dev/null
+
+docker network create "${NETWORK}" >/dev/null
+docker run -d --rm --name "${REDIS}" --network "${NETWORK}" redis:7-alpine >/dev/null
+
+env_args=(
+  -e REDIS_HOST="${REDIS}"
+  -e OPENAI_API_KEY=benchmark
+  -e OPENAI_BASE_URL=http://localhost
+  -e GITLAB_TOKEN=benchmark
+  -e JIRA_TOKEN=benchmark
+)
+if [[ -n "${BENCH_ENV_FILE:-}" ]]; then
+  env_args+=(--env-file "${BENCH_ENV_FILE}")
+fi
+
+measure_once() {
+  local image="$1"
+  local container
+  container="$(docker run -d --network "${NETWORK}" "${env_args[@]}" "${image}")"
+  local deadline=$((SECONDS + TIMEOUT_SECONDS))
+  local line=""
+  while ((SECONDS < deadline)); do
+    line="$(docker logs "${container}" 2>&1 | grep -m1 "${MARKER}" || true)"
+    if [[ -n "${line}" ]]; then
+      break
+    fi
+    if [[ "$(docker inspect -f '{{.State.Running}}' "${container}")" != "true" ]]; then
+      break
+    fi
+    sleep 0.2
+  done
+  docker rm -f "${container}" >/dev/null
+  if [[ -z "${line}" ]]; then
+    echo "[FAIL] ${image} did not reach its first stream read" >&2
+    return 1
+  fi
+  sed -E 's/.* issued ([0-9]+) ms after process start.*/\1/' <<<"${line}"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+printf "%-12s %10s %10s %10s\n" "variant" "median_ms" "min_ms" "max_ms"
+for variant in standard fast-start; do
+  samples=()
+  for ((run = 1; run <= RUNS; run++)); do
+    samples+=("$(measure_once "ai-code-reviewer/${MODULE}:${variant}")")
+  done
+  sorted="$(printf "%s\n" "${samples[@]}" | sort -n)"
+  printf "%-12s %10s %10s %10s\n" \
+    "${variant}" \
+    "$(median <<<"${sorted}")" \
+    "$(head -1 <<<"${sorted}")" \
+    "$(tail -1 <<<"${sorted}")"
+done